@@ -151,6 +151,16 @@ public class CompositeCache implements Cache {
     return allItems;
   }
 
+  @Override
+  public Map<String, Collection<CacheData>> getAllByApplications(
+      String type, Collection<String> applications, CacheFilter cacheFilter) {
+    Map<String, Collection<CacheData>> allItems = new HashMap<>();
+    for (Cache cache : caches) {
+      allItems.putAll(cache.getAllByApplications(type, applications, cacheFilter));
+    }
+    return allItems;
+  }
+
   Map<String, CacheData> merge(
       Map<String, CacheData> existingItems, Collection<CacheData> results) {
     final Map<String, CacheData> allItems =
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.cats.agent.AccountAware;
+import com.netflix.spinnaker.cats.agent.Agent;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Partitions the execution slots of a clustered agent scheduler by provider, and optionally by
+ * account, so that the agents of a degraded provider cannot hold every slot of the node while they
+ * run to their timeout.
+ *
+ * <p>Each provider has a budget of agents that may run at once on the node, within the global
+ * limit of the scheduler; providers without a configured budget get an equal share of the global
+ * limit. An agent is admitted while its provider is within budget. Beyond it, an agent may borrow
+ * capacity that is left under the global limit once the unused budgets of the other providers are
+ * set aside. When idle capacity is lent, only the budgets of providers that are not idle are set
+ * aside: a provider is idle once none of its agents have been running or due for the longest
+ * interval of its agents, so that the budget of a provider whose agents are only due now and then
+ * is still there when they are. A provider never borrows more than its own budget again, so that
+ * agents that hang on borrowed slots cannot take over the node. Agents that are not admitted wait
+ * for a later acquisition cycle.
+ *
+ * <p>The number of agents of each provider that are running, how much of its budget that is, the
+ * agents that were held back and the time they waited are recorded.
+ */
+public class AgentBulkheads {
+  private final Registry registry;
+  private final AgentIntervalProvider intervalProvider;
+  private final Id runningId;
+  private final Id saturationId;
+  private final Id deferredId;
+  private final Id waitTimeId;
+
+  /** The providers that have had agents to run, whose budgets are reserved for them. */
+  private final Set<String> knownProviders = ConcurrentHashMap.newKeySet();
+
+  /** When each provider last had agents running or due, by provider name. */
+  private final Map<String, Long> lastActive = new ConcurrentHashMap<>();
+
+  /** The longest interval of the agents of each provider, by provider name. */
+  private final Map<String, Long> longestInterval = new ConcurrentHashMap<>();
+
+  /** When each agent held back by its bulkhead was first held back, by agent type. */
+  private final Map<String, Long> waitingSince = new ConcurrentHashMap<>();
+
+  public AgentBulkheads(
+      Registry registry, String scheduler, AgentIntervalProvider intervalProvider) {
+    this.registry = registry;
+    this.intervalProvider = intervalProvider;
+    this.runningId =
+        registry.createId("cats.agentScheduler.bulkhead.running").withTag("scheduler", scheduler);
+    this.saturationId =
+        registry
+            .createId("cats.agentScheduler.bulkhead.saturation")
+            .withTag("scheduler", scheduler);
+    this.deferredId =
+        registry.createId("cats.agentScheduler.bulkhead.deferred").withTag("scheduler", scheduler);
+    this.waitTimeId =
+        registry.createId("cats.agentScheduler.bulkhead.waitTime").withTag("scheduler", scheduler);
+  }
+
+  /**
+   * Starts an acquisition cycle.
+   *
+   * @param running the agents that are running on this node
+   * @param candidates the agents that may be started in this cycle
+   * @param maxConcurrentAgents the global limit of agents running at once on this node
+   */
+  public Cycle startCycle(
+      Settings settings,
+      Collection<Agent> running,
+      Collection<Agent> candidates,
+      int maxConcurrentAgents) {
+    return new Cycle(settings, running, candidates, maxConcurrentAgents);
+  }
+
+  /**
+   * Records how full each bulkhead is when no agents may be started on this node, in which case the
+   * agents that are due are not known.
+   *
+   * @param running the agents that are running on this node
+   * @param maxConcurrentAgents the global limit of agents running at once on this node
+   */
+  public void recordRunning(Settings settings, Collection<Agent> running, int maxConcurrentAgents) {
+    Cycle cycle = new Cycle(settings, running, Collections.emptyList(), maxConcurrentAgents);
+    if (settings.enabled) {
+      cycle.recordSaturation();
+    }
+  }
+
+  public static class Settings {
+    private final boolean enabled;
+    private final Function<String, Integer> maxConcurrentAgentsByProvider;
+    private final int maxConcurrentAgentsPerAccount;
+    private final boolean lendIdleCapacity;
+
+    /**
+     * @param maxConcurrentAgentsByProvider the budget of a provider, by provider name, or 0 for an
+     *     equal share of the global limit
+     * @param maxConcurrentAgentsPerAccount the budget of an account, or 0 if accounts have none
+     * @param lendIdleCapacity whether providers may borrow the budget of idle providers, which
+     *     they will only get back as the borrowed agents complete
+     */
+    public Settings(
+        boolean enabled,
+        Function<String, Integer> maxConcurrentAgentsByProvider,
+        int maxConcurrentAgentsPerAccount,
+        boolean lendIdleCapacity) {
+      this.enabled = enabled;
+      this.maxConcurrentAgentsByProvider = maxConcurrentAgentsByProvider;
+      this.maxConcurrentAgentsPerAccount = maxConcurrentAgentsPerAccount;
+      this.lendIdleCapacity = lendIdleCapacity;
+    }
+
+    public static Settings disabled() {
+      return new Settings(false, provider -> 0, 0, false);
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+  }
+
+  /**
+   * Admits agents during one acquisition cycle. A cycle is used by the single thread acquiring
+   * agents, and must be finished once the agents to run have been acquired.
+   */
+  public class Cycle {
+    private final Settings settings;
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final Map<String, Integer> runningByProvider = new HashMap<>();
+    private final Map<String, Integer> runningByAccount = new HashMap<>();
+    private final Set<String> candidateTypes = new HashSet<>();
+    private final Map<String, Agent> admitted = new HashMap<>();
+    private final int maxConcurrentAgents;
+    private final long now;
+    private int available;
+
+    private Cycle(
+        Settings settings,
+        Collection<Agent> running,
+        Collection<Agent> candidates,
+        int maxConcurrentAgents) {
+      this.settings = settings;
+      this.maxConcurrentAgents = maxConcurrentAgents;
+      this.available = maxConcurrentAgents - running.size();
+      this.now = registry.clock().wallTime();
+      for (Agent agent : running) {
+        runningByProvider.merge(agent.getProviderName(), 1, Integer::sum);
+        String account = accountOf(agent);
+        if (account != null) {
+          runningByAccount.merge(account, 1, Integer::sum);
+        }
+        active(agent);
+      }
+      for (Agent agent : candidates) {
+        candidateTypes.add(agent.getAgentType());
+        active(agent);
+      }
+    }
+
+    private void active(Agent agent) {
+      if (!settings.enabled) {
+        return;
+      }
+      String provider = agent.getProviderName();
+      knownProviders.add(provider);
+      lastActive.put(provider, now);
+      AgentIntervalProvider.Interval interval = intervalProvider.getInterval(agent);
+      longestInterval.merge(
+          provider, Math.max(interval.getInterval(), interval.getErrorInterval()), Math::max);
+    }
+
+    /** Reserves a slot for the agent, if it may be started. */
+    public boolean tryAdmit(Agent agent) {
+      if (available <= 0) {
+        return false;
+      }
+      if (!settings.enabled) {
+        available--;
+        return true;
+      }
+
+      String provider = agent.getProviderName();
+      String account = accountOf(agent);
+      if (account != null
+          && settings.maxConcurrentAgentsPerAccount > 0
+          && runningByAccount.getOrDefault(account, 0) >= settings.maxConcurrentAgentsPerAccount) {
+        return defer(agent, "account");
+      }
+      int providerRunning = runningByProvider.getOrDefault(provider, 0);
+      int budget = budget(provider);
+      if (providerRunning >= budget
+          && (providerRunning - budget >= budget || available <= reservedForOthers(provider))) {
+        return defer(agent, "provider");
+      }
+
+      runningByProvider.merge(provider, 1, Integer::sum);
+      if (account != null) {
+        runningByAccount.merge(account, 1, Integer::sum);
+      }
+      available--;
+      admitted.put(agent.getAgentType(), agent);
+      return true;
+    }
+
+    /** Records how long the admitted agents waited, and how full each bulkhead is. */
+    public void finish() {
+      if (!settings.enabled) {
+        waitingSince.clear();
+        return;
+      }
+
+      admitted.forEach(
+          (agentType, agent) -> {
+            Long since = waitingSince.remove(agentType);
+            if (since != null) {
+              registry
+                  .timer(waitTimeId.withTag("provider", agent.getProviderName()))
+                  .record(now - since, TimeUnit.MILLISECONDS);
+            }
+          });
+      // agents that are no longer candidates have been unscheduled, or are run by another node
+      waitingSince.keySet().retainAll(candidateTypes);
+      recordSaturation();
+    }
+
+    private void recordSaturation() {
+      for (String provider : knownProviders) {
+        int providerRunning = runningByProvider.getOrDefault(provider, 0);
+        registry.gauge(runningId.withTag("provider", provider)).set(providerRunning);
+        registry
+            .gauge(saturationId.withTag("provider", provider))
+            .set((double) providerRunning / Math.max(1, budget(provider)));
+      }
+    }
+
+    private boolean defer(Agent agent, String reason) {
+      waitingSince.putIfAbsent(agent.getAgentType(), registry.clock().wallTime());
+      registry
+          .counter(
+              deferredId.withTag("provider", agent.getProviderName()).withTag("reason", reason))
+          .increment();
+      return false;
+    }
+
+    private int budget(String provider) {
+      return budgets.computeIfAbsent(
+          provider,
+          p -> {
+            Integer budget = settings.maxConcurrentAgentsByProvider.apply(p);
+            return budget == null || budget <= 0
+                ? Math.max(1, maxConcurrentAgents / Math.max(1, knownProviders.size()))
+                : budget;
+          });
+    }
+
+    /** The unused budgets of the other providers, which may not be lent to this one. */
+    private int reservedForOthers(String provider) {
+      long reserved = 0L;
+      for (String other : knownProviders) {
+        if (!other.equals(provider) && (!settings.lendIdleCapacity || !isIdle(other))) {
+          reserved += Math.max(0, budget(other) - runningByProvider.getOrDefault(other, 0));
+        }
+      }
+      return (int) Math.min(reserved, Integer.MAX_VALUE);
+    }
+
+    private boolean isIdle(String provider) {
+      Long since = lastActive.get(provider);
+      return since == null || now - since > longestInterval.getOrDefault(provider, 0L);
+    }
+  }
+
+  private static String accountOf(Agent agent) {
+    return agent instanceof AccountAware ? ((AccountAware) agent).getAccountName() : null;
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spectator.api.ManualClock
+import com.netflix.spinnaker.cats.agent.AccountAware
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecution
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class AgentBulkheadsSpec extends Specification {
+
+  static final int MAX_CONCURRENT_AGENTS = 8
+  static final long CYCLE_MILLIS = 1000
+
+  ManualClock clock = new ManualClock()
+  DefaultRegistry registry = new DefaultRegistry(clock)
+  // the interval of the agents of each provider
+  Map<String, Long> intervals = [degraded: CYCLE_MILLIS, healthy: CYCLE_MILLIS]
+  AgentBulkheads bulkheads = new AgentBulkheads(registry, "test", { Agent agent ->
+    new AgentIntervalProvider.Interval(intervals[agent.providerName] ?: CYCLE_MILLIS, 60_000)
+  } as AgentIntervalProvider)
+
+  // agents of a degraded provider that run until they time out, i.e. longer than the simulation
+  List<Agent> slowAgents = (1..10).collect { new SyntheticAgent("slow-$it", "degraded", "prod") }
+  // agents of a healthy provider that complete within a cycle
+  List<Agent> fastAgents = (1..3).collect { new SyntheticAgent("fast-$it", "healthy", "test") }
+
+  @Unroll
+  def "fast agents run every cycle beside slow agents only when bulkheads are enabled (#enabled)"() {
+    given:
+    def settings = new AgentBulkheads.Settings(enabled, { provider -> 0 }, 0, true)
+
+    when:
+    def runs = simulate(settings, 20)
+
+    then:
+    fastAgents.every { (runs[it.agentType] ?: 0) == expectedFastRuns }
+    runs.findAll { it.key.startsWith("slow-") }.size() == expectedSlowAgents
+
+    where:
+    enabled || expectedFastRuns | expectedSlowAgents
+    false   || 0                | MAX_CONCURRENT_AGENTS
+    true    || 20               | MAX_CONCURRENT_AGENTS / 2
+  }
+
+  @Unroll
+  def "the budget of a provider with no agents due for #idleMillis ms is lent unless lending is disabled (#lendIdleCapacity)"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> 4 }, 0, lendIdleCapacity)
+    intervals.healthy = 10_000
+    // the healthy provider has run once, and has no agents due for now
+    def cycle = bulkheads.startCycle(settings, [], fastAgents, MAX_CONCURRENT_AGENTS)
+    fastAgents.each { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    when:
+    clock.setWallTime(clock.wallTime() + idleMillis)
+    cycle = bulkheads.startCycle(settings, [], slowAgents, MAX_CONCURRENT_AGENTS)
+    def admitted = slowAgents.findAll { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    then:
+    admitted.size() == expectedAdmitted
+
+    where:
+    lendIdleCapacity | idleMillis || expectedAdmitted
+    true             | 10_000     || 4
+    true             | 10_001     || MAX_CONCURRENT_AGENTS
+    false            | 10_001     || 4
+  }
+
+  @Unroll
+  def "fast agents due every third cycle run each time whether idle capacity is lent (#lendIdleCapacity)"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> 4 }, 0, lendIdleCapacity)
+
+    when:
+    def runs = simulate(settings, 21, 3)
+
+    then:
+    fastAgents.every { (runs[it.agentType] ?: 0) == expectedFastRuns }
+    runs.findAll { it.key.startsWith("slow-") }.size() == expectedSlowAgents
+
+    where:
+    lendIdleCapacity || expectedFastRuns | expectedSlowAgents
+    false            || 7                | 4
+    // the healthy provider has no agents due between its runs, but is not idle
+    true             || 7                | 4
+  }
+
+  def "a provider borrows no more than its own budget"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> 2 }, 0, true)
+    def cycle = bulkheads.startCycle(settings, [], fastAgents, MAX_CONCURRENT_AGENTS)
+    fastAgents.each { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    when:
+    // the healthy provider is idle, and lends its whole budget
+    clock.setWallTime(clock.wallTime() + 2 * CYCLE_MILLIS)
+    cycle = bulkheads.startCycle(settings, [], slowAgents, MAX_CONCURRENT_AGENTS)
+    def admitted = slowAgents.findAll { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    then:
+    admitted.size() == 4
+  }
+
+  def "accounts are held to their own budget"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> 0 }, 2, true)
+    def agents = (1..3).collect { new SyntheticAgent("prod-$it", "aws", "prod") } +
+      (1..3).collect { new SyntheticAgent("test-$it", "aws", "test") }
+
+    when:
+    def cycle = bulkheads.startCycle(settings, [], agents, MAX_CONCURRENT_AGENTS)
+    def admitted = agents.findAll { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    then:
+    admitted*.agentType == ["prod-1", "prod-2", "test-1", "test-2"]
+    registry.counter(
+      registry.createId("cats.agentScheduler.bulkhead.deferred", "scheduler", "test", "provider", "aws", "reason", "account")
+    ).count() == 2
+  }
+
+  def "records saturation and how long deferred agents waited"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> provider == "degraded" ? 2 : 6 }, 0, false)
+    def agents = slowAgents.take(3)
+
+    when:
+    def cycle = bulkheads.startCycle(settings, [], agents + fastAgents, MAX_CONCURRENT_AGENTS)
+    def admitted = agents.findAll { cycle.tryAdmit(it) }
+    cycle.finish()
+
+    then:
+    admitted.size() == 2
+    gauge("saturation", "degraded") == 1.0d
+    gauge("running", "degraded") == 2.0d
+
+    when:
+    clock.setWallTime(clock.wallTime() + 5000)
+    cycle = bulkheads.startCycle(settings, [agents[0]], agents.drop(1) + fastAgents, MAX_CONCURRENT_AGENTS)
+    cycle.tryAdmit(agents[2])
+    cycle.finish()
+
+    then:
+    def waitTime = registry.timer(
+      registry.createId("cats.agentScheduler.bulkhead.waitTime", "scheduler", "test", "provider", "degraded")
+    )
+    waitTime.count() == 1
+    waitTime.totalTime() == 5_000_000_000L
+  }
+
+  def "records how many agents are running when none may be started"() {
+    given:
+    def settings = new AgentBulkheads.Settings(true, { provider -> 4 }, 0, true)
+
+    when:
+    bulkheads.recordRunning(settings, slowAgents.take(MAX_CONCURRENT_AGENTS), MAX_CONCURRENT_AGENTS)
+
+    then:
+    gauge("running", "degraded") == MAX_CONCURRENT_AGENTS
+    gauge("saturation", "degraded") == 2.0d
+  }
+
+  /**
+   * Runs acquisition cycles the way the clustered schedulers do: every agent that is due and not
+   * running is a candidate, slow agents are offered first, and fast agents complete before the next
+   * cycle, which starts a second later.
+   *
+   * @param fastInterval the number of cycles between two runs of the fast agents
+   * @return the number of times each agent was started
+   */
+  private Map<String, Integer> simulate(AgentBulkheads.Settings settings, int cycles, int fastInterval = 1) {
+    Map<String, Integer> runs = [:]
+    Set<Agent> running = [] as Set
+    intervals.healthy = fastInterval * CYCLE_MILLIS
+    cycles.times { i ->
+      clock.setWallTime(i * CYCLE_MILLIS)
+      def due = slowAgents + (i % fastInterval == 0 ? fastAgents : [])
+      def candidates = due.findAll { !running.contains(it) }
+      def cycle = bulkheads.startCycle(settings, running, candidates, MAX_CONCURRENT_AGENTS)
+      candidates.each { agent ->
+        if (cycle.tryAdmit(agent)) {
+          running << agent
+          runs[agent.agentType] = (runs[agent.agentType] ?: 0) + 1
+        }
+      }
+      cycle.finish()
+      running.removeAll(fastAgents)
+    }
+    return runs
+  }
+
+  private double gauge(String name, String provider) {
+    return registry.gauge(
+      registry.createId("cats.agentScheduler.bulkhead.$name", "scheduler", "test", "provider", provider)
+    ).value()
+  }
+
+  private static class SyntheticAgent implements Agent, AccountAware {
+    final String agentType
+    final String providerName
+    final String accountName
+
+    SyntheticAgent(String agentType, String providerName, String accountName) {
+      this.agentType = agentType
+      this.providerName = providerName
+      this.accountName = accountName
+    }
+
+    @Override
+    AgentExecution getAgentExecution(ProviderRegistry providerRegistry) {
+      return null
+    }
+  }
+}
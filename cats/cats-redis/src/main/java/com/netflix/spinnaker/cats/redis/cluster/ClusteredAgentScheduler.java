@@ -19,12 +19,15 @@ package com.netflix.spinnaker.cats.redis.cluster;
 import static com.netflix.spinnaker.cats.agent.ExecutionInstrumentation.elapsedTimeMs;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.agent.AgentExecution;
 import com.netflix.spinnaker.cats.agent.AgentLock;
 import com.netflix.spinnaker.cats.agent.AgentScheduler;
 import com.netflix.spinnaker.cats.agent.AgentSchedulerAware;
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
+import com.netflix.spinnaker.cats.cluster.AgentBulkheads;
 import com.netflix.spinnaker.cats.cluster.AgentIntervalProvider;
 import com.netflix.spinnaker.cats.cluster.NodeIdentity;
 import com.netflix.spinnaker.cats.cluster.NodeStatusProvider;
@@ -70,9 +73,17 @@ public class ClusteredAgentScheduler extends CatsModuleAware
   @Getter // visible for tests
   private final Map<String, NextAttempt> activeAgents = new ConcurrentHashMap<>();
 
+  /**
+   * This contains the agents that are due but were held back by their bulkhead, whose run keys this
+   * node holds until they are admitted
+   */
+  @Getter // visible for tests
+  private final Map<String, NextAttempt> deferredAgents = new ConcurrentHashMap<>();
+
   private final NodeStatusProvider nodeStatusProvider;
   private final DynamicConfigService dynamicConfigService;
   private final ShardingFilter shardingFilter;
+  private final AgentBulkheads bulkheads;
 
   private static final long MIN_TTL_THRESHOLD = 500L;
   private static final String SET_IF_NOT_EXIST = "NX";
@@ -97,6 +108,28 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       Integer agentLockAcquisitionIntervalSeconds,
       DynamicConfigService dynamicConfigService,
       ShardingFilter shardingFilter) {
+    this(
+        redisClientDelegate,
+        nodeIdentity,
+        intervalProvider,
+        nodeStatusProvider,
+        enabledAgentPattern,
+        agentLockAcquisitionIntervalSeconds,
+        dynamicConfigService,
+        shardingFilter,
+        new NoopRegistry());
+  }
+
+  public ClusteredAgentScheduler(
+      RedisClientDelegate redisClientDelegate,
+      NodeIdentity nodeIdentity,
+      AgentIntervalProvider intervalProvider,
+      NodeStatusProvider nodeStatusProvider,
+      String enabledAgentPattern,
+      Integer agentLockAcquisitionIntervalSeconds,
+      DynamicConfigService dynamicConfigService,
+      ShardingFilter shardingFilter,
+      Registry registry) {
     this(
         redisClientDelegate,
         nodeIdentity,
@@ -113,7 +146,8 @@ public class ClusteredAgentScheduler extends CatsModuleAware
         enabledAgentPattern,
         agentLockAcquisitionIntervalSeconds,
         dynamicConfigService,
-        shardingFilter);
+        shardingFilter,
+        registry);
   }
 
   public ClusteredAgentScheduler(
@@ -127,6 +161,32 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       Integer agentLockAcquisitionIntervalSeconds,
       DynamicConfigService dynamicConfigService,
       ShardingFilter shardingFilter) {
+    this(
+        redisClientDelegate,
+        nodeIdentity,
+        intervalProvider,
+        nodeStatusProvider,
+        lockPollingScheduler,
+        agentExecutionPool,
+        enabledAgentPattern,
+        agentLockAcquisitionIntervalSeconds,
+        dynamicConfigService,
+        shardingFilter,
+        new NoopRegistry());
+  }
+
+  public ClusteredAgentScheduler(
+      RedisClientDelegate redisClientDelegate,
+      NodeIdentity nodeIdentity,
+      AgentIntervalProvider intervalProvider,
+      NodeStatusProvider nodeStatusProvider,
+      ScheduledExecutorService lockPollingScheduler,
+      ExecutorService agentExecutionPool,
+      String enabledAgentPattern,
+      Integer agentLockAcquisitionIntervalSeconds,
+      DynamicConfigService dynamicConfigService,
+      ShardingFilter shardingFilter,
+      Registry registry) {
     this.redisClientDelegate = redisClientDelegate;
     this.nodeIdentity = nodeIdentity;
     this.intervalProvider = intervalProvider;
@@ -135,6 +195,7 @@ public class ClusteredAgentScheduler extends CatsModuleAware
     this.enabledAgentPattern = Pattern.compile(enabledAgentPattern);
     this.dynamicConfigService = dynamicConfigService;
     this.shardingFilter = shardingFilter;
+    this.bulkheads = new AgentBulkheads(registry, "redis", intervalProvider);
     Integer lockInterval =
         agentLockAcquisitionIntervalSeconds == null ? 1 : agentLockAcquisitionIntervalSeconds;
 
@@ -152,35 +213,129 @@ public class ClusteredAgentScheduler extends CatsModuleAware
           maxConcurrentAgents,
           skip.size(),
           skip.stream().sorted().collect(Collectors.joining(",")));
-      return Collections.emptyMap();
     }
-    Map<String, NextAttempt> acquired = new HashMap<>(agents.size());
+
+    AgentBulkheads.Settings settings = bulkheadSettings();
+    if (!settings.isEnabled()) {
+      releaseDeferredAgents();
+    }
+    // Agents deferred by their bulkhead in earlier cycles are still due, as their run keys are held
+    Map<String, Agent> due = new LinkedHashMap<>();
+    Map<String, NextAttempt> attempts = new HashMap<>();
+    deferredAgents.forEach(
+        (agentType, attempt) -> {
+          AgentExecutionAction action = agents.get(agentType);
+          if (action != null) {
+            due.put(agentType, action.getAgent());
+            attempts.put(agentType, attempt);
+          }
+        });
+
     // Shuffle the list before grabbing so that we don't favor some agents accidentally
     List<Map.Entry<String, AgentExecutionAction>> agentsEntrySet =
-        new ArrayList<>(agents.entrySet());
+        agents.entrySet().stream()
+            .filter(
+                agent ->
+                    shardingFilter.filter(agent.getValue().getAgent())
+                        && !skip.contains(agent.getKey())
+                        && !due.containsKey(agent.getKey()))
+            .collect(Collectors.toList());
     Collections.shuffle(agentsEntrySet);
+
+    // An agent is due when its run key is free, since the key is held for the agent's interval.
+    // Bulkheads need to know all the agents that are due before admitting any of them.
+    int wanted =
+        availableAgents <= 0 ? 0 : settings.isEnabled() ? Integer.MAX_VALUE : availableAgents;
     for (Map.Entry<String, AgentExecutionAction> agent : agentsEntrySet) {
-      if (shardingFilter.filter(agent.getValue().getAgent()) && !skip.contains(agent.getKey())) {
-        final String agentType = agent.getKey();
-        AgentIntervalProvider.Interval interval =
-            intervalProvider.getInterval(agent.getValue().getAgent());
-        if (acquireRunKey(agentType, interval.getTimeout())) {
-          acquired.put(
-              agentType,
-              new NextAttempt(
-                  System.currentTimeMillis(),
-                  interval.getInterval(),
-                  interval.getErrorInterval(),
-                  interval.getTimeout()));
-        }
+      if (due.size() >= wanted) {
+        break;
+      }
+      final String agentType = agent.getKey();
+      AgentIntervalProvider.Interval interval =
+          intervalProvider.getInterval(agent.getValue().getAgent());
+      if (acquireRunKey(agentType, interval.getTimeout())) {
+        due.put(agentType, agent.getValue().getAgent());
+        attempts.put(
+            agentType,
+            new NextAttempt(
+                System.currentTimeMillis(),
+                interval.getInterval(),
+                interval.getErrorInterval(),
+                interval.getTimeout()));
       }
-      if (acquired.size() >= availableAgents) {
-        return acquired;
+    }
+
+    AgentBulkheads.Cycle cycle =
+        bulkheads.startCycle(
+            settings,
+            skip.stream()
+                .map(agents::get)
+                .filter(Objects::nonNull)
+                .map(AgentExecutionAction::getAgent)
+                .collect(Collectors.toList()),
+            due.values(),
+            maxConcurrentAgents);
+    long now = System.currentTimeMillis();
+    Map<String, NextAttempt> acquired = new HashMap<>(due.size());
+    for (Map.Entry<String, Agent> agent : due.entrySet()) {
+      String agentType = agent.getKey();
+      NextAttempt attempt = attempts.get(agentType);
+      if (cycle.tryAdmit(agent.getValue())) {
+        if (deferredAgents.remove(agentType) != null) {
+          // the run key was acquired in an earlier cycle, so it is renewed for the agent's timeout
+          attempt =
+              new NextAttempt(now, attempt.successInterval, attempt.errorInterval, attempt.timeout);
+          if (!ttlLock(agentType, attempt.timeout)) {
+            logger.debug("Ttl lock was unsuccessful for deferred agent " + agentType);
+            continue;
+          }
+        }
+        acquired.put(agentType, attempt);
+      } else if (now - attempt.currentTime + MIN_TTL_THRESHOLD
+          < Math.min(attempt.successInterval, attempt.timeout)) {
+        // hold the run key rather than acquiring it again in every cycle
+        deferredAgents.putIfAbsent(agentType, attempt);
+      } else {
+        // the agent has waited for its interval, let this node or another one pick it up again
+        deferredAgents.remove(agentType);
+        releaseRunKey(agentType, 0);
       }
     }
+    cycle.finish();
     return acquired;
   }
 
+  /** Releases the run keys of the agents held back by bulkheads that have been disabled. */
+  private void releaseDeferredAgents() {
+    for (String agentType : new ArrayList<>(deferredAgents.keySet())) {
+      deferredAgents.remove(agentType);
+      releaseRunKey(agentType, 0);
+    }
+  }
+
+  /**
+   * Bulkheads are disabled unless {@code redis.agent.bulkheads.enabled} is set. A provider's budget
+   * is set with {@code redis.agent.bulkheads.providers.<provider name>.max-concurrent-agents}. The
+   * budget of idle providers is lent to others unless {@code
+   * redis.agent.bulkheads.lend-idle-capacity} is false.
+   */
+  private AgentBulkheads.Settings bulkheadSettings() {
+    if (!dynamicConfigService.isEnabled("redis.agent.bulkheads", false)) {
+      return AgentBulkheads.Settings.disabled();
+    }
+    return new AgentBulkheads.Settings(
+        true,
+        provider ->
+            dynamicConfigService.getConfig(
+                Integer.class,
+                "redis.agent.bulkheads.providers." + provider + ".max-concurrent-agents",
+                0),
+        dynamicConfigService.getConfig(
+            Integer.class, "redis.agent.bulkheads.max-concurrent-agents-per-account", 0),
+        dynamicConfigService.getConfig(
+            Boolean.class, "redis.agent.bulkheads.lend-idle-capacity", true));
+  }
+
   @Override
   public void run() {
     if (!nodeStatusProvider.isNodeEnabled()) {
@@ -361,6 +516,7 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       agents.remove(agent.getAgentType());
       // explicitly remove it from the active agents map
       activeAgents.remove(agent.getAgentType());
+      deferredAgents.remove(agent.getAgentType());
     }
   }
 
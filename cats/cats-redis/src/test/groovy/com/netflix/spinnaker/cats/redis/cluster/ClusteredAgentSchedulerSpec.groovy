@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.cats.redis.cluster
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.DefaultRegistry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.AgentExecution
 import com.netflix.spinnaker.cats.agent.CachingAgent
@@ -27,6 +28,7 @@ import com.netflix.spinnaker.cats.cluster.DefaultNodeStatusProvider
 import com.netflix.spinnaker.cats.cluster.NoopShardingFilter
 import com.netflix.spinnaker.cats.test.ManualRunnableScheduler
 import com.netflix.spinnaker.cats.test.TestAgent
+import com.netflix.spinnaker.cats.test.TestProvider
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.jedis.JedisClientDelegate
 import redis.clients.jedis.Jedis
@@ -123,6 +125,67 @@ class ClusteredAgentSchedulerSpec extends Specification {
         0 * _
     }
 
+    def 'bulkheads only consider agents whose run key was acquired, and hold the keys of those they defer'() {
+        given:
+        def registry = new DefaultRegistry()
+        def bulkheadsDcs = Stub(DynamicConfigService) {
+          getConfig(Integer, _ as String, 1000) >> 1000
+          isEnabled("redis.agent.bulkheads", false) >> true
+          getConfig(Integer, "redis.agent.bulkheads.providers.${TestProvider.PROVIDER_NAME}.max-concurrent-agents".toString(), 0) >> 1
+          getConfig(Integer, "redis.agent.bulkheads.max-concurrent-agents-per-account", 0) >> 0
+          getConfig(Boolean, "redis.agent.bulkheads.lend-idle-capacity", true) >> true
+        }
+        scheduler = new ClusteredAgentScheduler(
+          new JedisClientDelegate(jedisPool),
+          new DefaultNodeIdentity(),
+          new DefaultAgentIntervalProvider(6000000),
+          new DefaultNodeStatusProvider(),
+          lockPollingScheduler,
+          agentExecutionScheduler,
+          ".*",
+          null,
+          bulkheadsDcs,
+          new NoopShardingFilter(),
+          registry
+        )
+        // one agent is not due, as its run key is held until its next run
+        def notDue = new TestAgent()
+        def due = (1..3).collect { new TestAgent() }
+        (due + notDue).each { scheduler.schedule(it, exec, inst) }
+
+        when:
+        lockPollingScheduler.runAll()
+
+        then:
+        4 * jedis.set(_ as String, _ as String, _ as SetParams) >> { String key, String value, SetParams params ->
+          key == notDue.agentType ? null : 'OK'
+        }
+        // the provider may borrow up to its budget again, so the third due agent is deferred
+        0 * jedis.eval(_ as String, _ as List, _ as List)
+        scheduler.activeAgents.size() == 2
+        !scheduler.activeAgents.containsKey(notDue.agentType)
+        scheduler.deferredAgents.size() == 1
+        deferred(registry) == 1
+
+        when:
+        lockPollingScheduler.runAll()
+
+        then:
+        // the deferred agent is offered again without acquiring its run key again
+        1 * jedis.set(notDue.agentType, _ as String, _ as SetParams) >> null
+        0 * jedis.set(_ as String, _ as String, _ as SetParams)
+        0 * jedis.eval(_ as String, _ as List, _ as List)
+        scheduler.activeAgents.size() == 2
+        scheduler.deferredAgents.size() == 1
+        deferred(registry) == 2
+    }
+
+    private static double deferred(DefaultRegistry registry) {
+        return registry.counter(
+          registry.createId("cats.agentScheduler.bulkhead.deferred", "scheduler", "redis", "provider", TestProvider.PROVIDER_NAME, "reason", "provider")
+        ).count()
+    }
+
     def 'test agent addition and removal from the agents and activeAgents maps in the schedule() -> run -> unschedule() flow'() {
       when:
       scheduler.schedule(agent, exec, inst)
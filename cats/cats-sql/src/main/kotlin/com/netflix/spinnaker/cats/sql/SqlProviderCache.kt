@@ -103,6 +103,15 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     return backingStore.getAllByApplication(types, application, filters)
   }
 
+  override fun getAllByApplications(
+    type: String,
+    applications: Collection<String>,
+    cacheFilter: CacheFilter?
+  ): Map<String, MutableCollection<CacheData>> {
+    validateTypes(type)
+    return backingStore.getAllByApplications(type, applications, cacheFilter)
+  }
+
   /**
    * Retrieves the items for the specified type matching the provided identifiers
    *
@@ -302,9 +302,9 @@ class SqlCache(
     val relationshipPrefixes = getRelationshipFilterPrefixes(cacheFilter)
 
     val result = if (relationshipPrefixes.isEmpty()) {
-      getDataWithoutRelationshipsByApp(type, application)
+      getDataWithoutRelationshipsByApp(type, listOf(application))
     } else {
-      getDataWithRelationshipsByApp(type, application, relationshipPrefixes)
+      getDataWithRelationshipsByApp(type, listOf(application), relationshipPrefixes)
     }
 
     if (result.selectQueries > -1) {
@@ -350,6 +350,47 @@ class SqlCache(
     return result
   }
 
+  /**
+   * Retrieves the items of the type for all the applications with one select per batch of
+   * applications, rather than one per application.
+   */
+  override fun getAllByApplications(
+    type: String,
+    applications: Collection<String>,
+    cacheFilter: CacheFilter?
+  ): Map<String, MutableCollection<CacheData>> {
+    val relationshipPrefixes = getRelationshipFilterPrefixes(cacheFilter)
+    val batchSize = dynamicConfigService.getConfig(Int::class.java, "sql.cache.read-batch-size", 500)
+
+    val cacheData = mutableListOf<CacheData>()
+    val relPointers = mutableSetOf<RelPointer>()
+    var selectQueries = 0
+    applications.distinct().chunked(batchSize) { chunk ->
+      val result = if (relationshipPrefixes.isEmpty()) {
+        getDataWithoutRelationshipsByApp(type, chunk)
+      } else {
+        getDataWithRelationshipsByApp(type, chunk, relationshipPrefixes)
+      }
+      if (result.selectQueries > -1) {
+        cacheData.addAll(result.data)
+        relPointers.addAll(result.relPointers)
+        selectQueries += result.selectQueries
+      }
+    }
+
+    cacheMetrics.get(
+      prefix = name,
+      type = type,
+      itemCount = cacheData.size,
+      requestedSize = cacheData.size,
+      relationshipsRequested = relPointers.size,
+      selectOperations = selectQueries,
+      async = wasAsync()
+    )
+
+    return mapOf(type to mergeDataAndRelationships(cacheData, relPointers, relationshipPrefixes))
+  }
+
   override fun merge(type: String, cacheData: CacheData) {
     mergeAll(type, null, mutableListOf(cacheData), true, false)
   }
@@ -1062,7 +1103,10 @@ class SqlCache(
     }
   }
 
-  private fun getDataWithoutRelationshipsByApp(type: String, application: String): DataWithRelationshipPointersResult {
+  private fun getDataWithoutRelationshipsByApp(
+    type: String,
+    applications: Collection<String>
+  ): DataWithRelationshipPointersResult {
     val cacheData = mutableListOf<CacheData>()
     val relPointers = mutableSetOf<RelPointer>()
     var selectQueries = 0
@@ -1072,7 +1116,7 @@ class SqlCache(
         cacheData.addAll(
           jooq.select(field("body"))
             .from(table(sqlNames.resourceTableName(type)))
-            .where(field("application").eq(application))
+            .where(field("application").`in`(applications))
             .fetch()
             .getValues(0)
             .asSequence()
@@ -1083,7 +1127,7 @@ class SqlCache(
       selectQueries += 1
       return DataWithRelationshipPointersResult(cacheData, relPointers, selectQueries, false)
     } catch (e: Exception) {
-      suppressedLog("Failed selecting resources of type $type for application $application", e)
+      suppressedLog("Failed selecting resources of type $type for applications $applications", e)
 
       cacheMetrics.get(
         prefix = name,
@@ -1103,7 +1147,7 @@ class SqlCache(
 
   private fun getDataWithRelationshipsByApp(
     type: String,
-    application: String,
+    applications: Collection<String>,
     relationshipPrefixes: List<String>
   ): DataWithRelationshipPointersResult {
 
@@ -1119,7 +1163,7 @@ class SqlCache(
     val relPointers = mutableSetOf<RelPointer>()
     var selectQueries = 0
 
-    val relWhere = getRelWhere(relationshipPrefixes, field("r.application").eq(application))
+    val relWhere = getRelWhere(relationshipPrefixes, field("r.application").`in`(applications))
 
     try {
       val resultSet = withRetry(RetryCategory.READ) {
@@ -1131,7 +1175,7 @@ class SqlCache(
             field(sql("null")).`as`("rel_type")
           )
           .from(table(sqlNames.resourceTableName(type)))
-          .where(field("application").eq(application))
+          .where(field("application").`in`(applications))
           .unionAll(
             jooq.select(
               field(sql("null")).`as`("body"),
@@ -1156,7 +1200,7 @@ class SqlCache(
       selectQueries += 1
       return DataWithRelationshipPointersResult(cacheData, relPointers, selectQueries, false)
     } catch (e: Exception) {
-      suppressedLog("Failed selecting resources of type $type for application $application", e)
+      suppressedLog("Failed selecting resources of type $type for applications $applications", e)
 
       cacheMetrics.get(
         prefix = name,
@@ -16,6 +16,8 @@
 package com.netflix.spinnaker.cats.sql.cluster
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.AgentExecution
 import com.netflix.spinnaker.cats.agent.AgentLock
@@ -23,6 +25,7 @@ import com.netflix.spinnaker.cats.agent.AgentScheduler
 import com.netflix.spinnaker.cats.agent.AgentSchedulerAware
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation.elapsedTimeMs
+import com.netflix.spinnaker.cats.cluster.AgentBulkheads
 import com.netflix.spinnaker.cats.cluster.AgentIntervalProvider
 import com.netflix.spinnaker.cats.cluster.NodeIdentity
 import com.netflix.spinnaker.cats.cluster.NodeStatusProvider
@@ -65,7 +68,8 @@ class SqlClusteredAgentScheduler(
   lockPollingScheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
     ThreadFactoryBuilder().setNameFormat(SqlClusteredAgentScheduler::class.java.simpleName + "-%d").build()
   ),
-  private val shardingFilter: ShardingFilter
+  private val shardingFilter: ShardingFilter,
+  registry: Registry = NoopRegistry()
 ) : CatsModuleAware(), AgentScheduler<AgentLock>, Runnable {
 
   private val log = LoggerFactory.getLogger(javaClass)
@@ -74,6 +78,7 @@ class SqlClusteredAgentScheduler(
   private val activeAgents: MutableMap<String, NextAttempt> = ConcurrentHashMap()
   private val activeAgentsFutures: MutableMap<String, Future<*>> = ConcurrentHashMap()
   private val enabledAgents: Pattern
+  private val bulkheads = AgentBulkheads(registry, "sql", intervalProvider)
 
   private val referenceTable = "cats_agent_locks"
   private val lockTable = if (tableNamespace.isNullOrBlank()) {
@@ -161,6 +166,7 @@ class SqlClusteredAgentScheduler(
         skip.size,
         skip.joinToString(",")
       )
+      bulkheads.recordRunning(bulkheadSettings(), skip.mapNotNull { agents[it.key]?.agent }, maxConcurrentAgents)
       return emptyMap()
     }
 
@@ -214,6 +220,12 @@ class SqlClusteredAgentScheduler(
 
     log.debug("Next agents to run: {}, max: {}", candidateAgentLocks.keys, availableAgents)
 
+    val cycle = bulkheads.startCycle(
+      bulkheadSettings(),
+      skip.mapNotNull { agents[it.key]?.agent },
+      candidateAgentLocks.values.map { it.agent },
+      maxConcurrentAgents
+    )
     val trimmedCandidates = mutableMapOf<String, AgentExecutionAction>()
     candidateAgentLocks.entries
       .shuffled()
@@ -225,12 +237,38 @@ class SqlClusteredAgentScheduler(
           it.key, candidateAgentLocks.size, maxConcurrentAgents, skip)
           return@forEach
         }
+        if (!cycle.tryAdmit(it.value.agent)) {
+          log.debug("Deferring caching agent: {}. Its provider or account has no capacity left", it.key)
+          return@forEach
+        }
         trimmedCandidates[it.key] = it.value
       }
+    cycle.finish()
 
     return trimmedCandidates
   }
 
+  /**
+   * Bulkheads are disabled unless `sql.agent.bulkheads.enabled` is set. A provider's budget is set with
+   * `sql.agent.bulkheads.providers.<provider name>.max-concurrent-agents`. The budget of idle providers is lent to
+   * others unless `sql.agent.bulkheads.lend-idle-capacity` is false.
+   */
+  private fun bulkheadSettings(): AgentBulkheads.Settings {
+    if (!dynamicConfigService.isEnabled("sql.agent.bulkheads", false)) {
+      return AgentBulkheads.Settings.disabled()
+    }
+    return AgentBulkheads.Settings(
+      true,
+      { provider ->
+        dynamicConfigService.getConfig(
+          Int::class.java, "sql.agent.bulkheads.providers.$provider.max-concurrent-agents", 0
+        )
+      },
+      dynamicConfigService.getConfig(Int::class.java, "sql.agent.bulkheads.max-concurrent-agents-per-account", 0),
+      dynamicConfigService.getConfig(Boolean::class.java, "sql.agent.bulkheads.lend-idle-capacity", true)
+    )
+  }
+
   private fun cleanupZombieAgents() {
     val zombieAgentThreshold = dynamicConfigService.getConfig(Long::class.java, "sql.agent.zombie-threshold-ms", 3600000)
     activeAgents
@@ -141,6 +141,37 @@ class SqlProviderCacheSpec extends ProviderCacheSpec {
     barData["serverGroup"].collect { it.id }.sort() == sgIdsForAppBar
   }
 
+  def 'can retrieve by several applications at once'() {
+    setup:
+    def sgIdsForAppFoo = 'fooSg1'..'fooSg3'
+    def sgIdsForAppBar = 'barSg1'..'barSg3'
+    def sgIdsForAppBaz = 'bazSg1'..'bazSg3'
+
+    sgIdsForAppFoo.each {
+      populateOne('serverGroup', it, createData(it, [application: "foo"], [instances: [it + "Inst"]]))
+    }
+
+    sgIdsForAppBar.each {
+      populateOne('serverGroup', it, createData(it, [application: "bar"], [instances: [it + "Inst"]]))
+    }
+
+    sgIdsForAppBaz.each {
+      populateOne('serverGroup', it, createData(it, [application: "baz"], [:]))
+    }
+
+    when:
+    def data = cache.getAllByApplications("serverGroup", ["foo", "bar"], filter)
+
+    then:
+    data["serverGroup"].collect { it.id }.sort() == (sgIdsForAppBar + sgIdsForAppFoo).sort()
+    data["serverGroup"].every { it.relationships.keySet() == expectedRelationships as Set }
+
+    where:
+    filter                                       || expectedRelationships
+    RelationshipCacheFilter.none()               || []
+    RelationshipCacheFilter.include("instances") || ["instances"]
+  }
+
   def 'can retrieve multiple types by application'() {
     setup:
     def sgIdsForAppFoo = 'fooSg1'..'fooSg3'
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.cats.cache.CacheIntrospectionStore;
 import com.netflix.spinnaker.cats.cache.DefaultAgentIntrospection;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
 import com.netflix.spinnaker.cats.provider.ProviderRegistry;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
 import com.netflix.spinnaker.kork.annotations.Beta;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -84,7 +85,7 @@ public interface CachingAgent extends Agent {
       CachingAgent cachingAgent = (CachingAgent) agent;
       ProviderCache cache = providerRegistry.getProviderCache(cachingAgent.getProviderName());
 
-      return cachingAgent.loadData(cache);
+      return RequestPriority.BACKGROUND.call(() -> cachingAgent.loadData(cache));
     }
 
     public void storeAgentResult(Agent agent, CacheResult result) {
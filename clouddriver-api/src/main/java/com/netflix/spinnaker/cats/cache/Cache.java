@@ -119,7 +119,10 @@ public interface Cache {
    */
   Collection<CacheData> getAll(String type, String... identifiers);
 
-  /** Returns whether or not the three {@code getAllByApplication} methods are supported */
+  /**
+   * Returns whether or not the {@code getAllByApplication} and {@code getAllByApplications} methods
+   * are supported
+   */
   default boolean supportsGetAllByApplication() {
     return false;
   }
@@ -172,4 +175,22 @@ public interface Cache {
       Collection<String> types, String application, Map<String, CacheFilter> cacheFilters) {
     throw new UnsupportedCacheMethodException("Method only implemented for StoreType.SQL");
   }
+
+  /**
+   * Retrieves all items for the specified type associated with any of the provided applications,
+   * in as few reads as the store allows. Requires a storeType with secondary indexes and support in
+   * the type's caching agent.
+   *
+   * <p>Clients should check {@link #supportsGetAllByApplication()} to check if this method is
+   * supported before calling it.
+   *
+   * @param type the type for which to retrieve items
+   * @param applications the application names
+   * @param cacheFilter the cacheFilter to govern which relationships to fetch
+   * @return the matching items, keyed by type
+   */
+  default Map<String, Collection<CacheData>> getAllByApplications(
+      String type, Collection<String> applications, CacheFilter cacheFilter) {
+    throw new UnsupportedCacheMethodException("Method only implemented for StoreType.SQL");
+  }
 }
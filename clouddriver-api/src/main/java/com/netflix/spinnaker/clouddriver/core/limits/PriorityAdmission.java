@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.netflix.spinnaker.clouddriver.core.limits;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * Lets requests through a rate limiter one at a time, picking the next one among the priority
+ * classes that have requests waiting, either strictly by priority or by smooth weighted
+ * round-robin, so that background caching cannot starve operations and operations cannot entirely
+ * starve caching. Within a class, requests are let in in arrival order.
+ *
+ * <p>A request {@link #enter enters} once it is its turn, takes what it needs from the rate limiter
+ * and then {@link #exit exits} to let the next one in.
+ */
+@Beta
+public class PriorityAdmission {
+  private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+  private final PriorityAdmissionProperties.Policy policy;
+  private final int[] weights = new int[PRIORITIES.length];
+
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final Condition[] turns = new Condition[PRIORITIES.length];
+  private final int[] waiting = new int[PRIORITIES.length];
+  private final int[] credits = new int[PRIORITIES.length];
+  private boolean busy;
+  @Nullable private RequestPriority next;
+
+  public PriorityAdmission(PriorityAdmissionProperties properties) {
+    this.policy = properties.getPolicy();
+    for (RequestPriority priority : PRIORITIES) {
+      weights[priority.ordinal()] = Math.max(1, properties.getWeight(priority));
+      turns[priority.ordinal()] = lock.newCondition();
+    }
+  }
+
+  /**
+   * Returns an admission for the properties, or null if requests are to be admitted in arrival
+   * order, which needs no coordination.
+   */
+  @Nullable
+  public static PriorityAdmission of(PriorityAdmissionProperties properties) {
+    return properties.getPolicy() == PriorityAdmissionProperties.Policy.FIFO
+        ? null
+        : new PriorityAdmission(properties);
+  }
+
+  /** Blocks until it is the turn of a request of the given priority. */
+  public void enter(RequestPriority priority) {
+    int i = priority.ordinal();
+    lock.lock();
+    try {
+      waiting[i]++;
+      if (!busy && next == null) {
+        chooseNext();
+      }
+      while (busy || next != priority) {
+        turns[i].awaitUninterruptibly();
+      }
+      waiting[i]--;
+      busy = true;
+      next = null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Ends the turn of the request that last entered, and lets the next one in. */
+  public void exit() {
+    lock.lock();
+    try {
+      busy = false;
+      chooseNext();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns how many requests are waiting for their turn. */
+  public int getWaiting() {
+    lock.lock();
+    try {
+      int total = 0;
+      for (int count : waiting) {
+        total += count;
+      }
+      return total;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Picks the class that goes next and wakes up one of its requests. Must hold the lock. */
+  private void chooseNext() {
+    next =
+        policy == PriorityAdmissionProperties.Policy.STRICT ? highestWaiting() : weightedWaiting();
+    if (next != null) {
+      turns[next.ordinal()].signal();
+    }
+  }
+
+  @Nullable
+  private RequestPriority highestWaiting() {
+    for (RequestPriority priority : PRIORITIES) {
+      if (waiting[priority.ordinal()] > 0) {
+        return priority;
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private RequestPriority weightedWaiting() {
+    int total = 0;
+    RequestPriority best = null;
+    for (RequestPriority priority : PRIORITIES) {
+      int i = priority.ordinal();
+      if (waiting[i] == 0) {
+        credits[i] = 0;
+        continue;
+      }
+      credits[i] += weights[i];
+      total += weights[i];
+      if (best == null || credits[i] > credits[best.ordinal()]) {
+        best = priority;
+      }
+    }
+    if (best != null) {
+      credits[best.ordinal()] -= total;
+    }
+    return best;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.netflix.spinnaker.clouddriver.core.limits;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import lombok.Data;
+
+/** How the requests waiting for a rate limit are ordered, see {@link RequestPriority}. */
+@Beta
+@Data
+public class PriorityAdmissionProperties {
+
+  public enum Policy {
+    /** Requests are admitted in arrival order, regardless of their priority. */
+    FIFO,
+
+    /** A waiting request of a higher priority is always admitted before lower priority ones. */
+    STRICT,
+
+    /**
+     * Priority classes with waiting requests are admitted in proportion to their weights, so lower
+     * priorities are slowed down but never starved.
+     */
+    WEIGHTED
+  }
+
+  private Policy policy = Policy.FIFO;
+
+  /** Weights of the priority classes for {@link Policy#WEIGHTED} admission. */
+  private int mutationWeight = 8;
+
+  private int interactiveWeight = 4;
+  private int backgroundWeight = 1;
+
+  public int getWeight(RequestPriority priority) {
+    switch (priority) {
+      case MUTATION:
+        return mutationWeight;
+      case INTERACTIVE:
+        return interactiveWeight;
+      default:
+        return backgroundWeight;
+    }
+  }
+}
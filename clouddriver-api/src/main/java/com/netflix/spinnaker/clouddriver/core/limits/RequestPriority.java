@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.core.limits;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * The priority class of the cloud provider API calls made by the current thread, in decreasing
+ * order of priority.
+ *
+ * <p>The priority is set by the context that drives the calls (atomic operations, on-demand cache
+ * updates and caching agents) and read by rate limiters to decide which waiting call goes next.
+ * Calls made outside of any of these contexts, such as those serving read APIs, are {@link
+ * #INTERACTIVE}.
+ *
+ * <p>The priority belongs to the thread, so work handed to a thread pool has to be wrapped with
+ * {@link #propagate(Runnable)}, or given to a {@link #propagating(Executor)} executor, to keep the
+ * priority of the thread that hands it over.
+ */
+@Beta
+public enum RequestPriority {
+  /** Calls made by an atomic operation, e.g. a deploy. */
+  MUTATION,
+
+  /** Calls made on behalf of a user, such as on-demand cache updates. */
+  INTERACTIVE,
+
+  /** Calls made by caching agents polling the cloud provider. */
+  BACKGROUND;
+
+  private static final ThreadLocal<RequestPriority> current = new ThreadLocal<>();
+
+  /** Returns the priority of the calls made by the current thread. */
+  public static RequestPriority current() {
+    RequestPriority priority = current.get();
+    return priority == null ? INTERACTIVE : priority;
+  }
+
+  /** Calls the supplier with this priority, restoring the previous priority afterwards. */
+  public <T> T call(Supplier<T> supplier) {
+    RequestPriority previous = current.get();
+    set(this);
+    try {
+      return supplier.get();
+    } finally {
+      set(previous);
+    }
+  }
+
+  /**
+   * Returns a runnable that runs with the priority of the current thread, whichever thread it is
+   * run on.
+   */
+  public static Runnable propagate(Runnable runnable) {
+    RequestPriority priority = current.get();
+    return () -> {
+      RequestPriority previous = current.get();
+      set(priority);
+      try {
+        runnable.run();
+      } finally {
+        set(previous);
+      }
+    };
+  }
+
+  /**
+   * Returns a callable that is called with the priority of the current thread, whichever thread it
+   * is called on.
+   */
+  public static <T> Callable<T> propagate(Callable<T> callable) {
+    RequestPriority priority = current.get();
+    return () -> {
+      RequestPriority previous = current.get();
+      set(priority);
+      try {
+        return callable.call();
+      } finally {
+        set(previous);
+      }
+    };
+  }
+
+  /**
+   * Returns an executor that runs the tasks given to it with the priority of the thread that gives
+   * them, e.g. for {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, Executor)}.
+   */
+  public static Executor propagating(Executor executor) {
+    return command -> executor.execute(propagate(command));
+  }
+
+  /** Runs the runnable with this priority, restoring the previous priority afterwards. */
+  public void run(Runnable runnable) {
+    call(
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  private static void set(@Nullable RequestPriority priority) {
+    if (priority == null) {
+      current.remove();
+    } else {
+      current.set(priority);
+    }
+  }
+}
@@ -95,6 +95,20 @@ public interface AccountCredentials<T> extends Credentials {
     return true;
   }
 
+  /**
+   * Identifies the current state of the details of this account that change without the account
+   * being replaced, such as the namespaces of a kubernetes account. A rendering of the account stays
+   * current for as long as the account is the same object and this value is equal.
+   *
+   * <p>This is deliberately not a bean property, so that it is not rendered with the account.
+   *
+   * @return a value that is only equal to an earlier one if those details are unchanged, or null if
+   *     the account has no such details
+   */
+  default Object detailsVersion() {
+    return null;
+  }
+
   /**
    * A user in ANY required group should be allowed access to this account.
    *
@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.aws
 
+import com.netflix.spinnaker.clouddriver.aws.security.sdkclient.RateLimitProperties
 import groovy.transform.Canonical
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.boot.context.properties.NestedConfigurationProperty
@@ -31,6 +32,9 @@ class AwsConfigurationProperties {
     int maxConnectionsPerRoute = 20
     boolean useGzip = true
     boolean addSpinnakerUserToUserAgent = false
+
+    @NestedConfigurationProperty
+    final RateLimitProperties rateLimit = new RateLimitProperties()
   }
 
   @Canonical
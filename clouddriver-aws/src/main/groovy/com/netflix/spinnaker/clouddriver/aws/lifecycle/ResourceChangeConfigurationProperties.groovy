@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.lifecycle
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+/**
+ * Subscribes to an SQS queue of EC2, Auto Scaling and Elastic Load Balancing change events (e.g.
+ * delivered by EventBridge rules, including CloudTrail API calls) and refreshes the affected
+ * server groups on demand.
+ *
+ * With the changes picked up this way, the polling interval of the caching agents only needs to be
+ * short enough to reconcile the changes that were missed.
+ */
+@ConfigurationProperties("aws.lifecycle-subscribers.resource-changes")
+class ResourceChangeConfigurationProperties {
+  // Account owning the queues, which receive the events of all accounts
+  String accountName
+  // Supports {{region}} and {{accountId}} placeholders, there is a queue per region of the account
+  String queueARN
+  // Endpoint of an SQS compatible service to use instead of SQS, e.g. a local stand-in
+  String endpoint
+
+  long pollIntervalSeconds = 15
+  int maxMessagesPerCycle = 1000
+  int visibilityTimeout = 60
+  int waitTimeSeconds = 5
+}
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.aws.provider.view
 
 import com.amazonaws.services.autoscaling.model.LifecycleState
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.frigga.ami.AppVersion
 import com.netflix.spinnaker.cats.cache.Cache
 import com.netflix.spinnaker.cats.cache.CacheData
@@ -26,19 +27,32 @@ import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.model.*
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority
 import com.netflix.spinnaker.clouddriver.core.provider.agent.ExternalHealthProvider
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider
 import com.netflix.spinnaker.clouddriver.model.ServerGroupProvider
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spectator.api.Registry
 import groovy.util.logging.Slf4j
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Component
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.RejectedExecutionHandler
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.function.Supplier
+
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 
 @Slf4j
 @Component
-class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGroupProvider {
+class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGroupProvider, DisposableBean {
 
   private final AmazonCloudProvider amazonCloudProvider
   private final Cache cacheView
@@ -53,11 +67,46 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   @Value('${sql.cache.enabled:false}')
   Boolean sqlEnabled
 
-  @Autowired
+  @Autowired(required = false)
+  Registry registry = new NoopRegistry()
+
+  /**
+   * Helper threads for the cache reads that do not depend on each other, see {@link #readAsync}.
+   *
+   * <p>The threads are shared by all requests. When they are all busy, reads run on the request
+   * thread instead of waiting for one, so requests never queue behind each other.
+   */
+  private final ExecutorService cacheReadExecutor
+
   AmazonClusterProvider(AmazonCloudProvider amazonCloudProvider, Cache cacheView, AwsProvider awsProvider) {
+    this(amazonCloudProvider, cacheView, awsProvider, 8)
+  }
+
+  @Autowired
+  AmazonClusterProvider(AmazonCloudProvider amazonCloudProvider,
+                        Cache cacheView,
+                        AwsProvider awsProvider,
+                        @Value('${aws.cluster-provider.cache-read-threads:8}') int cacheReadThreads) {
     this.amazonCloudProvider = amazonCloudProvider
     this.cacheView = cacheView
     this.awsProvider = awsProvider
+    this.cacheReadExecutor = new ThreadPoolExecutor(
+      0,
+      Math.max(1, cacheReadThreads),
+      60,
+      TimeUnit.SECONDS,
+      new SynchronousQueue<Runnable>(),
+      new ThreadFactoryBuilder()
+        .setNameFormat(AmazonClusterProvider.simpleName + "-%d")
+        .setDaemon(true)
+        .build(),
+      { Runnable read, ThreadPoolExecutor executor -> read.run() } as RejectedExecutionHandler
+    )
+  }
+
+  @Override
+  void destroy() {
+    cacheReadExecutor.shutdownNow()
   }
 
   @Override
@@ -77,6 +126,53 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     getClusters0(applicationName, true)
   }
 
+  /**
+   * Reads the clusters of all the applications at once: with one indexed query per batch of
+   * applications when the cache supports it, otherwise by way of their application entries.
+   */
+  @Override
+  Map<String, Map<String, Set<AmazonCluster>>> getClusterSummaries(Collection<String> applications) {
+    Collection<CacheData> clusterData
+    if (cacheView.supportsGetAllByApplication()) {
+      clusterData = timed(CLUSTERS.ns) {
+        cacheView.getAllByApplications(
+          CLUSTERS.ns,
+          applications,
+          RelationshipCacheFilter.include(SERVER_GROUPS.ns, LOAD_BALANCERS.ns, TARGET_GROUPS.ns)
+        )[CLUSTERS.ns] ?: []
+      }
+    } else {
+      Collection<CacheData> applicationData = timed(APPLICATIONS.ns) {
+        cacheView.getAll(
+          APPLICATIONS.ns,
+          applications.collect { Keys.getApplicationKey(it) },
+          RelationshipCacheFilter.include(CLUSTERS.ns)
+        )
+      }
+      Set<String> clusterKeys = applicationData.collectMany { it.relationships[CLUSTERS.ns] ?: [] } as Set
+      clusterData = timed(CLUSTERS.ns) { cacheView.getAll(CLUSTERS.ns, clusterKeys) }
+    }
+
+    return groupByApplication(applications, clusterData, translateClusters(clusterData, false)).collectEntries { application, clusters ->
+      [(application): mapResponse(clusters)]
+    } as Map<String, Map<String, Set<AmazonCluster>>>
+  }
+
+  /** Reads all the clusters at once. */
+  @Override
+  Map<String, Set<AmazonCluster>> getClusters(Map<String, Map<String, Set<String>>> clusterNames) {
+    Collection<String> clusterKeys = clusterNames.collectMany { application, namesByAccount ->
+      namesByAccount.collectMany { account, names ->
+        names.collect { Keys.getClusterKey(it, application, account) }
+      }
+    }
+    Collection<CacheData> clusterData = timed(CLUSTERS.ns) { cacheView.getAll(CLUSTERS.ns, clusterKeys) }
+
+    return groupByApplication(clusterNames.keySet(), clusterData, translateClusters(clusterData, true)).collectEntries { application, clusters ->
+      [(application): new HashSet<>(clusters)]
+    } as Map<String, Set<AmazonCluster>>
+  }
+
   @Override
   AmazonServerGroup getServerGroup(String account, String region, String name, boolean includeDetails) {
     String serverGroupKey = Keys.getServerGroupKey(name, account, region)
@@ -143,6 +239,24 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     clusters.groupBy { it.accountName }.collectEntries { k, v -> [k, new HashSet(v)] }
   }
 
+  /**
+   * Groups clusters, translated in the same order as their cache data, by the requested application
+   * they belong to; cache keys hold application names in lower case.
+   */
+  private static Map<String, List<AmazonCluster>> groupByApplication(Collection<String> applications,
+                                                                     Collection<CacheData> clusterData,
+                                                                     Collection<AmazonCluster> clusters) {
+    Map<String, String> requested = applications.collectEntries { [(it.toLowerCase()): it] }
+    List<CacheData> data = clusterData as List
+    List<AmazonCluster> translated = clusters as List
+    Map<String, List<AmazonCluster>> result = [:]
+    for (int i = 0; i < data.size(); i++) {
+      String application = Keys.parse(data[i].id).application
+      result.computeIfAbsent(requested[application] ?: application) { [] } << translated[i]
+    }
+    result
+  }
+
   private static Set<String> getAsgInstanceKeys(Map asg, String account, String region) {
     asg?.instances?.inject(new HashSet<String>()) { Set instances, Map instance ->
       instances.add(Keys.getInstanceKey(instance.instanceId, account, region))
@@ -174,37 +288,33 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     filters[LAUNCH_TEMPLATES.ns] = RelationshipCacheFilter.include(IMAGES.ns, SERVER_GROUPS.ns)
     filters[INSTANCES.ns] = RelationshipCacheFilter.include(SERVER_GROUPS.ns)
 
-    def cacheResults = cacheView.getAllByApplication(toFetch, application, filters)
-
-    // lbs and images can span applications and can't currently be indexed by app
-    Collection<CacheData> allLoadBalancers = resolveRelationshipDataForCollection(
-      cacheResults[CLUSTERS.ns],
-      LOAD_BALANCERS.ns,
-      RelationshipCacheFilter.none()
-    )
-    Collection<CacheData> allTargetGroups = resolveRelationshipDataForCollection(
-      cacheResults[CLUSTERS.ns],
-      TARGET_GROUPS.ns,
-      RelationshipCacheFilter.none()
-    )
-
-    Collection<CacheData> allImages = []
-    allImages.addAll(
-      resolveRelationshipDataForCollection(cacheResults[LAUNCH_CONFIGS.ns], IMAGES.ns, RelationshipCacheFilter.none())
-    )
+    def cacheResults = timed("application") {
+      cacheView.getAllByApplication(toFetch, application, filters)
+    }
 
-    allImages.addAll(
-      resolveRelationshipDataForCollection(cacheResults[LAUNCH_TEMPLATES.ns], IMAGES.ns, RelationshipCacheFilter.none())
-    )
+    // lbs and images can span applications and can't currently be indexed by app, they only depend
+    // on what was just read so they are all read at once
+    def loadBalancersRead = readAsync(LOAD_BALANCERS.ns) {
+      resolveRelationshipDataForCollection(cacheResults[CLUSTERS.ns], LOAD_BALANCERS.ns, RelationshipCacheFilter.none())
+    }
+    def targetGroupsRead = readAsync(TARGET_GROUPS.ns) {
+      resolveRelationshipDataForCollection(cacheResults[CLUSTERS.ns], TARGET_GROUPS.ns, RelationshipCacheFilter.none())
+    }
+    def imagesRead = readAsync(IMAGES.ns) {
+      Collection<CacheData> launchData = (cacheResults[LAUNCH_CONFIGS.ns] ?: []) + (cacheResults[LAUNCH_TEMPLATES.ns] ?: [])
+      resolveRelationshipDataForCollection(launchData, IMAGES.ns, RelationshipCacheFilter.none())
+    }
+    Map<String, String> healthKeysToInstance = getHealthKeys(cacheResults[INSTANCES.ns]*.id)
+    def healthsRead = readAsync(HEALTH.ns) { getHealths(healthKeysToInstance) }
 
-    Map<String, AmazonLoadBalancer> loadBalancers = translateLoadBalancers(allLoadBalancers)
-    Map<String, AmazonTargetGroup> targetGroups = translateTargetGroups(allTargetGroups)
+    Map<String, AmazonLoadBalancer> loadBalancers = translateLoadBalancers(await(loadBalancersRead))
+    Map<String, AmazonTargetGroup> targetGroups = translateTargetGroups(await(targetGroupsRead))
     Map<String, AmazonServerGroup> serverGroups = translateServerGroups(
       cacheResults[SERVER_GROUPS.ns],
-      cacheResults[INSTANCES.ns],
+      translateInstances(cacheResults[INSTANCES.ns], healthKeysToInstance, await(healthsRead)),
       cacheResults[LAUNCH_CONFIGS.ns],
       cacheResults[LAUNCH_TEMPLATES.ns],
-      allImages
+      await(imagesRead)
     )
 
     Collection<AmazonCluster> clusters = cacheResults[CLUSTERS.ns].collect { clusterData ->
@@ -231,17 +341,27 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     Map<String, AmazonServerGroup> serverGroups
 
     if (includeDetails) {
-      Collection<CacheData> allLoadBalancers = resolveRelationshipDataForCollection(clusterData, LOAD_BALANCERS.ns)
-      Collection<CacheData> allTargetGroups = resolveRelationshipDataForCollection(clusterData, TARGET_GROUPS.ns)
-      Collection<CacheData> allServerGroups = resolveRelationshipDataForCollection(
-        clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.include(INSTANCES.ns, LAUNCH_CONFIGS.ns, LAUNCH_TEMPLATES.ns))
+      // load balancers and target groups are not needed to resolve anything else, so they are read
+      // while the server groups are being resolved
+      def loadBalancersRead = readAsync(LOAD_BALANCERS.ns) {
+        resolveRelationshipDataForCollection(clusterData, LOAD_BALANCERS.ns)
+      }
+      def targetGroupsRead = readAsync(TARGET_GROUPS.ns) {
+        resolveRelationshipDataForCollection(clusterData, TARGET_GROUPS.ns)
+      }
+      Collection<CacheData> allServerGroups = timed(SERVER_GROUPS.ns) {
+        resolveRelationshipDataForCollection(
+          clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.include(INSTANCES.ns, LAUNCH_CONFIGS.ns, LAUNCH_TEMPLATES.ns))
+      }
 
-      loadBalancers = translateLoadBalancers(allLoadBalancers)
-      targetGroups = translateTargetGroups(allTargetGroups)
-      serverGroups = translateServerGroups(allServerGroups, false)
       // instance relationships were expanded so no need to consider partial instances
+      serverGroups = translateServerGroups(allServerGroups, false)
+      loadBalancers = translateLoadBalancers(await(loadBalancersRead))
+      targetGroups = translateTargetGroups(await(targetGroupsRead))
     } else {
-      Collection<CacheData> allServerGroups = resolveRelationshipDataForCollection(clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.none())
+      Collection<CacheData> allServerGroups = timed(SERVER_GROUPS.ns) {
+        resolveRelationshipDataForCollection(clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.none())
+      }
       serverGroups = translateServerGroups(allServerGroups, true)
     }
 
@@ -279,7 +399,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       clusters = allClustersByApplication(applicationName)
     } else {
       Collection<String> clusterKeys = cacheView.filterIdentifiers(CLUSTERS.ns, Keys.getClusterKey("*", applicationName, "*"))
-      Collection<CacheData> clusterData = cacheView.getAll(CLUSTERS.ns, clusterKeys)
+      Collection<CacheData> clusterData = timed(CLUSTERS.ns) { cacheView.getAll(CLUSTERS.ns, clusterKeys) }
       clusters = translateClusters(clusterData, includeDetails)
     }
     if (!clusters) {
@@ -291,13 +411,11 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
 
   private Map<String, AmazonServerGroup> translateServerGroups(
     Collection<CacheData> serverGroupData,
-    Collection<CacheData> instanceData,
+    Map<String, AmazonInstance> instances,
     Collection<CacheData> launchConfigData,
     Collection<CacheData> launchTemplateData,
     Collection<CacheData> imageData
   ) {
-    Map<String, AmazonInstance> instances = translateInstances(instanceData)
-
     Map<String, AmazonServerGroup> serverGroups = serverGroupData?.collectEntries { sg ->
       Map<String, String> parsed = Keys.parse(sg.id)
       AmazonServerGroup serverGroup = new AmazonServerGroup(sg.attributes)
@@ -327,9 +445,46 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
 
   private Map<String, AmazonServerGroup> translateServerGroups(Collection<CacheData> serverGroupData,
                                                                boolean includePartialInstances) {
-    Collection<CacheData> allInstances = resolveRelationshipDataForCollection(serverGroupData, INSTANCES.ns, RelationshipCacheFilter.none())
+    Map<String, String> launchConfigurations = serverGroupData.findAll {
+      it.relationships[LAUNCH_CONFIGS.ns]
+    }.collectEntries {
+      [(it.relationships[LAUNCH_CONFIGS.ns].first()): it.id]
+    }
+
+    Map<String, String> templates = serverGroupData.findAll {
+      it.relationships[LAUNCH_TEMPLATES.ns]
+    }.collectEntries {
+      [(it.relationships[LAUNCH_TEMPLATES.ns].first()): it.id]
+    }
+
+    // instances, their health, launch configs and launch templates only depend on the server groups
+    // so they are read at once, images depend on the launch configs and templates
+    Map<String, String> healthKeysToInstance = getHealthKeys(
+      serverGroupData.findResults { it.relationships[INSTANCES.ns] ?: [] }.flatten() as Collection<String>
+    )
+    def instancesRead = readAsync(INSTANCES.ns) {
+      resolveRelationshipDataForCollection(serverGroupData, INSTANCES.ns, RelationshipCacheFilter.none())
+    }
+    def healthsRead = readAsync(HEALTH.ns) { getHealths(healthKeysToInstance) }
+    def launchConfigsRead = readAsync(LAUNCH_CONFIGS.ns) {
+      cacheView.getAll(LAUNCH_CONFIGS.ns, launchConfigurations.keySet())
+    }
+    def launchTemplatesRead = readAsync(LAUNCH_TEMPLATES.ns) {
+      cacheView.getAll(LAUNCH_TEMPLATES.ns, templates.keySet())
+    }
+
+    Collection<CacheData> launchConfigs = await(launchConfigsRead)
+    Collection<CacheData> launchTemplates = await(launchTemplatesRead)
+    Map<String, Collection<String>> allImages = [:]
+    ((launchConfigs ?: []) + (launchTemplates ?: [])).each { launchData ->
+      String imageId = launchData.relationships[IMAGES.ns]?.first()
+      if (imageId) {
+        allImages.computeIfAbsent(imageId, { [] }) << (launchConfigurations[launchData.id] ?: templates[launchData.id])
+      }
+    }
+    def imagesRead = readAsync(IMAGES.ns) { cacheView.getAll(IMAGES.ns, allImages.keySet()) }
 
-    Map<String, AmazonInstance> instances = translateInstances(allInstances)
+    Map<String, AmazonInstance> instances = translateInstances(await(instancesRead), healthKeysToInstance, await(healthsRead))
 
     Map<String, AmazonServerGroup> serverGroups = serverGroupData.collectEntries { serverGroupEntry ->
       Map<String, String> serverGroupKey = Keys.parse(serverGroupEntry.id)
@@ -363,46 +518,15 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       [(serverGroupEntry.id): serverGroup]
     }
 
-    Map<String, String> launchConfigurations = serverGroupData.findAll {
-      it.relationships[LAUNCH_CONFIGS.ns]
-    }.collectEntries {
-      [(it.relationships[LAUNCH_CONFIGS.ns].first()): it.id]
-    }
-
-    Map<String, String> templates = serverGroupData.findAll {
-      it.relationships[LAUNCH_TEMPLATES.ns]
-    }.collectEntries {
-      [(it.relationships[LAUNCH_TEMPLATES.ns].first()): it.id]
-    }
-
-    Collection<CacheData> launchConfigs = cacheView.getAll(LAUNCH_CONFIGS.ns, launchConfigurations.keySet())
-    Map<String, Collection<String>> allImages = [:]
     launchConfigs.each { launchConfig ->
-      def serverGroupId = launchConfigurations[launchConfig.id]
-      def imageId = launchConfig.relationships[IMAGES.ns]?.first()
-      serverGroups[serverGroupId].launchConfig = launchConfig.attributes
-      if (imageId) {
-        if (!allImages.containsKey(imageId)) {
-          allImages.put(imageId, [])
-        }
-        allImages[imageId] << serverGroupId
-      }
+      serverGroups[launchConfigurations[launchConfig.id]].launchConfig = launchConfig.attributes
     }
 
-    Collection<CacheData> launchTemplates = cacheView.getAll(LAUNCH_TEMPLATES.ns, templates.keySet())
     launchTemplates.each { launchTemplate ->
-      def serverGroupId = templates[launchTemplate.id]
-      populateServerGroupWithLtOrMip(serverGroups[serverGroupId], launchTemplate)
-      String imageId = launchTemplate.relationships[IMAGES.ns]?.first()
-      if (imageId) {
-        if (!allImages.containsKey(imageId)) {
-          allImages.put(imageId, [])
-        }
-        allImages[imageId] << serverGroupId
-      }
+      populateServerGroupWithLtOrMip(serverGroups[templates[launchTemplate.id]], launchTemplate)
     }
 
-    Collection<CacheData> images = cacheView.getAll(IMAGES.ns, allImages.keySet())
+    Collection<CacheData> images = await(imagesRead)
     images.each { image ->
       def serverGroupIds = allImages[image.id]
 
@@ -417,36 +541,58 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   }
 
   private Map<String, AmazonInstance> translateInstances(Collection<CacheData> instanceData) {
+    Map<String, String> healthKeysToInstance = getHealthKeys(instanceData*.id)
+    translateInstances(instanceData, healthKeysToInstance, getHealths(healthKeysToInstance))
+  }
+
+  private Map<String, AmazonInstance> translateInstances(Collection<CacheData> instanceData,
+                                                         Map<String, String> healthKeysToInstance,
+                                                         Collection<CacheData> healths) {
     Map<String, AmazonInstance> instances = instanceData?.collectEntries { instanceEntry ->
       AmazonInstance instance = new AmazonInstance(instanceEntry.attributes)
       instance.name = instanceEntry.attributes.instanceId.toString()
       [(instanceEntry.id): instance]
     } ?: [:]
-    addHealthToInstances(instanceData, instances)
+    addHealthToInstances(instances, healthKeysToInstance, healths)
 
     instances
   }
 
-  private void addHealthToInstances(Collection<CacheData> instanceData, Map<String, AmazonInstance> instances) {
+  /**
+   * Maps the keys of the health of the given instances, as reported by the health agents, to the
+   * instance keys.
+   */
+  private Map<String, String> getHealthKeys(Collection<String> instanceKeys) {
     Map<String, String> healthKeysToInstance = [:]
-    instanceData.each { instanceEntry ->
-      Map<String, String> instanceKey = Keys.parse(instanceEntry.id)
+    instanceKeys.each { instanceId ->
+      Map<String, String> instanceKey = Keys.parse(instanceId)
+      if (!instanceKey) {
+        return
+      }
       awsProvider.healthAgents.each {
         def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, it.healthId)
-        healthKeysToInstance.put(key, instanceEntry.id)
+        healthKeysToInstance.put(key, instanceId)
       }
       externalHealthProviders.each { externalHealthProvider ->
         externalHealthProvider.agents.each { externalHealthAgent ->
           def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, externalHealthAgent.healthId)
-          healthKeysToInstance.put(key, instanceEntry.id)
+          healthKeysToInstance.put(key, instanceId)
         }
       }
     }
+    healthKeysToInstance
+  }
 
-    Collection<CacheData> healths = cacheView.getAll(HEALTH.ns, healthKeysToInstance.keySet(), RelationshipCacheFilter.none())
+  private Collection<CacheData> getHealths(Map<String, String> healthKeysToInstance) {
+    healthKeysToInstance ? cacheView.getAll(HEALTH.ns, healthKeysToInstance.keySet(), RelationshipCacheFilter.none()) : []
+  }
+
+  private static void addHealthToInstances(Map<String, AmazonInstance> instances,
+                                           Map<String, String> healthKeysToInstance,
+                                           Collection<CacheData> healths) {
     healths.each { healthEntry ->
-      def instanceId = healthKeysToInstance.get(healthEntry.id)
-      instances[instanceId].health << healthEntry.attributes
+      // health is looked up from the instance relationships, which can outlive the instance itself
+      instances[healthKeysToInstance.get(healthEntry.id)]?.health?.add(healthEntry.attributes)
     }
 
     instances.values().each { instance ->
@@ -456,6 +602,41 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     }
   }
 
+  /**
+   * Reads from the cache on a helper thread, or on the calling thread if none is free, with the
+   * priority of the calling thread.
+   *
+   * <p>Only the thread serving the request waits for these reads, never the executor itself, so the
+   * reads of one request cannot deadlock waiting for each other.
+   */
+  private <T> CompletableFuture<T> readAsync(String stage, Closure<T> read) {
+    CompletableFuture.supplyAsync({ timed(stage, read) } as Supplier<T>, RequestPriority.propagating(cacheReadExecutor))
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      future.join()
+    } catch (CompletionException e) {
+      throw e.cause ?: e
+    }
+  }
+
+  /**
+   * Records how long a stage of reading clusters from the cache takes, so that the latency of the
+   * cluster endpoints can be attributed to the relationships they resolve.
+   */
+  private <T> T timed(String stage, Closure<T> read) {
+    long start = System.nanoTime()
+    try {
+      read.call()
+    } finally {
+      long elapsed = System.nanoTime() - start
+      registry.timer(registry.createId("aws.clusterProvider.cacheReads").withTag("stage", stage))
+        .record(elapsed, TimeUnit.NANOSECONDS)
+      log.debug("Read {} in {}ms", stage, TimeUnit.NANOSECONDS.toMillis(elapsed))
+    }
+  }
+
   private Collection<CacheData> resolveRelationshipDataForCollection(Collection<CacheData> sources, String relationship, CacheFilter cacheFilter = null) {
     Collection<String> relationships = sources?.findResults { it.relationships[relationship] ?: [] }?.flatten() ?: []
     relationships ? cacheView.getAll(relationship, relationships, cacheFilter) : []
@@ -41,6 +41,9 @@ import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsCleanupProvider
 import com.netflix.spinnaker.clouddriver.aws.provider.view.AmazonClusterProvider
 import com.netflix.spinnaker.clouddriver.aws.security.*
+import com.netflix.spinnaker.clouddriver.aws.security.sdkclient.RateLimitProperties
+import com.netflix.spinnaker.clouddriver.aws.security.sdkclient.RedisSharedRateBudget
+import com.netflix.spinnaker.clouddriver.aws.security.sdkclient.SharedRateBudget
 import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig.Builder
 import com.netflix.spinnaker.clouddriver.aws.services.IdGenerator
 import com.netflix.spinnaker.clouddriver.aws.services.RegionScopedProviderFactory
@@ -54,6 +57,7 @@ import com.netflix.spinnaker.credentials.CredentialsRepository
 import com.netflix.spinnaker.kork.aws.AwsComponents
 import com.netflix.spinnaker.kork.aws.bastion.BastionConfig
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.jedis.RedisClientDelegate
 import com.netflix.spinnaker.kork.jackson.ObjectMapperSubtypeConfigurer
 import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
@@ -89,7 +93,13 @@ class AwsConfiguration {
   }
 
   @Bean
-  AmazonClientProvider amazonClientProvider(AwsConfigurationProperties awsConfigurationProperties, RetryCondition instrumentedRetryCondition, BackoffStrategy instrumentedBackoffStrategy, AWSProxy proxy, EddaTimeoutConfig eddaTimeoutConfig, ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
+  AmazonClientProvider amazonClientProvider(AwsConfigurationProperties awsConfigurationProperties, RetryCondition instrumentedRetryCondition, BackoffStrategy instrumentedBackoffStrategy, AWSProxy proxy, EddaTimeoutConfig eddaTimeoutConfig, ServiceLimitConfiguration serviceLimitConfiguration, Registry registry, Optional<RedisClientDelegate> redisClientDelegate) {
+    RateLimitProperties rateLimitProperties = awsConfigurationProperties.client.rateLimit
+    SharedRateBudget sharedRateBudget = null
+    if (rateLimitProperties.mode == RateLimitProperties.Mode.CLUSTER && redisClientDelegate.isPresent()) {
+      sharedRateBudget = new RedisSharedRateBudget(redisClientDelegate.get(), rateLimitProperties)
+    }
+
     new AmazonClientProvider.Builder()
       .backoffStrategy(instrumentedBackoffStrategy)
       .retryCondition(instrumentedRetryCondition)
@@ -102,6 +112,8 @@ class AwsConfiguration {
       .useGzip(awsConfigurationProperties.client.useGzip)
       .serviceLimitConfiguration(serviceLimitConfiguration)
       .registry(registry)
+      .rateLimitProperties(rateLimitProperties)
+      .sharedRateBudget(sharedRateBudget)
       .addSpinnakerUserToUserAgent(awsConfigurationProperties.client.addSpinnakerUserToUserAgent)
       .build()
   }
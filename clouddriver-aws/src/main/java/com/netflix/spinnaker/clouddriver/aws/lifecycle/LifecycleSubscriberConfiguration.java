@@ -17,23 +17,28 @@
 package com.netflix.spinnaker.clouddriver.aws.lifecycle;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.cats.cache.Cache;
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater;
 import com.netflix.spinnaker.clouddriver.tags.EntityTagger;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 @EnableConfigurationProperties({
   LaunchFailureConfigurationProperties.class,
-  InstanceTerminationConfigurationProperties.class
+  InstanceTerminationConfigurationProperties.class,
+  ResourceChangeConfigurationProperties.class
 })
 class LifecycleSubscriberConfiguration {
 
@@ -54,4 +59,23 @@ class LifecycleSubscriberConfiguration {
     return new LaunchFailureNotificationAgentProvider(
         objectMapper, amazonClientProvider, credentialsRepository, properties, entityTagger);
   }
+
+  @Bean
+  @ConditionalOnProperty("aws.lifecycle-subscribers.resource-changes.enabled")
+  ResourceChangeNotificationAgentProvider resourceChangeNotificationAgentProvider(
+      @Qualifier("amazonObjectMapper") ObjectMapper objectMapper,
+      AmazonClientProvider amazonClientProvider,
+      CredentialsRepository<NetflixAmazonCredentials> credentialsRepository,
+      @Lazy Cache cacheView,
+      @Lazy List<OnDemandCacheUpdater> onDemandCacheUpdaters,
+      ResourceChangeConfigurationProperties properties) {
+    // the cache and on-demand updaters depend on the providers, which depend on agent providers
+    return new ResourceChangeNotificationAgentProvider(
+        objectMapper,
+        amazonClientProvider,
+        credentialsRepository,
+        cacheView,
+        onDemandCacheUpdaters,
+        properties);
+  }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.lifecycle;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/** An EventBridge event, as delivered to an SQS queue by an EventBridge rule. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ResourceChangeEvent {
+  @JsonProperty("source")
+  String source;
+
+  @JsonProperty("detail-type")
+  String detailType;
+
+  @JsonProperty("account")
+  String account;
+
+  @JsonProperty("region")
+  String region;
+
+  @JsonProperty("detail")
+  JsonNode detail;
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.lifecycle;
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES;
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.netflix.spinnaker.cats.agent.RunnableAgent;
+import com.netflix.spinnaker.cats.cache.Cache;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
+import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider;
+import com.netflix.spinnaker.clouddriver.aws.data.Keys;
+import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider;
+import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
+import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
+import com.netflix.spinnaker.clouddriver.cache.CustomScheduledAgent;
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater;
+import com.netflix.spinnaker.clouddriver.cache.OnDemandType;
+import com.netflix.spinnaker.credentials.CredentialsRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An Agent that subscribes to a queue of EventBridge events about EC2 instances, Auto Scaling
+ * groups and load balancer registrations, and refreshes the affected server groups on demand.
+ *
+ * <p>Events are read in batches of up to {@code maxMessagesPerCycle} and every server group is
+ * refreshed at most once per batch, no matter how many events mention it.
+ */
+class ResourceChangeNotificationAgent implements RunnableAgent, CustomScheduledAgent {
+  private static final Logger log = LoggerFactory.getLogger(ResourceChangeNotificationAgent.class);
+
+  private static final int AWS_MAX_NUMBER_OF_MESSAGES = 10;
+
+  private final ObjectMapper objectMapper;
+  private final AmazonClientProvider amazonClientProvider;
+  private final CredentialsRepository<NetflixAmazonCredentials> credentialsRepository;
+  private final Cache cacheView;
+  private final List<OnDemandCacheUpdater> onDemandCacheUpdaters;
+  private final ResourceChangeConfigurationProperties properties;
+
+  private final ARN queueARN;
+
+  private AmazonSQS amazonSQS = null;
+  private String queueId = null; // the URL for the queue
+
+  ResourceChangeNotificationAgent(
+      ObjectMapper objectMapper,
+      AmazonClientProvider amazonClientProvider,
+      NetflixAmazonCredentials netflixAmazonCredentials,
+      CredentialsRepository<NetflixAmazonCredentials> credentialsRepository,
+      Cache cacheView,
+      List<OnDemandCacheUpdater> onDemandCacheUpdaters,
+      ResourceChangeConfigurationProperties properties,
+      String queueARN) {
+    this.objectMapper = objectMapper;
+    this.amazonClientProvider = amazonClientProvider;
+    this.credentialsRepository = credentialsRepository;
+    this.cacheView = cacheView;
+    this.onDemandCacheUpdaters = onDemandCacheUpdaters;
+    this.properties = properties;
+
+    this.queueARN = new ARN(netflixAmazonCredentials, queueARN);
+  }
+
+  @Override
+  public String getAgentType() {
+    return queueARN.account.getName()
+        + "/"
+        + queueARN.region
+        + "/"
+        + ResourceChangeNotificationAgent.class.getSimpleName();
+  }
+
+  @Override
+  public String getProviderName() {
+    return AwsProvider.PROVIDER_NAME;
+  }
+
+  @Override
+  public long getPollIntervalMillis() {
+    return TimeUnit.SECONDS.toMillis(properties.getPollIntervalSeconds());
+  }
+
+  @Override
+  public long getTimeoutMillis() {
+    return -1;
+  }
+
+  @Override
+  public void run() {
+    if (amazonSQS == null) {
+      amazonSQS = buildAmazonSQS();
+      queueId = amazonSQS.getQueueUrl(queueARN.name).getQueueUrl();
+    }
+
+    List<Message> messages = new ArrayList<>();
+    Set<Map<String, String>> changedServerGroups = new LinkedHashSet<>();
+    while (messages.size() < properties.getMaxMessagesPerCycle()) {
+      ReceiveMessageResult receiveMessageResult =
+          amazonSQS.receiveMessage(
+              new ReceiveMessageRequest(queueId)
+                  .withMaxNumberOfMessages(AWS_MAX_NUMBER_OF_MESSAGES)
+                  .withVisibilityTimeout(properties.getVisibilityTimeout())
+                  .withWaitTimeSeconds(properties.getWaitTimeSeconds()));
+
+      for (Message message : receiveMessageResult.getMessages()) {
+        try {
+          ResourceChangeEvent event =
+              objectMapper.readValue(message.getBody(), ResourceChangeEvent.class);
+          changedServerGroups.addAll(getChangedServerGroups(event));
+        } catch (IOException e) {
+          log.error("Unable to convert ResourceChangeEvent (body: {})", message.getBody(), e);
+        }
+        messages.add(message);
+      }
+
+      if (receiveMessageResult.getMessages().isEmpty()) {
+        // no messages received, stop polling.
+        break;
+      }
+    }
+
+    changedServerGroups.forEach(this::refresh);
+    deleteMessages(amazonSQS, queueId, messages);
+
+    log.info(
+        "Processed {} messages and refreshed {} server groups (queueARN: {})",
+        messages.size(),
+        changedServerGroups.size(),
+        queueARN.arn);
+  }
+
+  private AmazonSQS buildAmazonSQS() {
+    if (properties.getEndpoint() == null || properties.getEndpoint().isEmpty()) {
+      return amazonClientProvider.getAmazonSQS(queueARN.account, queueARN.region);
+    }
+    return AmazonSQSClientBuilder.standard()
+        .withEndpointConfiguration(
+            new AwsClientBuilder.EndpointConfiguration(properties.getEndpoint(), queueARN.region))
+        .withCredentials(queueARN.account.getCredentialsProvider())
+        .build();
+  }
+
+  /**
+   * Returns the on-demand cache update requests for the server groups affected by the event, in
+   * every account that matches the account id of the event.
+   */
+  Set<Map<String, String>> getChangedServerGroups(ResourceChangeEvent event) {
+    if (event.account == null || event.region == null || event.detail == null) {
+      return Collections.emptySet();
+    }
+
+    Set<String> serverGroupNames = new LinkedHashSet<>();
+    Set<String> instanceIds = new LinkedHashSet<>();
+    collectResources(event.detail, serverGroupNames, instanceIds);
+    if (serverGroupNames.isEmpty() && instanceIds.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Set<Map<String, String>> changedServerGroups = new LinkedHashSet<>();
+    for (NetflixAmazonCredentials credentials : credentialsRepository.getAll()) {
+      if (!event.account.equals(credentials.getAccountId())
+          || credentials.getRegions().stream().noneMatch(r -> r.getName().equals(event.region))) {
+        continue;
+      }
+
+      Set<String> names = new LinkedHashSet<>(serverGroupNames);
+      names.addAll(findServerGroupNames(credentials.getName(), event.region, instanceIds));
+      for (String name : names) {
+        Map<String, String> data = new HashMap<>();
+        data.put("serverGroupName", name);
+        data.put("account", credentials.getName());
+        data.put("region", event.region);
+        changedServerGroups.add(data);
+      }
+    }
+    return changedServerGroups;
+  }
+
+  /**
+   * Collects the Auto Scaling groups and instances that an event is about. Covers Auto Scaling
+   * events, EC2 instance state changes and the parameters of CloudTrail API calls, e.g. updating an
+   * Auto Scaling group or (de)registering instances with a load balancer or target group.
+   */
+  private static void collectResources(
+      JsonNode detail, Set<String> serverGroupNames, Set<String> instanceIds) {
+    addText(detail.get("AutoScalingGroupName"), serverGroupNames);
+    addText(detail.get("EC2InstanceId"), instanceIds);
+    addText(detail.get("instance-id"), instanceIds);
+
+    JsonNode requestParameters = detail.get("requestParameters");
+    if (requestParameters == null || !requestParameters.isObject()) {
+      return;
+    }
+    addText(requestParameters.get("autoScalingGroupName"), serverGroupNames);
+    requestParameters.path("instanceIds").forEach(id -> addText(id, instanceIds));
+    requestParameters.path("instances").forEach(i -> addText(i.get("instanceId"), instanceIds));
+    requestParameters
+        .path("instancesSet")
+        .path("items")
+        .forEach(i -> addText(i.get("instanceId"), instanceIds));
+    requestParameters
+        .path("targets")
+        .forEach(
+            target -> {
+              JsonNode id = target.get("id");
+              if (id != null && id.asText().startsWith("i-")) {
+                instanceIds.add(id.asText());
+              }
+            });
+  }
+
+  private static void addText(JsonNode node, Set<String> values) {
+    if (node != null && node.isTextual() && !node.asText().isEmpty()) {
+      values.add(node.asText());
+    }
+  }
+
+  /** Looks up the cached server groups of the instances. */
+  private Set<String> findServerGroupNames(
+      String account, String region, Collection<String> instanceIds) {
+    if (instanceIds.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Collection<String> instanceKeys =
+        instanceIds.stream()
+            .map(id -> Keys.getInstanceKey(id, account, region))
+            .collect(Collectors.toList());
+    return cacheView
+        .getAll(
+            INSTANCES.getNs(),
+            instanceKeys,
+            RelationshipCacheFilter.include(SERVER_GROUPS.getNs()))
+        .stream()
+        .map(CacheData::getRelationships)
+        .flatMap(r -> r.getOrDefault(SERVER_GROUPS.getNs(), Collections.emptyList()).stream())
+        .map(Keys::parse)
+        .filter(parts -> parts != null && parts.get("serverGroup") != null)
+        .map(parts -> parts.get("serverGroup"))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private void refresh(Map<String, String> serverGroup) {
+    try {
+      onDemandCacheUpdaters.stream()
+          .filter(u -> u.handles(OnDemandType.ServerGroup, AmazonCloudProvider.ID))
+          .findFirst()
+          .ifPresent(u -> u.handle(OnDemandType.ServerGroup, AmazonCloudProvider.ID, serverGroup));
+    } catch (Exception e) {
+      log.warn("Unable to refresh server group {}: {}", serverGroup, e.getMessage());
+    }
+  }
+
+  private static void deleteMessages(AmazonSQS amazonSQS, String queueUrl, List<Message> messages) {
+    for (List<Message> batch : Lists.partition(messages, AWS_MAX_NUMBER_OF_MESSAGES)) {
+      List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        entries.add(
+            new DeleteMessageBatchRequestEntry(
+                String.valueOf(i), batch.get(i).getReceiptHandle()));
+      }
+      try {
+        amazonSQS.deleteMessageBatch(new DeleteMessageBatchRequest(queueUrl, entries));
+      } catch (Exception e) {
+        log.warn("Error deleting resource change messages, reason: {}", e.getMessage());
+      }
+    }
+  }
+}
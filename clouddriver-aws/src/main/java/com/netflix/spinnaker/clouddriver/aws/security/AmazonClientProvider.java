@@ -69,6 +69,7 @@ import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfigurationBu
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.http.client.HttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
@@ -106,6 +107,8 @@ public class AmazonClientProvider {
     private ServiceLimitConfiguration serviceLimitConfiguration =
         new ServiceLimitConfigurationBuilder().build();
     private Registry registry = new NoopRegistry();
+    private RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    private SharedRateBudget sharedRateBudget;
 
     public Builder httpClient(HttpClient httpClient) {
       this.httpClient = httpClient;
@@ -177,6 +180,16 @@ public class AmazonClientProvider {
       return this;
     }
 
+    public Builder rateLimitProperties(RateLimitProperties rateLimitProperties) {
+      this.rateLimitProperties = rateLimitProperties;
+      return this;
+    }
+
+    public Builder sharedRateBudget(SharedRateBudget sharedRateBudget) {
+      this.sharedRateBudget = sharedRateBudget;
+      return this;
+    }
+
     public Builder addSpinnakerUserToUserAgent(boolean addSpinnakerUserToUserAgent) {
       this.addSpinnakerUserToUserAgent = addSpinnakerUserToUserAgent;
       return this;
@@ -221,7 +234,9 @@ public class AmazonClientProvider {
           eddaTimeoutConfig,
           uzeGzip,
           serviceLimitConfiguration,
-          registry);
+          registry,
+          rateLimitProperties,
+          sharedRateBudget);
     }
 
     private RetryPolicy buildPolicy() {
@@ -289,8 +304,37 @@ public class AmazonClientProvider {
       boolean useGzip,
       ServiceLimitConfiguration serviceLimitConfiguration,
       Registry registry) {
+    this(
+        httpClient,
+        objectMapper,
+        eddaTemplater,
+        retryPolicy,
+        requestHandlers,
+        proxy,
+        eddaTimeoutConfig,
+        useGzip,
+        serviceLimitConfiguration,
+        registry,
+        new RateLimitProperties(),
+        null);
+  }
+
+  public AmazonClientProvider(
+      HttpClient httpClient,
+      ObjectMapper objectMapper,
+      EddaTemplater eddaTemplater,
+      RetryPolicy retryPolicy,
+      List<RequestHandler2> requestHandlers,
+      AWSProxy proxy,
+      EddaTimeoutConfig eddaTimeoutConfig,
+      boolean useGzip,
+      ServiceLimitConfiguration serviceLimitConfiguration,
+      Registry registry,
+      RateLimitProperties rateLimitProperties,
+      @Nullable SharedRateBudget sharedRateBudget) {
     RateLimiterSupplier rateLimiterSupplier =
-        new RateLimiterSupplier(serviceLimitConfiguration, registry);
+        new RateLimiterSupplier(
+            serviceLimitConfiguration, registry, rateLimitProperties, sharedRateBudget);
     this.awsSdkClientSupplier =
         new AwsSdkClientSupplier(
             rateLimiterSupplier, registry, retryPolicy, requestHandlers, proxy, useGzip);
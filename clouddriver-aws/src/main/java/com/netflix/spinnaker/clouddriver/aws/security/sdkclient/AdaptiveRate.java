@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A request rate that follows additive-increase/multiplicative-decrease: it is cut by a constant
+ * factor whenever AWS throttles a request, and recovers linearly towards the configured rate while
+ * it does not. When adaptation is disabled the rate is simply the configured rate.
+ */
+class AdaptiveRate {
+  private final double maxRate;
+  private final double minRate;
+  private final RateLimitProperties properties;
+  private final LongSupplier nanoClock;
+
+  private volatile double rate;
+  private long lastDecreaseNanos;
+  private long lastIncreaseNanos;
+
+  AdaptiveRate(double maxRate, RateLimitProperties properties) {
+    this(maxRate, properties, System::nanoTime);
+  }
+
+  AdaptiveRate(double maxRate, RateLimitProperties properties, LongSupplier nanoClock) {
+    this.maxRate = maxRate;
+    this.minRate = Math.min(maxRate, maxRate * properties.getMinRateFraction());
+    this.properties = properties;
+    this.nanoClock = nanoClock;
+    this.rate = maxRate;
+    this.lastIncreaseNanos = nanoClock.getAsLong();
+    this.lastDecreaseNanos = lastIncreaseNanos - cooldownNanos();
+  }
+
+  /** Returns the current rate, first applying any additive increase that is due. */
+  double current() {
+    if (rate >= maxRate) {
+      return rate;
+    }
+    synchronized (this) {
+      long now = nanoClock.getAsLong();
+      double elapsedSeconds = (now - lastIncreaseNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+      rate = Math.min(maxRate, rate + elapsedSeconds * properties.getIncreasePerSecond());
+      lastIncreaseNanos = now;
+      return rate;
+    }
+  }
+
+  /** Applies a multiplicative decrease, unless one was already applied within the cooldown. */
+  void onThrottled() {
+    if (!properties.isAdaptive()) {
+      return;
+    }
+    synchronized (this) {
+      long now = nanoClock.getAsLong();
+      if (now - lastDecreaseNanos < cooldownNanos()) {
+        return;
+      }
+      current();
+      rate = Math.max(minRate, rate * properties.getDecreaseFactor());
+      lastDecreaseNanos = now;
+      lastIncreaseNanos = now;
+    }
+  }
+
+  private long cooldownNanos() {
+    return TimeUnit.MILLISECONDS.toNanos(properties.getDecreaseCooldownMillis());
+  }
+}
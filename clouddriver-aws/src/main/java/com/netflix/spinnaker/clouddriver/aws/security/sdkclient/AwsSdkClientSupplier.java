@@ -30,8 +30,8 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
-import com.google.common.util.concurrent.RateLimiter;
 import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.aws.security.AWSProxy;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixSTSAssumeRoleSessionCredentialsProvider;
@@ -101,7 +101,8 @@ public class AwsSdkClientSupplier {
 
   private RequestHandler2 getRateLimiterHandler(
       Class<?> sdkInterface, String account, String region) {
-    final RateLimiter limiter = rateLimiterSupplier.getRateLimiter(sdkInterface, account, region);
+    final RequestRateLimiter limiter =
+        rateLimiterSupplier.getRateLimiter(sdkInterface, account, region);
     final Counter rateLimitCounter =
         registry.counter(
             "amazonClientProvider.rateLimitDelayMillis",
@@ -111,7 +112,20 @@ public class AwsSdkClientSupplier {
             account,
             "region",
             region == null ? "UNSPECIFIED" : region);
-    return new RateLimitingRequestHandler(rateLimitCounter, limiter);
+    final Id throttledId =
+        registry
+            .createId("amazonClientProvider.rateLimit.throttled")
+            .withTag("clientType", sdkInterface.getSimpleName())
+            .withTag("account", account)
+            .withTag("region", region == null ? "UNSPECIFIED" : region);
+    final Id waitTimeId =
+        registry
+            .createId("amazonClientProvider.rateLimit.waitTime")
+            .withTag("clientType", sdkInterface.getSimpleName())
+            .withTag("account", account)
+            .withTag("region", region == null ? "UNSPECIFIED" : region);
+    return new RateLimitingRequestHandler(
+        rateLimitCounter, registry, throttledId, waitTimeId, limiter);
   }
 
   private static class SdkClientCacheLoader extends CacheLoader<AmazonClientKey<?>, Object> {
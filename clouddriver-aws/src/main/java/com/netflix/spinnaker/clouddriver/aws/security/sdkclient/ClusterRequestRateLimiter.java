@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Enforces a rate limit across all clouddriver instances by leasing permits from a {@link
+ * SharedRateBudget}.
+ *
+ * <p>Permits are leased in small batches (a few milliseconds worth at the current rate) and handed
+ * out locally with a compare-and-set, so the common case never blocks or leaves the process. Only
+ * one thread at a time goes to the shared budget when the local lease is empty; the others back off
+ * for a permit interval and try again. No lock is held while leasing or backing off.
+ *
+ * <p>When rate adaptation is enabled, the adapted rate and its decrease cooldown are kept in the
+ * shared budget next to the bucket, so a throttling error seen by any instance slows down all of
+ * them, and several instances throttled at once lower the rate only once. Each lease returns the
+ * current rate, which sizes the next lease.
+ *
+ * <p>If the shared budget is unavailable, requests fall back to a local limiter at the configured
+ * rate so that AWS calls keep working, at the cost of the limit, and its adaptation, being enforced
+ * per instance again. After a failure the shared budget is not tried again for {@link
+ * RateLimitProperties#getFailureCooldownMillis()}, so that requests do not each wait out a
+ * connection timeout while it is down.
+ */
+class ClusterRequestRateLimiter implements RequestRateLimiter {
+  private static final Logger log = LoggerFactory.getLogger(ClusterRequestRateLimiter.class);
+
+  private final String key;
+  private final SharedRateBudget budget;
+  private final double maxRate;
+  private final boolean adaptive;
+  private final long leaseMillis;
+  private final long failureCooldownNanos;
+  private final long decreaseCooldownNanos;
+  private final AdaptiveRate fallbackRate;
+  private final RateLimiter fallback;
+  private final LongSupplier nanoClock;
+
+  private final AtomicLong leasedPermits = new AtomicLong();
+  private final AtomicBoolean leasing = new AtomicBoolean();
+  private volatile long fallbackUntilNanos;
+
+  /** The current rate of the shared budget, as of the last lease. */
+  private volatile double sharedRate;
+
+  /** When this instance last lowered the shared rate. */
+  private volatile long lastDecreaseNanos;
+
+  ClusterRequestRateLimiter(
+      String key, SharedRateBudget budget, double rate, RateLimitProperties properties) {
+    this(key, budget, rate, properties, System::nanoTime);
+  }
+
+  ClusterRequestRateLimiter(
+      String key,
+      SharedRateBudget budget,
+      double rate,
+      RateLimitProperties properties,
+      LongSupplier nanoClock) {
+    this.key = requireNonNull(key);
+    this.budget = requireNonNull(budget);
+    this.maxRate = rate;
+    this.adaptive = properties.isAdaptive();
+    this.leaseMillis = properties.getLeaseMillis();
+    this.failureCooldownNanos =
+        TimeUnit.MILLISECONDS.toNanos(properties.getFailureCooldownMillis());
+    this.decreaseCooldownNanos =
+        TimeUnit.MILLISECONDS.toNanos(properties.getDecreaseCooldownMillis());
+    this.fallbackRate = new AdaptiveRate(rate, properties, nanoClock);
+    this.fallback = RateLimiter.create(rate);
+    this.nanoClock = nanoClock;
+    this.fallbackUntilNanos = nanoClock.getAsLong();
+    this.sharedRate = rate;
+    this.lastDecreaseNanos = fallbackUntilNanos - decreaseCooldownNanos;
+  }
+
+  @Override
+  public double acquire() {
+    long start = System.nanoTime();
+    while (!tryTakeLeasedPermit()) {
+      if (coolingDown()) {
+        acquireFallback();
+        break;
+      }
+      double rate = sharedRate;
+      if (!leasing.compareAndSet(false, true)) {
+        // another thread is leasing for everyone, wait for it without holding anything
+        backOff(rate);
+        continue;
+      }
+
+      long granted;
+      try {
+        if (tryTakeLeasedPermit()) {
+          break;
+        }
+        if (coolingDown()) {
+          // the thread that leased before us just failed
+          acquireFallback();
+          break;
+        }
+        long requested = Math.max(1, Math.round(rate * leaseMillis / 1000));
+        SharedRateBudget.Lease lease = budget.acquire(key, requested, maxRate);
+        granted = lease.getGranted();
+        sharedRate = lease.getRate();
+      } catch (Exception e) {
+        startFallback(e);
+        acquireFallback();
+        break;
+      } finally {
+        leasing.set(false);
+      }
+
+      if (granted > 0) {
+        // keep one permit for this request and share the rest
+        leasedPermits.addAndGet(granted - 1);
+        break;
+      }
+      backOff(rate);
+    }
+    return (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+  private boolean coolingDown() {
+    return nanoClock.getAsLong() - fallbackUntilNanos < 0;
+  }
+
+  private void startFallback(Exception e) {
+    log.warn(
+        "Unable to reach the shared rate budget for {}, "
+            + "falling back to a local rate limit for {}ms",
+        key,
+        TimeUnit.NANOSECONDS.toMillis(failureCooldownNanos),
+        e);
+    fallbackUntilNanos = nanoClock.getAsLong() + failureCooldownNanos;
+  }
+
+  private void acquireFallback() {
+    double rate = fallbackRate.current();
+    if (fallback.getRate() != rate) {
+      fallback.setRate(rate);
+    }
+    fallback.acquire();
+  }
+
+  private static void backOff(double rate) {
+    Uninterruptibles.sleepUninterruptibly(
+        Math.max(1, (long) Math.ceil(1000 / rate)), TimeUnit.MILLISECONDS);
+  }
+
+  private boolean tryTakeLeasedPermit() {
+    long permits;
+    do {
+      permits = leasedPermits.get();
+      if (permits <= 0) {
+        return false;
+      }
+    } while (!leasedPermits.compareAndSet(permits, permits - 1));
+    return true;
+  }
+
+  @Override
+  public double getRate() {
+    return coolingDown() ? fallbackRate.current() : sharedRate;
+  }
+
+  @Override
+  public void onThrottled() {
+    if (!adaptive) {
+      return;
+    }
+    if (coolingDown()) {
+      fallbackRate.onThrottled();
+      return;
+    }
+    // the permits we are holding were leased at a rate that AWS just rejected
+    leasedPermits.set(0);
+    long now = nanoClock.getAsLong();
+    if (now - lastDecreaseNanos < decreaseCooldownNanos) {
+      // the shared rate was already lowered for the requests that were in flight
+      return;
+    }
+    lastDecreaseNanos = now;
+    try {
+      sharedRate = budget.onThrottled(key, maxRate);
+    } catch (Exception e) {
+      startFallback(e);
+      fallbackRate.onThrottled();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/** Enforces a rate limit within this clouddriver instance using a Guava {@link RateLimiter}. */
+public class LocalRequestRateLimiter implements RequestRateLimiter {
+  private final RateLimiter rateLimiter;
+  private final AdaptiveRate adaptiveRate;
+
+  public LocalRequestRateLimiter(RateLimiter rateLimiter) {
+    this(rateLimiter, new RateLimitProperties());
+  }
+
+  LocalRequestRateLimiter(RateLimiter rateLimiter, RateLimitProperties properties) {
+    this.rateLimiter = requireNonNull(rateLimiter);
+    this.adaptiveRate = new AdaptiveRate(rateLimiter.getRate(), properties);
+  }
+
+  @Override
+  public double acquire() {
+    double rate = adaptiveRate.current();
+    if (rate != rateLimiter.getRate()) {
+      rateLimiter.setRate(rate);
+    }
+    return rateLimiter.acquire();
+  }
+
+  @Override
+  public double getRate() {
+    return rateLimiter.getRate();
+  }
+
+  @Override
+  public void onThrottled() {
+    adaptiveRate.onThrottled();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmission;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
+
+/**
+ * Decides which waiting request goes through the underlying rate limiter next, based on the {@link
+ * RequestPriority} of the calling thread. Requests take their permit from the underlying limiter
+ * one at a time, in the order chosen by the {@link PriorityAdmission}.
+ */
+class PrioritizedRequestRateLimiter implements RequestRateLimiter {
+  private final RequestRateLimiter delegate;
+  @VisibleForTesting final PriorityAdmission admission;
+
+  PrioritizedRequestRateLimiter(RequestRateLimiter delegate, PriorityAdmission admission) {
+    this.delegate = requireNonNull(delegate);
+    this.admission = requireNonNull(admission);
+  }
+
+  @Override
+  public double acquire() {
+    long start = System.nanoTime();
+    admission.enter(RequestPriority.current());
+    try {
+      delegate.acquire();
+    } finally {
+      admission.exit();
+    }
+    return (System.nanoTime() - start) / 1e9;
+  }
+
+  @Override
+  public double getRate() {
+    return delegate.getRate();
+  }
+
+  @Override
+  public void onThrottled() {
+    delegate.onThrottled();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmissionProperties;
+import lombok.Data;
+
+/** Controls how the rate limits from the service limit configuration are enforced. */
+@Data
+public class RateLimitProperties {
+
+  public enum Mode {
+    /** Every clouddriver instance enforces the configured rate on its own. */
+    LOCAL,
+
+    /**
+     * The configured rate is a budget shared by all clouddriver instances, coordinated through a
+     * {@link SharedRateBudget}. Instances lease small batches of permits from the shared budget so
+     * that most requests never leave the process.
+     */
+    CLUSTER
+  }
+
+  private Mode mode = Mode.LOCAL;
+
+  /** How requests waiting for the rate limiter are ordered. */
+  private PriorityAdmissionProperties admission = new PriorityAdmissionProperties();
+
+  /**
+   * In {@link Mode#CLUSTER} mode, how many milliseconds worth of permits (at the current rate) an
+   * instance leases from the shared budget at once.
+   */
+  private long leaseMillis = 100;
+
+  /**
+   * In {@link Mode#CLUSTER} mode, how many milliseconds requests are limited locally after the
+   * shared budget could not be reached, before it is tried again.
+   */
+  private long failureCooldownMillis = 30000;
+
+  /**
+   * Whether the rate is lowered multiplicatively when AWS throttles a request, and raised back
+   * towards the configured rate additively while it does not.
+   */
+  private boolean adaptive = false;
+
+  /** Factor applied to the current rate when a request is throttled. */
+  private double decreaseFactor = 0.5;
+
+  /** Permits per second added back to the current rate for every second without throttling. */
+  private double increasePerSecond = 1.0;
+
+  /** Lower bound for the adapted rate, as a fraction of the configured rate. */
+  private double minRateFraction = 0.1;
+
+  /**
+   * Throttling errors that arrive within this many milliseconds of a decrease are attributed to
+   * requests that were already in flight, and do not lower the rate further.
+   */
+  private long decreaseCooldownMillis = 1000;
+}
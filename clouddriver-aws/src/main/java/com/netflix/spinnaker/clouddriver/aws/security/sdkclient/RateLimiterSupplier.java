@@ -21,26 +21,54 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.RateLimiter;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider;
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmission;
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Factory for shared RateLimiters by SDK client interface/account/region. */
+/**
+ * Factory for shared rate limiters by SDK client interface/account/region.
+ *
+ * <p>The limiters enforce the rates from the {@link ServiceLimitConfiguration} either per instance
+ * or, in {@link RateLimitProperties.Mode#CLUSTER} mode, across all instances through a {@link
+ * SharedRateBudget}. The rate each limiter currently allows is exported as the {@code
+ * amazonClientProvider.rateLimit.effectiveRate} gauge.
+ */
 public class RateLimiterSupplier {
+  private static final Logger log = LoggerFactory.getLogger(RateLimiterSupplier.class);
 
-  private final LoadingCache<RateLimitKey, RateLimiter> rateLimiters;
+  private final LoadingCache<RateLimitKey, RequestRateLimiter> rateLimiters;
 
   public RateLimiterSupplier(
       ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
+    this(serviceLimitConfiguration, registry, new RateLimitProperties(), null);
+  }
+
+  public RateLimiterSupplier(
+      ServiceLimitConfiguration serviceLimitConfiguration,
+      Registry registry,
+      RateLimitProperties rateLimitProperties,
+      @Nullable SharedRateBudget sharedRateBudget) {
+    if (rateLimitProperties.getMode() == RateLimitProperties.Mode.CLUSTER
+        && sharedRateBudget == null) {
+      log.warn("Cluster-wide AWS rate limiting requires redis, enforcing rate limits per instance");
+    }
     rateLimiters =
         CacheBuilder.newBuilder()
             .recordStats()
-            .build(new RateLimitCacheLoader(serviceLimitConfiguration));
+            .build(
+                new RateLimitCacheLoader(
+                    serviceLimitConfiguration, registry, rateLimitProperties, sharedRateBudget));
     LoadingCacheMetrics.instrument("rateLimiterSupplier", registry, rateLimiters);
   }
 
-  public RateLimiter getRateLimiter(Class<?> implementation, String account, String region) {
+  public RequestRateLimiter getRateLimiter(
+      Class<?> implementation, String account, String region) {
     try {
       return rateLimiters.get(new RateLimitKey(implementation, account, region));
     } catch (ExecutionException executionException) {
@@ -51,24 +79,30 @@ public class RateLimiterSupplier {
     }
   }
 
-  private static class RateLimitCacheLoader extends CacheLoader<RateLimitKey, RateLimiter> {
+  private static class RateLimitCacheLoader
+      extends CacheLoader<RateLimitKey, RequestRateLimiter> {
     private static final double DEFAULT_LIMIT = 10.0d;
 
     private final ServiceLimitConfiguration serviceLimitConfiguration;
     private final double defaultLimit;
-
-    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration) {
-      this(serviceLimitConfiguration, DEFAULT_LIMIT);
-    }
+    private final Registry registry;
+    private final RateLimitProperties rateLimitProperties;
+    @Nullable private final SharedRateBudget sharedRateBudget;
 
     public RateLimitCacheLoader(
-        ServiceLimitConfiguration serviceLimitConfiguration, double defaultLimit) {
+        ServiceLimitConfiguration serviceLimitConfiguration,
+        Registry registry,
+        RateLimitProperties rateLimitProperties,
+        @Nullable SharedRateBudget sharedRateBudget) {
       this.serviceLimitConfiguration = Objects.requireNonNull(serviceLimitConfiguration);
-      this.defaultLimit = defaultLimit;
+      this.defaultLimit = DEFAULT_LIMIT;
+      this.registry = Objects.requireNonNull(registry);
+      this.rateLimitProperties = Objects.requireNonNull(rateLimitProperties);
+      this.sharedRateBudget = sharedRateBudget;
     }
 
     @Override
-    public RateLimiter load(RateLimitKey key) throws Exception {
+    public RequestRateLimiter load(RateLimitKey key) throws Exception {
       double rateLimit =
           serviceLimitConfiguration.getLimit(
               ServiceLimitConfiguration.API_RATE_LIMIT,
@@ -77,7 +111,32 @@ public class RateLimiterSupplier {
               AmazonCloudProvider.ID,
               defaultLimit);
 
-      return RateLimiter.create(rateLimit);
+      String clientType = key.implementationClass.getSimpleName();
+      RequestRateLimiter rateLimiter;
+      if (rateLimitProperties.getMode() == RateLimitProperties.Mode.CLUSTER
+          && sharedRateBudget != null) {
+        rateLimiter =
+            new ClusterRequestRateLimiter(
+                String.join(":", clientType, key.account, Objects.toString(key.region, "")),
+                sharedRateBudget,
+                rateLimit,
+                rateLimitProperties);
+      } else {
+        rateLimiter =
+            new LocalRequestRateLimiter(RateLimiter.create(rateLimit), rateLimitProperties);
+      }
+      PriorityAdmission admission = PriorityAdmission.of(rateLimitProperties.getAdmission());
+      if (admission != null) {
+        rateLimiter = new PrioritizedRequestRateLimiter(rateLimiter, admission);
+      }
+
+      PolledMeter.using(registry)
+          .withName("amazonClientProvider.rateLimit.effectiveRate")
+          .withTag("clientType", clientType)
+          .withTag("account", key.account)
+          .withTag("region", key.region == null ? "UNSPECIFIED" : key.region)
+          .monitorValue(rateLimiter, RequestRateLimiter::getRate);
+      return rateLimiter;
     }
   }
 
@@ -18,19 +18,61 @@ package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
 
 import static java.util.Objects.requireNonNull;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.retry.RetryUtils;
 import com.google.common.util.concurrent.RateLimiter;
 import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
-/** A RequestHandler that will throttle requests via the supplied RateLimiter. */
+/**
+ * A RequestHandler that will throttle requests via the supplied rate limiter, and notify it of
+ * requests that AWS rejected because they were throttled so that it can adapt its rate.
+ *
+ * <p>The time spent waiting and the throttled requests are recorded per API, e.g. {@code
+ * DescribeInstances}, so that the calls that use up a rate limit can be told apart.
+ */
 public class RateLimitingRequestHandler extends RequestHandler2 {
   private final Counter counter;
-  private final RateLimiter rateLimiter;
+  private final Registry registry;
+  private final Id throttledId;
+  private final Id waitTimeId;
+  private final RequestRateLimiter rateLimiter;
 
   public RateLimitingRequestHandler(Counter counter, RateLimiter rateLimiter) {
+    this(
+        counter,
+        new NoopRegistry(),
+        new NoopRegistry().createId("throttled"),
+        new NoopRegistry().createId("waitTime"),
+        new LocalRequestRateLimiter(rateLimiter));
+  }
+
+  /**
+   * @param counter total time spent waiting for the rate limiter, in milliseconds
+   * @param throttledId id of the counter of requests that AWS rejected because they were
+   *     throttled, which is further tagged with the API of each request
+   * @param waitTimeId id of the timer recording the time spent waiting for the rate limiter, which
+   *     is further tagged with the API and the {@link RequestPriority} of each request
+   */
+  public RateLimitingRequestHandler(
+      Counter counter,
+      Registry registry,
+      Id throttledId,
+      Id waitTimeId,
+      RequestRateLimiter rateLimiter) {
     this.counter = requireNonNull(counter);
+    this.registry = requireNonNull(registry);
+    this.throttledId = requireNonNull(throttledId);
+    this.waitTimeId = requireNonNull(waitTimeId);
     this.rateLimiter = requireNonNull(rateLimiter);
   }
 
@@ -39,9 +81,39 @@ public class RateLimitingRequestHandler extends RequestHandler2 {
     double rateLimitedSeconds = rateLimiter.acquire();
     long rateLimitedMillis = Double.valueOf(rateLimitedSeconds * 1000).longValue();
     counter.increment(rateLimitedMillis);
+    registry
+        .timer(
+            waitTimeId
+                .withTag("api", api(request))
+                .withTag("priority", RequestPriority.current().name()))
+        .record(Double.valueOf(rateLimitedSeconds * 1e9).longValue(), TimeUnit.NANOSECONDS);
     super.beforeRequest(request);
   }
 
+  @Override
+  public void afterError(Request<?> request, Response<?> response, Exception e) {
+    if (e instanceof AmazonServiceException
+        && RetryUtils.isThrottlingException((AmazonServiceException) e)) {
+      registry.counter(throttledId.withTag("api", api(request))).increment();
+      rateLimiter.onThrottled();
+    }
+    super.afterError(request, response, e);
+  }
+
+  /** The name of the API called by the request, e.g. {@code DescribeInstances}. */
+  private static String api(Request<?> request) {
+    String operation =
+        request == null ? null : request.getHandlerContext(HandlerContextKey.OPERATION_NAME);
+    if (operation != null) {
+      return operation;
+    }
+    if (request == null || request.getOriginalRequest() == null) {
+      return "UNKNOWN";
+    }
+    String name = request.getOriginalRequest().getClass().getSimpleName();
+    return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
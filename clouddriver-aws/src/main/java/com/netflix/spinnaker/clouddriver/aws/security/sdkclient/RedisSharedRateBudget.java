@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import static java.util.Objects.requireNonNull;
+
+import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link SharedRateBudget} kept in redis. Each bucket is a hash holding the remaining tokens, the
+ * current rate and the times they were last refilled and the rate last lowered. Refilling, adapting
+ * the rate and taking tokens happen in a single script so that instances never race each other,
+ * and the redis server clock is used so that instance clock skew does not matter.
+ */
+public class RedisSharedRateBudget implements SharedRateBudget {
+  private static final String KEY_PREFIX = "aws:rateLimit:";
+
+  /**
+   * Refills the bucket at its current rate and raises the rate back towards the configured rate,
+   * as of now. A negative increase means the rate is not adapted.
+   */
+  private static final String REFILL =
+      "redis.replicate_commands() "
+          + "local max = tonumber(ARGV[1]) "
+          + "local increase = tonumber(ARGV[2]) "
+          + "local time = redis.call('TIME') "
+          + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+          + "local state = redis.call('HMGET', KEYS[1], 'tokens', 'updated', 'rate', 'decreased') "
+          + "local rate = math.min(max, tonumber(state[3]) or max) "
+          + "local updated = tonumber(state[2]) or now "
+          + "local elapsed = math.max(0, now - updated) "
+          + "local tokens = tonumber(state[1]) or math.max(1, rate) "
+          + "tokens = math.min(math.max(1, rate), tokens + elapsed * rate / 1000) "
+          + "if increase < 0 then rate = max "
+          + "else rate = math.min(max, rate + elapsed * increase / 1000) end "
+          + "local decreased = tonumber(state[4]) or 0 ";
+
+  private static final String SAVE =
+      "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'updated', now, "
+          + "'rate', tostring(rate), 'decreased', decreased) "
+          + "redis.call('PEXPIRE', KEYS[1], 60000) ";
+
+  private static final String ACQUIRE_SCRIPT =
+      REFILL
+          + "local granted = math.min(tonumber(ARGV[3]), math.floor(tokens)) "
+          + "tokens = tokens - granted "
+          + SAVE
+          + "return {granted, tostring(rate)}";
+
+  private static final String THROTTLED_SCRIPT =
+      REFILL
+          + "if now - decreased >= tonumber(ARGV[5]) then "
+          + "  rate = math.min(rate, math.max(tonumber(ARGV[3]), rate * tonumber(ARGV[4]))) "
+          + "  tokens = math.min(tokens, math.max(1, rate)) "
+          + "  decreased = now "
+          + "end "
+          + SAVE
+          + "return tostring(rate)";
+
+  private final RedisClientDelegate redisClientDelegate;
+  private final RateLimitProperties properties;
+
+  public RedisSharedRateBudget(
+      RedisClientDelegate redisClientDelegate, RateLimitProperties properties) {
+    this.redisClientDelegate = requireNonNull(redisClientDelegate);
+    this.properties = requireNonNull(properties);
+  }
+
+  @Override
+  public Lease acquire(String key, long permits, double maxRate) {
+    Object result =
+        redisClientDelegate.withScriptingClient(
+            client ->
+                client.eval(
+                    ACQUIRE_SCRIPT,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    Arrays.asList(
+                        Double.toString(maxRate), increase(), Long.toString(permits))));
+    if (!(result instanceof List) || ((List<?>) result).size() != 2) {
+      return new Lease(0, maxRate);
+    }
+    List<?> values = (List<?>) result;
+    long granted = values.get(0) instanceof Number ? ((Number) values.get(0)).longValue() : 0;
+    return new Lease(granted, toDouble(values.get(1), maxRate));
+  }
+
+  @Override
+  public double onThrottled(String key, double maxRate) {
+    Object result =
+        redisClientDelegate.withScriptingClient(
+            client ->
+                client.eval(
+                    THROTTLED_SCRIPT,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    Arrays.asList(
+                        Double.toString(maxRate),
+                        increase(),
+                        Double.toString(
+                            Math.min(maxRate, maxRate * properties.getMinRateFraction())),
+                        Double.toString(properties.getDecreaseFactor()),
+                        Long.toString(properties.getDecreaseCooldownMillis()))));
+    return toDouble(result, maxRate);
+  }
+
+  private String increase() {
+    return properties.isAdaptive() ? Double.toString(properties.getIncreasePerSecond()) : "-1";
+  }
+
+  private static double toDouble(Object value, double defaultValue) {
+    String string =
+        value instanceof byte[]
+            ? new String((byte[]) value, StandardCharsets.UTF_8)
+            : value == null ? null : value.toString();
+    try {
+      return string == null ? defaultValue : Double.parseDouble(string);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+/** Throttles the requests made by the AWS SDK clients of one interface, account and region. */
+public interface RequestRateLimiter {
+
+  /**
+   * Blocks until a request may be made.
+   *
+   * @return the time spent waiting, in seconds
+   */
+  double acquire();
+
+  /** The rate, in requests per second, that this limiter is currently allowing. */
+  double getRate();
+
+  /** Notifies the limiter that AWS rejected a request because it was throttled. */
+  default void onThrottled() {}
+}
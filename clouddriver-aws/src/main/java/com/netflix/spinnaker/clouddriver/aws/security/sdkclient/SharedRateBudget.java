@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import lombok.Value;
+
+/**
+ * A token bucket that is shared by every clouddriver instance, used to enforce a rate limit
+ * across the whole cluster rather than per instance.
+ *
+ * <p>The bucket refills at its current rate, which starts at the configured rate. When rate
+ * adaptation is enabled, the current rate is lowered by {@link #onThrottled} and recovers towards
+ * the configured rate over time, so every instance slows down when any of them is throttled.
+ */
+public interface SharedRateBudget {
+
+  /**
+   * Takes up to {@code permits} permits from the bucket identified by {@code key}, which holds at
+   * most one second worth of permits at its current rate.
+   *
+   * @param maxRate the configured rate of the bucket, in permits per second
+   * @return the number of permits granted, between zero and {@code permits}, and the current rate
+   */
+  Lease acquire(String key, long permits, double maxRate);
+
+  /**
+   * Lowers the current rate of the bucket identified by {@code key} after AWS throttled a request,
+   * unless it was already lowered within the decrease cooldown.
+   *
+   * @param maxRate the configured rate of the bucket, in permits per second
+   * @return the current rate of the bucket
+   */
+  double onThrottled(String key, double maxRate);
+
+  @Value
+  class Lease {
+    long granted;
+    double rate;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.lifecycle
+
+import com.amazonaws.services.sqs.AmazonSQS
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest
+import com.amazonaws.services.sqs.model.GetQueueUrlResult
+import com.amazonaws.services.sqs.model.Message
+import com.amazonaws.services.sqs.model.ReceiveMessageResult
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.cache.Cache
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
+import com.netflix.spinnaker.clouddriver.aws.security.AmazonCredentials
+import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater
+import com.netflix.spinnaker.clouddriver.cache.OnDemandType
+import com.netflix.spinnaker.credentials.CredentialsRepository
+import spock.lang.Specification
+import spock.lang.Subject
+
+class ResourceChangeNotificationAgentSpec extends Specification {
+  def mgmtCredentials = credentials("mgmt", "100")
+  def prodCredentials = credentials("prod", "200")
+
+  def amazonSQS = Mock(AmazonSQS)
+  def amazonClientProvider = Mock(AmazonClientProvider) {
+    getAmazonSQS(mgmtCredentials, "us-west-2") >> amazonSQS
+  }
+  def credentialsRepository = Mock(CredentialsRepository) {
+    getAll() >> [mgmtCredentials, prodCredentials]
+  }
+  def cacheView = Mock(Cache)
+  def onDemandCacheUpdater = Mock(OnDemandCacheUpdater) {
+    handles(OnDemandType.ServerGroup, "aws") >> true
+  }
+
+  @Subject
+  def agent = new ResourceChangeNotificationAgent(
+    new ObjectMapper(),
+    amazonClientProvider,
+    mgmtCredentials,
+    credentialsRepository,
+    cacheView,
+    [onDemandCacheUpdater],
+    new ResourceChangeConfigurationProperties(accountName: "mgmt"),
+    "arn:aws:sqs:us-west-2:100:queueName"
+  )
+
+  void "should refresh every changed server group once per cycle"() {
+    given:
+    def instanceKey = Keys.getInstanceKey("i-1234", "prod", "us-west-2")
+    cacheView.getAll("instances", [instanceKey], _) >> [
+      new DefaultCacheData(instanceKey, [:], [serverGroups: [Keys.getServerGroupKey("app-v002", "prod", "us-west-2")]])
+    ]
+
+    when:
+    agent.run()
+
+    then:
+    1 * amazonSQS.getQueueUrl("queueName") >> new GetQueueUrlResult().withQueueUrl("queueUrl")
+    2 * amazonSQS.receiveMessage(_) >>> [
+      new ReceiveMessageResult().withMessages(
+        message("1", event("aws.autoscaling", "EC2 Instance Launch Successful", [AutoScalingGroupName: "app-v001"])),
+        message("2", event("aws.autoscaling", "EC2 Instance Terminate Successful", [AutoScalingGroupName: "app-v001"])),
+        message("3", event("aws.ec2", "EC2 Instance State-change Notification", ["instance-id": "i-1234", state: "stopped"])),
+        message("4", event("aws.elasticloadbalancing", "AWS API Call via CloudTrail", [
+          eventName: "RegisterTargets",
+          requestParameters: [targetGroupArn: "arn", targets: [[id: "i-1234"], [id: "10.0.0.1"]]]
+        ])),
+        message("5", "not json")
+      ),
+      new ReceiveMessageResult()
+    ]
+    1 * onDemandCacheUpdater.handle(OnDemandType.ServerGroup, "aws", [serverGroupName: "app-v001", account: "prod", region: "us-west-2"])
+    1 * onDemandCacheUpdater.handle(OnDemandType.ServerGroup, "aws", [serverGroupName: "app-v002", account: "prod", region: "us-west-2"])
+    1 * amazonSQS.deleteMessageBatch({ DeleteMessageBatchRequest request ->
+      request.queueUrl == "queueUrl" && request.entries*.receiptHandle == ["1", "2", "3", "4", "5"]
+    })
+  }
+
+  void "should ignore events of unknown accounts and regions"() {
+    expect:
+    agent.getChangedServerGroups(parse(event("aws.autoscaling", "EC2 Instance Launch Successful", [AutoScalingGroupName: "app-v001"], "300"))).isEmpty()
+    agent.getChangedServerGroups(parse(event("aws.autoscaling", "EC2 Instance Launch Successful", [AutoScalingGroupName: "app-v001"], "200", "eu-west-1"))).isEmpty()
+  }
+
+  void "should refresh server groups named in CloudTrail API calls"() {
+    expect:
+    agent.getChangedServerGroups(parse(event("aws.autoscaling", "AWS API Call via CloudTrail", [
+      eventName: "UpdateAutoScalingGroup",
+      requestParameters: [autoScalingGroupName: "app-v003", maxSize: 10]
+    ]))) == [[serverGroupName: "app-v003", account: "prod", region: "us-west-2"]] as Set
+  }
+
+  private NetflixAmazonCredentials credentials(String name, String accountId) {
+    Mock(NetflixAmazonCredentials) {
+      getName() >> name
+      getAccountId() >> accountId
+      getRegions() >> [new AmazonCredentials.AWSRegion("us-west-2", [])]
+    }
+  }
+
+  private static String event(String source, String detailType, Map detail, String account = "200", String region = "us-west-2") {
+    new ObjectMapper().writeValueAsString([
+      source: source,
+      "detail-type": detailType,
+      account: account,
+      region: region,
+      detail: detail
+    ])
+  }
+
+  private static ResourceChangeEvent parse(String event) {
+    new ObjectMapper().readValue(event, ResourceChangeEvent)
+  }
+
+  private static Message message(String receiptHandle, String body) {
+    new Message().withReceiptHandle(receiptHandle).withBody(body)
+  }
+}
@@ -25,6 +25,7 @@ import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
+import com.netflix.spectator.api.DefaultRegistry
 import org.junit.jupiter.api.BeforeEach
 import spock.lang.Specification
 import spock.lang.Subject
@@ -32,10 +33,14 @@ import spock.lang.Unroll
 
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.APPLICATIONS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.CLUSTERS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_CONFIGS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_TEMPLATES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LOAD_BALANCERS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.TARGET_GROUPS
 
 class AmazonClusterProviderSpec extends Specification {
   def cacheView = Mock(Cache)
@@ -169,6 +174,79 @@ class AmazonClusterProviderSpec extends Specification {
     allServerGroups[0].mixedInstancesPolicy == null
   }
 
+  def "should read the cluster summaries of several applications with one indexed query"() {
+    given:
+    String otherClusterId = Keys.getClusterKey("other-main", "other", account)
+    cacheView.supportsGetAllByApplication() >> true
+    cacheView.getAll(SERVER_GROUPS.ns, [serverGroupId], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [:])
+    ]
+
+    when:
+    def result = provider.getClusterSummaries(["app", "other", "none"])
+
+    then:
+    1 * cacheView.getAllByApplications(CLUSTERS.ns, ["app", "other", "none"], _ as CacheFilter) >> [
+      (CLUSTERS.ns): [
+        new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]]),
+        new DefaultCacheData(otherClusterId, [name: "other-main", application: "other"], [:])
+      ]
+    ]
+    0 * cacheView.filterIdentifiers(_, _)
+    result.keySet() == ["app", "other"] as Set
+    result.app[account]*.name == [clusterName]
+    result.app[account]*.serverGroups.flatten()*.name == [serverGroupName]
+    result.other[account]*.name == ["other-main"]
+  }
+
+  def "should read the cluster summaries of several applications through their application entries"() {
+    given:
+    String otherClusterId = Keys.getClusterKey("other-main", "other", account)
+    cacheView.supportsGetAllByApplication() >> false
+    cacheView.getAll(SERVER_GROUPS.ns, [serverGroupId], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [:])
+    ]
+
+    when:
+    def result = provider.getClusterSummaries(["app", "Other"])
+
+    then:
+    1 * cacheView.getAll(APPLICATIONS.ns, [Keys.getApplicationKey("app"), Keys.getApplicationKey("Other")], _ as CacheFilter) >> [
+      new DefaultCacheData(Keys.getApplicationKey("app"), [:], [clusters: [clusterId]]),
+      new DefaultCacheData(Keys.getApplicationKey("other"), [:], [clusters: [otherClusterId]])
+    ]
+    1 * cacheView.getAll(CLUSTERS.ns, [clusterId, otherClusterId] as Set) >> [
+      new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]]),
+      new DefaultCacheData(otherClusterId, [name: "other-main", application: "other"], [:])
+    ]
+    0 * cacheView.filterIdentifiers(_, _)
+    result.keySet() == ["app", "Other"] as Set
+    result.app[account]*.name == [clusterName]
+    result.Other[account]*.name == ["other-main"]
+  }
+
+  def "should read several clusters at once"() {
+    given:
+    String otherClusterId = Keys.getClusterKey("other-main", "other", account)
+    cacheView.getAll(SERVER_GROUPS.ns, [serverGroupId], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [:])
+    ]
+
+    when:
+    def result = provider.getClusters([app: [(account): [clusterName] as Set], other: [(account): ["other-main"] as Set]])
+
+    then:
+    1 * cacheView.getAll(CLUSTERS.ns, [clusterId, otherClusterId]) >> [
+      new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]]),
+      new DefaultCacheData(otherClusterId, [name: "other-main", application: "other"], [:])
+    ]
+    0 * cacheView.get(CLUSTERS.ns, _)
+    result.keySet() == ["app", "other"] as Set
+    result.app*.name == [clusterName]
+    result.app*.serverGroups.flatten()*.name == [serverGroupName]
+    result.other*.name == ["other-main"]
+  }
+
   def "should resolve server group launch config"() {
     given:
     serverGroup.asg = [ launchConfigurationName: launchConfigName]
@@ -198,6 +276,50 @@ class AmazonClusterProviderSpec extends Specification {
     }
   }
 
+  def "should record how long each stage of resolving a cluster takes"() {
+    given:
+    def registry = new DefaultRegistry()
+    provider.registry = registry
+    def launchConfiguration = new DefaultCacheData(
+      Keys.getLaunchConfigKey(launchConfigName, account, region), [imageId: "ami-1"], [:])
+
+    and:
+    cacheView.getAll(LAUNCH_CONFIGS.ns, _ as Set) >> [launchConfiguration]
+    cacheView.get(CLUSTERS.ns, clusterId) >> new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]])
+    cacheView.getAll(SERVER_GROUPS.ns, [ serverGroupId ], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [launchConfigs: [launchConfiguration.id]])
+    ]
+
+    when:
+    def result = provider.getCluster(app, account, clusterName)
+
+    then:
+    result.serverGroups.first().launchConfig == launchConfiguration.attributes
+    [SERVER_GROUPS, LOAD_BALANCERS, TARGET_GROUPS, INSTANCES, HEALTH, LAUNCH_CONFIGS, LAUNCH_TEMPLATES, IMAGES].every {
+      registry.timer(registry.createId("aws.clusterProvider.cacheReads").withTag("stage", it.ns)).count() == 1
+    }
+  }
+
+  def "should read on the request thread when no helper thread is available"() {
+    given:
+    def launchConfiguration = new DefaultCacheData(
+      Keys.getLaunchConfigKey(launchConfigName, account, region), [imageId: "ami-1"], [:])
+    provider.destroy()
+
+    and:
+    cacheView.getAll(LAUNCH_CONFIGS.ns, _ as Set) >> [launchConfiguration]
+    cacheView.get(CLUSTERS.ns, clusterId) >> new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]])
+    cacheView.getAll(SERVER_GROUPS.ns, [ serverGroupId ], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [launchConfigs: [launchConfiguration.id]])
+    ]
+
+    when:
+    def result = provider.getCluster(app, account, clusterName)
+
+    then:
+    result.serverGroups.first().launchConfig == launchConfiguration.attributes
+  }
+
   @Unroll
   def "should resolve server group launch template"() {
     given:
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient
+
+import com.amazonaws.AmazonServiceException
+import com.amazonaws.DefaultRequest
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest
+import com.netflix.spectator.api.DefaultRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ClusterRequestRateLimiterSpec extends Specification {
+
+  void "leases batches of permits from the shared budget"() {
+    given:
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter("EC2:test:us-east-1", budget, 100, new RateLimitProperties(leaseMillis: 100))
+
+    when:
+    10.times { limiter.acquire() }
+
+    then:
+    1 * budget.acquire("EC2:test:us-east-1", 10, 100) >> new SharedRateBudget.Lease(10, 100)
+  }
+
+  void "falls back to a local rate limit when the shared budget is unavailable"() {
+    given:
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter("EC2:test:us-east-1", budget, 100, new RateLimitProperties())
+
+    when:
+    limiter.acquire()
+
+    then:
+    1 * budget.acquire(_, _, _) >> { throw new IllegalStateException("redis is down") }
+    noExceptionThrown()
+  }
+
+  void "does not try the shared budget again until the failure cooldown has passed"() {
+    given:
+    long now = 0
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter(
+      "EC2:test:us-east-1", budget, 1000, new RateLimitProperties(failureCooldownMillis: 1000), { now })
+
+    when:
+    5.times { limiter.acquire() }
+
+    then:
+    1 * budget.acquire(_, _, _) >> { throw new IllegalStateException("redis is down") }
+
+    when:
+    now += TimeUnit.MILLISECONDS.toNanos(1001)
+    limiter.acquire()
+
+    then:
+    1 * budget.acquire(_, _, _) >> new SharedRateBudget.Lease(100, 1000)
+  }
+
+  void "concurrent callers wait out an unreachable shared budget once rather than one after the other"() {
+    given:
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter("EC2:test:us-east-1", budget, 1000, new RateLimitProperties())
+    def pool = Executors.newFixedThreadPool(4)
+
+    when:
+    long start = System.nanoTime()
+    def futures = (1..4).collect { pool.submit({ limiter.acquire() } as Callable) }
+    futures*.get(5, TimeUnit.SECONDS)
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+    then:
+    1 * budget.acquire(_, _, _) >> {
+      Thread.sleep(300)
+      throw new IllegalStateException("connection timed out")
+    }
+    elapsedMillis < 1200
+
+    cleanup:
+    pool.shutdownNow()
+  }
+
+  void "follows the adapted rate kept in the shared budget"() {
+    given:
+    long now = 0
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter(
+      "EC2:test:us-east-1", budget, 100, new RateLimitProperties(adaptive: true, leaseMillis: 100, decreaseCooldownMillis: 1000), { now })
+
+    when: 'another instance was throttled'
+    limiter.acquire()
+
+    then:
+    1 * budget.acquire("EC2:test:us-east-1", 10, 100) >> new SharedRateBudget.Lease(5, 50)
+    limiter.rate == 50
+
+    when: 'this instance is throttled'
+    limiter.onThrottled()
+
+    then: 'the shared rate is lowered and the leased permits are given up'
+    1 * budget.onThrottled("EC2:test:us-east-1", 100) >> 25d
+    limiter.rate == 25
+
+    when: 'in flight requests are throttled too'
+    now += TimeUnit.MILLISECONDS.toNanos(500)
+    limiter.onThrottled()
+    limiter.acquire()
+
+    then: 'the shared rate is not lowered again and the next lease is sized at the lowered rate'
+    0 * budget.onThrottled(_, _)
+    1 * budget.acquire("EC2:test:us-east-1", 3, 100) >> new SharedRateBudget.Lease(3, 25)
+  }
+
+  void "does not lower the shared rate unless adaptation is enabled"() {
+    given:
+    def budget = Mock(SharedRateBudget)
+    def limiter = new ClusterRequestRateLimiter("EC2:test:us-east-1", budget, 100, new RateLimitProperties())
+
+    when:
+    limiter.onThrottled()
+
+    then:
+    0 * budget.onThrottled(_, _)
+    limiter.rate == 100
+  }
+
+  void "adapts the rate multiplicatively on throttling and additively afterwards"() {
+    given:
+    long now = 0
+    def properties = new RateLimitProperties(
+      adaptive: true, decreaseFactor: 0.5, increasePerSecond: 1, minRateFraction: 0.2, decreaseCooldownMillis: 1000)
+    def rate = new AdaptiveRate(10, properties, { now })
+
+    when: 'throttled'
+    rate.onThrottled()
+
+    then:
+    rate.current() == 5
+
+    when: 'throttled again within the cooldown'
+    now += TimeUnit.MILLISECONDS.toNanos(500)
+    rate.onThrottled()
+
+    then:
+    rate.current() == 5.5
+
+    when: 'two seconds pass without throttling'
+    now += TimeUnit.SECONDS.toNanos(2)
+
+    then:
+    rate.current() == 7.5
+
+    when: 'throttled repeatedly'
+    10.times {
+      now += TimeUnit.SECONDS.toNanos(1)
+      rate.onThrottled()
+    }
+
+    then: 'never below the minimum'
+    rate.current() == 2
+  }
+
+  void "does not adapt the rate unless enabled"() {
+    given:
+    def rate = new AdaptiveRate(10, new RateLimitProperties())
+
+    when:
+    rate.onThrottled()
+
+    then:
+    rate.current() == 10
+  }
+
+  void "notifies the rate limiter of throttled requests"() {
+    given:
+    def registry = new DefaultRegistry()
+    def rateLimiter = Mock(RequestRateLimiter)
+    def handler = new RateLimitingRequestHandler(
+      registry.counter("delay"), registry, registry.createId("throttled"), registry.createId("waitTime"), rateLimiter)
+    def request = new DefaultRequest(new DescribeInstancesRequest(), "AmazonEC2")
+    def throttled = new AmazonServiceException("Rate exceeded")
+    throttled.errorCode = "Throttling"
+
+    when:
+    handler.beforeRequest(request)
+    handler.afterError(request, null, throttled)
+    handler.afterError(request, null, new AmazonServiceException("Access denied"))
+
+    then:
+    1 * rateLimiter.onThrottled()
+    registry.counter("throttled", "api", "DescribeInstances").count() == 1
+    registry.timer("waitTime", "api", "DescribeInstances", "priority", "INTERACTIVE").count() == 1
+  }
+}
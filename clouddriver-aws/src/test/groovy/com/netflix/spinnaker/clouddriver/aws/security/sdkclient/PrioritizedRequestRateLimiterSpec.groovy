@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient
+
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmission
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmissionProperties
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Semaphore
+import java.util.function.Supplier
+
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.BACKGROUND
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.INTERACTIVE
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.MUTATION
+
+@Timeout(30)
+class PrioritizedRequestRateLimiterSpec extends Specification {
+
+  def permits = new Semaphore(0)
+  def admitted = new ConcurrentLinkedQueue<RequestPriority>()
+  def delegate = new RequestRateLimiter() {
+    @Override
+    double acquire() {
+      admitted.add(RequestPriority.current())
+      permits.acquire()
+      return 0
+    }
+
+    @Override
+    double getRate() {
+      return 1
+    }
+  }
+
+  void "strict admission serves higher priorities first"() {
+    given:
+    def limiter = new PrioritizedRequestRateLimiter(delegate, new PriorityAdmission(new PriorityAdmissionProperties(policy: PriorityAdmissionProperties.Policy.STRICT)))
+
+    when: 'a background request holds the limiter while others queue up'
+    def threads = [request(limiter, BACKGROUND)]
+    waitForAdmitted(1)
+    threads += [BACKGROUND, BACKGROUND, INTERACTIVE, MUTATION].collect { request(limiter, it) }
+    waitForWaiting(limiter, 4)
+    permits.release(5)
+    threads*.join()
+
+    then:
+    admitted as List == [BACKGROUND, MUTATION, INTERACTIVE, BACKGROUND, BACKGROUND]
+  }
+
+  void "weighted admission does not starve lower priorities"() {
+    given:
+    def limiter = new PrioritizedRequestRateLimiter(delegate, new PriorityAdmission(new PriorityAdmissionProperties(
+      policy: PriorityAdmissionProperties.Policy.WEIGHTED, mutationWeight: 2, interactiveWeight: 1, backgroundWeight: 1)))
+
+    when:
+    def threads = [request(limiter, MUTATION)]
+    waitForAdmitted(1)
+    threads += (1..4).collect { request(limiter, MUTATION) } + (1..2).collect { request(limiter, BACKGROUND) }
+    waitForWaiting(limiter, 6)
+    permits.release(7)
+    threads*.join()
+
+    then: 'background requests are interleaved with the mutations rather than served last'
+    def order = (admitted as List).drop(1)
+    order.indexOf(BACKGROUND) < 3
+    order.count(BACKGROUND) == 2
+  }
+
+  private static Thread request(RequestRateLimiter limiter, RequestPriority priority) {
+    return Thread.start {
+      priority.call({ limiter.acquire() } as Supplier)
+    }
+  }
+
+  private void waitForAdmitted(int count) {
+    while (admitted.size() < count) {
+      sleep(5)
+    }
+  }
+
+  private static void waitForWaiting(PrioritizedRequestRateLimiter limiter, int count) {
+    while (limiter.admission.waiting != count) {
+      sleep(5)
+    }
+  }
+}
@@ -42,6 +42,10 @@ import com.netflix.spinnaker.clouddriver.helpers.AbstractServerGroupNameResolver
 import com.netflix.spinnaker.clouddriver.model.HealthState;
 import java.io.File;
 import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
@@ -58,6 +62,8 @@ import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
 public class Applications {
+  private static final Duration INCREMENTAL_SYNC_OVERLAP = Duration.ofMinutes(1);
+
   private final String account;
   private final String appsManagerUri;
   private final String metricsUri;
@@ -68,6 +74,15 @@ public class Applications {
   private final boolean onlySpinnakerManaged;
   private final ForkJoinPool forkJoinPool;
   private final LoadingCache<String, CloudFoundryServerGroup> serverGroupCache;
+  private final boolean incrementalSync;
+  private final Duration fullSyncInterval;
+  private final Clock clock;
+
+  // what the last refresh listed, for incremental refreshes; guarded by this
+  private final Map<String, Application> knownApplications = new HashMap<>();
+  @Nullable private String syncedSpaceGuids;
+  @Nullable private Instant syncedUntil;
+  @Nullable private Instant lastFullSync;
 
   public Applications(
       String account,
@@ -80,6 +95,32 @@ public class Applications {
       boolean onlySpinnakerManaged,
       ForkJoinPool forkJoinPool,
       CloudFoundryConfigurationProperties.LocalCacheConfig localCacheConfig) {
+    this(
+        account,
+        appsManagerUri,
+        metricsUri,
+        api,
+        spaces,
+        processes,
+        resultsPerPage,
+        onlySpinnakerManaged,
+        forkJoinPool,
+        localCacheConfig,
+        Clock.systemUTC());
+  }
+
+  Applications(
+      String account,
+      String appsManagerUri,
+      String metricsUri,
+      ApplicationService api,
+      Spaces spaces,
+      Processes processes,
+      Integer resultsPerPage,
+      boolean onlySpinnakerManaged,
+      ForkJoinPool forkJoinPool,
+      CloudFoundryConfigurationProperties.LocalCacheConfig localCacheConfig,
+      Clock clock) {
     this.account = account;
     this.appsManagerUri = appsManagerUri;
     this.metricsUri = metricsUri;
@@ -89,6 +130,10 @@ public class Applications {
     this.resultsPerPage = resultsPerPage;
     this.onlySpinnakerManaged = onlySpinnakerManaged;
     this.forkJoinPool = forkJoinPool;
+    this.incrementalSync = localCacheConfig.isApplicationsIncrementalSync();
+    this.fullSyncInterval =
+        Duration.ofSeconds(localCacheConfig.getApplicationsFullSyncIntervalSeconds());
+    this.clock = clock;
 
     CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
     if (localCacheConfig.getApplicationsAccessExpirySeconds() >= 0) {
@@ -132,8 +177,7 @@ public class Applications {
     String spaceGuidsQ =
         spaceGuids == null || spaceGuids.isEmpty() ? null : String.join(",", spaceGuids);
 
-    List<Application> newCloudFoundryAppList =
-        collectPages("applications", page -> api.all(page, resultsPerPage, null, spaceGuidsQ));
+    List<Application> newCloudFoundryAppList = listApplications(spaceGuidsQ);
 
     log.debug(
         "Fetched {} total apps from foundation account {}",
@@ -145,8 +189,8 @@ public class Applications {
             .filter(this::shouldCacheApplication)
             .collect(Collectors.toUnmodifiableList());
 
-    List<String> availableAppIds =
-        cacheableApplications.stream().map(Application::getGuid).collect(toList());
+    Set<String> availableAppIds =
+        cacheableApplications.stream().map(Application::getGuid).collect(toSet());
 
     long invalidatedServerGroups =
         serverGroupCache.asMap().keySet().parallelStream()
@@ -245,6 +289,68 @@ public class Applications {
         .collect(toList());
   }
 
+  /**
+   * Lists the applications in the given spaces. With incremental sync enabled, only the
+   * applications updated or deleted since the previous call are requested, and merged into what
+   * that call returned; every application is still listed periodically, or when the spaces change.
+   */
+  private synchronized List<Application> listApplications(@Nullable String spaceGuidsQ) {
+    if (!incrementalSync) {
+      return collectPages(
+          "applications", page -> api.all(page, resultsPerPage, null, spaceGuidsQ), forkJoinPool);
+    }
+
+    Instant now = clock.instant();
+    boolean fullSync =
+        lastFullSync == null
+            || !Objects.equals(spaceGuidsQ, syncedSpaceGuids)
+            || !now.isBefore(lastFullSync.plus(fullSyncInterval));
+
+    if (fullSync) {
+      List<Application> applications =
+          collectPages(
+              "applications",
+              page -> api.all(page, resultsPerPage, null, spaceGuidsQ),
+              forkJoinPool);
+      knownApplications.clear();
+      applications.forEach(app -> knownApplications.put(app.getGuid(), app));
+      syncedSpaceGuids = spaceGuidsQ;
+      lastFullSync = now;
+    } else {
+      String since = DateTimeFormatter.ISO_INSTANT.format(syncedUntil);
+      List<AuditEvent> deletions =
+          collectPages(
+              "audit events",
+              page ->
+                  api.auditEvents(
+                      page, resultsPerPage, AuditEvent.APP_DELETE_REQUEST, spaceGuidsQ, since),
+              forkJoinPool);
+      List<Application> updated =
+          collectPages(
+              "applications",
+              page -> api.updatedSince(page, resultsPerPage, spaceGuidsQ, since),
+              forkJoinPool);
+
+      deletions.stream()
+          .map(AuditEvent::getTarget)
+          .filter(Objects::nonNull)
+          .forEach(target -> knownApplications.remove(target.getGuid()));
+      updated.forEach(app -> knownApplications.put(app.getGuid(), app));
+
+      log.debug(
+          "Fetched {} updated and {} deleted apps since {} from foundation account {}",
+          updated.size(),
+          deletions.size(),
+          since,
+          this.account);
+    }
+    // updates that land while we are listing may not show up in the listing, and the foundation's
+    // clock may be a little off from ours, so the next refresh looks back a bit further
+    syncedUntil = now.minus(INCREMENTAL_SYNC_OVERLAP);
+
+    return new ArrayList<>(knownApplications.values());
+  }
+
   @Nullable
   public CloudFoundryServerGroup findServerGroupByNameAndSpaceId(String name, String spaceId) {
     Optional<CloudFoundryServerGroup> result =
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.clouddriver.cloudfoundry.client;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.google.common.base.Throwables;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.ErrorDescription;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Page;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Resource;
@@ -27,8 +28,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -71,44 +80,98 @@ public final class CloudFoundryClientUtils {
   static <R> List<R> collectPages(
       String resourceNamePluralized, Function<Integer, Call<Pagination<R>>> fetchPage)
       throws CloudFoundryApiException {
-    Pagination<R> firstPage =
-        safelyCall(() -> fetchPage.apply(null))
-            .orElseThrow(
-                () -> new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized));
-
-    List<R> allResources = new ArrayList<>(firstPage.getResources());
-    for (int page = 2; page <= firstPage.getPagination().getTotalPages(); page++) {
-      final int p = page;
-      allResources.addAll(
-          safelyCall(() -> fetchPage.apply(p))
-              .orElseThrow(
-                  () ->
-                      new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized))
-              .getResources());
-    }
+    return collectPages(resourceNamePluralized, fetchPage, null);
+  }
 
-    return allResources;
+  /**
+   * Like {@link #collectPages(String, Function)}, but once the first page tells how many pages
+   * there are, the remaining pages are fetched in parallel on the given pool, so at most as many
+   * pages are requested at once as the pool's parallelism.
+   */
+  static <R> List<R> collectPages(
+      String resourceNamePluralized,
+      Function<Integer, Call<Pagination<R>>> fetchPage,
+      @Nullable ForkJoinPool forkJoinPool)
+      throws CloudFoundryApiException {
+    return collectAllPages(
+        resourceNamePluralized,
+        fetchPage,
+        page -> page.getPagination().getTotalPages(),
+        Pagination::getResources,
+        forkJoinPool);
   }
 
   static <R> List<Resource<R>> collectPageResources(
       String resourceNamePluralized, Function<Integer, Call<Page<R>>> fetchPage)
       throws CloudFoundryApiException {
-    Page<R> firstPage =
+    return collectPageResources(resourceNamePluralized, fetchPage, null);
+  }
+
+  /**
+   * Like {@link #collectPageResources(String, Function)}, but fetches the pages after the first in
+   * parallel on the given pool.
+   */
+  static <R> List<Resource<R>> collectPageResources(
+      String resourceNamePluralized,
+      Function<Integer, Call<Page<R>>> fetchPage,
+      @Nullable ForkJoinPool forkJoinPool)
+      throws CloudFoundryApiException {
+    return collectAllPages(
+        resourceNamePluralized, fetchPage, Page::getTotalPages, Page::getResources, forkJoinPool);
+  }
+
+  private static <P, R> List<R> collectAllPages(
+      String resourceNamePluralized,
+      Function<Integer, Call<P>> fetchPage,
+      Function<P, Integer> totalPages,
+      Function<P, List<R>> resources,
+      @Nullable ForkJoinPool forkJoinPool) {
+    IntFunction<List<R>> fetchResources =
+        page ->
+            resources.apply(
+                safelyCall(() -> fetchPage.apply(page))
+                    .orElseThrow(
+                        () ->
+                            new CloudFoundryApiException(
+                                "Unable to retrieve " + resourceNamePluralized)));
+
+    P firstPage =
         safelyCall(() -> fetchPage.apply(null))
             .orElseThrow(
                 () -> new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized));
+    int pageCount = totalPages.apply(firstPage);
 
-    List<Resource<R>> allResources = new ArrayList<>(firstPage.getResources());
-    for (int page = 2; page <= firstPage.getTotalPages(); page++) {
-      final int p = page;
-      allResources.addAll(
-          safelyCall(() -> fetchPage.apply(p))
-              .orElseThrow(
-                  () ->
-                      new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized))
-              .getResources());
+    List<R> allResources = new ArrayList<>(resources.apply(firstPage));
+    if (pageCount <= 2 || forkJoinPool == null) {
+      for (int page = 2; page <= pageCount; page++) {
+        allResources.addAll(fetchResources.apply(page));
+      }
+      return allResources;
     }
 
+    Callable<List<List<R>>> fetchRemainingPages =
+        () ->
+            IntStream.rangeClosed(2, pageCount)
+                .parallel()
+                .mapToObj(fetchResources)
+                .collect(Collectors.toList());
+    try {
+      // parallel streams run on the pool of the task that starts them
+      List<List<R>> remainingPages =
+          ForkJoinTask.getPool() == forkJoinPool
+              ? fetchRemainingPages.call()
+              : forkJoinPool.submit(fetchRemainingPages).get();
+      remainingPages.forEach(allResources::addAll);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new CloudFoundryApiException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CloudFoundryApiException(e);
+    } catch (Exception e) {
+      Throwables.throwIfUnchecked(e);
+      throw new CloudFoundryApiException(e);
+    }
     return allResources;
   }
 
@@ -182,8 +182,8 @@ public class Routes {
       throws CloudFoundryApiException {
     try {
       if (!spaces.isEmpty()) {
-        List<String> spaceGuids =
-            spaces.stream().map(CloudFoundrySpace::getId).collect(Collectors.toList());
+        Set<String> spaceGuids =
+            spaces.stream().map(CloudFoundrySpace::getId).collect(Collectors.toSet());
         String orgFilter =
             "organization_guid IN "
                 + spaces.stream()
@@ -193,7 +193,9 @@ public class Routes {
             .submit(
                 () ->
                     collectPageResources(
-                            "routes", pg -> api.all(pg, resultsPerPage, singletonList(orgFilter)))
+                            "routes",
+                            pg -> api.all(pg, resultsPerPage, singletonList(orgFilter)),
+                            forkJoinPool)
                         .parallelStream()
                         .map(this::map)
                         .filter(lb -> spaceGuids.contains(lb.getSpace().getId()))
@@ -203,7 +205,8 @@ public class Routes {
         return forkJoinPool
             .submit(
                 () ->
-                    collectPageResources("routes", pg -> api.all(pg, resultsPerPage, null))
+                    collectPageResources(
+                            "routes", pg -> api.all(pg, resultsPerPage, null), forkJoinPool)
                         .parallelStream()
                         .map(this::map)
                         .collect(Collectors.toList()))
@@ -35,6 +35,21 @@ public interface ApplicationService {
       @Query("names") List<String> names,
       @Query("space_guids") String spaceGuids);
 
+  @GET("/v3/apps")
+  Call<Pagination<Application>> updatedSince(
+      @Query("page") Integer page,
+      @Query("per_page") Integer perPage,
+      @Query("space_guids") String spaceGuids,
+      @Query("updated_ats[gte]") String updatedSince);
+
+  @GET("/v3/audit_events")
+  Call<Pagination<AuditEvent>> auditEvents(
+      @Query("page") Integer page,
+      @Query("per_page") Integer perPage,
+      @Query("types") String types,
+      @Query("space_guids") String spaceGuids,
+      @Query("created_ats[gte]") String createdSince);
+
   @GET("/v3/apps/{guid}")
   Call<Application> findById(@Path("guid") String guid);
 
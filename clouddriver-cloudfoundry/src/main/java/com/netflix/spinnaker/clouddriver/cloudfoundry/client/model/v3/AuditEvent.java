@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3;
+
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+@Data
+public class AuditEvent {
+  public static final String APP_DELETE_REQUEST = "audit.app.delete-request";
+
+  private String guid;
+  private String type;
+  private ZonedDateTime createdAt;
+  private Target target;
+
+  @Data
+  public static class Target {
+    private String guid;
+    private String type;
+    private String name;
+  }
+}
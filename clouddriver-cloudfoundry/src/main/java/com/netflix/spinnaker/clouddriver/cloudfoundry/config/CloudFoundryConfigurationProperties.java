@@ -91,5 +91,14 @@ public class CloudFoundryConfigurationProperties implements DisposableBean {
     private long applicationsWriteExpirySeconds = 600;
     private long routesAccessExpirySeconds = -1;
     private long routesWriteExpirySeconds = 180;
+
+    /**
+     * When enabled, a refresh only lists the applications updated since the previous one, and the
+     * applications deleted since then according to the audit events.
+     */
+    private boolean applicationsIncrementalSync = false;
+
+    /** How often an incremental refresh still lists every application, to catch any drift. */
+    private long applicationsFullSyncIntervalSeconds = 600;
   }
 }
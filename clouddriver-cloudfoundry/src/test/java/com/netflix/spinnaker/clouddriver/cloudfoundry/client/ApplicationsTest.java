@@ -33,9 +33,13 @@ import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Process;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.config.CloudFoundryConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.model.*;
 import io.vavr.collection.HashMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -357,6 +361,69 @@ class ApplicationsTest {
     verify(applicationService, never()).findDropletByApplicationGuid(guid);
   }
 
+  @Test
+  void allListsOnlyUpdatedAndDeletedAppsBetweenFullSyncs() {
+    CloudFoundryConfigurationProperties.LocalCacheConfig localCacheConfig =
+        new CloudFoundryConfigurationProperties.LocalCacheConfig();
+    localCacheConfig.setApplicationsIncrementalSync(true);
+    Instant start = Instant.parse("2020-01-01T00:10:00Z");
+    Clock clock = mock(Clock.class);
+    when(clock.instant())
+        .thenReturn(start, start.plus(Duration.ofMinutes(2)), start.plus(Duration.ofMinutes(11)));
+    Applications incrementalApps =
+        new Applications(
+            "pws",
+            "some-apps-man-uri",
+            "some-metrics-uri",
+            applicationService,
+            spaces,
+            processes,
+            resultsPerPage,
+            true,
+            ForkJoinPool.commonPool(),
+            localCacheConfig,
+            clock);
+
+    Application v000 = application("guid-0", "my-app-v000");
+    Application v001 = application("guid-1", "my-app-v001");
+    Application v002 = application("guid-2", "my-app-v002");
+    Map<String, Application> applicationsByGuid =
+        Map.of("guid-0", v000, "guid-1", v001, "guid-2", v002);
+    when(applicationService.findById(anyString()))
+        .thenAnswer(
+            invocation ->
+                Calls.response(applicationsByGuid.get(invocation.<String>getArgument(0))));
+    when(applicationService.all(any(), any(), any(), any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(page(v000, v001))))
+        .thenAnswer(invocation -> Calls.response(Response.success(page(v001, v002))));
+    when(applicationService.updatedSince(any(), any(), any(), any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(page(v002))));
+    AuditEvent deletion =
+        new AuditEvent()
+            .setType(AuditEvent.APP_DELETE_REQUEST)
+            .setTarget(new AuditEvent.Target().setGuid("guid-0"));
+    when(applicationService.auditEvents(any(), any(), any(), any(), any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(page(deletion))));
+    mockMapForAnyApp(cloudFoundrySpace);
+
+    assertThat(serverGroupNames(incrementalApps.all(List.of(spaceId))))
+        .containsExactlyInAnyOrder("my-app-v000", "my-app-v001");
+    assertThat(serverGroupNames(incrementalApps.all(List.of(spaceId))))
+        .containsExactlyInAnyOrder("my-app-v001", "my-app-v002");
+    verify(applicationService, times(1)).all(null, resultsPerPage, null, spaceId);
+    verify(applicationService)
+        .updatedSince(null, resultsPerPage, spaceId, "2020-01-01T00:09:00Z");
+    verify(applicationService)
+        .auditEvents(
+            null, resultsPerPage, AuditEvent.APP_DELETE_REQUEST, spaceId, "2020-01-01T00:09:00Z");
+
+    // the full sync interval has passed, so everything is listed again
+    assertThat(serverGroupNames(incrementalApps.all(List.of(spaceId))))
+        .containsExactlyInAnyOrder("my-app-v001", "my-app-v002");
+    verify(applicationService, times(2)).all(null, resultsPerPage, null, spaceId);
+    verify(applicationService, times(1)).updatedSince(any(), any(), any(), any());
+  }
+
   @Test
   void getAppStateWhenProcessStateNotFound() {
     when(processes.getProcessState(anyString())).thenReturn(Optional.empty());
@@ -557,6 +624,53 @@ class ApplicationsTest {
         .setSpaceGuid("space-guid");
   }
 
+  private static Application application(String guid, String name) {
+    return new Application()
+        .setCreatedAt(ZonedDateTime.now())
+        .setUpdatedAt(ZonedDateTime.now())
+        .setGuid(guid)
+        .setName(name)
+        .setState("STARTED")
+        .setLinks(
+            HashMap.of("space", new Link().setHref("http://capi.io/space/space-guid")).toJavaMap());
+  }
+
+  @SafeVarargs
+  private static <R> Pagination<R> page(R... resources) {
+    return new Pagination<R>()
+        .setPagination(new Pagination.Details().setTotalPages(1))
+        .setResources(List.of(resources));
+  }
+
+  private static List<String> serverGroupNames(List<CloudFoundryApplication> applications) {
+    return applications.stream()
+        .flatMap(app -> app.getClusters().stream())
+        .flatMap(cluster -> cluster.getServerGroups().stream())
+        .map(CloudFoundryServerGroup::getName)
+        .collect(Collectors.toList());
+  }
+
+  /** Like {@link #mockMap}, but for any number of apps, each of which gets new calls. */
+  private void mockMapForAnyApp(CloudFoundrySpace cloudFoundrySpace) {
+    ApplicationEnv.SystemEnv systemEnv = new ApplicationEnv.SystemEnv().setVcapServices(emptyMap());
+    ApplicationEnv applicationEnv = new ApplicationEnv().setSystemEnvJson(systemEnv);
+    Pagination<Package> packagePagination =
+        new Pagination<Package>()
+            .setPagination(new Pagination.Details().setTotalPages(1))
+            .setResources(emptyList());
+
+    when(applicationService.findApplicationEnvById(any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(applicationEnv)));
+    when(spaces.findById(any())).thenReturn(cloudFoundrySpace);
+    when(applicationService.instances(any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(emptyMap())));
+    when(applicationService.findPackagesByAppId(any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(packagePagination)));
+    when(applicationService.findDropletByApplicationGuid(any()))
+        .thenAnswer(
+            invocation -> Calls.response(Response.success(new Droplet().setGuid("droplet-guid"))));
+  }
+
   private void mockMap(CloudFoundrySpace cloudFoundrySpace, String dropletId) {
     ApplicationEnv.SystemEnv systemEnv = new ApplicationEnv.SystemEnv().setVcapServices(emptyMap());
     ApplicationEnv applicationEnv = new ApplicationEnv().setSystemEnvJson(systemEnv);
@@ -28,6 +28,9 @@ import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Applicatio
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Pagination;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import retrofit2.Response;
 import retrofit2.mock.Calls;
@@ -79,6 +82,54 @@ class CloudFoundryClientUtilsTest {
     assertThat(results).containsExactly(applicationOne, applicationTwo);
   }
 
+  @Test
+  void collectPagesFetchesRemainingPagesInParallel() {
+    ApplicationService applicationService = mock(ApplicationService.class);
+    Application applicationOne = new Application().setName("app-name-one");
+    Application applicationTwo = new Application().setName("app-name-two");
+    Application applicationThree = new Application().setName("app-name-three");
+    Pagination<Application> pageOne =
+        new Pagination<Application>()
+            .setPagination(new Pagination.Details().setTotalPages(3))
+            .setResources(Collections.singletonList(applicationOne));
+    Pagination<Application> pageTwo =
+        new Pagination<Application>()
+            .setPagination(new Pagination.Details().setTotalPages(3))
+            .setResources(Collections.singletonList(applicationTwo));
+    Pagination<Application> pageThree =
+        new Pagination<Application>()
+            .setPagination(new Pagination.Details().setTotalPages(3))
+            .setResources(Collections.singletonList(applicationThree));
+
+    // pages two and three are only returned once both have been requested
+    CyclicBarrier bothRequested = new CyclicBarrier(2);
+    when(applicationService.all(null, null, null, null))
+        .thenReturn(Calls.response(Response.success(pageOne)));
+    when(applicationService.all(2, null, null, null))
+        .thenAnswer(
+            invocation -> {
+              bothRequested.await(10, TimeUnit.SECONDS);
+              return Calls.response(Response.success(pageTwo));
+            });
+    when(applicationService.all(3, null, null, null))
+        .thenAnswer(
+            invocation -> {
+              bothRequested.await(10, TimeUnit.SECONDS);
+              return Calls.response(Response.success(pageThree));
+            });
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try {
+      List results =
+          CloudFoundryClientUtils.collectPages(
+              "applications", page -> applicationService.all(page, null, null, null), forkJoinPool);
+
+      assertThat(results).containsExactly(applicationOne, applicationTwo, applicationThree);
+    } finally {
+      forkJoinPool.shutdown();
+    }
+  }
+
   @Test
   void collectPageResourcesIteratesOverOnePage() {
     DomainService domainService = mock(DomainService.class);
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.clouddriver.core.ClouddriverHostname;
 import com.netflix.spinnaker.clouddriver.data.task.Status;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
+import com.netflix.spinnaker.clouddriver.data.task.TaskSnapshot;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.List;
@@ -249,6 +250,45 @@ public abstract class TaskRepositoryTck<T extends TaskRepository> {
     assertThat(getField(t1.getOutputs().get(0), "stdError")).isEqualTo("");
   }
 
+  @Test
+  public void testSnapshotVersionAdvancesOnWrite() {
+    Task t1 = subject.create("Test", "Test Status");
+
+    TaskSnapshot initial = subject.getSnapshot(t1.getId());
+    assertThat(initial.getId()).isEqualTo(t1.getId());
+    assertThat(initial.getStatus().getPhase()).isEqualTo("Test");
+    assertThat(initial.getStatus().getStatus()).isEqualTo("Test Status");
+    assertThat(initial.getStatus().isCompleted()).isFalse();
+
+    // Unchanged tasks report the same version
+    assertThat(subject.getSnapshot(t1.getId()).getVersion()).isEqualTo(initial.getVersion());
+
+    t1.updateStatus("Orchestration", "started");
+    TaskSnapshot afterStatus = subject.getSnapshot(t1.getId());
+    assertThat(afterStatus.getVersion()).isGreaterThan(initial.getVersion());
+    assertThat(afterStatus.getStatus().getPhase()).isEqualTo("Orchestration");
+    assertThat(afterStatus.getStatus().getStatus()).isEqualTo("started");
+
+    t1.addResultObjects(Collections.singletonList(new TestObject("blimp", "bah")));
+    TaskSnapshot afterResults = subject.getSnapshot(t1.getId());
+    assertThat(afterResults.getVersion()).isGreaterThan(afterStatus.getVersion());
+
+    t1.updateOutput("some-manifest", "Deploy K8s Manifest", "output", "");
+    TaskSnapshot afterOutput = subject.getSnapshot(t1.getId());
+    assertThat(afterOutput.getVersion()).isGreaterThan(afterResults.getVersion());
+
+    t1.complete();
+    TaskSnapshot afterComplete = subject.getSnapshot(t1.getId());
+    assertThat(afterComplete.getVersion()).isGreaterThan(afterOutput.getVersion());
+    assertThat(afterComplete.getStatus().isCompleted()).isTrue();
+    assertThat(afterComplete.getETag()).isNotEqualTo(initial.getETag());
+  }
+
+  @Test
+  public void testSnapshotOfUnknownTask() {
+    assertThat(subject.getSnapshot("does-not-exist")).isNull();
+  }
+
   public class TestObject {
     public String name;
     public String value;
@@ -23,6 +23,7 @@ import com.netflix.spinnaker.clouddriver.search.SearchProvider
 import com.netflix.spinnaker.clouddriver.search.SearchResultSet
 import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator
 import groovy.text.SimpleTemplateEngine
+import groovy.transform.Canonical
 import groovy.text.Template
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -56,6 +57,14 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     [:]
   )
 
+  /**
+   * The application and account of each cached identifier, so that permissions can be checked
+   * without parsing the identifiers again on every search.
+   */
+  private final AtomicReference<Map<String, KeyScope>> cachedScopesByIdentifier = new AtomicReference(
+    [:]
+  )
+
   private final FiatPermissionEvaluator permissionEvaluator
   private final List<KeyParser> keyParsers
 
@@ -121,19 +130,28 @@ class CatsSearchProvider implements SearchProvider, Runnable {
   void run() {
     try {
       log.info("Refreshing Cached Identifiers (instances)")
+      Map<String, KeyScope> scopes = new HashMap<>()
       def instanceIdentifiers = providers.findAll { provider ->
         provider.supportsSearch('instances', Collections.emptyMap())
       }.collect { provider ->
         def cache = providerRegistry.getProviderCache(provider.getProviderName())
         return cache.getIdentifiers("instances").findResults { key ->
           // Even though we don't need the parsed Map, we should still allow the provider to reject invalid keys
-          if (provider.parseKey(key))
-            return key?.toLowerCase()
+          if (provider.parseKey(key)) {
+            String identifier = key?.toLowerCase()
+            // searches match the lower-cased identifier, so that is what is parsed for permission checks
+            Map<String, String> parsed = providers.findResult { it.parseKey(identifier) }
+            if (parsed) {
+              scopes.put(identifier, new KeyScope(parsed.application as String, parsed.account as String))
+            }
+            return identifier
+          }
         }
       }.flatten()
 
       if (instanceIdentifiers) {
         cachedIdentifiersByType.set(["instances": instanceIdentifiers])
+        cachedScopesByIdentifier.set(scopes)
       }
 
       log.info("Refreshed Cached Identifiers (found ${instanceIdentifiers.size()} instances)")
@@ -167,35 +185,65 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     // ensure we're only searching for types supported by the backing providers
     types = defaultCaches.intersect(types)
 
-    List<String> matches = findMatches(query, types, filters)
-    if (permissionEvaluator) {
-      Authentication auth = SecurityContextHolder.context.authentication
+    // each key is parsed at most once per search
+    Map<String, Map<String, String>> parsedKeys = [:]
+    Closure<Boolean> canView = permissionEvaluator
+      ? readableBy(SecurityContextHolder.context.authentication, parsedKeys)
+      : null
+
+    List<String> matches = findMatches(query, types, filters, canView)
+    generateResultSet(query, matches, pageNumber, pageSize, parsedKeys)
+  }
 
-      matches = new ArrayList(matches).findResults { String key ->
-        Map<String, String> result = providers.findResult { it.parseKey(key) }
+  /**
+   * Decides whether the caller may see a key, checking each application and account with the
+   * permission evaluator once per search rather than once per matching key.
+   */
+  private Closure<Boolean> readableBy(Authentication auth, Map<String, Map<String, String>> parsedKeys) {
+    Map<String, Boolean> readableApplications = [:]
+    Map<String, Boolean> readableAccounts = [:]
+    Map<String, KeyScope> cachedScopes = cachedScopesByIdentifier.get()
+
+    return { String key ->
+      KeyScope scope = cachedScopes.get(key)
+      if (!scope) {
+        Map<String, String> result = parseKey(key, parsedKeys)
         if (!result) {
           log.warn("No supporting provider found for key (key: ${key})")
-          return key
+          return true
         }
+        scope = new KeyScope(result.application as String, result.account as String)
+      }
 
-        boolean canView = true
-        if (result.application) {
-          canView = permissionEvaluator.hasPermission(auth, result.application as String, 'APPLICATION', 'READ')
-        }
-        if (canView && result.account) {
-          canView = permissionEvaluator.hasPermission(auth, result.account as String, 'ACCOUNT', 'READ')
-        }
-        return canView ? key : null
+      if (scope.application && !readableApplications.computeIfAbsent(scope.application) {
+        permissionEvaluator.hasPermission(auth, it, 'APPLICATION', 'READ')
+      }) {
+        return false
+      }
+      return !scope.account || readableAccounts.computeIfAbsent(scope.account) {
+        permissionEvaluator.hasPermission(auth, it, 'ACCOUNT', 'READ')
       }
     }
-    generateResultSet(query, matches, pageNumber, pageSize)
   }
 
-  private SearchResultSet generateResultSet(String query, List<String> matches, Integer pageNumber, Integer pageSize) {
+  private Map<String, String> parseKey(String key, Map<String, Map<String, String>> parsedKeys) {
+    if (!parsedKeys.containsKey(key)) {
+      parsedKeys.put(key, providers.findResult { it.parseKey(key) } as Map<String, String>)
+    }
+    return parsedKeys.get(key)
+  }
+
+  private SearchResultSet generateResultSet(String query,
+                                            List<String> matches,
+                                            Integer pageNumber,
+                                            Integer pageSize,
+                                            Map<String, Map<String, String>> parsedKeys) {
     List<String> resultPage = paginateResults(matches, pageSize, pageNumber)
     List<Map<String, String>> results = resultPage.findResults { String key ->
-      Map<String, String> result = providers.findResult { it.parseKey(key) }
-      if (result) {
+      Map<String, String> parsed = parseKey(key, parsedKeys)
+      if (parsed) {
+        // results are decorated below, so they must not share the parsed map
+        Map<String, String> result = new HashMap<>(parsed)
         def resultResource = new SearchableResource(resourceType: result.type?.toLowerCase(), platform: result.provider?.toLowerCase())
         if (resultResource in searchResultHydrators) {
           return searchResultHydrators[(resultResource)].hydrateResult(cacheView, result, key)
@@ -230,7 +278,10 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     resultSet
   }
 
-  private List<String> findMatches(String q, List<String> cachesToQuery, Map<String, String> filters) {
+  private List<String> findMatches(String q,
+                                   List<String> cachesToQuery,
+                                   Map<String, String> filters,
+                                   Closure<Boolean> canView) {
 
     if (!q && keyParsers && filters) {
       // no keyword search so find sensible default value to set for searching
@@ -307,8 +358,9 @@ class CatsSearchProvider implements SearchProvider, Runnable {
         }
       }
 
+      // filtered before the matches are ranked, so that keys the caller cannot see are not sorted
       return identifiers
-        .findAll(filtersMatch)
+        .findAll { String key -> filtersMatch(key) && (canView == null || canView(key)) }
     }.flatten()
 
     matches.sort { String a, String b ->
@@ -320,6 +372,12 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     }
   }
 
+  @Canonical
+  private static class KeyScope {
+    String application
+    String account
+  }
+
   private static List<String> paginateResults(List<String> matches, Integer pageSize, Integer pageNumber) {
     log.info("Paginating ${matches.size()} results; page number: ${pageNumber}, items per page: ${pageSize}")
     Integer startingIndex = pageSize * (pageNumber - 1)
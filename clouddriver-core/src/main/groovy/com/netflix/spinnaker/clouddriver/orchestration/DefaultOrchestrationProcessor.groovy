@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.clouddriver.core.ClouddriverHostname
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.event.exceptions.DuplicateEventAggregateException
@@ -40,6 +41,7 @@ import java.util.concurrent.SynchronousQueue
 import java.util.concurrent.ThreadPoolExecutor
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
+import java.util.function.Supplier
 
 import static com.netflix.spinnaker.security.AuthenticatedRequest.propagate
 
@@ -117,7 +119,7 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
           task.updateStatus TASK_PHASE, "Processing op: ${atomicOperation.class.simpleName}"
           try {
             TimedCallable.forClosure(registry, thisOp) {
-              results << atomicOperation.operate(results)
+              results << RequestPriority.MUTATION.call({ atomicOperation.operate(results) } as Supplier)
 
               atomicOperation.events.each { OperationEvent event ->
                 operationEventHandlers.each {
@@ -43,7 +43,10 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan({
   "com.netflix.spinnaker.clouddriver.cache",
 })
-@EnableConfigurationProperties(CatsInMemorySearchProperties.class)
+@EnableConfigurationProperties({
+  CatsInMemorySearchProperties.class,
+  OnDemandCoalescingProperties.class
+})
 public class CacheConfig {
   @Bean
   @ConditionalOnMissingBean(NamedCacheFactory.class)
@@ -109,6 +112,12 @@ public class CacheConfig {
     return new CatsOnDemandCacheUpdater(providers, catsModule, agentScheduler);
   }
 
+  @Bean
+  OnDemandRequestCoalescer onDemandRequestCoalescer(
+      OnDemandCoalescingProperties onDemandCoalescingProperties, Registry registry) {
+    return new OnDemandRequestCoalescer(onDemandCoalescingProperties, registry);
+  }
+
   @Bean
   @ConditionalOnProperty(value = "caching.search.enabled", matchIfMissing = true)
   SearchProvider catsSearchProvider(
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.module.CatsModule;
 import com.netflix.spinnaker.cats.provider.Provider;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -92,7 +93,8 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
           agent.getMetricsSupport().countOnDemand();
         }
 
-        final OnDemandAgent.OnDemandResult result = agent.handle(providerCache, data);
+        final OnDemandAgent.OnDemandResult result =
+            RequestPriority.INTERACTIVE.call(() -> agent.handle(providerCache, data));
         if (result != null) {
           if (agentScheduler.isAtomic() && !agentScheduler.lockValid(lock)) {
             // force Orca to retry
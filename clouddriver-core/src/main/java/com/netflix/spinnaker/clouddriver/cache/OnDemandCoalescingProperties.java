@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("caching.on-demand.coalescing")
+public class OnDemandCoalescingProperties {
+  /**
+   * Whether synchronous on-demand requests go through the {@link OnDemandRequestCoalescer}.
+   * Asynchronous requests always do.
+   */
+  private boolean enabled = false;
+
+  /** How long a request waits for identical requests to merge with before it is handled. */
+  private long debounceMillis = 250;
+
+  /** How many on-demand requests are handled at once. */
+  private int threads = 4;
+
+  /** How long the status of an asynchronous request can be looked up after it was submitted. */
+  private long statusRetentionSeconds = 600;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getDebounceMillis() {
+    return debounceMillis;
+  }
+
+  public void setDebounceMillis(long debounceMillis) {
+    this.debounceMillis = debounceMillis;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public long getStatusRetentionSeconds() {
+    return statusRetentionSeconds;
+  }
+
+  public void setStatusRetentionSeconds(long statusRetentionSeconds) {
+    this.statusRetentionSeconds = statusRetentionSeconds;
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Registry;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues on-demand cache updates so that identical requests share a single execution.
+ *
+ * <p>Requests are identical when they are for the same cloud provider and type, and carry the same
+ * data, which identifies the account, region and resource to refresh. A request waits for a short
+ * debounce window before it is handled, and identical requests submitted in the meantime share its
+ * execution and result. Once the execution has started, an identical request starts a new one, so
+ * that callers never get a result that was read before they asked for it.
+ */
+public class OnDemandRequestCoalescer {
+  private static final Logger log = LoggerFactory.getLogger(OnDemandRequestCoalescer.class);
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final OnDemandCoalescingProperties properties;
+  private final Registry registry;
+  private final ScheduledExecutorService executor;
+
+  private final Map<List<Object>, Request> pending = new ConcurrentHashMap<>();
+  private final Cache<String, Request> requestsById;
+
+  public OnDemandRequestCoalescer(OnDemandCoalescingProperties properties, Registry registry) {
+    this(
+        properties,
+        registry,
+        Executors.newScheduledThreadPool(
+            Math.max(1, properties.getThreads()),
+            new ThreadFactoryBuilder()
+                .setNameFormat(OnDemandRequestCoalescer.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
+  OnDemandRequestCoalescer(
+      OnDemandCoalescingProperties properties,
+      Registry registry,
+      ScheduledExecutorService executor) {
+    this.properties = properties;
+    this.registry = registry;
+    this.executor = executor;
+    this.requestsById =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(properties.getStatusRetentionSeconds(), TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Queues an on-demand update, or joins an identical one that has not started yet.
+   *
+   * @return the request that will handle the update
+   */
+  public Request submit(
+      OnDemandCacheUpdater updater, OnDemandType type, String cloudProvider, Map<String, ?> data) {
+    Map<String, ?> requestData = data == null ? new HashMap<>() : new HashMap<>(data);
+    List<Object> key = Arrays.asList(cloudProvider, type, requestData);
+
+    AtomicBoolean created = new AtomicBoolean();
+    Request request =
+        pending.computeIfAbsent(
+            key,
+            k -> {
+              created.set(true);
+              return new Request(UUID.randomUUID().toString(), type, cloudProvider);
+            });
+
+    registry
+        .counter(
+            registry
+                .createId("onDemand.requests")
+                .withTag("cloudProvider", cloudProvider)
+                .withTag("type", type.toString())
+                .withTag("coalesced", !created.get()))
+        .increment();
+
+    if (created.get()) {
+      requestsById.put(request.getId(), request);
+      executor.schedule(
+          () -> handle(key, request, updater, requestData),
+          Math.max(0, properties.getDebounceMillis()),
+          TimeUnit.MILLISECONDS);
+    } else {
+      log.debug("Coalesced on-demand {}/{} request into {}", cloudProvider, type, request.getId());
+    }
+    return request;
+  }
+
+  /** Returns a request submitted within the status retention period, or null. */
+  public Request getRequest(String id) {
+    return requestsById.getIfPresent(id);
+  }
+
+  private void handle(
+      List<Object> key, Request request, OnDemandCacheUpdater updater, Map<String, ?> data) {
+    // identical requests submitted from now on get an execution of their own
+    pending.remove(key, request);
+    request.status = Status.RUNNING;
+
+    registry
+        .timer(
+            registry
+                .createId("onDemand.queueLatency")
+                .withTag("cloudProvider", request.getCloudProvider())
+                .withTag("type", request.getType().toString()))
+        .record(System.currentTimeMillis() - request.getSubmittedAt(), TimeUnit.MILLISECONDS);
+
+    try {
+      OnDemandCacheResult result =
+          updater.handle(request.getType(), request.getCloudProvider(), data);
+      request.status = Status.COMPLETED;
+      request.result.complete(result);
+    } catch (Throwable t) {
+      log.warn(
+          "Failed to handle on-demand {}/{} request {}",
+          request.getCloudProvider(),
+          request.getType(),
+          request.getId(),
+          t);
+      request.status = Status.FAILED;
+      request.result.completeExceptionally(t);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** An on-demand update shared by all the identical requests that were coalesced into it. */
+  public static class Request {
+    private final String id;
+    private final OnDemandType type;
+    private final String cloudProvider;
+    private final long submittedAt = System.currentTimeMillis();
+    private final CompletableFuture<OnDemandCacheResult> result = new CompletableFuture<>();
+    private volatile Status status = Status.PENDING;
+
+    Request(String id, OnDemandType type, String cloudProvider) {
+      this.id = id;
+      this.type = type;
+      this.cloudProvider = cloudProvider;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public OnDemandType getType() {
+      return type;
+    }
+
+    public String getCloudProvider() {
+      return cloudProvider;
+    }
+
+    public long getSubmittedAt() {
+      return submittedAt;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Completes with the result of the update once it has been handled. */
+    public CompletableFuture<OnDemandCacheResult> getResult() {
+      return result;
+    }
+  }
+}
@@ -352,8 +352,13 @@ class CloudDriverConfig {
   ProjectClustersService projectClustersService(
       Front50Service front50Service,
       ObjectMapper objectMapper,
-      Provider<List<ClusterProvider>> clusterProviders) {
-    return new ProjectClustersService(front50Service, objectMapper, clusterProviders);
+      Provider<List<ClusterProvider>> clusterProviders,
+      ProjectClustersCachingAgentProperties projectClustersCachingAgentProperties) {
+    return new ProjectClustersService(
+        front50Service,
+        objectMapper,
+        clusterProviders,
+        projectClustersCachingAgentProperties.getMaxConcurrency());
   }
 
   @Bean
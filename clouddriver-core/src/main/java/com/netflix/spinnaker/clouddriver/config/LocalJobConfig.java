@@ -16,8 +16,10 @@
 
 package com.netflix.spinnaker.clouddriver.config;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
 import com.netflix.spinnaker.clouddriver.jobs.local.JobExecutorLocal;
+import com.netflix.spinnaker.clouddriver.jobs.local.ProcessBuilderJobExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -28,7 +30,16 @@ public class LocalJobConfig {
   @Bean
   @ConditionalOnMissingBean(JobExecutor.class)
   public JobExecutor jobExecutorLocal(
-      @Value("${jobs.local.timeout-minutes:10}") long timeoutMinutes) {
+      @Value("${jobs.local.timeout-minutes:10}") long timeoutMinutes,
+      @Value("${jobs.local.process-builder.enabled:false}") boolean processBuilderEnabled,
+      @Value("${jobs.local.process-builder.max-concurrent-jobs:32}") int maxConcurrentJobs,
+      @Value("${jobs.local.process-builder.max-output-bytes:0}") long maxOutputBytes,
+      @Value("${jobs.local.process-builder.buffer-size:65536}") int bufferSize,
+      Registry registry) {
+    if (processBuilderEnabled) {
+      return new ProcessBuilderJobExecutor(
+          timeoutMinutes, maxConcurrentJobs, maxOutputBytes, bufferSize, registry);
+    }
     return new JobExecutorLocal(timeoutMinutes);
   }
 }
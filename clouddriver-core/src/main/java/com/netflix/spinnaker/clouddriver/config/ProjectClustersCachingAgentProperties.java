@@ -27,6 +27,9 @@ public class ProjectClustersCachingAgentProperties {
   /** A list of allowed project names that will be cached. */
   List<String> allowList = new ArrayList<>();
 
+  /** The maximum number of cluster providers looked up at once for the projects. */
+  int maxConcurrency = 8;
+
   public List<String> getAllowList() {
     return allowList;
   }
@@ -35,6 +38,14 @@ public class ProjectClustersCachingAgentProperties {
     this.allowList = allowList;
   }
 
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
   public List<String> getNormalizedAllowList() {
     return allowList.stream()
         .filter(p -> !Strings.isNullOrEmpty(p))
@@ -18,6 +18,9 @@ package com.netflix.spinnaker.clouddriver.core;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.frigga.Names;
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service;
 import com.netflix.spinnaker.clouddriver.model.Cluster;
@@ -25,6 +28,10 @@ import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
 import com.netflix.spinnaker.clouddriver.model.ServerGroup;
 import com.netflix.spinnaker.kork.retrofit.Retrofit2SyncCall;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -39,19 +46,47 @@ public class ProjectClustersService {
   private final Front50Service front50Service;
   private final ObjectMapper objectMapper;
   private final Provider<List<ClusterProvider>> clusterProviders;
+  private final ExecutorService executor;
 
   public ProjectClustersService(
       Front50Service front50Service,
       ObjectMapper objectMapper,
       Provider<List<ClusterProvider>> clusterProviders) {
+    this(front50Service, objectMapper, clusterProviders, 1);
+  }
+
+  /**
+   * @param maxConcurrency the maximum number of cluster providers that are looked up at once; when
+   *     1, the providers are looked up one after the other on the calling thread
+   */
+  public ProjectClustersService(
+      Front50Service front50Service,
+      ObjectMapper objectMapper,
+      Provider<List<ClusterProvider>> clusterProviders,
+      int maxConcurrency) {
     this.front50Service = front50Service;
     this.objectMapper =
         objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     this.clusterProviders = clusterProviders;
+    this.executor =
+        maxConcurrency > 1
+            ? Executors.newFixedThreadPool(
+                maxConcurrency,
+                new ThreadFactoryBuilder()
+                    .setNameFormat(ProjectClustersService.class.getSimpleName() + "-%d")
+                    .setDaemon(true)
+                    .build())
+            : MoreExecutors.newDirectExecutorService();
   }
 
+  /**
+   * Returns the clusters of each of the projects. The clusters of all the applications of all the
+   * projects are retrieved together, so an application that belongs to several projects is only
+   * looked up once.
+   */
   public Map<String, List<ClusterModel>> getProjectClusters(List<String> projectNames) {
     Map<String, List<ProjectClustersService.ClusterModel>> projectClusters = new HashMap<>();
+    List<Project> projects = new ArrayList<>();
 
     for (String projectName : projectNames) {
       try {
@@ -71,12 +106,21 @@ public class ProjectClustersService {
           continue;
         }
 
-        projectClusters.put(project.name, getProjectClusters(project));
+        projects.add(project);
       } catch (Exception e) {
         log.error("Unable to fetch clusters for project '{}'", projectName, e);
       }
     }
 
+    RetrievedClusters retrievedClusters = retrieveClusters(projects);
+    for (Project project : projects) {
+      try {
+        projectClusters.put(project.name, getProjectClusters(project, retrievedClusters));
+      } catch (Exception e) {
+        log.error("Unable to fetch clusters for project '{}'", project.name, e);
+      }
+    }
+
     return projectClusters;
   }
 
@@ -99,9 +143,14 @@ public class ProjectClustersService {
   }
 
   public List<ClusterModel> getProjectClusters(Project project) {
+    return getProjectClusters(project, retrieveClusters(Collections.singletonList(project)));
+  }
+
+  private List<ClusterModel> getProjectClusters(
+      Project project, RetrievedClusters retrievedClusters) {
     List<String> applicationsToRetrieve =
         Optional.ofNullable(project.config.applications).orElse(Collections.emptyList());
-    Map<String, Set<Cluster>> allClusters = retrieveClusters(applicationsToRetrieve, project);
+    Map<String, Set<Cluster>> allClusters = retrievedClusters.get(applicationsToRetrieve);
 
     return project.config.clusters.stream()
         .map(
@@ -129,18 +178,115 @@ public class ProjectClustersService {
         .collect(Collectors.toList());
   }
 
-  private Map<String, Set<Cluster>> retrieveClusters(List<String> applications, Project project) {
-    Map<String, Set<Cluster>> allClusters = new HashMap<>();
+  /**
+   * Retrieves the clusters of the applications of the projects that match any of the clusters of
+   * those projects. Each provider is asked for the cluster summaries of all the applications at
+   * once, followed by all the matching clusters at once, and the providers are asked concurrently,
+   * so the number of lookups does not depend on the number of applications.
+   */
+  private RetrievedClusters retrieveClusters(Collection<Project> projects) {
+    Map<String, List<ProjectCluster>> projectClustersByApplication = new LinkedHashMap<>();
+    for (Project project : projects) {
+      for (String application :
+          Optional.ofNullable(project.config.applications).orElse(Collections.emptyList())) {
+        projectClustersByApplication
+            .computeIfAbsent(application, a -> new ArrayList<>())
+            .addAll(project.config.clusters);
+      }
+    }
+
+    RetrievedClusters result = new RetrievedClusters();
+    if (projectClustersByApplication.isEmpty()) {
+      return result;
+    }
+
+    List<CompletableFuture<Map<String, Set<Cluster>>>> lookups =
+        clusterProviders.get().stream()
+            .map(
+                clusterProvider ->
+                    CompletableFuture.supplyAsync(
+                        () -> findClusters(clusterProvider, projectClustersByApplication),
+                        executor))
+            .collect(Collectors.toList());
 
-    for (String application : applications) {
-      for (RetrievedClusters clusters : retrieveClusters(application, project)) {
-        allClusters
-            .computeIfAbsent(clusters.application, s -> new HashSet<>())
-            .addAll(clusters.clusters);
+    for (CompletableFuture<Map<String, Set<Cluster>>> lookup : lookups) {
+      try {
+        join(lookup)
+            .forEach(
+                (application, clusters) ->
+                    result
+                        .clusters
+                        .computeIfAbsent(application, a -> new HashSet<>())
+                        .addAll(clusters));
+      } catch (RuntimeException e) {
+        // a provider is asked about all the applications at once, so its failure affects them all
+        projectClustersByApplication
+            .keySet()
+            .forEach(application -> result.failures.putIfAbsent(application, e));
       }
     }
 
-    return allClusters;
+    return result;
+  }
+
+  private Map<String, Set<Cluster>> findClusters(
+      ClusterProvider<?> clusterProvider,
+      Map<String, List<ProjectCluster>> projectClustersByApplication) {
+    Map<String, ? extends Map<String, ? extends Set<? extends Cluster>>> clusterSummaries =
+        clusterProvider.getClusterSummaries(projectClustersByApplication.keySet());
+    if (clusterSummaries == null) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, Map<String, Set<String>>> clusterNames = new HashMap<>();
+    projectClustersByApplication.forEach(
+        (application, projectClusters) -> {
+          Map<String, ? extends Set<? extends Cluster>> clusterSummariesByAccount =
+              clusterSummaries.get(application);
+          if (clusterSummariesByAccount == null) {
+            return;
+          }
+
+          Set<Cluster> allClusterSummaries =
+              clusterSummariesByAccount.values().stream()
+                  .<Cluster>flatMap(Collection::stream)
+                  .collect(Collectors.toSet());
+          for (ProjectCluster projectCluster : projectClusters) {
+            for (Cluster cluster : findClustersForProject(allClusterSummaries, projectCluster)) {
+              clusterNames
+                  .computeIfAbsent(application, a -> new HashMap<>())
+                  .computeIfAbsent(cluster.getAccountName(), a -> new HashSet<>())
+                  .add(cluster.getName());
+            }
+          }
+        });
+    if (clusterNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, ? extends Set<? extends Cluster>> clusters =
+        clusterProvider.getClusters(clusterNames);
+    if (clusters == null) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, Set<Cluster>> result = new HashMap<>();
+    clusters.forEach(
+        (application, applicationClusters) -> {
+          Set<Cluster> found = new HashSet<>();
+          applicationClusters.stream().filter(Objects::nonNull).forEach(found::add);
+          result.put(application, found);
+        });
+    return result;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
   }
 
   private Set<Cluster> findClustersForProject(
@@ -160,41 +306,6 @@ public class ProjectClustersService {
         .collect(Collectors.toSet());
   }
 
-  private List<RetrievedClusters> retrieveClusters(String application, Project project) {
-    return clusterProviders.get().stream()
-        .map(
-            clusterProvider -> {
-              Map<String, Set<Cluster>> clusterSummariesByAccount =
-                  clusterProvider.getClusterSummaries(application);
-              if (clusterSummariesByAccount == null) {
-                return null;
-              }
-
-              Set<Cluster> allClusterSummaries =
-                  clusterSummariesByAccount.values().stream()
-                      .flatMap(Collection::stream)
-                      .collect(Collectors.toSet());
-
-              Set<Cluster> matchingClusterSummaries = new HashSet<>();
-              for (ProjectCluster projectCluster : project.config.clusters) {
-                matchingClusterSummaries.addAll(
-                    findClustersForProject(allClusterSummaries, projectCluster));
-              }
-
-              Set<Cluster> expandedClusters =
-                  matchingClusterSummaries.stream()
-                      .map(
-                          c ->
-                              clusterProvider.getCluster(
-                                  c.getMoniker().getApp(), c.getAccountName(), c.getName()))
-                      .collect(Collectors.toSet());
-
-              return new RetrievedClusters(application, expandedClusters);
-            })
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
-  }
-
   static boolean nameMatches(String clusterNameValue, String projectClusterValue) {
     if (projectClusterValue == null && clusterNameValue == null) {
       return true;
@@ -222,16 +333,29 @@ public class ProjectClustersService {
     public List<String> applications;
   }
 
+  /** The clusters retrieved for each application, or why they could not be retrieved. */
   static class RetrievedClusters {
-    public String application;
-    public Set<Cluster> clusters;
-
-    public RetrievedClusters(String application, Set<Cluster> clusters) {
-      this.application = application;
-      this.clusters = clusters;
+    private final Map<String, Set<Cluster>> clusters = new HashMap<>();
+    private final Map<String, RuntimeException> failures = new HashMap<>();
+
+    /**
+     * Returns the clusters of the applications, and only of those applications, or throws if any
+     * could not be retrieved.
+     */
+    Map<String, Set<Cluster>> get(Collection<String> applications) {
+      Map<String, Set<Cluster>> result = new HashMap<>();
+      for (String application : applications) {
+        RuntimeException failure = failures.get(application);
+        if (failure != null) {
+          throw failure;
+        }
+        result.put(application, clusters.getOrDefault(application, Collections.emptySet()));
+      }
+      return result;
     }
   }
 
+
   public static class ClusterModel {
     public String account;
     public String stack;
@@ -85,6 +85,17 @@ public class DualTaskRepository implements TaskRepository {
     return task;
   }
 
+  @Override
+  public TaskSnapshot getSnapshot(String id) {
+    TaskSnapshot snapshot = primary.getSnapshot(id);
+
+    if (snapshot == null && dynamicConfigService.isEnabled("dualtaskrepo.previous", true)) {
+      snapshot = previous.getSnapshot(id);
+    }
+
+    return snapshot;
+  }
+
   @Override
   public Task getByClientRequestId(String clientRequestId) {
     Task task = primary.getByClientRequestId(clientRequestId);
@@ -1,6 +1,7 @@
 package com.netflix.spinnaker.clouddriver.data.task;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * A TaskRepository is an implementation that allows Task objects to be created, retrieved, and
@@ -45,6 +46,20 @@ public interface TaskRepository {
    */
   Task get(String id);
 
+  /**
+   * Retrieves a compact snapshot of a task's current status and write version. Implementations
+   * should maintain the snapshot on write so that this is a single, cheap lookup; the default
+   * falls back to hydrating the full task.
+   *
+   * @param id
+   * @return snapshot, or null if no task exists with the provided id
+   */
+  @Nullable
+  default TaskSnapshot getSnapshot(String id) {
+    Task task = get(id);
+    return task == null ? null : TaskSnapshot.from(task);
+  }
+
   /**
    * Retrieves a task by the provided clientRequestId
    *
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.data.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+/**
+ * A compact, point-in-time view of a {@link Task} that is cheap to retrieve for pollers.
+ *
+ * <p>The version is monotonically increasing for a given task and advances on every write
+ * (status, state, result objects, outputs, ownership). Two snapshots with the same version
+ * describe the same task contents, which allows clients to issue conditional requests rather than
+ * re-fetching the full task on every poll.
+ */
+@Value
+public class TaskSnapshot {
+  @Nonnull String id;
+  long version;
+  @Nonnull Status status;
+
+  /** The entity tag for this snapshot, suitable for use in an {@code ETag} response header. */
+  @JsonIgnore
+  public String getETag() {
+    return eTagFor(version);
+  }
+
+  public static String eTagFor(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Builds a snapshot from a fully hydrated task. Used by repositories that do not maintain a
+   * version on write; since all task writes are append-only, the number of recorded entries is a
+   * valid monotonic version.
+   */
+  public static TaskSnapshot from(@Nonnull Task task) {
+    long version =
+        task.getHistory().size() + task.getResultObjects().size() + task.getOutputs().size();
+    return new TaskSnapshot(task.getId(), version, task.getStatus());
+  }
+}
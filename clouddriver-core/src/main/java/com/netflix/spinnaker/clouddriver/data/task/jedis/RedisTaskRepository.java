@@ -29,6 +29,7 @@ import com.netflix.spinnaker.clouddriver.data.task.TaskDisplayOutput;
 import com.netflix.spinnaker.clouddriver.data.task.TaskDisplayStatus;
 import com.netflix.spinnaker.clouddriver.data.task.TaskOutput;
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
+import com.netflix.spinnaker.clouddriver.data.task.TaskSnapshot;
 import com.netflix.spinnaker.clouddriver.data.task.TaskState;
 import com.netflix.spinnaker.kork.exceptions.SystemException;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
@@ -49,6 +50,7 @@ public class RedisTaskRepository implements TaskRepository {
 
   private static final String RUNNING_TASK_KEY = "kato:tasks";
   private static final String TASK_KEY_MAP = "kato:taskmap";
+  private static final String VERSION_FIELD = "version";
   private static final TypeReference<Map<String, String>> HISTORY_TYPE =
       new TypeReference<Map<String, String>>() {};
   private static final TypeReference<Set<SagaId>> SAGA_IDS_TYPE =
@@ -164,6 +166,33 @@ public class RedisTaskRepository implements TaskRepository {
     return null;
   }
 
+  /**
+   * Reads the version and latest status that are maintained on the task hash by every write, which
+   * is a single HMGET rather than the HGETALL and LRANGE calls required to hydrate a task.
+   */
+  @Override
+  public TaskSnapshot getSnapshot(String id) {
+    List<String> fields =
+        retry(
+            () ->
+                redisClientDelegate.withCommandsClient(
+                    client -> {
+                      return client.hmget(
+                          "task:" + id, "id", VERSION_FIELD, "state", "phase", "status");
+                    }),
+            format("Getting snapshot for task ID %s", id));
+    if (fields == null || fields.get(0) == null || fields.get(1) == null || fields.get(2) == null) {
+      // Tasks written before versions were tracked, or tasks that only exist in the previous redis
+      Task task = get(id);
+      return task == null ? null : TaskSnapshot.from(task);
+    }
+
+    return new TaskSnapshot(
+        fields.get(0),
+        Long.parseLong(fields.get(1)),
+        DefaultTaskStatus.create(fields.get(3), fields.get(4), TaskState.valueOf(fields.get(2))));
+  }
+
   @Override
   public Task getByClientRequestId(String clientRequestId) {
     final String clientRequestKey = getClientRequestKey(clientRequestId);
@@ -233,6 +262,7 @@ public class RedisTaskRepository implements TaskRepository {
             redisClientDelegate.withCommandsClient(
                 client -> {
                   client.hmset(taskId, data);
+                  client.hincrBy(taskId, VERSION_FIELD, 1);
                   client.expire(taskId, TASK_TTL);
                   client.sadd(RUNNING_TASK_KEY, id);
                 }),
@@ -241,12 +271,16 @@ public class RedisTaskRepository implements TaskRepository {
 
   public void addToHistory(DefaultTaskStatus status, JedisTask task) {
     String historyId = "taskHistory:" + task.getId();
+    String taskId = "task:" + task.getId();
 
     Map<String, String> data = new HashMap<>();
     data.put("phase", status.getPhase());
     data.put("status", status.getStatus());
     data.put("state", status.getState().toString());
 
+    Map<String, String> snapshot = new HashMap<>(data);
+    snapshot.values().removeIf(Objects::isNull);
+
     String hist;
     try {
       hist = mapper.writeValueAsString(data);
@@ -260,6 +294,9 @@ public class RedisTaskRepository implements TaskRepository {
                 client -> {
                   client.rpush(historyId, hist);
                   client.expire(historyId, TASK_TTL);
+                  client.hmset(taskId, snapshot);
+                  client.hincrBy(taskId, VERSION_FIELD, 1);
+                  client.expire(taskId, TASK_TTL);
                   if (status.isCompleted()) {
                     client.srem(RUNNING_TASK_KEY, task.getId());
                   }
@@ -341,6 +378,7 @@ public class RedisTaskRepository implements TaskRepository {
                 client -> {
                   client.rpush(resultId, values);
                   client.expire(resultId, TASK_TTL);
+                  client.hincrBy("task:" + task.getId(), VERSION_FIELD, 1);
                 }),
         format("Adding results to task %s", task.getId()));
   }
@@ -392,6 +430,7 @@ public class RedisTaskRepository implements TaskRepository {
                 client -> {
                   client.rpush(outputId, taskOutput);
                   client.expire(outputId, TASK_TTL);
+                  client.hincrBy("task:" + task.getId(), VERSION_FIELD, 1);
                 }),
         format("Adding task output to task %s", task.getId()));
   }
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.jobs.local;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.spinnaker.clouddriver.jobs.JobExecutionException;
+import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
+import com.netflix.spinnaker.clouddriver.jobs.JobRequest;
+import com.netflix.spinnaker.clouddriver.jobs.JobResult;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link JobExecutor} that runs jobs with {@link ProcessBuilder} rather than Apache Commons Exec.
+ *
+ * <p>Compared to {@link JobExecutorLocal}:
+ *
+ * <ul>
+ *   <li>Output is read directly from the child process pipes with a large read buffer; streaming
+ *       consumers no longer read through a small {@link java.io.PipedInputStream}.
+ *   <li>The number of concurrently running child processes is capped; callers beyond the cap wait
+ *       (up to the job timeout) for a slot.
+ *   <li>All helper threads come from a fixed pool sized to the concurrency cap.
+ *   <li>Output can optionally be limited in size, in which case the job is killed once it exceeds
+ *       the limit.
+ *   <li>Wall time, sampled CPU time and slot wait time are recorded per command.
+ * </ul>
+ */
+@Slf4j
+public class ProcessBuilderJobExecutor implements JobExecutor {
+  private static final long GRACE_PERIOD_MS = 250;
+  private static final long CPU_SAMPLE_INTERVAL_MS = 250;
+
+  // stdin, stdout and stderr each need a thread while a job runs
+  private static final int THREADS_PER_JOB = 3;
+
+  private final long timeoutMinutes;
+  private final long maxOutputBytes;
+  private final int bufferSize;
+  private final Semaphore permits;
+  private final ExecutorService ioExecutor;
+  private final Registry registry;
+
+  private final Id waitTimeId;
+  private final Id wallTimeId;
+  private final Id cpuTimeId;
+  private final Id rejectedId;
+
+  /**
+   * @param timeoutMinutes maximum run time of a job, and maximum time to wait for a slot
+   * @param maxConcurrentJobs maximum number of child processes running at once
+   * @param maxOutputBytes maximum size of stdout or stderr of a job; 0 or less means unlimited
+   * @param bufferSize size of the buffer used to read job output
+   */
+  public ProcessBuilderJobExecutor(
+      long timeoutMinutes,
+      int maxConcurrentJobs,
+      long maxOutputBytes,
+      int bufferSize,
+      Registry registry) {
+    this.timeoutMinutes = timeoutMinutes;
+    this.maxOutputBytes = maxOutputBytes;
+    this.bufferSize = bufferSize;
+    this.permits = new Semaphore(maxConcurrentJobs, true);
+    this.ioExecutor =
+        Executors.newFixedThreadPool(
+            maxConcurrentJobs * THREADS_PER_JOB,
+            new ThreadFactoryBuilder()
+                .setNameFormat(getClass().getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
+    this.registry = registry;
+
+    this.waitTimeId = registry.createId("jobs.local.waitTime");
+    this.wallTimeId = registry.createId("jobs.local.wallTime");
+    this.cpuTimeId = registry.createId("jobs.local.cpuTime");
+    this.rejectedId = registry.createId("jobs.local.rejected");
+
+    PolledMeter.using(registry)
+        .withName("jobs.local.running")
+        .monitorValue(permits, p -> maxConcurrentJobs - p.availablePermits());
+    PolledMeter.using(registry)
+        .withName("jobs.local.waiting")
+        .monitorValue(permits, Semaphore::getQueueLength);
+  }
+
+  @Override
+  public JobResult<String> runJob(final JobRequest jobRequest) {
+    return run(jobRequest, this::readFully);
+  }
+
+  @Override
+  public <T> JobResult<T> runJob(final JobRequest jobRequest, ReaderConsumer<T> readerConsumer) {
+    return run(
+        jobRequest,
+        stdOut ->
+            readerConsumer.consume(
+                new BufferedReader(new InputStreamReader(stdOut), bufferSize)));
+  }
+
+  private <T> JobResult<T> run(JobRequest jobRequest, OutputConsumer<T> stdOutConsumer) {
+    log.debug(String.format("Starting job: '%s'...", jobRequest.toString()));
+    String command = commandName(jobRequest);
+
+    acquire(jobRequest, command);
+    try {
+      return execute(jobRequest, command, stdOutConsumer);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void acquire(JobRequest jobRequest, String command) {
+    long start = registry.clock().monotonicTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutMinutes, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JobExecutionException(
+          String.format("Interrupted while waiting to execute job: %s", jobRequest.toString()), e);
+    } finally {
+      registry
+          .timer(waitTimeId.withTag("command", command))
+          .record(registry.clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      registry.counter(rejectedId.withTag("command", command)).increment();
+      throw new JobExecutionException(
+          String.format(
+              "Timed out waiting %d minutes for a free slot to execute job: %s",
+              timeoutMinutes, jobRequest.toString()),
+          null);
+    }
+  }
+
+  private <T> JobResult<T> execute(
+      JobRequest jobRequest, String command, OutputConsumer<T> stdOutConsumer) {
+    ProcessBuilder builder =
+        new ProcessBuilder(Arrays.asList(jobRequest.getCommandLine().toStrings()));
+    builder.environment().clear();
+    builder.environment().putAll(jobRequest.getEnvironment());
+    if (jobRequest.getWorkingDir() != null) {
+      builder.directory(jobRequest.getWorkingDir());
+    }
+
+    long start = registry.clock().monotonicTime();
+    Process process;
+    try {
+      process = builder.start();
+    } catch (IOException e) {
+      throw new JobExecutionException(
+          String.format("Error executing job: %s", jobRequest.toString()), e);
+    }
+
+    ioExecutor.submit(() -> writeInput(jobRequest.getInputStream(), process));
+    Future<String> stdErr =
+        ioExecutor.submit(
+            () -> readFully(new LimitedInputStream(process.getErrorStream(), process)));
+    Future<T> stdOut =
+        ioExecutor.submit(
+            () ->
+                stdOutConsumer.consume(new LimitedInputStream(process.getInputStream(), process)));
+
+    Duration cpuTime = Duration.ZERO;
+    boolean killed = false;
+    try {
+      long deadline = start + TimeUnit.MINUTES.toNanos(timeoutMinutes);
+      boolean exited = false;
+      while (!exited) {
+        // CPU time is only available while the process is alive, so it is sampled periodically
+        cpuTime = process.info().totalCpuDuration().orElse(cpuTime);
+        long remaining = deadline - registry.clock().monotonicTime();
+        if (remaining <= 0) {
+          break;
+        }
+        exited =
+            process.waitFor(
+                Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(CPU_SAMPLE_INTERVAL_MS)),
+                TimeUnit.NANOSECONDS);
+      }
+
+      if (!exited) {
+        killed = true;
+        destroy(process);
+        log.warn(String.format("Job %s timed out (after %d minutes)", command, timeoutMinutes));
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new JobExecutionException(
+          String.format("Interrupted while executing job: %s", jobRequest.toString()), e);
+    }
+
+    int exitValue = process.exitValue();
+    String error = await(stdErr, jobRequest, exitValue, "");
+    T output = await(stdOut, jobRequest, exitValue, error);
+
+    long wallTime = registry.clock().monotonicTime() - start;
+    Id commandId =
+        wallTimeId
+            .withTag("command", command)
+            .withTag("success", Boolean.toString(exitValue == 0))
+            .withTag("killed", Boolean.toString(killed));
+    registry.timer(commandId).record(wallTime, TimeUnit.NANOSECONDS);
+    registry
+        .timer(cpuTimeId.withTags(commandId.tags()))
+        .record(cpuTime.toNanos(), TimeUnit.NANOSECONDS);
+    log.debug(
+        "Job {} exited with {} after {}ms (cpu: {}ms)",
+        command,
+        exitValue,
+        TimeUnit.NANOSECONDS.toMillis(wallTime),
+        cpuTime.toMillis());
+
+    return JobResult.<T>builder()
+        .result(exitValue == 0 ? JobResult.Result.SUCCESS : JobResult.Result.FAILURE)
+        .killed(killed)
+        .output(output)
+        .error(error)
+        .build();
+  }
+
+  private <U> U await(Future<U> future, JobRequest jobRequest, int exitValue, String stdErr) {
+    try {
+      return future.get(timeoutMinutes, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JobExecutionException(
+          String.format("Interrupted while executing job: %s", jobRequest.toString()), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof OutputLimitExceededException) {
+        throw new JobExecutionException(
+            String.format(
+                "Output of job: %s exceeded %d bytes and the job was killed",
+                jobRequest.toString(), maxOutputBytes),
+            e.getCause());
+      }
+      throw new JobExecutionException(
+          String.format("Error parsing output of job: %s", jobRequest.toString()), e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new JobExecutionException(
+          String.format(
+              "Timed out reading output of job: %s with exit value: %d. stderr: %s",
+              jobRequest.toString(), exitValue, stdErr),
+          e);
+    }
+  }
+
+  private Void writeInput(InputStream input, Process process) {
+    try (OutputStream stdIn = process.getOutputStream()) {
+      byte[] buffer = new byte[bufferSize];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        stdIn.write(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      // The process may exit (or close its stdin) without consuming all of its input
+      log.debug("Failed writing input to job", e);
+    }
+    return null;
+  }
+
+  private String readFully(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (input) {
+      byte[] buffer = new byte[bufferSize];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+    }
+    return output.toString();
+  }
+
+  private static void destroy(Process process) {
+    process.destroy();
+    try {
+      if (!process.waitFor(GRACE_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+        log.warn(
+            "Process is still alive {} ms after sending SIGTERM signal. Sending SIGKILL.",
+            GRACE_PERIOD_MS);
+        process.destroyForcibly();
+        process.waitFor();
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String commandName(JobRequest jobRequest) {
+    return new File(jobRequest.getCommandLine().getExecutable()).getName();
+  }
+
+  @FunctionalInterface
+  private interface OutputConsumer<U> {
+    U consume(InputStream stream) throws IOException;
+  }
+
+  /** Kills the process and fails reads once more than {@code maxOutputBytes} have been read. */
+  private class LimitedInputStream extends FilterInputStream {
+    private final Process process;
+    private long count;
+
+    LimitedInputStream(InputStream in, Process process) {
+      super(in);
+      this.process = process;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        count(read);
+      }
+      return read;
+    }
+
+    private void count(int read) throws OutputLimitExceededException {
+      count += read;
+      if (maxOutputBytes > 0 && count > maxOutputBytes) {
+        process.destroyForcibly();
+        throw new OutputLimitExceededException();
+      }
+    }
+  }
+
+  private static class OutputLimitExceededException extends IOException {}
+}
@@ -17,6 +17,9 @@
 package com.netflix.spinnaker.clouddriver.model;
 
 import com.netflix.spinnaker.clouddriver.documentation.Empty;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
@@ -46,6 +49,28 @@ public interface ClusterProvider<T extends Cluster> {
   @Empty
   Map<String, Set<T>> getClusterSummaries(String application);
 
+  /**
+   * Looks up the clusters of each of the specified applications, as {@link
+   * #getClusterSummaries(java.lang.String)} does for a single application. Providers whose cache
+   * can be read for many applications at once should override this, as by default each
+   * application is looked up in turn.
+   *
+   * @param applications
+   * @return map of clusters, keyed on application and then account name, or an empty map if none
+   *     exist
+   */
+  @Empty
+  default Map<String, Map<String, Set<T>>> getClusterSummaries(Collection<String> applications) {
+    Map<String, Map<String, Set<T>>> result = new HashMap<>();
+    for (String application : applications) {
+      Map<String, Set<T>> clusters = getClusterSummaries(application);
+      if (clusters != null) {
+        result.put(application, clusters);
+      }
+    }
+    return result;
+  }
+
   /**
    * Looks up all of the clusters known to this provider to be for a specified application Keyed on
    * account name. Similar to {@link #getClusterSummaries(java.lang.String)}, but returns reified
@@ -92,6 +117,32 @@ public interface ClusterProvider<T extends Cluster> {
   @Nullable
   T getCluster(String application, String account, String name, boolean includeDetails);
 
+  /**
+   * Looks up each of the specified clusters, as {@link #getCluster(String, String, String)} does
+   * for a single cluster. Providers whose cache can be read for many clusters at once should
+   * override this, as by default each cluster is looked up in turn.
+   *
+   * @param clusterNames names of the clusters, keyed on application and then account name
+   * @return the clusters that exist, with load balancers and server groups populated, keyed on
+   *     application, or an empty map if none exist
+   */
+  @Empty
+  default Map<String, Set<T>> getClusters(Map<String, Map<String, Set<String>>> clusterNames) {
+    Map<String, Set<T>> result = new HashMap<>();
+    clusterNames.forEach(
+        (application, namesByAccount) ->
+            namesByAccount.forEach(
+                (account, names) -> {
+                  for (String name : names) {
+                    T cluster = getCluster(application, account, name);
+                    if (cluster != null) {
+                      result.computeIfAbsent(application, a -> new HashSet<>()).add(cluster);
+                    }
+                  }
+                }));
+    return result;
+  }
+
   /**
    * Looks up a server group known to this provider, within a specified {@link
    * com.netflix.spinnaker.clouddriver.security.AccountCredentials} and region, and with the
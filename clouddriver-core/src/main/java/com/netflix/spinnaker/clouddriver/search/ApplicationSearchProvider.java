@@ -17,12 +17,14 @@
 package com.netflix.spinnaker.clouddriver.search;
 
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service;
+import com.netflix.spinnaker.clouddriver.model.Cluster;
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
 import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator;
 import com.netflix.spinnaker.kork.retrofit.Retrofit2SyncCall;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -99,22 +101,47 @@ public class ApplicationSearchProvider implements SearchProvider {
             application.put("application", appName);
             application.put("type", APPLICATIONS_TYPE);
             application.put("url", String.format("/applications/%s", appName));
-            application.put("accounts", getAccounts(appName));
 
             results.add(application);
           }
         });
 
+    Map<String, List<String>> accounts =
+        getAccounts(
+            results.stream()
+                .map(application -> (String) application.get("application"))
+                .distinct()
+                .collect(Collectors.toList()));
+    results.forEach(
+        application -> application.put("accounts", accounts.get(application.get("application"))));
+
     return new SearchResultSet(results.size(), pageNumber, pageSize, getPlatform(), query, results);
   }
 
-  private List<String> getAccounts(String application) {
-    return clusterProviders.stream()
-        .map(provider -> provider.getClusterSummaries(application))
-        .map(Map::keySet)
-        .map(Object::toString)
-        .distinct()
-        .collect(Collectors.toList());
+  /** Looks up the accounts of all the applications at once from each cluster provider. */
+  private Map<String, List<String>> getAccounts(List<String> applications) {
+    if (applications.isEmpty()) {
+      return Map.of();
+    }
+
+    List<Map<String, Map<String, Set<Cluster>>>> clusterSummaries =
+        clusterProviders.stream()
+            .map(
+                provider ->
+                    (Map<String, Map<String, Set<Cluster>>>)
+                        provider.getClusterSummaries(applications))
+            .collect(Collectors.toList());
+    return applications.stream()
+        .collect(
+            Collectors.toMap(
+                application -> application,
+                application ->
+                    clusterSummaries.stream()
+                        .map(summaries -> summaries.getOrDefault(application, Map.of()))
+                        .map(Map::keySet)
+                        .map(Object::toString)
+                        .distinct()
+                        .collect(Collectors.toList())));
   }
 
   @Override
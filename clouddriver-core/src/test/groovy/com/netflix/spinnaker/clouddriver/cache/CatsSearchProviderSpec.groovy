@@ -20,6 +20,9 @@ import com.netflix.spinnaker.cats.agent.AgentDataType
 import com.netflix.spinnaker.cats.agent.CachingAgent
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
 import spock.lang.Shared
 import spock.lang.Specification;
 
@@ -95,4 +98,48 @@ class CatsSearchProviderSpec extends Specification {
     then:
     catsSearchProvider.cachedIdentifiersByType.get() == [:]
   }
+
+  def "should check each application and account once per search"() {
+    given:
+    def ctx = SecurityContextHolder.createEmptyContext()
+    ctx.setAuthentication(new TestingAuthenticationToken("testUser", null))
+    SecurityContextHolder.setContext(ctx)
+
+    def permissionEvaluator = Mock(FiatPermissionEvaluator)
+    def instanceProvider = Stub(SearchableProvider) {
+      getDefaultCaches() >> ["instances"]
+      supportsSearch('instances', _) >> true
+      parseKey(_) >> { String k ->
+        def parts = k.split(":")
+        return [application: "app", account: parts[2], region: parts[3], instanceId: parts[4]]
+      }
+    }
+    def searchProvider = new CatsSearchProvider(
+      catsInMemorySearchProperties,
+      cache,
+      [instanceProvider],
+      providerRegistry,
+      Optional.of(permissionEvaluator),
+      Optional.empty()
+    )
+    cache.getIdentifiers("instances") >> { return instanceIdentifiers + [
+      "aws:instances:test:us-west-2:I-2468",
+      "aws:instances:test:us-west-2:I-1357"
+    ] }
+    searchProvider.run()
+
+    when:
+    def result = searchProvider.search("i-", ["instances"], 1, 10)
+
+    then:
+    1 * permissionEvaluator.hasPermission(_, "app", 'APPLICATION', 'READ') >> true
+    1 * permissionEvaluator.hasPermission(_, "prod", 'ACCOUNT', 'READ') >> true
+    1 * permissionEvaluator.hasPermission(_, "test", 'ACCOUNT', 'READ') >> false
+    0 * permissionEvaluator._
+    result.totalMatches == 5
+    result.results*.account.unique() == ["prod"]
+
+    cleanup:
+    SecurityContextHolder.clearContext()
+  }
 }
@@ -109,35 +109,26 @@ class ProjectClustersServiceSpec extends Specification {
     clusters[0].applications[1].clusters[0].instanceCounts.up == 1
 
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [new TestCluster(
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [prod: [new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [])] as Set],
+      deck: [prod: [new TestCluster(name: "deck-main", accountName: "prod", serverGroups: [])] as Set]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main"] as Set], deck: [prod: ["deck-main"] as Set]]) >> [
+      orca: [new TestCluster(
         name: "orca-main",
         accountName: "prod",
-        serverGroups: []
-      )] as Set
-    ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main") >> new TestCluster(
-      name: "orca-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 2L, new ServerGroup.InstanceCounts(total: 1, up: 1))
-      ]
-    )
-
-    1 * clusterProvider.getClusterSummaries("deck") >> [
-      prod: [new TestCluster(
+        serverGroups: [
+          makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 2L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+        ]
+      )] as Set,
+      deck: [new TestCluster(
         name: "deck-main",
         accountName: "prod",
-        serverGroups: []
+        serverGroups: [
+          makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
+        ]
       )] as Set
     ]
-    1 * clusterProvider.getCluster("deck", "prod", "deck-main") >> new TestCluster(
-      name: "deck-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
-      ]
-    )
 
     0 * clusterProvider._
   }
@@ -156,35 +147,26 @@ class ProjectClustersServiceSpec extends Specification {
     clusters.size() == 1
     clusters[0].applications.application == ["orca", "deck"]
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [new TestCluster(
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [prod: [new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [])] as Set],
+      deck: [prod: [new TestCluster(name: "deck-main", accountName: "prod", serverGroups: [])] as Set]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main"] as Set], deck: [prod: ["deck-main"] as Set]]) >> [
+      orca: [new TestCluster(
         name: "orca-main",
         accountName: "prod",
-        serverGroups: []
-      )] as Set
-    ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main") >> new TestCluster(
-      name: "orca-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
-      ]
-    )
-
-    1 * clusterProvider.getClusterSummaries("deck") >> [
-      prod: [new TestCluster(
+        serverGroups: [
+          makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+        ]
+      )] as Set,
+      deck: [new TestCluster(
         name: "deck-main",
         accountName: "prod",
-        serverGroups: []
+        serverGroups: [
+          makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
+        ]
       )] as Set
     ]
-    1 * clusterProvider.getCluster("deck", "prod", "deck-main") >> new TestCluster(
-      name: "deck-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
-      ]
-    )
 
     0 * clusterProvider._
   }
@@ -203,35 +185,26 @@ class ProjectClustersServiceSpec extends Specification {
     clusters.size() == 1
     clusters[0].applications.application == ["deck"]
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [new TestCluster(
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [prod: [new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [])] as Set],
+      deck: [prod: [new TestCluster(name: "deck-main", accountName: "prod", serverGroups: [])] as Set]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main"] as Set], deck: [prod: ["deck-main"] as Set]]) >> [
+      orca: [new TestCluster(
         name: "orca-main",
         accountName: "prod",
-        serverGroups: []
-      )] as Set
-    ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main") >> new TestCluster(
-      name: "orca-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
-      ]
-    )
-
-    1 * clusterProvider.getClusterSummaries("deck") >> [
-      prod: [new TestCluster(
+        serverGroups: [
+          makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+        ]
+      )] as Set,
+      deck: [new TestCluster(
         name: "deck-main",
         accountName: "prod",
-        serverGroups: []
+        serverGroups: [
+          makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
+        ]
       )] as Set
     ]
-    1 * clusterProvider.getCluster("deck", "prod", "deck-main") >> new TestCluster(
-      name: "deck-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
-      ]
-    )
 
     0 * clusterProvider._
   }
@@ -255,41 +228,46 @@ class ProjectClustersServiceSpec extends Specification {
     clusters[0].instanceCounts.starting == 0
 
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("deck") >> [:]
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [
+        prod: [
+          new TestCluster(
+            name: "orca-main",
+            accountName: "prod",
+            serverGroups: []
+          ),
+          new TestCluster(
+            name: "orca-test",
+            accountName: "prod",
+            serverGroups: []
+          ),
+          new TestCluster(
+            name: "orca--foo",
+            accountName: "prod",
+            serverGroups: []
+          ),
+        ] as Set
+      ]
+    ]
+
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main", "orca-test"] as Set]]) >> [
+      orca: [
         new TestCluster(
           name: "orca-main",
           accountName: "prod",
-          serverGroups: []
+          serverGroups: [
+            makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+          ]
         ),
         new TestCluster(
           name: "orca-test",
           accountName: "prod",
-          serverGroups: []
-        ),
-        new TestCluster(
-          name: "orca--foo",
-          accountName: "prod",
-          serverGroups: []
-        ),
+          serverGroups: [
+            makeServerGroup("prod", "orca-test-v001", "us-west-1", 3, 5L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+          ]
+        )
       ] as Set
     ]
-
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main") >> new TestCluster(
-      name: "orca-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
-      ]
-    )
-    1 * clusterProvider.getCluster("orca", "prod", "orca-test") >> new TestCluster(
-      name: "orca-test",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-test-v001", "us-west-1", 3, 5L, new ServerGroup.InstanceCounts(total: 1, up: 1))
-      ]
-    )
     0 * clusterProvider._
   }
 
@@ -314,23 +292,28 @@ class ProjectClustersServiceSpec extends Specification {
     clusters[0].instanceCounts.up == 2
 
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("deck") >> [:]
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [
+        prod: [
+          new TestCluster(
+            name: "orca-main",
+            accountName: "prod",
+            serverGroups: []),
+        ] as Set
+      ]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main"] as Set]]) >> [
+      orca: [
         new TestCluster(
           name: "orca-main",
           accountName: "prod",
-          serverGroups: []),
+          serverGroups: [
+            makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            makeServerGroup("prod", "orca-main-v002", "us-east-1", 4, 4L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            disabledServerGroup
+          ])
       ] as Set
     ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main") >> new TestCluster(
-      name: "orca-main",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        makeServerGroup("prod", "orca-main-v002", "us-east-1", 4, 4L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        disabledServerGroup
-      ])
 
     0 * clusterProvider._
   }
@@ -353,33 +336,38 @@ class ProjectClustersServiceSpec extends Specification {
     clusters[0].instanceCounts.up == 1
 
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("deck") >> [:]
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [
+        prod: [
+          new TestCluster(
+            name: "orca-main-foo",
+            accountName: "prod",
+            serverGroups: []),
+          new TestCluster(
+            name: "orca-main-bar",
+            accountName: "prod",
+            serverGroups: []),
+          new TestCluster(
+            name: "orca-main",
+            accountName: "prod",
+            serverGroups: []),
+          new TestCluster(
+            name: "orca--foo",
+            accountName: "prod",
+            serverGroups: []),
+        ] as Set
+      ]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main-foo"] as Set]]) >> [
+      orca: [
         new TestCluster(
           name: "orca-main-foo",
           accountName: "prod",
-          serverGroups: []),
-        new TestCluster(
-          name: "orca-main-bar",
-          accountName: "prod",
-          serverGroups: []),
-        new TestCluster(
-          name: "orca-main",
-          accountName: "prod",
-          serverGroups: []),
-        new TestCluster(
-          name: "orca--foo",
-          accountName: "prod",
-          serverGroups: []),
+          serverGroups: [
+            makeServerGroup("prod", "orca-main-foo-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+          ])
       ] as Set
     ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main-foo") >> new TestCluster(
-      name: "orca-main-foo",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-foo-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-      ])
     0 * clusterProvider._
   }
 
@@ -425,24 +413,125 @@ class ProjectClustersServiceSpec extends Specification {
     westCluster.instanceCounts.up == 3
 
     1 * front50Service.getProject(_) >> Calls.response(projectConfig)
-    1 * clusterProvider.getClusterSummaries("orca") >> [
-      prod: [
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [
+        prod: [
+          new TestCluster(
+            name: "orca-main-foo",
+            accountName: "prod",
+            serverGroups: [])
+        ] as Set
+      ]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main-foo"] as Set]]) >> [
+      orca: [
         new TestCluster(
           name: "orca-main-foo",
           accountName: "prod",
-          serverGroups: [])
+          serverGroups: [
+            makeServerGroup("prod", "orca-main-foo-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            makeServerGroup("prod", "orca-main-foo-v003", "us-west-1", 4, 2L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            makeServerGroup("prod", "orca-main-foo-v004", "us-west-1", 5, 3L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            makeServerGroup("prod", "orca-main-foo-v005", "us-west-1", 5, 6L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
+            disabledServerGroup
+          ])
       ] as Set
     ]
-    1 * clusterProvider.getCluster("orca", "prod", "orca-main-foo") >> new TestCluster(
-      name: "orca-main-foo",
-      accountName: "prod",
-      serverGroups: [
-        makeServerGroup("prod", "orca-main-foo-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        makeServerGroup("prod", "orca-main-foo-v003", "us-west-1", 4, 2L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        makeServerGroup("prod", "orca-main-foo-v004", "us-west-1", 5, 3L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        makeServerGroup("prod", "orca-main-foo-v005", "us-west-1", 5, 6L, new ServerGroup.InstanceCounts(total: 1, up: 1)),
-        disabledServerGroup
-      ])
+  }
+
+  void "looks up the clusters of an application shared by several projects once"() {
+    given:
+    def concurrentSubject = new ProjectClustersService(
+      front50Service,
+      new ObjectMapper(),
+      new Provider<List<ClusterProvider>>() {
+        @Override
+        List<ClusterProvider> get() {
+          return [clusterProvider]
+        }
+      },
+      4
+    )
+    def spinnakerProject = [name: "Spinnaker", config: [applications: ["orca"], clusters: [[account: "prod", stack: "main"]]]]
+    def otherProject = [name: "Other", config: [applications: ["orca"], clusters: [[account: "prod", stack: "test"]]]]
+
+    when:
+    def result = concurrentSubject.getProjectClusters(["Spinnaker", "Other"])
+
+    then:
+    result["Spinnaker"][0].applications[0].clusters*.region == ["us-east-1"]
+    result["Other"][0].applications[0].clusters*.region == ["us-west-1"]
+
+    1 * front50Service.getProject("Spinnaker") >> Calls.response(spinnakerProject)
+    1 * front50Service.getProject("Other") >> Calls.response(otherProject)
+    1 * clusterProvider.getClusterSummaries(["orca"] as Set) >> [
+      orca: [
+        prod: [
+          new TestCluster(name: "orca-main", accountName: "prod", serverGroups: []),
+          new TestCluster(name: "orca-test", accountName: "prod", serverGroups: [])
+        ] as Set
+      ]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main", "orca-test"] as Set]]) >> [
+      orca: [
+        new TestCluster(
+          name: "orca-main",
+          accountName: "prod",
+          serverGroups: [
+            makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+          ]
+        ),
+        new TestCluster(
+          name: "orca-test",
+          accountName: "prod",
+          serverGroups: [
+            makeServerGroup("prod", "orca-test-v001", "us-west-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+          ]
+        )
+      ] as Set
+    ]
+    0 * clusterProvider._
+  }
+
+  void "only returns the clusters of the applications of each project"() {
+    given:
+    def spinnakerProject = [name: "Spinnaker", config: [applications: ["orca"], clusters: [[account: "prod", stack: "main"]]]]
+    def otherProject = [name: "Other", config: [applications: ["deck"], clusters: [[account: "prod", stack: "main", applications: ["deck", "orca"]]]]]
+
+    when:
+    def result = subject.getProjectClusters(["Spinnaker", "Other"])
+
+    then:
+    result["Spinnaker"][0].applications*.application == ["orca"]
+    result["Spinnaker"][0].instanceCounts.total == 1
+    // orca is retrieved for the Spinnaker project, but is not one of the applications of Other
+    result["Other"][0].applications*.application == ["deck", "orca"]
+    result["Other"][0].applications[1].clusters.isEmpty()
+    result["Other"][0].instanceCounts.total == 2
+
+    1 * front50Service.getProject("Spinnaker") >> Calls.response(spinnakerProject)
+    1 * front50Service.getProject("Other") >> Calls.response(otherProject)
+    1 * clusterProvider.getClusterSummaries(["orca", "deck"] as Set) >> [
+      orca: [prod: [new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [])] as Set],
+      deck: [prod: [new TestCluster(name: "deck-main", accountName: "prod", serverGroups: [])] as Set]
+    ]
+    1 * clusterProvider.getClusters([orca: [prod: ["orca-main"] as Set], deck: [prod: ["deck-main"] as Set]]) >> [
+      orca: [new TestCluster(
+        name: "orca-main",
+        accountName: "prod",
+        serverGroups: [
+          makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 1L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+        ]
+      )] as Set,
+      deck: [new TestCluster(
+        name: "deck-main",
+        accountName: "prod",
+        serverGroups: [
+          makeServerGroup("prod", "deck-main-v001", "us-west-1", 31, 1L, new ServerGroup.InstanceCounts(total: 2, up: 1, down: 1))
+        ]
+      )] as Set
+    ]
+    0 * clusterProvider._
   }
 
   private static List<ClusterModel> cachedClusters(Map<String, List<ClusterModel>> result, String projectName) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OnDemandRequestCoalescerTest {
+
+  private final Registry registry = new DefaultRegistry();
+  private final OnDemandCacheUpdater updater = mock(OnDemandCacheUpdater.class);
+  private final OnDemandCacheResult result =
+      new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL);
+
+  private ScheduledExecutorService executor;
+  private OnDemandRequestCoalescer coalescer;
+
+  @BeforeEach
+  void setup() {
+    OnDemandCoalescingProperties properties = new OnDemandCoalescingProperties();
+    properties.setDebounceMillis(200);
+    executor = Executors.newScheduledThreadPool(2);
+    coalescer = new OnDemandRequestCoalescer(properties, registry, executor);
+  }
+
+  @AfterEach
+  void teardown() {
+    coalescer.shutdown();
+  }
+
+  @Test
+  void identicalRequestsShareOneExecution() throws Exception {
+    Map<String, String> data = Map.of("serverGroupName", "app-v001", "region", "us-east-1");
+    when(updater.handle(OnDemandType.ServerGroup, "aws", data)).thenReturn(result);
+
+    OnDemandRequestCoalescer.Request first =
+        coalescer.submit(updater, OnDemandType.ServerGroup, "aws", data);
+    OnDemandRequestCoalescer.Request second =
+        coalescer.submit(updater, OnDemandType.ServerGroup, "aws", Map.copyOf(data));
+    OnDemandRequestCoalescer.Request other =
+        coalescer.submit(
+            updater, OnDemandType.ServerGroup, "aws", Map.of("serverGroupName", "app-v002"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(other).isNotSameAs(first);
+    assertThat(first.getResult().get(5, TimeUnit.SECONDS)).isSameAs(result);
+    other.getResult().get(5, TimeUnit.SECONDS);
+    assertThat(coalescer.getRequest(first.getId()).getStatus())
+        .isEqualTo(OnDemandRequestCoalescer.Status.COMPLETED);
+
+    verify(updater, times(1)).handle(OnDemandType.ServerGroup, "aws", data);
+    assertThat(
+            registry
+                .counter(
+                    "onDemand.requests",
+                    "cloudProvider",
+                    "aws",
+                    "type",
+                    "ServerGroup",
+                    "coalesced",
+                    "true")
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void requestsSubmittedOnceAnExecutionStartedGetTheirOwn() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(updater.handle(eq(OnDemandType.ServerGroup), eq("aws"), any()))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return result;
+            });
+
+    Map<String, String> data = Map.of("serverGroupName", "app-v001");
+    OnDemandRequestCoalescer.Request first =
+        coalescer.submit(updater, OnDemandType.ServerGroup, "aws", data);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    OnDemandRequestCoalescer.Request second =
+        coalescer.submit(updater, OnDemandType.ServerGroup, "aws", data);
+    release.countDown();
+
+    assertThat(second).isNotSameAs(first);
+    first.getResult().get(5, TimeUnit.SECONDS);
+    second.getResult().get(5, TimeUnit.SECONDS);
+    verify(updater, times(2)).handle(OnDemandType.ServerGroup, "aws", data);
+  }
+}
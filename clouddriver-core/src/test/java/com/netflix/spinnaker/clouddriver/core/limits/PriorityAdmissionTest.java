@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.core.limits;
+
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.BACKGROUND;
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.INTERACTIVE;
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.MUTATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+public class PriorityAdmissionTest {
+
+  private final ConcurrentLinkedQueue<RequestPriority> admitted = new ConcurrentLinkedQueue<>();
+
+  @Test
+  public void strictAdmissionLetsHigherPrioritiesInFirst() throws InterruptedException {
+    PriorityAdmissionProperties properties = new PriorityAdmissionProperties();
+    properties.setPolicy(PriorityAdmissionProperties.Policy.STRICT);
+    PriorityAdmission admission = new PriorityAdmission(properties);
+
+    // a background request holds its turn while others queue up
+    admission.enter(BACKGROUND);
+    List<Thread> threads = new ArrayList<>();
+    for (RequestPriority priority : List.of(BACKGROUND, BACKGROUND, INTERACTIVE, MUTATION)) {
+      threads.add(request(admission, priority));
+    }
+    waitForWaiting(admission, 4);
+    admission.exit();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(admitted).containsExactly(MUTATION, INTERACTIVE, BACKGROUND, BACKGROUND);
+  }
+
+  @Test
+  public void weightedAdmissionDoesNotStarveLowerPriorities() throws InterruptedException {
+    PriorityAdmissionProperties properties = new PriorityAdmissionProperties();
+    properties.setPolicy(PriorityAdmissionProperties.Policy.WEIGHTED);
+    properties.setMutationWeight(2);
+    properties.setInteractiveWeight(1);
+    properties.setBackgroundWeight(1);
+    PriorityAdmission admission = new PriorityAdmission(properties);
+
+    admission.enter(MUTATION);
+    List<Thread> threads = new ArrayList<>();
+    IntStream.range(0, 4).forEach(i -> threads.add(request(admission, MUTATION)));
+    IntStream.range(0, 2).forEach(i -> threads.add(request(admission, BACKGROUND)));
+    waitForWaiting(admission, 6);
+    admission.exit();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // background requests are interleaved with the mutations rather than let in last
+    List<RequestPriority> order = new ArrayList<>(admitted);
+    assertThat(order.indexOf(BACKGROUND)).isLessThan(3);
+    assertThat(order.stream().filter(BACKGROUND::equals).count()).isEqualTo(2);
+  }
+
+  private Thread request(PriorityAdmission admission, RequestPriority priority) {
+    Thread thread =
+        new Thread(
+            () -> {
+              admission.enter(priority);
+              admitted.add(priority);
+              admission.exit();
+            });
+    thread.start();
+    return thread;
+  }
+
+  private static void waitForWaiting(PriorityAdmission admission, int count)
+      throws InterruptedException {
+    while (admission.getWaiting() != count) {
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.core.limits;
+
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.BACKGROUND;
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.INTERACTIVE;
+import static com.netflix.spinnaker.clouddriver.core.limits.RequestPriority.MUTATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RequestPriorityTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void poolThreadsDoNotInheritThePriority() throws Exception {
+    Future<RequestPriority> priority =
+        BACKGROUND.call(() -> executor.submit(RequestPriority::current));
+
+    assertThat(priority.get()).isEqualTo(INTERACTIVE);
+  }
+
+  @Test
+  public void propagatedTasksRunWithThePriorityOfTheSubmittingThread() throws Exception {
+    Future<RequestPriority> callable =
+        BACKGROUND.call(() -> executor.submit(RequestPriority.propagate(RequestPriority::current)));
+    CompletableFuture<RequestPriority> supplied =
+        MUTATION.call(
+            () ->
+                CompletableFuture.supplyAsync(
+                    RequestPriority::current, RequestPriority.propagating(executor)));
+
+    assertThat(callable.get()).isEqualTo(BACKGROUND);
+    assertThat(supplied.get()).isEqualTo(MUTATION);
+    // the pool thread is left as it was
+    assertThat(executor.submit(RequestPriority::current).get()).isEqualTo(INTERACTIVE);
+  }
+
+  @Test
+  public void propagatedTasksDoNotKeepThePriorityOfTheThreadRunningThem() throws Exception {
+    Runnable task =
+        RequestPriority.propagate(
+            () -> {
+              assertThat(RequestPriority.current()).isEqualTo(INTERACTIVE);
+            });
+
+    BACKGROUND.run(task);
+
+    assertThat(RequestPriority.current()).isEqualTo(INTERACTIVE);
+  }
+}
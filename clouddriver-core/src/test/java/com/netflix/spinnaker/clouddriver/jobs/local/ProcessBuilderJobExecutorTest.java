@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.jobs.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.jobs.JobExecutionException;
+import com.netflix.spinnaker.clouddriver.jobs.JobRequest;
+import com.netflix.spinnaker.clouddriver.jobs.JobResult;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProcessBuilderJobExecutorTest {
+
+  private Registry registry;
+  private ProcessBuilderJobExecutor executor;
+
+  @BeforeEach
+  void setup() {
+    registry = new DefaultRegistry();
+    executor = new ProcessBuilderJobExecutor(1, 2, 1024 * 1024, 8192, registry);
+  }
+
+  @Test
+  void capturesOutputErrorAndExitValue() {
+    JobResult<String> result = executor.runJob(shell("echo out; echo err >&2; exit 3"));
+
+    assertThat(result.getResult()).isEqualTo(JobResult.Result.FAILURE);
+    assertThat(result.getOutput()).isEqualTo("out\n");
+    assertThat(result.getError()).isEqualTo("err\n");
+    assertThat(result.isKilled()).isFalse();
+  }
+
+  @Test
+  void writesInputToProcess() {
+    JobRequest request =
+        new JobRequest(
+            List.of("cat"), new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)));
+
+    JobResult<String> result = executor.runJob(request);
+
+    assertThat(result.getResult()).isEqualTo(JobResult.Result.SUCCESS);
+    assertThat(result.getOutput()).isEqualTo("hello");
+  }
+
+  @Test
+  void streamsLargeOutputToConsumer() {
+    JobResult<Long> result =
+        executor.runJob(shell("seq 1 200000"), reader -> reader.lines().count());
+
+    assertThat(result.getResult()).isEqualTo(JobResult.Result.SUCCESS);
+    assertThat(result.getOutput()).isEqualTo(200000L);
+  }
+
+  @Test
+  void killsJobsThatExceedTheOutputLimit() {
+    ProcessBuilderJobExecutor limited = new ProcessBuilderJobExecutor(1, 1, 1024, 8192, registry);
+
+    assertThatThrownBy(() -> limited.runJob(shell("seq 1 200000")))
+        .isInstanceOf(JobExecutionException.class)
+        .hasMessageContaining("exceeded 1024 bytes");
+  }
+
+  @Test
+  void limitsConcurrentJobs() throws Exception {
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+    try {
+      List<CompletableFuture<JobResult<String>>> results =
+          IntStream.range(0, 4)
+              .mapToObj(
+                  i ->
+                      CompletableFuture.supplyAsync(
+                          () -> executor.runJob(shell("sleep 0.5")), callers))
+              .collect(Collectors.toList());
+
+      for (CompletableFuture<JobResult<String>> result : results) {
+        assertThat(result.get(30, TimeUnit.SECONDS).getResult())
+            .isEqualTo(JobResult.Result.SUCCESS);
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    // Only two jobs may run at once, so at least two callers had to wait for a slot
+    long waited =
+        registry
+            .timers()
+            .filter(t -> t.id().name().equals("jobs.local.waitTime"))
+            .mapToLong(t -> t.totalTime())
+            .sum();
+    assertThat(waited).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  void recordsWallTimePerCommand() {
+    executor.runJob(shell("true"));
+
+    assertThat(
+            registry
+                .timers()
+                .filter(t -> t.id().name().equals("jobs.local.wallTime"))
+                .filter(t -> t.id().tags().iterator().hasNext())
+                .mapToLong(t -> t.count())
+                .sum())
+        .isEqualTo(1);
+  }
+
+  private static JobRequest shell(String script) {
+    return new JobRequest(List.of("sh", "-c", script));
+  }
+}
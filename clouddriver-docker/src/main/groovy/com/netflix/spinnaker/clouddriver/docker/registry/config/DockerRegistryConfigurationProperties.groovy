@@ -60,6 +60,14 @@ class DockerRegistryConfigurationProperties {
     boolean inspectDigests
     // Sort tags by creation date.
     boolean sortTagsByDate
+    // Only fetch the digests, labels and creation dates of tags that are not cached yet, instead of those of every tag on every caching cycle.
+    boolean cacheDigestsIncrementally
+    // Regular expressions matching tags that are expected to move between images, like `latest`. With cacheDigestsIncrementally, they are fetched again every mutableTagsRevalidationSeconds. Default is [latest].
+    List<String> mutableTags
+    // How often the digests of mutable tags are fetched again. Default is 600 (10 minutes).
+    long mutableTagsRevalidationSeconds
+    // Maximum number of concurrent digest, label and creation date requests to the registry while caching. Default is 10.
+    int digestThreads
     boolean insecureRegistry
     // List of all repositories to index. Can be of the form <user>/<repo>,
     // or <library> for repositories like 'ubuntu'.
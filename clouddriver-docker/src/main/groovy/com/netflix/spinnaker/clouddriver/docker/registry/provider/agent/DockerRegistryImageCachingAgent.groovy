@@ -16,7 +16,9 @@
 
 package com.netflix.spinnaker.clouddriver.docker.registry.provider.agent
 
+import com.google.common.util.concurrent.MoreExecutors
 import com.netflix.spinnaker.cats.agent.*
+import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.docker.registry.DockerRegistryCloudProvider
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryTags
@@ -26,9 +28,14 @@ import com.netflix.spinnaker.clouddriver.docker.registry.provider.DockerRegistry
 import com.netflix.spinnaker.clouddriver.docker.registry.provider.DockerRegistryProviderUtils
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryCredentials
 import com.netflix.spinnaker.kork.retrofit.exceptions.SpinnakerHttpException
+import groovy.transform.PackageScope
 import groovy.util.logging.Slf4j
 
+import java.time.Clock
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
 
 import static java.util.Collections.unmodifiableSet
@@ -48,6 +55,10 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
   private final long interval
   private String registry
 
+  // when the details of mutable tags were last fetched, keyed by tag key
+  private final Map<String, Long> mutableTagsFetchedAt = new ConcurrentHashMap<>()
+  @PackageScope Clock clock = Clock.systemUTC()
+
   DockerRegistryImageCachingAgent(DockerRegistryCloudProvider dockerRegistryCloudProvider,
                                   String accountName,
                                   DockerRegistryCredentials credentials,
@@ -73,7 +84,7 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
   CacheResult loadData(ProviderCache providerCache) {
     Map<String, Set<String>> tags = loadTags()
 
-    buildCacheResult(tags)
+    buildCacheResult(tags, loadCachedTags(providerCache, tags))
   }
 
   @Override
@@ -126,80 +137,65 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
     return accountName
   }
 
-  private CacheResult buildCacheResult(Map<String, Set<String>> tagMap) {
+  /**
+   * Returns the tags of this agent that are already cached, so that their digests, labels and
+   * creation dates don't need to be fetched again. Only used when the account caches digests
+   * incrementally.
+   */
+  private Map<String, CacheData> loadCachedTags(ProviderCache providerCache, Map<String, Set<String>> tagMap) {
+    if (providerCache == null || !credentials.cacheDigestsIncrementally || !fetchesTagDetails()) {
+      return [:]
+    }
+
+    Collection<String> tagKeys = tagMap.collectMany { repository, tags ->
+      tags.findAll { it }.collect { tag -> Keys.getTaggedImageKey(accountName, repository, tag) }
+    }
+    providerCache.getAll(Keys.Namespace.TAGGED_IMAGE.ns, tagKeys).collectEntries { [(it.id): it] }
+  }
+
+  private boolean fetchesTagDetails() {
+    credentials.trackDigests || credentials.inspectDigests || credentials.sortTagsByDate
+  }
+
+  private CacheResult buildCacheResult(Map<String, Set<String>> tagMap, Map<String, CacheData> previousTags = [:]) {
     log.info("Describing items in ${agentType}")
 
     ConcurrentMap<String, DefaultCacheDataBuilder> cachedTags = DefaultCacheDataBuilder.defaultCacheDataBuilderMap()
     ConcurrentMap<String, DefaultCacheDataBuilder> cachedIds = DefaultCacheDataBuilder.defaultCacheDataBuilderMap()
 
+    // tags whose details need to be fetched go through the pool of the registry, to bound the
+    // number of concurrent requests
+    ExecutorService executor = fetchesTagDetails() && credentials.digestExecutor ?
+      credentials.digestExecutor :
+      MoreExecutors.newDirectExecutorService()
+    long now = clock.millis()
+    int reusedTags = 0
+    List<Future<?>> fetches = []
+
     tagMap.forEach { repository, tags ->
-      tags.parallelStream().forEach { tag ->
+      tags.each { tag ->
         if (!tag) {
           log.warn("Empty tag encountered for $accountName/$repository, not caching")
           return
         }
         def tagKey = Keys.getTaggedImageKey(accountName, repository, tag)
-        def imageIdKey = Keys.getImageIdKey(DockerRegistryProviderUtils.imageId(registry, repository, tag))
-        def digest = null
-        def digestContent = null
-        def creationDate = null
-
-        if (credentials.trackDigests) {
-          try {
-            digest = credentials.client.getDigest(repository, tag)
-          } catch (Exception e) {
-            if(e instanceof SpinnakerHttpException && ((SpinnakerHttpException)e).getResponseCode() == 404)
-            {
-              // Indicates inconsistency in registry, or deletion between call for all tags and manifest retrieval.
-              // In either case, we need to trust that this tag no longer exists.
-              log.warn("Image manifest for $tagKey no longer available; tag will not be cached: $e.message")
-              return
-            } else {
-              // It is safe to not cache the tag here because igor now persists all the tags it has seen.
-              log.warn("Error retrieving manifest for $tagKey; digest and tag will not be cached: $e.message")
-              return
-            }
-          }
-        }
-
-        if (credentials.inspectDigests) {
-          try {
-            digest = credentials.client.getConfigDigest(repository, tag)
-            digestContent = credentials.client.getDigestContent(repository, digest)
-          } catch (Exception e) {
-            log.warn("Error retrieving config digest for $tagKey; digest and tag will not be cached: $e.message")
-          }
-        }
-
-        if (credentials.sortTagsByDate) {
-          try {
-            creationDate = credentials.client.getCreationDate(repository, tag)
-          } catch (Exception e) {
-            log.warn("Unable to fetch tag creation date, reason: {} (tag: {}, repository: {})", e.message, tag, repository)
-          }
-        }
-
-        def tagData = new DefaultCacheDataBuilder()
-        tagData.setId(tagKey)
-        tagData.attributes.put("name", "${repository}:${tag}".toString())
-        tagData.attributes.put("account", accountName)
-        tagData.attributes.put("digest", digest)
-        tagData.attributes.put("date", creationDate)
-        if (digestContent?.config != null) {
-          tagData.attributes.put("labels", digestContent.config.Labels)
+        CacheData previous = previousTags.get(tagKey)
+        if (previous != null && canReuse(previous, tag, now)) {
+          cacheTag(repository, tag, previous.attributes.digest, previous.attributes.date, previous.attributes.labels, cachedTags, cachedIds)
+          reusedTags++
+        } else {
+          fetches << executor.submit({ fetchAndCacheTag(repository, tag, now, cachedTags, cachedIds) } as Runnable)
         }
-        cachedTags.put(tagKey, tagData)
-
-        def idData = new DefaultCacheDataBuilder()
-        idData.setId(imageIdKey)
-        idData.attributes.put("tagKey", tagKey)
-        idData.attributes.put("account", accountName)
-        cachedIds.put(imageIdKey, idData)
       }
 
       null
     }
+    fetches.each { it.get() }
+    mutableTagsFetchedAt.keySet().retainAll(cachedTags.keySet())
 
+    if (credentials.cacheDigestsIncrementally) {
+      log.info("Reused the details of ${reusedTags} cached tags in ${agentType}")
+    }
     log.info("Caching ${cachedTags.size()} tagged images in ${agentType}")
     log.info("Caching ${cachedIds.size()} image ids in ${agentType}")
 
@@ -209,6 +205,104 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
     ])
   }
 
+  /**
+   * Whether the details of a cached tag are complete and still valid. Tags are expected to keep
+   * pointing to the same image, except for mutable tags like `latest`, which are fetched again
+   * once their details are older than the revalidation interval of the account.
+   */
+  private boolean canReuse(CacheData previous, String tag, long now) {
+    if ((credentials.trackDigests || credentials.inspectDigests) && previous.attributes.digest == null) {
+      return false
+    }
+    if (credentials.sortTagsByDate && previous.attributes.date == null) {
+      return false
+    }
+    if (credentials.isMutableTag(tag)) {
+      Long fetchedAt = mutableTagsFetchedAt.get(previous.id)
+      return fetchedAt != null && now - fetchedAt < TimeUnit.SECONDS.toMillis(credentials.mutableTagsRevalidationSeconds)
+    }
+    return true
+  }
+
+  private void fetchAndCacheTag(String repository,
+                                String tag,
+                                long now,
+                                ConcurrentMap<String, DefaultCacheDataBuilder> cachedTags,
+                                ConcurrentMap<String, DefaultCacheDataBuilder> cachedIds) {
+    def tagKey = Keys.getTaggedImageKey(accountName, repository, tag)
+    def digest = null
+    def digestContent = null
+    def creationDate = null
+
+    if (credentials.trackDigests) {
+      try {
+        digest = credentials.client.getDigest(repository, tag)
+      } catch (Exception e) {
+        if(e instanceof SpinnakerHttpException && ((SpinnakerHttpException)e).getResponseCode() == 404)
+        {
+          // Indicates inconsistency in registry, or deletion between call for all tags and manifest retrieval.
+          // In either case, we need to trust that this tag no longer exists.
+          log.warn("Image manifest for $tagKey no longer available; tag will not be cached: $e.message")
+          return
+        } else {
+          // It is safe to not cache the tag here because igor now persists all the tags it has seen.
+          log.warn("Error retrieving manifest for $tagKey; digest and tag will not be cached: $e.message")
+          return
+        }
+      }
+    }
+
+    if (credentials.inspectDigests) {
+      try {
+        digest = credentials.client.getConfigDigest(repository, tag)
+        digestContent = credentials.client.getDigestContent(repository, digest)
+      } catch (Exception e) {
+        log.warn("Error retrieving config digest for $tagKey; digest and tag will not be cached: $e.message")
+      }
+    }
+
+    if (credentials.sortTagsByDate) {
+      try {
+        creationDate = credentials.client.getCreationDate(repository, tag)
+      } catch (Exception e) {
+        log.warn("Unable to fetch tag creation date, reason: {} (tag: {}, repository: {})", e.message, tag, repository)
+      }
+    }
+
+    if (credentials.cacheDigestsIncrementally && credentials.isMutableTag(tag)) {
+      mutableTagsFetchedAt.put(tagKey, now)
+    }
+    cacheTag(repository, tag, digest, creationDate, digestContent?.config?.Labels, cachedTags, cachedIds)
+  }
+
+  private void cacheTag(String repository,
+                        String tag,
+                        Object digest,
+                        Object creationDate,
+                        Object labels,
+                        ConcurrentMap<String, DefaultCacheDataBuilder> cachedTags,
+                        ConcurrentMap<String, DefaultCacheDataBuilder> cachedIds) {
+    def tagKey = Keys.getTaggedImageKey(accountName, repository, tag)
+    def imageIdKey = Keys.getImageIdKey(DockerRegistryProviderUtils.imageId(registry, repository, tag))
+
+    def tagData = new DefaultCacheDataBuilder()
+    tagData.setId(tagKey)
+    tagData.attributes.put("name", "${repository}:${tag}".toString())
+    tagData.attributes.put("account", accountName)
+    tagData.attributes.put("digest", digest)
+    tagData.attributes.put("date", creationDate)
+    if (labels != null) {
+      tagData.attributes.put("labels", labels)
+    }
+    cachedTags.put(tagKey, tagData)
+
+    def idData = new DefaultCacheDataBuilder()
+    idData.setId(imageIdKey)
+    idData.attributes.put("tagKey", tagKey)
+    idData.attributes.put("account", accountName)
+    cachedIds.put(imageIdKey, idData)
+  }
+
   @Override
   Long getAgentInterval() {
     return interval
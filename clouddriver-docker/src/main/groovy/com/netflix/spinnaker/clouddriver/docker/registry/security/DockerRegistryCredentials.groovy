@@ -16,8 +16,15 @@
 
 package com.netflix.spinnaker.clouddriver.docker.registry.security
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryClient
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.regex.Pattern
+
 class DockerRegistryCredentials {
   private final DockerRegistryClient client
   private List<String> repositories
@@ -26,8 +33,25 @@ class DockerRegistryCredentials {
   private final boolean inspectDigests
   private final boolean sortTagsByDate
   private List<String> skip
+  private final boolean cacheDigestsIncrementally
+  private final List<Pattern> mutableTags
+  private final long mutableTagsRevalidationSeconds
+  private final ExecutorService digestExecutor
 
   DockerRegistryCredentials(DockerRegistryClient client, List<String> repositories, boolean trackDigests, boolean inspectDigests, List<String> skip, boolean sortTagsByDate) {
+    this(client, repositories, trackDigests, inspectDigests, skip, sortTagsByDate, false, ["latest"], TimeUnit.MINUTES.toSeconds(10), 10)
+  }
+
+  DockerRegistryCredentials(DockerRegistryClient client,
+                            List<String> repositories,
+                            boolean trackDigests,
+                            boolean inspectDigests,
+                            List<String> skip,
+                            boolean sortTagsByDate,
+                            boolean cacheDigestsIncrementally,
+                            List<String> mutableTags,
+                            long mutableTagsRevalidationSeconds,
+                            int digestThreads) {
     this.client = client
     this.trackDigests = trackDigests
     this.inspectDigests = inspectDigests
@@ -40,6 +64,17 @@ class DockerRegistryCredentials {
       this.repositories = repositories
     }
     this.sortTagsByDate = sortTagsByDate
+    this.cacheDigestsIncrementally = cacheDigestsIncrementally
+    this.mutableTags = (mutableTags ?: []).collect { Pattern.compile(it) }
+    this.mutableTagsRevalidationSeconds = mutableTagsRevalidationSeconds
+
+    // Shared by all the caching agents of the registry. Idle threads time out, so the pool of
+    // credentials that were replaced does not need to be shut down.
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+      Math.max(1, digestThreads), Math.max(1, digestThreads), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+      new ThreadFactoryBuilder().setNameFormat("docker-registry-digests-%d").setDaemon(true).build())
+    executor.allowCoreThreadTimeOut(true)
+    this.digestExecutor = executor
   }
 
   DockerRegistryClient getClient() {
@@ -62,6 +97,27 @@ class DockerRegistryCredentials {
     return sortTagsByDate
   }
 
+  boolean getCacheDigestsIncrementally() {
+    return cacheDigestsIncrementally
+  }
+
+  /**
+   * Whether the tag is expected to move between images, so that its cached digest needs to be
+   * checked again from time to time.
+   */
+  boolean isMutableTag(String tag) {
+    return mutableTags.any { it.matcher(tag).matches() }
+  }
+
+  long getMutableTagsRevalidationSeconds() {
+    return mutableTagsRevalidationSeconds
+  }
+
+  /** Bounds the number of concurrent per-tag requests made to the registry while caching. */
+  ExecutorService getDigestExecutor() {
+    return digestExecutor
+  }
+
   List<String> getSkip(){
     return skip
   }
@@ -51,6 +51,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
     boolean trackDigests
     boolean inspectDigests
     boolean sortTagsByDate
+    boolean cacheDigestsIncrementally
+    List<String> mutableTags
+    long mutableTagsRevalidationSeconds
+    int digestThreads
     boolean insecureRegistry
     List<String> repositories
     List<String> skip
@@ -157,6 +161,26 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
       return this
     }
 
+    Builder cacheDigestsIncrementally(boolean cacheDigestsIncrementally) {
+      this.cacheDigestsIncrementally = cacheDigestsIncrementally
+      return this
+    }
+
+    Builder mutableTags(List<String> mutableTags) {
+      this.mutableTags = mutableTags
+      return this
+    }
+
+    Builder mutableTagsRevalidationSeconds(long mutableTagsRevalidationSeconds) {
+      this.mutableTagsRevalidationSeconds = mutableTagsRevalidationSeconds
+      return this
+    }
+
+    Builder digestThreads(int digestThreads) {
+      this.digestThreads = digestThreads
+      return this
+    }
+
     Builder insecureRegistry(boolean insecureRegistry) {
       this.insecureRegistry = insecureRegistry
       return this
@@ -217,6 +241,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
         trackDigests,
         inspectDigests,
         sortTagsByDate,
+        cacheDigestsIncrementally,
+        mutableTags,
+        mutableTagsRevalidationSeconds,
+        digestThreads,
         catalogFile,
         repositoriesRegex,
         insecureRegistry,
@@ -270,6 +298,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
       trackDigests,
       inspectDigests,
       sortTagsByDate,
+      false,
+      null,
+      0,
+      0,
       catalogFile,
       repositoriesRegex,
       insecureRegistry,
@@ -298,6 +330,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
                                         boolean trackDigests,
                                         boolean inspectDigests,
                                         boolean sortTagsByDate,
+                                        boolean cacheDigestsIncrementally,
+                                        List<String> mutableTags,
+                                        long mutableTagsRevalidationSeconds,
+                                        int digestThreads,
                                         String catalogFile,
                                         String repositoriesRegex,
                                         boolean insecureRegistry,
@@ -358,6 +394,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
     this.trackDigests = trackDigests
     this.inspectDigests = inspectDigests
     this.sortTagsByDate = sortTagsByDate
+    this.cacheDigestsIncrementally = cacheDigestsIncrementally
+    this.mutableTags = mutableTags != null ? mutableTags : ["latest"]
+    this.mutableTagsRevalidationSeconds = mutableTagsRevalidationSeconds ?: TimeUnit.MINUTES.toSeconds(10)
+    this.digestThreads = digestThreads ?: 10
     this.insecureRegistry = insecureRegistry;
     this.skip = skip ?: []
     this.permissions = permissions ?: buildPermissionsFromRequiredGroupMembership(requiredGroupMembership)
@@ -451,7 +491,8 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
         .serviceClientProvider(serviceClientProvider)
         .build()
 
-      return new DockerRegistryCredentials(client, repositories, trackDigests, inspectDigests, skip, sortTagsByDate)
+      return new DockerRegistryCredentials(client, repositories, trackDigests, inspectDigests, skip, sortTagsByDate,
+        cacheDigestsIncrementally, mutableTags, mutableTagsRevalidationSeconds, digestThreads)
     } catch (SpinnakerHttpException e) {
       if(e.getResponseCode() == 404) {
         throw new DockerRegistryConfigException("No repositories specified for ${name}, and the provided endpoint ${address} does not support /_catalog.")
@@ -488,6 +529,10 @@ class DockerRegistryNamedAccountCredentials extends AbstractAccountCredentials<D
   final boolean trackDigests
   final boolean inspectDigests
   final boolean sortTagsByDate
+  final boolean cacheDigestsIncrementally
+  final List<String> mutableTags
+  final long mutableTagsRevalidationSeconds
+  final int digestThreads
   final int cacheThreads
   final long cacheIntervalSeconds
   final long clientTimeoutMillis
@@ -107,6 +107,10 @@ public class DockerRegistryConfiguration {
                 .trackDigests(a.getTrackDigests())
                 .inspectDigests(a.getInspectDigests())
                 .sortTagsByDate(a.getSortTagsByDate())
+                .cacheDigestsIncrementally(a.getCacheDigestsIncrementally())
+                .mutableTags(a.getMutableTags())
+                .mutableTagsRevalidationSeconds(a.getMutableTagsRevalidationSeconds())
+                .digestThreads(a.getDigestThreads())
                 .insecureRegistry(a.getInsecureRegistry())
                 .repositories(a.getRepositories())
                 .skip(a.getSkip())
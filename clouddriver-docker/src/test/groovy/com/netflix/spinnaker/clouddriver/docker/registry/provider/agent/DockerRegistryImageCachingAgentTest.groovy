@@ -17,13 +17,17 @@
 package com.netflix.spinnaker.clouddriver.docker.registry.provider.agent
 
 import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.docker.registry.DockerRegistryCloudProvider
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryClient
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryTags
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryCredentials
 import spock.lang.Specification
 
+import java.time.Clock
 import java.time.Instant
+import java.time.ZoneOffset
 
 class DockerRegistryImageCachingAgentTest extends Specification {
 
@@ -286,6 +290,56 @@ class DockerRegistryImageCachingAgentTest extends Specification {
   }
 
 
+  def "incremental caching should only fetch digests of new and stale mutable tags"() {
+    given:
+    credentials.trackDigests >> true
+    credentials.cacheDigestsIncrementally >> true
+    credentials.isMutableTag(_) >> { String tag -> tag == "latest" }
+    credentials.mutableTagsRevalidationSeconds >> 600
+    credentials.repositories >> ["repo-1"]
+    client.getTags("repo-1") >> new DockerRegistryTags().tap {
+      name="repo-1"
+      tags=["tag-1", "tag-2", "latest"]
+    }
+    def providerCache = Mock(ProviderCache)
+    providerCache.getAll(CACHE_GROUP_TAGGED_IMAGE, _) >> [
+      new DefaultCacheData(buildTaggedImageCacheKey("repo-1", "tag-1"), [digest: "cached_tag-1"], [:]),
+      new DefaultCacheData(buildTaggedImageCacheKey("repo-1", "latest"), [digest: "cached_latest"], [:]),
+    ]
+
+    when:
+    agent.clock = Clock.fixed(Instant.ofEpochMilli(0), ZoneOffset.UTC)
+    def cacheResult = agent.loadData(providerCache)
+
+    then:
+    1 * client.getDigest("repo-1", "tag-2") >> "repo-1_tag-2"
+    1 * client.getDigest("repo-1", "latest") >> "repo-1_latest"
+    0 * client.getDigest(*_)
+    digests(cacheResult) == ["repo-1:latest": "repo-1_latest", "repo-1:tag-1": "cached_tag-1", "repo-1:tag-2": "repo-1_tag-2"]
+
+    when: "the mutable tag was fetched recently"
+    agent.clock = Clock.fixed(Instant.ofEpochMilli(599_999), ZoneOffset.UTC)
+    agent.loadData(providerCache)
+
+    then:
+    1 * client.getDigest("repo-1", "tag-2") >> "repo-1_tag-2"
+    0 * client.getDigest(*_)
+
+    when: "the mutable tag is due for revalidation"
+    agent.clock = Clock.fixed(Instant.ofEpochMilli(600_000), ZoneOffset.UTC)
+    agent.loadData(providerCache)
+
+    then:
+    1 * client.getDigest("repo-1", "tag-2") >> "repo-1_tag-2"
+    1 * client.getDigest("repo-1", "latest") >> "repo-1_latest"
+    0 * client.getDigest(*_)
+  }
+
+  private static Map<String, Object> digests(CacheResult cacheResult) {
+    cacheResult.cacheResults.get("taggedImage").collectEntries { [(it.attributes.name): it.attributes.digest] }
+  }
+
+
   private String buildTaggedImageCacheKey(repo, tag) {
     "${KEY_PREFIX}:${CACHE_GROUP_TAGGED_IMAGE}:${ACCOUNT_NAME}:${repo}:${tag}"
   }
@@ -47,7 +47,9 @@ import com.netflix.spinnaker.clouddriver.model.LoadBalancer;
 import com.netflix.spinnaker.clouddriver.model.ServerGroup;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import com.netflix.spinnaker.moniker.Moniker;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -129,25 +131,35 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
             : Keys.getServiceKey(credentials.getName(), awsRegion.getName(), "*");
 
     Collection<String> ecsServices = serviceCacheClient.filterIdentifiers(glob);
-    Collection<Service> services = serviceCacheClient.getAll(ecsServices);
-    Collection<Task> allTasks = taskCacheClient.getAll(credentials.getName(), awsRegion.getName());
+    List<Service> services =
+        serviceCacheClient.getAll(ecsServices).stream()
+            .filter(
+                service ->
+                    application == null || application.equals(service.getMoniker().getApp()))
+            .collect(Collectors.toList());
+    if (services.isEmpty()) {
+      return clusterMap;
+    }
+
+    // index the region's tasks and load balancers once, instead of scanning them for every service
+    Map<String, List<Task>> tasksByGroup =
+        taskCacheClient.getAll(credentials.getName(), awsRegion.getName()).stream()
+            .filter(task -> task.getGroup() != null)
+            .collect(Collectors.groupingBy(Task::getGroup));
+    List<? extends LoadBalancer> regionLoadBalancers =
+        ecsLoadbalancerCacheClient.find(credentials.getName(), awsRegion.getName());
+    Map<List<String>, EcsServerCluster> clustersByAppAndName =
+        indexClusters(clusterMap, credentials.getName());
 
     for (Service service : services) {
       final Moniker moniker = service.getMoniker();
       String applicationName = moniker.getApp();
       String serviceName = service.getServiceName();
 
-      if (application != null && !applicationName.equals(application)) {
-        continue;
-      }
-
-      Set<LoadBalancer> loadBalancers =
-          new HashSet<>(
-              ecsLoadbalancerCacheClient.find(credentials.getName(), awsRegion.getName()));
-
+      List<Task> serviceTasks =
+          tasksByGroup.getOrDefault("service:" + serviceName, Collections.emptyList());
       Set<Instance> instances =
-          allTasks.stream()
-              .filter(task -> task.getGroup().equals("service:" + serviceName))
+          serviceTasks.stream()
               .map(
                   task ->
                       convertToEcsTask(
@@ -171,6 +183,7 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
               moniker,
               service.getDesiredCount(),
               instances,
+              serviceTasks,
               service.getCreatedAt(),
               service.getClusterName(),
               taskDefinition,
@@ -182,34 +195,38 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
         continue;
       }
 
-      if (clusterMap.containsKey(applicationName)) {
-        String ecsServerClusterName = moniker.getCluster();
-        boolean found = false;
-
-        for (EcsServerCluster cluster : clusterMap.get(applicationName)) {
-          if (StringUtils.equals(cluster.getName(), ecsServerClusterName)
-              && StringUtils.equals(cluster.getAccountName(), credentials.getName())) {
-            cluster.getServerGroups().add(ecsServerGroup);
-            found = true;
-            break;
-          }
-        }
-
-        if (!found) {
-          EcsServerCluster spinnakerCluster =
-              buildSpinnakerServerCluster(credentials, loadBalancers, ecsServerGroup);
-          clusterMap.get(applicationName).add(spinnakerCluster);
-        }
+      List<String> clusterKey = Arrays.asList(applicationName, moniker.getCluster());
+      EcsServerCluster cluster = clustersByAppAndName.get(clusterKey);
+      if (cluster != null) {
+        cluster.getServerGroups().add(ecsServerGroup);
       } else {
-        EcsServerCluster spinnakerCluster =
-            buildSpinnakerServerCluster(credentials, loadBalancers, ecsServerGroup);
-        clusterMap.put(applicationName, Sets.newHashSet(spinnakerCluster));
+        cluster =
+            buildSpinnakerServerCluster(
+                credentials, new HashSet<>(regionLoadBalancers), ecsServerGroup);
+        clusterMap.computeIfAbsent(applicationName, app -> new HashSet<>()).add(cluster);
+        clustersByAppAndName.put(clusterKey, cluster);
       }
     }
 
     return clusterMap;
   }
 
+  /** Indexes the clusters of the account found so far by application and cluster name. */
+  private static Map<List<String>, EcsServerCluster> indexClusters(
+      Map<String, Set<EcsServerCluster>> clusterMap, String account) {
+    Map<List<String>, EcsServerCluster> clustersByAppAndName = new HashMap<>();
+    clusterMap.forEach(
+        (applicationName, clusters) -> {
+          for (EcsServerCluster cluster : clusters) {
+            if (StringUtils.equals(cluster.getAccountName(), account)) {
+              clustersByAppAndName.putIfAbsent(
+                  Arrays.asList(applicationName, cluster.getName()), cluster);
+            }
+          }
+        });
+    return clustersByAppAndName;
+  }
+
   private EcsTask convertToEcsTask(String account, String region, String serviceName, Task task) {
     String taskId = task.getTaskId();
     Long launchTime = task.getStartedAt();
@@ -313,6 +330,7 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       Moniker moniker,
       int desiredCount,
       Set<Instance> instances,
+      Collection<Task> tasks,
       long creationTime,
       String ecsClusterName,
       com.amazonaws.services.ecs.model.TaskDefinition taskDefinition,
@@ -349,26 +367,20 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
           vpcId = vpcIds.iterator().next();
         }
       } else {
-        for (Instance instance : instances) {
-          String taskId = instance.getName();
-          String taskKey = Keys.getTaskKey(account, region, taskId);
-          Task task = taskCacheClient.get(taskKey);
-
-          if (task != null) {
-            com.amazonaws.services.ec2.model.Instance ec2Instance =
-                containerInformationService.getEc2Instance(account, region, task);
-            if (ec2Instance != null) {
-              if (ec2Instance.getVpcId() != null && !ec2Instance.getVpcId().isEmpty()) {
-                vpcId = ec2Instance.getVpcId();
-              }
-              if (ec2Instance.getSecurityGroups() != null) {
-                securityGroups =
-                    ec2Instance.getSecurityGroups().stream()
-                        .map(GroupIdentifier::getGroupId)
-                        .collect(Collectors.toSet());
-              }
-              break;
+        for (Task task : tasks) {
+          com.amazonaws.services.ec2.model.Instance ec2Instance =
+              containerInformationService.getEc2Instance(account, region, task);
+          if (ec2Instance != null) {
+            if (ec2Instance.getVpcId() != null && !ec2Instance.getVpcId().isEmpty()) {
+              vpcId = ec2Instance.getVpcId();
             }
+            if (ec2Instance.getSecurityGroups() != null) {
+              securityGroups =
+                  ec2Instance.getSecurityGroups().stream()
+                      .map(GroupIdentifier::getGroupId)
+                      .collect(Collectors.toSet());
+            }
+            break;
           }
         }
       }
@@ -382,6 +382,26 @@ class EcsServerClusterProviderSpec extends Specification {
     retrievedClusters.sort() == [expectedCluster, expectedCluster2].sort()
   }
 
+  def 'should load tasks and load balancers once per region'() {
+    when:
+    def retrievedClusters = provider.getClusterDetails("myapp")
+
+    then: 'two accounts with two regions each, and two services per region'
+    4 * cacheView.getAll(Keys.Namespace.TASKS.ns, _) >> []
+    4 * ecsLoadbalancerCacheClient.find(_, _) >> []
+    retrievedClusters.values().flatten().size() == 2
+  }
+
+  def 'should not load tasks for regions without services of the application'() {
+    when:
+    def retrievedClusters = provider.getClusters("otherapp", CREDS_NAME)
+
+    then:
+    0 * cacheView.getAll(Keys.Namespace.TASKS.ns, _)
+    0 * ecsLoadbalancerCacheClient.find(_, _)
+    retrievedClusters == null
+  }
+
   def makeEcsServerGroup(String serviceName, String region, long startTime, String taskId, Map healthStatus, String ip) {
     Names name = Names.parseName(serviceName)
     new EcsServerGroup(
@@ -20,29 +20,43 @@ import static com.google.common.collect.Lists.partition;
 
 import com.google.api.client.googleapis.batch.BatchRequest;
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpStatusCodes;
 import com.google.api.client.util.Throwables;
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.ComputeRequest;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.apache.http.client.HttpResponseException;
@@ -54,26 +68,46 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
   @VisibleForTesting static final int MAX_BATCH_SIZE = 100;
   private static final Duration CONNECT_TIMEOUT = Duration.ofMinutes(2);
   private static final Duration READ_TIMEOUT = Duration.ofMinutes(2);
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final Set<String> RATE_LIMIT_REASONS =
+      ImmutableSet.of("rateLimitExceeded", "userRateLimitExceeded");
 
   private final Compute compute;
   private final Registry registry;
   private final String userAgent;
   private final ListeningExecutorService executor;
+  private final String project;
+  private final ComputeQuotaLimiter quotaLimiter;
   private final List<QueuedRequest<RequestT, ResponseT>> queuedRequests;
 
   BatchComputeRequestImpl(
       Compute compute, Registry registry, String userAgent, ListeningExecutorService executor) {
+    this(compute, registry, userAgent, executor, null, ComputeQuotaLimiter.disabled());
+  }
+
+  BatchComputeRequestImpl(
+      Compute compute,
+      Registry registry,
+      String userAgent,
+      ListeningExecutorService executor,
+      String project,
+      ComputeQuotaLimiter quotaLimiter) {
     this.compute = compute;
     this.registry = registry;
     this.userAgent = userAgent;
     this.executor = executor;
+    this.project = project;
+    this.quotaLimiter = quotaLimiter;
     this.queuedRequests = new ArrayList<>();
   }
 
   @Override
   public void queue(
       GoogleComputeRequest<RequestT, ResponseT> request, JsonBatchCallback<ResponseT> callback) {
-    queuedRequests.add(new QueuedRequest<>(request.getRequest(), callback));
+    RequestT computeRequest = request.getRequest();
+    queuedRequests.add(
+        new QueuedRequest<>(
+            computeRequest, callback, ComputeQuotaLimiter.apiFamily(computeRequest)));
   }
 
   @Override
@@ -82,15 +116,11 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
       return;
     }
 
-    List<List<QueuedRequest<RequestT, ResponseT>>> requestPartitions =
-        partition(queuedRequests, MAX_BATCH_SIZE);
-    List<BatchRequest> queuedBatches = createBatchRequests(requestPartitions);
-
     var statusCode = "500";
     String success = "false";
     long start = registry.clock().monotonicTime();
     try {
-      executeBatches(queuedBatches);
+      executeWithRetries();
       success = "true";
       statusCode = "200";
     } catch (HttpResponseException e) {
@@ -114,22 +144,44 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
-  private void executeBatches(List<BatchRequest> queuedBatches) throws IOException {
+  /**
+   * Sends the queued requests, then resends the ones that were rejected for exceeding the rate
+   * quota until they succeed or run out of attempts. The last attempt passes quota errors to the
+   * callbacks like any other error.
+   *
+   * <p>Batches are sent with the {@link RequestPriority} of the calling thread, also when they are
+   * sent from the executor.
+   */
+  private void executeWithRetries() throws IOException {
+    List<QueuedRequest<RequestT, ResponseT>> pending = queuedRequests;
+    for (int attempt = 1; !pending.isEmpty(); attempt++) {
+      QuotaRetries retries = attempt < quotaLimiter.getMaxAttempts() ? new QuotaRetries() : null;
+      executeBatches(createBatches(pending, retries), retries);
+      if (retries == null) {
+        return;
+      }
+      pending = new ArrayList<>(retries.requests);
+    }
+  }
+
+  private void executeBatches(List<Batch> queuedBatches, @Nullable QuotaRetries retries)
+      throws IOException {
     if (queuedBatches.size() == 1) {
-      queuedBatches.get(0).execute();
+      executeBatch(queuedBatches.get(0), retries);
       return;
     }
 
     List<ListenableFuture<Void>> futures =
         queuedBatches.stream()
             .map(
-                batchRequest ->
+                batch ->
                     executor.submit(
-                        (Callable<Void>)
-                            () -> {
-                              batchRequest.execute();
-                              return null;
-                            }))
+                        RequestPriority.propagate(
+                            (Callable<Void>)
+                                () -> {
+                                  executeBatch(batch, retries);
+                                  return null;
+                                })))
             .collect(Collectors.toList());
     try {
       new FailFastFuture(futures, executor).get();
@@ -143,18 +195,48 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
-  private List<BatchRequest> createBatchRequests(
-      List<List<QueuedRequest<RequestT, ResponseT>>> requestPartitions) throws IOException {
+  private void executeBatch(Batch batch, @Nullable QuotaRetries retries) throws IOException {
+    quotaLimiter.acquire(project, batch.getApiFamily(), batch.getRequests().size());
+    try {
+      batch.getBatchRequest().execute();
+    } catch (com.google.api.client.http.HttpResponseException e) {
+      if (retries == null || e.getStatusCode() != TOO_MANY_REQUESTS) {
+        throw e;
+      }
+      // the whole batch was rejected, so none of its callbacks were called
+      quotaLimiter.onQuotaExceeded(project, batch.getApiFamily(), retryAfter(e.getHeaders()));
+      retries.requests.addAll(batch.getRequests());
+    }
+  }
+
+  private List<Batch> createBatches(
+      List<QueuedRequest<RequestT, ResponseT>> requests, @Nullable QuotaRetries retries)
+      throws IOException {
 
-    List<BatchRequest> queuedBatches = new ArrayList<>();
+    // quotas are kept per API family, so requests are only batched across families without them
+    Map<String, List<QueuedRequest<RequestT, ResponseT>>> requestsByApiFamily =
+        quotaLimiter.isEnabled()
+            ? requests.stream()
+                .collect(
+                    Collectors.groupingBy(
+                        QueuedRequest::getApiFamily, LinkedHashMap::new, Collectors.toList()))
+            : Collections.singletonMap(null, requests);
+
+    List<Batch> queuedBatches = new ArrayList<>();
 
     try {
-      requestPartitions.forEach(
-          partition -> {
-            BatchRequest batch = newBatch();
-            partition.forEach(
-                qr -> wrapIOException(() -> qr.getRequest().queue(batch, qr.getCallback())));
-            queuedBatches.add(batch);
+      requestsByApiFamily.forEach(
+          (apiFamily, familyRequests) -> {
+            for (List<QueuedRequest<RequestT, ResponseT>> partition :
+                partition(familyRequests, MAX_BATCH_SIZE)) {
+              BatchRequest batch = newBatch();
+              for (QueuedRequest<RequestT, ResponseT> qr : partition) {
+                JsonBatchCallback<ResponseT> callback =
+                    retries == null ? qr.getCallback() : retries.callbackFor(qr);
+                wrapIOException(() -> qr.getRequest().queue(batch, callback));
+              }
+              queuedBatches.add(new Batch(apiFamily, partition, batch));
+            }
           });
       return queuedBatches;
     } catch (UncheckedIOException e) {
@@ -184,11 +266,77 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
+  private static boolean isRateLimitError(GoogleJsonError error) {
+    if (error.getCode() == TOO_MANY_REQUESTS) {
+      return true;
+    }
+    return error.getCode() == HttpStatusCodes.STATUS_CODE_FORBIDDEN
+        && error.getErrors() != null
+        && error.getErrors().stream().anyMatch(e -> RATE_LIMIT_REASONS.contains(e.getReason()));
+  }
+
+  @Nullable
+  private static Duration retryAfter(@Nullable HttpHeaders headers) {
+    String retryAfter = headers == null ? null : headers.getRetryAfter();
+    if (retryAfter == null) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException e) {
+      // not a number of seconds, so it should be an HTTP date
+    }
+    try {
+      Instant until =
+          ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+      return Duration.between(Instant.now(), until);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
   @Value
   @AllArgsConstructor
   private static class QueuedRequest<RequestT extends ComputeRequest<ResponseT>, ResponseT> {
     private RequestT request;
     private JsonBatchCallback<ResponseT> callback;
+    private String apiFamily;
+  }
+
+  @Value
+  private class Batch {
+    /** The API family of the requests, or null if they are not limited. */
+    @Nullable private String apiFamily;
+    private List<QueuedRequest<RequestT, ResponseT>> requests;
+    private BatchRequest batchRequest;
+  }
+
+  /** The requests of one attempt that were rejected for exceeding the rate quota. */
+  private class QuotaRetries {
+    private final ConcurrentLinkedQueue<QueuedRequest<RequestT, ResponseT>> requests =
+        new ConcurrentLinkedQueue<>();
+
+    JsonBatchCallback<ResponseT> callbackFor(QueuedRequest<RequestT, ResponseT> queuedRequest) {
+      JsonBatchCallback<ResponseT> callback = queuedRequest.getCallback();
+      return new JsonBatchCallback<ResponseT>() {
+        @Override
+        public void onSuccess(ResponseT response, HttpHeaders responseHeaders) throws IOException {
+          callback.onSuccess(response, responseHeaders);
+        }
+
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders)
+            throws IOException {
+          if (!isRateLimitError(error)) {
+            callback.onFailure(error, responseHeaders);
+            return;
+          }
+          quotaLimiter.onQuotaExceeded(
+              project, queuedRequest.getApiFamily(), retryAfter(responseHeaders));
+          requests.add(queuedRequest);
+        }
+      };
+    }
   }
 
   private static class FailFastFuture extends AbstractFuture<Void> {
@@ -19,8 +19,10 @@ package com.netflix.spinnaker.clouddriver.google.compute;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Registry;
 import java.util.concurrent.Executors;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -38,4 +40,16 @@ public class ComputeConfiguration {
                 .setNameFormat(ComputeConfiguration.class.getSimpleName() + "-%d")
                 .build()));
   }
+
+  @Bean
+  @ConfigurationProperties("google.batch-quota")
+  public ComputeQuotaProperties computeQuotaProperties() {
+    return new ComputeQuotaProperties();
+  }
+
+  @Bean
+  public ComputeQuotaLimiter computeQuotaLimiter(
+      ComputeQuotaProperties computeQuotaProperties, Registry registry) {
+    return new ComputeQuotaLimiter(computeQuotaProperties, registry);
+  }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.api.services.compute.ComputeRequest;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmission;
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmissionProperties;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Token buckets for batched Compute requests, one per project and API family.
+ *
+ * <p>Each bucket starts at the configured rate. A quota error lowers the rate multiplicatively and
+ * stops the bucket for the duration of the Retry-After header (or a default pause); the rate then
+ * climbs back additively while no further quota errors are seen.
+ *
+ * <p>Unless admission is {@link PriorityAdmissionProperties.Policy#FIFO FIFO}, batches waiting for
+ * the same bucket reserve their permits one at a time, ordered by their {@link RequestPriority},
+ * so that deploys and on-demand cache updates are not queued behind caching agents. Batches wait
+ * for their permits after giving up their turn, so that the threads of the shared batch executor
+ * do not queue behind a batch that is waiting.
+ */
+public class ComputeQuotaLimiter {
+
+  private static final ComputeQuotaLimiter DISABLED =
+      new ComputeQuotaLimiter(new ComputeQuotaProperties(), new NoopRegistry());
+
+  private final ComputeQuotaProperties properties;
+  private final Registry registry;
+  private final LongSupplier nanoClock;
+  private final Sleeper sleeper;
+  private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+  public ComputeQuotaLimiter(ComputeQuotaProperties properties, Registry registry) {
+    this(
+        properties,
+        registry,
+        System::nanoTime,
+        nanos -> Uninterruptibles.sleepUninterruptibly(nanos, NANOSECONDS));
+  }
+
+  @VisibleForTesting
+  ComputeQuotaLimiter(
+      ComputeQuotaProperties properties,
+      Registry registry,
+      LongSupplier nanoClock,
+      Sleeper sleeper) {
+    this.properties = properties;
+    this.registry = registry;
+    this.nanoClock = nanoClock;
+    this.sleeper = sleeper;
+  }
+
+  static ComputeQuotaLimiter disabled() {
+    return DISABLED;
+  }
+
+  /** The API family whose quota a request counts against. */
+  static String apiFamily(ComputeRequest<?> request) {
+    if (!"GET".equals(request.getRequestMethod())) {
+      return "write";
+    }
+    return request.getClass().getSimpleName().endsWith("List") ? "list" : "read";
+  }
+
+  /** Whether requests are limited, in which case they are batched by API family. */
+  boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /** How many times a request may be sent, including the first attempt. */
+  int getMaxAttempts() {
+    return properties.isEnabled() ? Math.max(1, properties.getMaxAttempts()) : 1;
+  }
+
+  /** Blocks until {@code permits} requests may be sent for the project and API family. */
+  void acquire(String project, String apiFamily, int permits) {
+    acquire(project, apiFamily, permits, RequestPriority.current());
+  }
+
+  /**
+   * Blocks until {@code permits} requests of the given priority may be sent for the project and API
+   * family.
+   */
+  void acquire(String project, String apiFamily, int permits, RequestPriority priority) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    Bucket bucket = bucket(project, apiFamily);
+    long waitNanos;
+    if (bucket.admission == null) {
+      waitNanos = sleep(bucket.reserve(permits));
+    } else {
+      long start = nanoClock.getAsLong();
+      long reservedNanos;
+      bucket.admission.enter(priority);
+      try {
+        reservedNanos = bucket.reserve(permits);
+      } finally {
+        bucket.admission.exit();
+      }
+      waitNanos = nanoClock.getAsLong() - start + sleep(reservedNanos);
+    }
+    registry
+        .timer(
+            registry.createId(
+                "google.quota.throttleDelay",
+                "project",
+                project,
+                "apiFamily",
+                apiFamily,
+                "priority",
+                priority.name()))
+        .record(waitNanos, NANOSECONDS);
+  }
+
+  private long sleep(long waitNanos) {
+    if (waitNanos > 0) {
+      sleeper.sleep(waitNanos);
+    }
+    return waitNanos;
+  }
+
+  /** Records a quota error returned for a request of the project and API family. */
+  void onQuotaExceeded(String project, String apiFamily, @Nullable Duration retryAfter) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    registry
+        .counter(
+            registry.createId("google.quota.exceeded", "project", project, "apiFamily", apiFamily))
+        .increment();
+    bucket(project, apiFamily).onQuotaExceeded(retryAfter);
+  }
+
+  @VisibleForTesting
+  double getRate(String project, String apiFamily) {
+    return bucket(project, apiFamily).currentRate();
+  }
+
+  private Bucket bucket(String project, String apiFamily) {
+    return buckets.computeIfAbsent(new BucketKey(project, apiFamily), key -> new Bucket());
+  }
+
+  @FunctionalInterface
+  interface Sleeper {
+    void sleep(long nanos);
+  }
+
+  @Value
+  private static class BucketKey {
+    String project;
+    String apiFamily;
+  }
+
+  private class Bucket {
+    private final double maxRate = properties.getPermitsPerSecond();
+    private final double minRate = Math.min(maxRate, properties.getMinPermitsPerSecond());
+    private final long cooldownNanos =
+        MILLISECONDS.toNanos(properties.getDecreaseCooldownMillis());
+
+    private double rate = maxRate;
+    private long lastAdjusted = nanoClock.getAsLong();
+    private long lastDecrease = lastAdjusted - cooldownNanos;
+    private long nextFree = lastAdjusted;
+
+    /** Orders the batches waiting for this bucket, or null if they reserve in arrival order. */
+    @Nullable
+    private final PriorityAdmission admission = PriorityAdmission.of(properties.getAdmission());
+
+    /**
+     * Reserves the permits and returns how long the caller has to wait before using them. Like
+     * Guava's RateLimiter, the cost of a reservation is paid by the next caller, so a single large
+     * batch is never delayed by its own size.
+     */
+    synchronized long reserve(int permits) {
+      long now = nanoClock.getAsLong();
+      recover(now);
+      long start = Math.max(nextFree, now);
+      nextFree = start + (long) (permits * 1e9 / rate);
+      return start - now;
+    }
+
+    synchronized void onQuotaExceeded(@Nullable Duration retryAfter) {
+      long now = nanoClock.getAsLong();
+      recover(now);
+      if (now - lastDecrease >= cooldownNanos) {
+        rate = Math.max(minRate, rate * properties.getDecreaseFactor());
+        lastDecrease = now;
+      }
+      long pauseMillis =
+          retryAfter == null
+              ? properties.getDefaultRetryAfterMillis()
+              : Math.min(retryAfter.toMillis(), properties.getMaxRetryAfterMillis());
+      nextFree = Math.max(nextFree, now + MILLISECONDS.toNanos(Math.max(0, pauseMillis)));
+    }
+
+    synchronized double currentRate() {
+      recover(nanoClock.getAsLong());
+      return rate;
+    }
+
+    private void recover(long now) {
+      double elapsedSeconds = (now - lastAdjusted) / 1e9;
+      rate = Math.min(maxRate, rate + elapsedSeconds * properties.getIncreasePerSecond());
+      lastAdjusted = now;
+    }
+  }
+}
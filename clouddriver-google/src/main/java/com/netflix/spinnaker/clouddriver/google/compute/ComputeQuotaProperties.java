@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmissionProperties;
+import lombok.Data;
+
+/**
+ * Rate control for batched Compute requests, applied per project and API family (reads, lists and
+ * writes are subject to separate quotas).
+ */
+@Data
+public class ComputeQuotaProperties {
+
+  /** Whether batches are rate limited and sub-requests that exceed the quota are retried. */
+  private boolean enabled = false;
+
+  /** Requests per second allowed for a project and API family while no quota errors are seen. */
+  private double permitsPerSecond = 20;
+
+  /** Lower bound for the rate after quota errors. */
+  private double minPermitsPerSecond = 1;
+
+  /** Factor applied to the current rate when a quota error is returned. */
+  private double decreaseFactor = 0.5;
+
+  /** Requests per second added back to the current rate for every second. */
+  private double increasePerSecond = 1;
+
+  /**
+   * Quota errors that arrive within this many milliseconds of a decrease are attributed to requests
+   * that were already in flight, and do not lower the rate further.
+   */
+  private long decreaseCooldownMillis = 1000;
+
+  /** How long to stop sending requests after a quota error without a Retry-After header. */
+  private long defaultRetryAfterMillis = 1000;
+
+  /** Upper bound for the pause requested by a Retry-After header. */
+  private long maxRetryAfterMillis = 60000;
+
+  /** How many times a sub-request is sent before its quota error is passed to the caller. */
+  private int maxAttempts = 4;
+
+  /** How batches waiting for the same bucket are ordered. */
+  private PriorityAdmissionProperties admission = new PriorityAdmissionProperties();
+}
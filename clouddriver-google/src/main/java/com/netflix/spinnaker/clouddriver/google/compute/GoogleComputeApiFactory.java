@@ -33,6 +33,20 @@ public class GoogleComputeApiFactory {
   private final Registry registry;
   private String clouddriverUserAgentApplicationName;
   private ListeningExecutorService batchExecutor;
+  private ComputeQuotaLimiter quotaLimiter;
+
+  public GoogleComputeApiFactory(
+      GoogleOperationPoller operationPoller,
+      Registry registry,
+      String clouddriverUserAgentApplicationName,
+      ListeningExecutorService batchExecutor) {
+    this(
+        operationPoller,
+        registry,
+        clouddriverUserAgentApplicationName,
+        batchExecutor,
+        ComputeQuotaLimiter.disabled());
+  }
 
   @Autowired
   public GoogleComputeApiFactory(
@@ -40,11 +54,13 @@ public class GoogleComputeApiFactory {
       Registry registry,
       String clouddriverUserAgentApplicationName,
       @Qualifier(ComputeConfiguration.BATCH_REQUEST_EXECUTOR)
-          ListeningExecutorService batchExecutor) {
+          ListeningExecutorService batchExecutor,
+      ComputeQuotaLimiter quotaLimiter) {
     this.operationPoller = operationPoller;
     this.registry = registry;
     this.clouddriverUserAgentApplicationName = clouddriverUserAgentApplicationName;
     this.batchExecutor = batchExecutor;
+    this.quotaLimiter = quotaLimiter;
   }
 
   public Images createImages(GoogleNamedAccountCredentials credentials) {
@@ -90,7 +106,12 @@ public class GoogleComputeApiFactory {
       BatchComputeRequest<RequestT, ResponseT> createBatchRequest(
           GoogleNamedAccountCredentials credentials) {
     return new BatchComputeRequestImpl<>(
-        credentials.getCompute(), registry, clouddriverUserAgentApplicationName, batchExecutor);
+        credentials.getCompute(),
+        registry,
+        clouddriverUserAgentApplicationName,
+        batchExecutor,
+        credentials.getProject(),
+        quotaLimiter);
   }
 
   public <ComputeRequestT extends ComputeRequest<ResponseT>, ResponseT, ItemT>
@@ -39,8 +39,13 @@ import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.Tag;
 import com.netflix.spectator.api.Timer;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import org.apache.http.client.HttpResponseException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,10 +59,12 @@ public class BatchComputeRequestImplTest {
   private static final String BATCH_CONTENT_TYPE = "multipart/mixed; boundary=" + MIME_BOUNDARY;
 
   private Registry registry;
+  private List<String> requestBodies;
 
   @BeforeEach
   public void setUp() {
     registry = new DefaultRegistry();
+    requestBodies = new ArrayList<>();
   }
 
   @Test
@@ -324,6 +331,97 @@ public class BatchComputeRequestImplTest {
     assertThat(counter.actualCount()).isEqualTo(55);
   }
 
+  @Test
+  public void retriesOnlyRateLimitedRequests() throws IOException {
+
+    StringBuilder responseContent = new StringBuilder();
+    appendSuccessResponse(responseContent);
+    appendRateLimitResponse(responseContent, 429, "rateLimitExceeded");
+    appendSuccessResponse(responseContent);
+    appendRateLimitResponse(responseContent, 403, "userRateLimitExceeded");
+    appendSuccessResponse(responseContent);
+    responseContent.append(MIME_END);
+
+    Compute compute =
+        computeWithResponses(
+            () -> batchResponse(responseContent.toString()), () -> successBatchResponse(2));
+
+    List<Long> sleeps = new ArrayList<>();
+    BatchComputeRequest<Get, Image> batchRequest = quotaLimitedBatchRequest(compute, sleeps);
+
+    CountResponses responses = new CountResponses();
+    for (int i = 0; i < 5; ++i) {
+      batchRequest.queue(request(compute), responses);
+    }
+
+    batchRequest.execute("batchContext");
+
+    assertThat(responses.successes).hasValue(5);
+    assertThat(responses.failures).hasValue(0);
+    assertThat(requestBodies).hasSize(2);
+    assertThat(countParts(requestBodies.get(1))).isEqualTo(2);
+    assertThat(sleeps).isNotEmpty();
+  }
+
+  @Test
+  public void passesRateLimitErrorsToCallbackOnLastAttempt() throws IOException {
+
+    ResponseSupplier rateLimited =
+        () -> {
+          StringBuilder responseContent = new StringBuilder();
+          appendSuccessResponse(responseContent);
+          appendRateLimitResponse(responseContent, 429, "rateLimitExceeded");
+          return batchResponse(responseContent.append(MIME_END).toString());
+        };
+    ResponseSupplier stillRateLimited =
+        () -> {
+          StringBuilder responseContent = new StringBuilder();
+          appendRateLimitResponse(responseContent, 429, "rateLimitExceeded");
+          return batchResponse(responseContent.append(MIME_END).toString());
+        };
+    Compute compute = computeWithResponses(rateLimited, stillRateLimited);
+
+    BatchComputeRequest<Get, Image> batchRequest =
+        quotaLimitedBatchRequest(compute, new ArrayList<>());
+
+    CountResponses responses = new CountResponses();
+    batchRequest.queue(request(compute), responses);
+    batchRequest.queue(request(compute), responses);
+
+    batchRequest.execute("batchContext");
+
+    assertThat(responses.successes).hasValue(1);
+    assertThat(responses.failures).hasValue(1);
+    assertThat(requestBodies).hasSize(2);
+  }
+
+  @Test
+  public void retriesRateLimitedBatches() throws IOException {
+
+    Compute compute =
+        computeWithResponses(
+            () ->
+                new MockLowLevelHttpResponse()
+                    .setStatusCode(429)
+                    .addHeader("Retry-After", "3")
+                    .setContent("Rate Limit Exceeded"),
+            () -> successBatchResponse(3));
+
+    List<Long> sleeps = new ArrayList<>();
+    BatchComputeRequest<Get, Image> batchRequest = quotaLimitedBatchRequest(compute, sleeps);
+
+    CountResponses responses = new CountResponses();
+    for (int i = 0; i < 3; ++i) {
+      batchRequest.queue(request(compute), responses);
+    }
+
+    batchRequest.execute("batchContext");
+
+    assertThat(responses.successes).hasValue(3);
+    assertThat(responses.failures).hasValue(0);
+    assertThat(sleeps).containsExactly(3_000_000_000L);
+  }
+
   private static GoogleComputeRequest<Compute.Images.Get, Image> request(Compute compute)
       throws IOException {
     return new GoogleComputeRequestImpl<>(
@@ -333,18 +431,40 @@ public class BatchComputeRequestImplTest {
         /* tags= */ ImmutableMap.of());
   }
 
+  private BatchComputeRequest<Get, Image> quotaLimitedBatchRequest(
+      Compute compute, List<Long> sleeps) {
+    ComputeQuotaProperties properties = new ComputeQuotaProperties();
+    properties.setEnabled(true);
+    properties.setMaxAttempts(2);
+    properties.setDefaultRetryAfterMillis(0);
+    // a fixed clock, so that every wait shows up as a sleep
+    ComputeQuotaLimiter quotaLimiter =
+        new ComputeQuotaLimiter(properties, registry, () -> 0L, sleeps::add);
+    return new BatchComputeRequestImpl<>(
+        compute,
+        registry,
+        USER_AGENT,
+        MoreExecutors.newDirectExecutorService(),
+        "project",
+        quotaLimiter);
+  }
+
+  private static int countParts(String requestBody) {
+    return (int) Pattern.compile("^GET ", Pattern.MULTILINE).matcher(requestBody).results().count();
+  }
+
   @FunctionalInterface
   private interface ResponseSupplier {
 
     LowLevelHttpResponse getResponse() throws IOException;
   }
 
-  private static Compute computeWithResponses(ResponseSupplier... responses) {
+  private Compute computeWithResponses(ResponseSupplier... responses) {
     return new Compute(
         responses(responses), GsonFactory.getDefaultInstance(), /* httpRequestInitializer= */ null);
   }
 
-  private static HttpTransport responses(ResponseSupplier... responses) {
+  private HttpTransport responses(ResponseSupplier... responses) {
     return new HttpTransport() {
       private AtomicInteger requests = new AtomicInteger(0);
 
@@ -367,6 +487,11 @@ public class BatchComputeRequestImplTest {
 
           @Override
           public LowLevelHttpResponse execute() throws IOException {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            if (getStreamingContent() != null) {
+              getStreamingContent().writeTo(content);
+            }
+            requestBodies.add(content.toString(StandardCharsets.UTF_8));
             return response.getResponse();
           }
         };
@@ -413,6 +538,22 @@ public class BatchComputeRequestImplTest {
         .append("{}\n\n");
   }
 
+  private static void appendRateLimitResponse(StringBuilder sb, int code, String reason) {
+    sb.append(MIME_PART_START)
+        .append("Content-Type: application/http\n")
+        .append('\n')
+        .append("HTTP/1.1 ")
+        .append(code)
+        .append(" Rate Limit Exceeded\n")
+        .append("Content-Type: application/json\n")
+        .append("\n")
+        .append("{\"error\":{\"code\":")
+        .append(code)
+        .append(",\"message\":\"Rate Limit Exceeded\",\"errors\":[{\"reason\":\"")
+        .append(reason)
+        .append("\"}]}}\n\n");
+  }
+
   private static class CountResponses extends JsonBatchCallback<Image> {
     AtomicInteger successes = new AtomicInteger();
     AtomicInteger failures = new AtomicInteger();
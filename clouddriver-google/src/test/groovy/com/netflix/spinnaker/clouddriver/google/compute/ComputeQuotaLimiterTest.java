@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.services.compute.Compute;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Timer;
+import com.netflix.spinnaker.clouddriver.core.limits.PriorityAdmissionProperties;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ComputeQuotaLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private Registry registry;
+  private AtomicLong clock;
+  private List<Long> sleeps;
+  private ComputeQuotaProperties properties;
+
+  @BeforeEach
+  public void setUp() {
+    registry = new DefaultRegistry();
+    clock = new AtomicLong();
+    sleeps = new ArrayList<>();
+    properties = new ComputeQuotaProperties();
+    properties.setEnabled(true);
+    properties.setPermitsPerSecond(10);
+    properties.setMinPermitsPerSecond(2);
+  }
+
+  @Test
+  public void doesNothingWhenDisabled() {
+    properties.setEnabled(false);
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.acquire("project", "read", 100);
+    limiter.acquire("project", "read", 100);
+    limiter.onQuotaExceeded("project", "read", Duration.ofMinutes(1));
+
+    assertThat(sleeps).isEmpty();
+    assertThat(limiter.getMaxAttempts()).isEqualTo(1);
+    assertThat(registry.timers()).isEmpty();
+  }
+
+  @Test
+  public void spacesRequestsAtConfiguredRate() {
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.acquire("project", "read", 5);
+    limiter.acquire("project", "read", 5);
+
+    assertThat(sleeps).containsExactly(SECOND / 2);
+  }
+
+  @Test
+  public void prioritizedAdmissionKeepsTheRateAndRecordsDelayPerPriority() {
+    properties.getAdmission().setPolicy(PriorityAdmissionProperties.Policy.STRICT);
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.acquire("project", "read", 5, RequestPriority.BACKGROUND);
+    limiter.acquire("project", "read", 5, RequestPriority.MUTATION);
+
+    assertThat(sleeps).containsExactly(SECOND / 2);
+    assertThat(throttleDelay(RequestPriority.BACKGROUND).totalTime()).isEqualTo(0);
+    assertThat(throttleDelay(RequestPriority.MUTATION).totalTime()).isEqualTo(SECOND / 2);
+  }
+
+  @Test
+  public void prioritizedAdmissionGivesUpTheTurnBeforeSleeping() {
+    properties.getAdmission().setPolicy(PriorityAdmissionProperties.Policy.STRICT);
+    ExecutorService otherThread = Executors.newSingleThreadExecutor();
+    AtomicReference<ComputeQuotaLimiter> limiter = new AtomicReference<>();
+    limiter.set(
+        new ComputeQuotaLimiter(
+            properties,
+            registry,
+            clock::get,
+            nanos -> {
+              sleeps.add(nanos);
+              if (sleeps.size() == 1) {
+                // would time out if the sleeping batch still held the turn
+                try {
+                  otherThread
+                      .submit(
+                          () ->
+                              limiter.get().acquire("project", "read", 5, RequestPriority.MUTATION))
+                      .get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                  throw new AssertionError(e);
+                }
+              }
+            }));
+
+    try {
+      limiter.get().acquire("project", "read", 5, RequestPriority.BACKGROUND);
+      limiter.get().acquire("project", "read", 5, RequestPriority.BACKGROUND);
+    } finally {
+      otherThread.shutdownNow();
+    }
+
+    assertThat(sleeps).containsExactly(SECOND / 2, SECOND);
+  }
+
+  @Test
+  public void bucketsAreSeparatePerProjectAndApiFamily() {
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.acquire("project", "read", 10);
+    limiter.acquire("project", "list", 10);
+    limiter.acquire("other-project", "read", 10);
+
+    assertThat(sleeps).isEmpty();
+  }
+
+  @Test
+  public void decreasesRateOnQuotaErrorsAndRecovers() {
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.onQuotaExceeded("project", "read", null);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(5);
+
+    // in-flight requests failing right after the decrease do not lower the rate again
+    limiter.onQuotaExceeded("project", "read", null);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(5);
+
+    clock.addAndGet(2 * SECOND);
+    limiter.onQuotaExceeded("project", "read", null);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(3.5);
+
+    clock.addAndGet(2 * SECOND);
+    limiter.onQuotaExceeded("project", "read", null);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(2.75);
+
+    clock.addAndGet(2 * SECOND);
+    limiter.onQuotaExceeded("project", "read", null);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(2.375);
+
+    clock.addAndGet(60 * SECOND);
+    assertThat(limiter.getRate("project", "read")).isEqualTo(10);
+    assertThat(
+            registry
+                .counter("google.quota.exceeded", "project", "project", "apiFamily", "read")
+                .count())
+        .isEqualTo(5);
+  }
+
+  @Test
+  public void honorsRetryAfter() {
+    properties.setMaxRetryAfterMillis(10_000);
+    ComputeQuotaLimiter limiter = limiter();
+
+    limiter.onQuotaExceeded("project", "read", Duration.ofSeconds(3));
+    limiter.acquire("project", "read", 1);
+    assertThat(sleeps).containsExactly(3 * SECOND);
+
+    clock.addAndGet(10 * SECOND);
+    sleeps.clear();
+    limiter.onQuotaExceeded("project", "read", Duration.ofMinutes(5));
+    limiter.acquire("project", "read", 1);
+    assertThat(sleeps).containsExactly(10 * SECOND);
+  }
+
+  @Test
+  public void classifiesRequestsByApiFamily() throws IOException {
+    Compute compute =
+        new Compute(
+            new MockHttpTransport(),
+            GsonFactory.getDefaultInstance(),
+            /* httpRequestInitializer= */ null);
+
+    assertThat(ComputeQuotaLimiter.apiFamily(compute.images().get("project", "image")))
+        .isEqualTo("read");
+    assertThat(ComputeQuotaLimiter.apiFamily(compute.images().list("project"))).isEqualTo("list");
+    assertThat(ComputeQuotaLimiter.apiFamily(compute.instances().aggregatedList("project")))
+        .isEqualTo("list");
+    assertThat(ComputeQuotaLimiter.apiFamily(compute.images().delete("project", "image")))
+        .isEqualTo("write");
+  }
+
+  private Timer throttleDelay(RequestPriority priority) {
+    return registry.timer(
+        "google.quota.throttleDelay",
+        "project",
+        "project",
+        "apiFamily",
+        "read",
+        "priority",
+        priority.name());
+  }
+
+  private ComputeQuotaLimiter limiter() {
+    return new ComputeQuotaLimiter(properties, registry, clock::get, sleeps::add);
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.artifact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.netflix.spinnaker.clouddriver.kubernetes.artifact.ReplacerPath.Step;
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a set of {@link Replacer}s to a manifest in a single walk of its tree.
+ *
+ * <p>The replacer paths are compiled once. While walking the manifest, the engine tracks which
+ * steps of which replacer paths each node is reached by, and collects the nodes matching each
+ * placeholder. The value under each placeholder is then looked up in an index of the artifacts by
+ * type and name, rather than evaluating a JsonPath per artifact against the whole manifest.
+ *
+ * <p>The result is the same as replacing the artifacts one at a time in order with each replacer
+ * in turn: a value replaced by an artifact can be replaced again by a later artifact whose name
+ * matches the new value.
+ */
+@NonnullByDefault
+final class ArtifactReplacementEngine {
+  private static final Logger log = LoggerFactory.getLogger(ArtifactReplacementEngine.class);
+  private static final String MATCH_NAME_ONLY = "match-name-only";
+
+  private final ImmutableList<Replacer> replacers;
+
+  ArtifactReplacementEngine(ImmutableList<Replacer> replacers) {
+    this.replacers = replacers;
+  }
+
+  /**
+   * Replaces the artifacts in the manifest in place.
+   *
+   * @return the artifacts that were bound to the manifest
+   */
+  ImmutableSet<Artifact> replaceAll(
+      String dockerImageBinding, JsonNode manifest, List<Artifact> artifacts) {
+    boolean matchNameOnly = MATCH_NAME_ONLY.equals(dockerImageBinding);
+    List<List<JsonNode>> placeholders = findPlaceholders(manifest);
+
+    Map<String, Map<String, int[]>> artifactsByTypeAndName = index(artifacts);
+    boolean[][] replaced = new boolean[replacers.size()][artifacts.size()];
+    for (int r = 0; r < replacers.size(); r++) {
+      Replacer replacer = replacers.get(r);
+      Map<String, int[]> artifactsByName =
+          artifactsByTypeAndName.getOrDefault(replacer.getType().getType(), Map.of());
+      if (artifactsByName.isEmpty()) {
+        continue;
+      }
+      for (JsonNode placeholder : placeholders.get(r)) {
+        if (replacer.matchesFindFilter(placeholder)) {
+          replaceAt(replacer, placeholder, matchNameOnly, artifacts, artifactsByName, replaced[r]);
+        }
+      }
+    }
+
+    ImmutableSet.Builder<Artifact> boundArtifacts = ImmutableSet.builder();
+    for (boolean[] replacedByReplacer : replaced) {
+      for (int a = 0; a < artifacts.size(); a++) {
+        if (replacedByReplacer[a]) {
+          boundArtifacts.add(artifacts.get(a));
+        }
+      }
+    }
+    return boundArtifacts.build();
+  }
+
+  /** Maps the artifact types and names to the positions of the artifacts, in increasing order. */
+  private static Map<String, Map<String, int[]>> index(List<Artifact> artifacts) {
+    Map<String, Map<String, List<Integer>>> positions = new HashMap<>();
+    for (int a = 0; a < artifacts.size(); a++) {
+      Artifact artifact = artifacts.get(a);
+      if (artifact.getName() != null) {
+        positions
+            .computeIfAbsent(artifact.getType(), t -> new HashMap<>())
+            .computeIfAbsent(artifact.getName(), n -> new ArrayList<>())
+            .add(a);
+      }
+    }
+
+    Map<String, Map<String, int[]>> index = new HashMap<>();
+    positions.forEach(
+        (type, byName) -> {
+          Map<String, int[]> names = new HashMap<>();
+          byName.forEach((name, p) -> names.put(name, p.stream().mapToInt(i -> i).toArray()));
+          index.put(type, names);
+        });
+    return index;
+  }
+
+  private static void replaceAt(
+      Replacer replacer,
+      JsonNode placeholder,
+      boolean matchNameOnly,
+      List<Artifact> artifacts,
+      Map<String, int[]> artifactsByName,
+      boolean[] replaced) {
+    ObjectNode parent = replacer.getReplacedFieldParent(placeholder);
+    if (parent == null) {
+      return;
+    }
+    String field = replacer.getReplacedFieldName();
+    JsonNode value = parent.get(field);
+
+    int last = -1;
+    while (value != null && value.isTextual()) {
+      String name =
+          matchNameOnly ? value.asText() : replacer.nameFromReference(value.asText());
+      int next = nextCandidate(artifactsByName.get(name), last);
+      if (next < 0) {
+        break;
+      }
+      Artifact artifact = artifacts.get(next);
+      log.info("Found valid swap for {} under {}: {}", artifact, field, value);
+      value = JsonNodeFactory.instance.textNode(artifact.getReference());
+      parent.set(field, value);
+      replaced[next] = true;
+      last = next;
+    }
+  }
+
+  private static int nextCandidate(int[] candidates, int after) {
+    if (candidates != null) {
+      for (int candidate : candidates) {
+        if (candidate > after) {
+          return candidate;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /** Walks the manifest once, collecting the nodes matching the placeholder of each replacer. */
+  private List<List<JsonNode>> findPlaceholders(JsonNode manifest) {
+    List<List<JsonNode>> placeholders = new ArrayList<>();
+    List<Set<JsonNode>> seen = new ArrayList<>();
+    Set<State> initial = new LinkedHashSet<>();
+    for (int r = 0; r < replacers.size(); r++) {
+      placeholders.add(new ArrayList<>());
+      seen.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+      initial.add(new State(r, 0));
+    }
+    walk(manifest, initial, placeholders, seen);
+    return placeholders;
+  }
+
+  private void walk(
+      JsonNode node,
+      Set<State> states,
+      List<List<JsonNode>> placeholders,
+      List<Set<JsonNode>> seen) {
+    List<State> descending = new ArrayList<>();
+    for (State state : states) {
+      List<Step> steps = replacers.get(state.getReplacer()).getPlaceholderPath().getSteps();
+      if (state.getStep() == steps.size()) {
+        // the placeholder matches the elements of an array, or an object itself
+        if (node.isArray()) {
+          node.forEach(element -> addPlaceholder(state, element, placeholders, seen));
+        } else if (node.isObject()) {
+          addPlaceholder(state, node, placeholders, seen);
+        }
+      } else {
+        descending.add(state);
+      }
+    }
+    if (descending.isEmpty()) {
+      return;
+    }
+
+    if (node.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        Set<State> childStates = new LinkedHashSet<>();
+        for (State state : descending) {
+          Step step = stepOf(state);
+          switch (step.getType()) {
+            case DEEP_SCAN:
+              childStates.add(state);
+              if (step.getNames().contains(field.getKey())) {
+                childStates.add(state.next());
+              }
+              break;
+            case PROPERTIES:
+              if (step.getNames().contains(field.getKey())) {
+                childStates.add(state.next());
+              }
+              break;
+            case WILDCARD:
+              childStates.add(state.next());
+              break;
+          }
+        }
+        walkChild(field.getValue(), childStates, placeholders, seen);
+      }
+    } else if (node.isArray()) {
+      Set<State> childStates = new LinkedHashSet<>();
+      for (State state : descending) {
+        switch (stepOf(state).getType()) {
+          case DEEP_SCAN:
+            childStates.add(state);
+            break;
+          case WILDCARD:
+            childStates.add(state.next());
+            break;
+          default:
+            // properties only match objects
+        }
+      }
+      for (JsonNode element : node) {
+        walkChild(element, childStates, placeholders, seen);
+      }
+    }
+  }
+
+  private void walkChild(
+      JsonNode child,
+      Set<State> states,
+      List<List<JsonNode>> placeholders,
+      List<Set<JsonNode>> seen) {
+    if (!states.isEmpty() && child.isContainerNode()) {
+      walk(child, states, placeholders, seen);
+    }
+  }
+
+  private Step stepOf(State state) {
+    return replacers.get(state.getReplacer()).getPlaceholderPath().getSteps().get(state.getStep());
+  }
+
+  private static void addPlaceholder(
+      State state, JsonNode node, List<List<JsonNode>> placeholders, List<Set<JsonNode>> seen) {
+    if (seen.get(state.getReplacer()).add(node)) {
+      placeholders.get(state.getReplacer()).add(node);
+    }
+  }
+
+  /** The next step to match of the path of a replacer. */
+  @Value
+  private static class State {
+    int replacer;
+    int step;
+
+    State next() {
+      return new State(replacer, step + 1);
+    }
+  }
+}
@@ -21,9 +21,9 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.jayway.jsonpath.Configuration;
@@ -33,7 +33,6 @@ import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
-import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
@@ -56,9 +55,11 @@ public class ArtifactReplacer {
           .build();
 
   private final ImmutableList<Replacer> replacers;
+  private final ArtifactReplacementEngine replacementEngine;
 
   public ArtifactReplacer(Collection<Replacer> replacers) {
     this.replacers = ImmutableList.copyOf(replacers);
+    this.replacementEngine = new ArtifactReplacementEngine(this.replacers);
   }
 
   private static ImmutableList<Artifact> filterArtifacts(
@@ -94,26 +95,16 @@ public class ArtifactReplacer {
       @Nonnull String namespace,
       @Nonnull String account) {
     log.debug("Doing replacement on {} using {}", input, artifacts);
-    DocumentContext document;
-    try {
-      document = JsonPath.using(configuration).parse(mapper.writeValueAsString(input));
-    } catch (JsonProcessingException e) {
-      throw new UncheckedIOException("Malformed manifest", e);
-    }
+    JsonNode document = mapper.valueToTree(input);
 
     ImmutableList<Artifact> filteredArtifacts = filterArtifacts(namespace, account, artifacts);
-    ImmutableSet.Builder<Artifact> replacedArtifacts = ImmutableSet.builder();
-    for (Replacer replacer : replacers) {
-      ImmutableCollection<Artifact> replaced =
-          replacer.replaceArtifacts(dockerImageBinding, document, filteredArtifacts);
-      replacedArtifacts.addAll(replaced);
-    }
+    ImmutableSet<Artifact> replacedArtifacts =
+        replacementEngine.replaceAll(dockerImageBinding, document, filteredArtifacts);
 
     try {
       return new ReplaceResult(
-          mapper.readValue(document.jsonString(), KubernetesManifest.class),
-          replacedArtifacts.build());
-    } catch (IOException e) {
+          mapper.treeToValue(document, KubernetesManifest.class), replacedArtifacts);
+    } catch (JsonProcessingException e) {
       throw new UncheckedIOException("Malformed manifest", e);
     }
   }
@@ -22,14 +22,16 @@ import static com.jayway.jsonpath.Filter.filter;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.Filter;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.filter.ValueNode;
 import com.netflix.spinnaker.clouddriver.artifacts.kubernetes.KubernetesArtifactType;
 import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
@@ -38,6 +40,7 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import lombok.AccessLevel;
@@ -51,6 +54,9 @@ public final class Replacer {
   private static final Logger log = LoggerFactory.getLogger(Replacer.class);
 
   private final KubernetesArtifactType type;
+  private final ReplacerPath placeholderPath;
+  private final ImmutableList<String> replaceFields;
+  @Nullable private final Predicate<JsonNode> findFilter;
   private final JsonPath findPath;
   private final Function<Artifact, JsonPath> replacePathSupplier;
   private final Function<Artifact, JsonPath> legacyReplacePathSupplier;
@@ -60,8 +66,8 @@ public final class Replacer {
    * @param type the type of artifact this replacer handles
    * @param path a string representing a JsonPath expression containing a single [?] placeholder
    *     representing a filter
-   * @param findFilter a filter that should be applied to the path when finding any artifacts in a
-   *     manifest; defaults to a filter matching all nodes
+   * @param findFilter a filter that should be applied to the nodes matching the placeholder when
+   *     finding any artifacts in a manifest; defaults to a filter matching all nodes
    * @param legacyReplaceFilter a function that takes an artifact and returns the filter that should
    *     be applied to the path when replacing artifacts; if a findFilter is supplied both the
    *     findFilter and replaceFilter must match for the artifact to be replaced
@@ -74,7 +80,7 @@ public final class Replacer {
   private Replacer(
       KubernetesArtifactType type,
       String path,
-      @Nullable Filter findFilter,
+      @Nullable Predicate<JsonNode> findFilter,
       Function<Artifact, Filter> legacyReplaceFilter,
       String replacePathFromPlaceholder,
       @Nullable Function<String, String> nameFromReference) {
@@ -82,14 +88,19 @@ public final class Replacer {
     Objects.requireNonNull(path);
     Objects.requireNonNull(replacePathFromPlaceholder);
     this.nameFromReference = Optional.ofNullable(nameFromReference).orElse(a -> a);
+    this.placeholderPath = ReplacerPath.compile(path, replacePathFromPlaceholder);
+    this.replaceFields = ImmutableList.copyOf(Splitter.on('.').split(replacePathFromPlaceholder));
+    this.findFilter = findFilter;
     Function<Artifact, Filter> replaceFilter =
         a -> filter(createReplaceFilterPredicate(replacePathFromPlaceholder, a.getName()));
     if (findFilter != null) {
-      this.findPath = JsonPath.compile(path, findFilter);
+      Filter jsonPathFindFilter =
+          filter(ctx -> ctx.item() instanceof JsonNode && findFilter.test((JsonNode) ctx.item()));
+      this.findPath = JsonPath.compile(path, jsonPathFindFilter);
       this.replacePathSupplier =
-          a -> JsonPath.compile(path, replaceFilter.apply(a).and(findFilter));
+          a -> JsonPath.compile(path, replaceFilter.apply(a).and(jsonPathFindFilter));
       this.legacyReplacePathSupplier =
-          a -> JsonPath.compile(path, legacyReplaceFilter.apply(a).and(findFilter));
+          a -> JsonPath.compile(path, legacyReplaceFilter.apply(a).and(jsonPathFindFilter));
     } else {
       this.findPath = JsonPath.compile(path, filter(a -> true));
       this.replacePathSupplier = a -> JsonPath.compile(path, replaceFilter.apply(a));
@@ -109,6 +120,47 @@ public final class Replacer {
                     .build());
   }
 
+  KubernetesArtifactType getType() {
+    return type;
+  }
+
+  ReplacerPath getPlaceholderPath() {
+    return placeholderPath;
+  }
+
+  boolean matchesFindFilter(JsonNode placeholder) {
+    return findFilter == null || findFilter.test(placeholder);
+  }
+
+  /**
+   * Returns the object holding the replaced field under the given placeholder, and the name of that
+   * field, or null if there is no such field.
+   */
+  @Nullable
+  ObjectNode getReplacedFieldParent(JsonNode placeholder) {
+    JsonNode node = placeholder;
+    for (String field : replaceFields.subList(0, replaceFields.size() - 1)) {
+      node = node.get(field);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node instanceof ObjectNode ? (ObjectNode) node : null;
+  }
+
+  String getReplacedFieldName() {
+    return replaceFields.get(replaceFields.size() - 1);
+  }
+
+  String nameFromReference(String reference) {
+    return nameFromReference.apply(reference);
+  }
+
+  /**
+   * Replaces the artifacts by evaluating a JsonPath per artifact against the whole document.
+   * {@link ArtifactReplacementEngine} replaces them in a single pass instead; this is kept as the
+   * reference the engine is checked against.
+   */
   ImmutableCollection<Artifact> replaceArtifacts(
       String dockerImageBinding, DocumentContext obj, Collection<Artifact> artifacts) {
     ImmutableSet.Builder<Artifact> replacedArtifacts = ImmutableSet.builder();
@@ -121,7 +173,8 @@ public final class Replacer {
     return replacedArtifacts.build();
   }
 
-  private Predicate createReplaceFilterPredicate(String replacePath, String name) {
+  private com.jayway.jsonpath.Predicate createReplaceFilterPredicate(
+      String replacePath, String name) {
     return ctx -> {
       ValueNode node = ValueNode.toValueNode("@." + replacePath).asPathNode().evaluate(ctx);
       if (!node.isStringNode()) {
@@ -266,9 +319,7 @@ public final class Replacer {
   private static final Replacer HPA_DEPLOYMENT =
       builder()
           .path("$[?].spec.scaleTargetRef.name")
-          .findFilter(
-              filter(where("spec.scaleTargetRef.kind").is("Deployment"))
-                  .or(where("spec.scaleTargetRef.kind").is("deployment")))
+          .findFilter(scaleTargetKindIn("Deployment", "deployment"))
           .legacyReplaceFilter(a -> filter(where("spec.scaleTargetRef.name").is(a.getName())))
           .replacePathFromPlaceholder("spec.scaleTargetRef.name")
           .type(KubernetesArtifactType.Deployment)
@@ -276,14 +327,20 @@ public final class Replacer {
   private static final Replacer HPA_REPLICA_SET =
       builder()
           .path("$[?].spec.scaleTargetRef.name")
-          .findFilter(
-              filter(where("spec.scaleTargetRef.kind").is("ReplicaSet"))
-                  .or(where("spec.scaleTargetRef.kind").is("replicaSet")))
+          .findFilter(scaleTargetKindIn("ReplicaSet", "replicaSet"))
           .legacyReplaceFilter(a -> filter(where("spec.scaleTargetRef.name").is(a.getName())))
           .replacePathFromPlaceholder("spec.scaleTargetRef.name")
           .type(KubernetesArtifactType.ReplicaSet)
           .build();
 
+  private static Predicate<JsonNode> scaleTargetKindIn(String... kinds) {
+    ImmutableSet<String> kindSet = ImmutableSet.copyOf(kinds);
+    return node -> {
+      JsonNode kind = node.at("/spec/scaleTargetRef/kind");
+      return kind.isTextual() && kindSet.contains(kind.asText());
+    };
+  }
+
   public static Replacer dockerImage() {
     return DOCKER_IMAGE;
   }
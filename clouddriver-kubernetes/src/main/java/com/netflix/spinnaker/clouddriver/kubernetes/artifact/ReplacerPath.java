@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.artifact;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * The part of a {@link Replacer} path leading to its [?] placeholder, compiled into steps that can
+ * be matched while walking a manifest, so that all replacers can be applied in a single pass.
+ *
+ * <p>Only the subset of JsonPath used by the replacers is supported: deep scans ({@code ..name}),
+ * properties ({@code .name} and {@code ['a', 'b']}) and wildcards ({@code .*}), followed by the
+ * placeholder. Their semantics are those of JsonPath; in particular properties only match objects,
+ * and the placeholder matches each element of an array or an object itself.
+ */
+@NonnullByDefault
+final class ReplacerPath {
+  private static final Pattern NAME = Pattern.compile("^[A-Za-z0-9_-]+");
+  private static final Pattern NAMES = Pattern.compile("^\\[\\s*('[^']*'(\\s*,\\s*'[^']*')*)\\s*]");
+
+  @Getter private final ImmutableList<Step> steps;
+
+  private ReplacerPath(ImmutableList<Step> steps) {
+    this.steps = steps;
+  }
+
+  /**
+   * Compiles a replacer path, verifying that what follows its placeholder is {@code
+   * replacePathFromPlaceholder}.
+   */
+  static ReplacerPath compile(String path, String replacePathFromPlaceholder) {
+    if (!path.startsWith("$")) {
+      throw new IllegalArgumentException("Path must start at the root: " + path);
+    }
+    ImmutableList.Builder<Step> steps = ImmutableList.builder();
+    String rest = path.substring(1);
+    while (true) {
+      if (rest.startsWith("[?]") || rest.startsWith(".[?]")) {
+        String tail = rest.substring(rest.indexOf(']') + 1);
+        if (!tail.equals("." + replacePathFromPlaceholder)) {
+          throw new IllegalArgumentException(
+              "Path must end with the placeholder followed by ."
+                  + replacePathFromPlaceholder
+                  + ": "
+                  + path);
+        }
+        return new ReplacerPath(steps.build());
+      } else if (rest.startsWith("..")) {
+        String name = name(rest.substring(2), path);
+        steps.add(new Step(StepType.DEEP_SCAN, ImmutableSet.of(name)));
+        rest = rest.substring(2 + name.length());
+      } else if (rest.startsWith(".*")) {
+        steps.add(new Step(StepType.WILDCARD, ImmutableSet.of()));
+        rest = rest.substring(2);
+      } else if (rest.startsWith("[")) {
+        Matcher matcher = NAMES.matcher(rest);
+        if (!matcher.find()) {
+          throw new IllegalArgumentException("Unsupported path: " + path);
+        }
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (String quoted : Splitter.on(',').trimResults().split(matcher.group(1))) {
+          names.add(quoted.substring(1, quoted.length() - 1));
+        }
+        steps.add(new Step(StepType.PROPERTIES, names.build()));
+        rest = rest.substring(matcher.end());
+      } else if (rest.startsWith(".")) {
+        String name = name(rest.substring(1), path);
+        steps.add(new Step(StepType.PROPERTIES, ImmutableSet.of(name)));
+        rest = rest.substring(1 + name.length());
+      } else {
+        throw new IllegalArgumentException("Path must contain a [?] placeholder: " + path);
+      }
+    }
+  }
+
+  private static String name(String rest, String path) {
+    Matcher matcher = NAME.matcher(rest);
+    if (!matcher.find()) {
+      throw new IllegalArgumentException("Unsupported path: " + path);
+    }
+    return matcher.group();
+  }
+
+  enum StepType {
+    /** Any property with one of the names, at any depth. */
+    DEEP_SCAN,
+    /** The properties with one of the names. */
+    PROPERTIES,
+    /** All properties of an object or elements of an array. */
+    WILDCARD
+  }
+
+  @Getter
+  @EqualsAndHashCode
+  static final class Step {
+    private final StepType type;
+    private final ImmutableSet<String> names;
+
+    private Step(StepType type, ImmutableSet<String> names) {
+      this.type = type;
+      this.names = names;
+    }
+  }
+}
@@ -16,14 +16,18 @@
 
 package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.common.collect.ImmutableSet;
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service;
 import com.netflix.spinnaker.clouddriver.model.Front50Application;
 import com.netflix.spinnaker.kork.retrofit.Retrofit2SyncCall;
 import com.netflix.spinnaker.security.AuthenticatedRequest;
-import java.util.Collections;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.lang.Nullable;
@@ -44,15 +48,28 @@ import org.springframework.stereotype.Component;
 public class Front50ApplicationLoader {
 
   @Nullable private final Front50Service front50Service;
-  private AtomicReference<Set<String>> cache;
+  private final AtomicReference<Applications> cache;
 
   Front50ApplicationLoader(@Nullable Front50Service front50Service) {
     this.front50Service = front50Service;
-    this.cache = new AtomicReference<>(Collections.emptySet());
+    this.cache = new AtomicReference<>(Applications.EMPTY);
   }
 
   public Set<String> getData() {
-    return cache.get();
+    return cache.get().getNames();
+  }
+
+  /**
+   * Returns true if front50 knows about an application with the given name, ignoring case. This is
+   * a constant-time lookup against the most recently loaded set of applications, so it is safe to
+   * call once per manifest in a caching cycle.
+   */
+  public boolean containsApplication(@Nullable String name) {
+    return name != null && cache.get().getCaseFoldedNames().contains(caseFold(name));
+  }
+
+  private static String caseFold(String name) {
+    return name.toLowerCase(Locale.ROOT);
   }
 
   @Scheduled(
@@ -67,12 +84,33 @@ public class Front50ApplicationLoader {
       Set<Front50Application> response =
           AuthenticatedRequest.allowAnonymous(
               () -> Retrofit2SyncCall.execute(front50Service.getAllApplicationsUnrestricted()));
-      Set<String> applicationsKnownToFront50 =
-          response.stream().map(Front50Application::getName).collect(Collectors.toSet());
+      ImmutableSet<String> applicationsKnownToFront50 =
+          response.stream()
+              .map(Front50Application::getName)
+              .filter(Objects::nonNull)
+              .collect(toImmutableSet());
       log.info("received {} applications from front50", applicationsKnownToFront50.size());
-      cache.set(applicationsKnownToFront50);
+      cache.set(new Applications(applicationsKnownToFront50));
     } catch (Exception e) {
       log.warn("failed to update application cache with new front50 data. Error: ", e);
     }
   }
+
+  /**
+   * An immutable snapshot of the applications known to front50, along with their case-folded names
+   * for lookups. Both sets are published together so readers never observe one without the other.
+   */
+  @Value
+  private static class Applications {
+    static final Applications EMPTY = new Applications(ImmutableSet.of());
+
+    ImmutableSet<String> names;
+    ImmutableSet<String> caseFoldedNames;
+
+    Applications(ImmutableSet<String> names) {
+      this.names = names;
+      this.caseFoldedNames =
+          names.stream().map(Front50ApplicationLoader::caseFold).collect(toImmutableSet());
+    }
+  }
 }
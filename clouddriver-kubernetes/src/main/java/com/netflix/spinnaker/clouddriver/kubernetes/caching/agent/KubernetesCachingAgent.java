@@ -95,6 +95,7 @@ public abstract class KubernetesCachingAgent
 
   protected final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
   @Nullable private final Front50ApplicationLoader front50ApplicationLoader;
+  private KubernetesNamespaceLoader namespaceLoader = KubernetesNamespaceLoader.SEQUENTIAL;
 
   protected KubernetesCachingAgent(
       KubernetesNamedAccountCredentials namedAccountCredentials,
@@ -118,6 +119,11 @@ public abstract class KubernetesCachingAgent
     this.front50ApplicationLoader = front50ApplicationLoader;
   }
 
+  /** Sets the loader used to list the namespaces of this agent, sequentially by default. */
+  void setNamespaceLoader(KubernetesNamespaceLoader namespaceLoader) {
+    this.namespaceLoader = namespaceLoader;
+  }
+
   protected Map<String, Object> defaultIntrospectionDetails() {
     Map<String, Object> result = new HashMap<>();
     result.put("namespaces", getNamespaces());
@@ -184,16 +190,15 @@ public abstract class KubernetesCachingAgent
   @Nonnull
   private ImmutableList<KubernetesManifest> loadNamespaceScopedResources(
       @Nonnull Iterable<KubernetesKind> kubernetesKinds) {
-    return getNamespaces()
-        // Not using parallelStream. In ForkJoin.commonPool, the number of threads == (CPU cores -
-        // 1). Since we're already running in the AgentExecutionAction thread pool and the number of
-        // threads to compute namespaces is already configurable at account level, this is not
-        // needed and most importantly, avoids contention in the common pool, increasing
-        // performance.
-        .stream()
-        .map(n -> loadResources(kubernetesKinds, Optional.of(n)))
-        .flatMap(Collection::stream)
-        .collect(ImmutableList.toImmutableList());
+    // Not using parallelStream. In ForkJoin.commonPool, the number of threads == (CPU cores - 1).
+    // Since we're already running in the AgentExecutionAction thread pool, namespaces are either
+    // listed sequentially on this thread or, when configured, fanned out onto a dedicated pool
+    // that is bounded both globally and per account.
+    return namespaceLoader.load(
+        accountName,
+        getNamespaces(),
+        n -> loadResources(kubernetesKinds, Optional.of(n)),
+        registry);
   }
 
   @Nonnull
@@ -262,7 +267,7 @@ public abstract class KubernetesCachingAgent
   }
 
   protected KubernetesManifest loadPrimaryResource(KubernetesCoordinates coordinates) {
-    return credentials.get(coordinates);
+    return credentials.getUncached(coordinates);
   }
 
   @Override
@@ -328,9 +333,7 @@ public abstract class KubernetesCachingAgent
 
           String appNameFromMoniker = credentials.getNamer().deriveMoniker(m).getApp();
 
-          boolean shouldCache =
-              front50ApplicationLoader.getData().stream()
-                  .anyMatch(app -> app.equalsIgnoreCase(appNameFromMoniker));
+          boolean shouldCache = front50ApplicationLoader.containsApplication(appNameFromMoniker);
 
           log.debug(
               "{}: manifest: {}, application name: {}, shouldCache: {}",
@@ -47,6 +47,7 @@ public class KubernetesCachingAgentDispatcher {
   private final KubernetesConfigurationProperties configurationProperties;
   private final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
   @Nullable private final Front50ApplicationLoader front50ApplicationLoader;
+  private final KubernetesNamespaceLoader namespaceLoader;
 
   @Autowired
   public KubernetesCachingAgentDispatcher(
@@ -54,12 +55,14 @@ public class KubernetesCachingAgentDispatcher {
       Registry registry,
       KubernetesConfigurationProperties configurationProperties,
       KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap,
-      @Nullable Front50ApplicationLoader front50ApplicationLoader) {
+      @Nullable Front50ApplicationLoader front50ApplicationLoader,
+      KubernetesNamespaceLoader namespaceLoader) {
     this.objectMapper = objectMapper;
     this.registry = registry;
     this.configurationProperties = configurationProperties;
     this.kubernetesSpinnakerKindMap = kubernetesSpinnakerKindMap;
     this.front50ApplicationLoader = front50ApplicationLoader;
+    this.namespaceLoader = namespaceLoader;
   }
 
   public Collection<KubernetesCachingAgent> buildAllCachingAgents(
@@ -97,7 +100,11 @@ public class KubernetesCachingAgentDispatcher {
                                 kubernetesSpinnakerKindMap,
                                 front50ApplicationLoader))
                     .filter(Objects::nonNull)
-                    .forEach(result::add));
+                    .forEach(
+                        agent -> {
+                          agent.setNamespaceLoader(namespaceLoader);
+                          result.add(agent);
+                        }));
 
     return result.stream()
         .collect(Collectors.toMap(KubernetesCachingAgent::getAgentType, c -> c, (a, b) -> b))
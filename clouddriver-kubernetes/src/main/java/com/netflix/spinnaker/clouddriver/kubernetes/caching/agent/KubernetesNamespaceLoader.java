@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties.Cache.ParallelNamespaces;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lists the namespaces of a caching agent, optionally fanning the list calls out onto a bounded
+ * pool that is shared by every kubernetes account.
+ *
+ * <p>The pool is deliberately not the fork-join common pool, whose size is tied to the number of
+ * cores and which is shared with unrelated work. Fairness across accounts comes from a per-account
+ * limit on in-flight namespaces that is acquired by the submitting agent thread, so pool threads
+ * never block and a single account with hundreds of namespaces only ever occupies a bounded share
+ * of the pool.
+ *
+ * <p>Every namespace records its own latency, tagged with whether it succeeded, so a slow or
+ * failing namespace is visible without having to inspect the timing of the whole caching cycle.
+ *
+ * <p>The loader is a singleton bean that {@link KubernetesCachingAgentDispatcher} hands to the
+ * agents it builds, and its pool is shut down with the application context. Agents that were not
+ * built by the dispatcher list their namespaces sequentially.
+ */
+@Component
+public class KubernetesNamespaceLoader implements DisposableBean {
+  /** Lists namespaces one after the other on the calling thread. */
+  static final KubernetesNamespaceLoader SEQUENTIAL =
+      new KubernetesNamespaceLoader(new ParallelNamespaces());
+
+  private final ParallelNamespaces properties;
+  @Nullable private final ExecutorService executor;
+  private final Map<String, Semaphore> accountPermits = new ConcurrentHashMap<>();
+
+  @Autowired
+  public KubernetesNamespaceLoader(KubernetesConfigurationProperties configurationProperties) {
+    this(configurationProperties.getCache().getParallelNamespaces());
+  }
+
+  KubernetesNamespaceLoader(ParallelNamespaces properties) {
+    this.properties = properties;
+    this.executor =
+        properties.isEnabled()
+            ? Executors.newFixedThreadPool(
+                properties.getThreads(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat(getClass().getSimpleName() + "-%d")
+                    .setDaemon(true)
+                    .build())
+            : null;
+  }
+
+  @Override
+  public void destroy() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Loads the resources of each of the given namespaces, returning the concatenation of the results
+   * in namespace order. If loading any namespace fails, the failure is rethrown once all the other
+   * namespaces have completed.
+   */
+  ImmutableList<KubernetesManifest> load(
+      String accountName,
+      List<String> namespaces,
+      Function<String, ImmutableList<KubernetesManifest>> loader,
+      Registry registry) {
+    if (executor == null || namespaces.size() <= 1) {
+      return namespaces.stream()
+          .map(n -> loadNamespace(accountName, n, loader, registry))
+          .flatMap(List::stream)
+          .collect(ImmutableList.toImmutableList());
+    }
+
+    Semaphore permits =
+        accountPermits.computeIfAbsent(
+            accountName, a -> new Semaphore(properties.getMaxConcurrencyPerAccount(), true));
+    List<CompletableFuture<ImmutableList<KubernetesManifest>>> futures = new ArrayList<>();
+    try {
+      for (String namespace : namespaces) {
+        permits.acquire();
+        try {
+          futures.add(
+              CompletableFuture.supplyAsync(
+                      () -> loadNamespace(accountName, namespace, loader, registry), executor)
+                  .whenComplete((result, error) -> permits.release()));
+        } catch (RuntimeException e) {
+          permits.release();
+          throw e;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(f -> f.cancel(true));
+      throw new IllegalStateException(
+          "Interrupted while loading namespaces for account " + accountName, e);
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .exceptionally(e -> null)
+        .join();
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .flatMap(List::stream)
+          .collect(ImmutableList.toImmutableList());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static ImmutableList<KubernetesManifest> loadNamespace(
+      String accountName,
+      String namespace,
+      Function<String, ImmutableList<KubernetesManifest>> loader,
+      Registry registry) {
+    long startTime = registry.clock().monotonicTime();
+    boolean success = false;
+    try {
+      ImmutableList<KubernetesManifest> result = loader.apply(namespace);
+      success = true;
+      return result;
+    } finally {
+      registry
+          .timer(
+              registry
+                  .createId("kubernetes.cache.namespace.load")
+                  .withTag("account", accountName)
+                  .withTag("namespace", namespace)
+                  .withTag("success", success))
+          .record(registry.clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -36,7 +36,7 @@ import org.springframework.stereotype.Component;
 public class ArtifactProvider {
   public ImmutableList<Artifact> getArtifacts(
       KubernetesKind kind, String name, String location, KubernetesCredentials credentials) {
-    return credentials.list(kind, location).stream()
+    return credentials.listUncached(kind, location).stream()
         .sorted(Comparator.comparing(KubernetesManifest::getCreationTimestamp))
         .map(m -> KubernetesManifestAnnotater.getArtifact(m, credentials.getAccountName()))
         .filter(Optional::isPresent)
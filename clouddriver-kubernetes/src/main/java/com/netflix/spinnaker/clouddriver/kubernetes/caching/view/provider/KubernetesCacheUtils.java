@@ -83,6 +83,10 @@ class KubernetesCacheUtils {
     return Optional.ofNullable(cache.get(type, key));
   }
 
+  Collection<CacheData> getAllEntries(String type, Collection<String> keys) {
+    return cache.getAll(type, keys);
+  }
+
   /**
    * Given an account, a namespace, and a resource name, returns the {@link CacheData} entry for
    * that item.
@@ -113,6 +117,11 @@ class KubernetesCacheUtils {
     return Optional.ofNullable(cache.get(type, key, cacheFilter));
   }
 
+  Collection<CacheData> getAllEntriesWithRelationships(
+      String type, Collection<String> keys, RelationshipCacheFilter cacheFilter) {
+    return cache.getAll(type, keys, cacheFilter);
+  }
+
   /** Gets the keys for all relationships of a given Spinnaker kind for a CacheData item. */
   ImmutableCollection<String> getRelationshipKeys(
       CacheData cacheData, SpinnakerKind spinnakerKind) {
@@ -175,7 +184,7 @@ class KubernetesCacheUtils {
   }
 
   /** Gets the data for all relationships of a given type for a collection of CacheData items. */
-  private Multimap<String, CacheData> getRelationships(
+  Multimap<String, CacheData> getRelationships(
       Collection<CacheData> cacheData, String type) {
     ImmutableMultimap<String, String> relKeys = getRelationshipKeys(cacheData, type);
 
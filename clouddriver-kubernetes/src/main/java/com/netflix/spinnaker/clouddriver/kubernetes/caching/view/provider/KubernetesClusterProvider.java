@@ -26,12 +26,14 @@ import static com.netflix.spinnaker.clouddriver.kubernetes.description.Spinnaker
 import static com.netflix.spinnaker.clouddriver.kubernetes.description.SpinnakerKind.SERVER_GROUPS;
 import static com.netflix.spinnaker.clouddriver.kubernetes.description.SpinnakerKind.SERVER_GROUP_MANAGERS;
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
 import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
@@ -43,7 +45,9 @@ import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider.data.K
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.KubernetesHandler;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.ServerGroupHandler;
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,10 +61,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class KubernetesClusterProvider implements ClusterProvider<KubernetesCluster> {
   private final KubernetesCacheUtils cacheUtils;
+  private final KubernetesClusterViewCache clusterViewCache;
 
   @Autowired
-  KubernetesClusterProvider(KubernetesCacheUtils cacheUtils) {
+  KubernetesClusterProvider(
+      KubernetesCacheUtils cacheUtils, KubernetesClusterViewCache clusterViewCache) {
     this.cacheUtils = cacheUtils;
+    this.clusterViewCache = clusterViewCache;
   }
 
   @Override
@@ -82,15 +89,43 @@ public class KubernetesClusterProvider implements ClusterProvider<KubernetesClus
                 .orElseGet(ImmutableList::of)));
   }
 
+  @Override
+  public Map<String, Map<String, Set<KubernetesCluster>>> getClusterSummaries(
+      Collection<String> applications) {
+    Map<String, String> applicationKeys =
+        applications.stream()
+            .distinct()
+            .collect(toMap(Keys.ApplicationCacheKey::createKey, application -> application));
+    Collection<CacheData> applicationData =
+        cacheUtils.getAllEntriesWithRelationships(
+            APPLICATIONS.toString(),
+            applicationKeys.keySet(),
+            RelationshipCacheFilter.include(CLUSTERS.toString()));
+    Multimap<String, CacheData> applicationToClusters =
+        cacheUtils.getRelationships(applicationData, CLUSTERS.toString());
+
+    Map<String, Map<String, Set<KubernetesCluster>>> result = new HashMap<>();
+    applicationKeys.forEach(
+        (applicationKey, application) ->
+            result.put(
+                application,
+                groupByAccountName(
+                    loadClusterSummaries(applicationToClusters.get(applicationKey)))));
+    return result;
+  }
+
   @Override
   public Map<String, Set<KubernetesCluster>> getClusterDetails(String application) {
-    String clusterGlobKey = Keys.ClusterCacheKey.createKey("*", application, "*");
-    return groupByAccountName(
-        loadClusters(cacheUtils.getAllDataMatchingPattern(CLUSTERS.toString(), clusterGlobKey)));
+    return groupByAccountName(loadApplicationClusters(application));
   }
 
   @Override
   public Set<KubernetesCluster> getClusters(String application, String account) {
+    if (clusterViewCache.isEnabled()) {
+      return loadApplicationClusters(application).stream()
+          .filter(cluster -> cluster.getAccountName().equals(account))
+          .collect(toSet());
+    }
     String globKey = Keys.ClusterCacheKey.createKey(account, application, "*");
     return loadClusters(cacheUtils.getAllDataMatchingPattern(CLUSTERS.toString(), globKey));
   }
@@ -116,6 +151,22 @@ public class KubernetesClusterProvider implements ClusterProvider<KubernetesClus
         .orElse(null);
   }
 
+  @Override
+  public Map<String, Set<KubernetesCluster>> getClusters(
+      Map<String, Map<String, Set<String>>> clusterNames) {
+    List<String> clusterKeys = new ArrayList<>();
+    clusterNames.forEach(
+        (application, namesByAccount) ->
+            namesByAccount.forEach(
+                (account, names) ->
+                    names.forEach(
+                        name ->
+                            clusterKeys.add(
+                                Keys.ClusterCacheKey.createKey(account, application, name)))));
+    return loadClusters(cacheUtils.getAllEntries(CLUSTERS.toString(), clusterKeys)).stream()
+        .collect(groupingBy(KubernetesCluster::getApplication, toSet()));
+  }
+
   @Nullable
   @Override
   public KubernetesServerGroup getServerGroup(
@@ -154,9 +205,28 @@ public class KubernetesClusterProvider implements ClusterProvider<KubernetesClus
         .collect(toSet());
   }
 
+  private Set<KubernetesCluster> loadApplicationClusters(String application) {
+    return clusterViewCache.get(
+        application,
+        account -> {
+          String clusterGlobKey = Keys.ClusterCacheKey.createKey(account, application, "*");
+          return loadClusters(
+              cacheUtils.getAllDataMatchingPattern(CLUSTERS.toString(), clusterGlobKey));
+        });
+  }
+
+  /**
+   * Loads the clusters with their server groups, instances and load balancers. The relationships
+   * of all the clusters are read together, so the number of reads from the cache does not depend
+   * on the number of clusters.
+   */
   private Set<KubernetesCluster> loadClusters(Collection<CacheData> clusterData) {
     ImmutableMultimap<String, CacheData> clusterToServerGroups =
         cacheUtils.getRelationships(clusterData, SERVER_GROUPS);
+    ImmutableMap<String, KubernetesServerGroup> allServerGroups =
+        loadServerGroups(clusterToServerGroups.values());
+    ImmutableMultimap<String, CacheData> serverGroupToLoadBalancers =
+        cacheUtils.getRelationships(clusterToServerGroups.values(), LOAD_BALANCERS);
 
     return clusterData.stream()
         .map(
@@ -164,9 +234,12 @@ public class KubernetesClusterProvider implements ClusterProvider<KubernetesClus
               ImmutableCollection<CacheData> clusterServerGroups =
                   clusterToServerGroups.get(clusterDatum.getId());
               ImmutableMap<String, KubernetesServerGroup> serverGroups =
-                  loadServerGroups(clusterServerGroups);
+                  clusterServerGroups.stream()
+                      .map(CacheData::getId)
+                      .collect(toImmutableMap(id -> id, allServerGroups::get, (sg1, sg2) -> sg1));
               List<KubernetesLoadBalancer> loadBalancers =
-                  cacheUtils.getRelationships(clusterServerGroups, LOAD_BALANCERS).values().stream()
+                  clusterServerGroups.stream()
+                      .flatMap(sg -> serverGroupToLoadBalancers.get(sg.getId()).stream())
                       .filter(cacheUtils.distinctById())
                       .map(
                           cd ->
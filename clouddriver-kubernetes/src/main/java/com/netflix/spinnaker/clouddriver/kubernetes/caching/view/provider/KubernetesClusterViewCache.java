@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.cats.agent.AccountAware;
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
+import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.model.KubernetesCluster;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memoises the clusters of each application, with their server groups, instances and load
+ * balancers, as assembled by {@link KubernetesClusterProvider}.
+ *
+ * <p>The cache is registered as an {@link ExecutionInstrumentation} so that it is notified once a
+ * kubernetes caching agent has stored the results of an account. Each account has a generation
+ * that is incremented on each such write, and each entry records the generations of the accounts
+ * it was read at. The next time an entry is requested, only the clusters of the accounts written
+ * since are read again, so clusters assembled from reads that raced with a write are never served
+ * after it.
+ *
+ * <p>Writes are only seen when the caching agent runs on this node, so the cache is disabled on
+ * nodes that do not write to the cache (caching.write-enabled: false). Accounts cached by agents
+ * on other nodes of a clustered deployment are only read again once the entry expires.
+ *
+ * <p>The cached clusters are shared by all callers and must not be modified.
+ */
+@Component
+class KubernetesClusterViewCache implements ExecutionInstrumentation {
+  /** The account passed to the loader to read the clusters of all the accounts. */
+  static final String ALL_ACCOUNTS = "*";
+
+  private final boolean enabled;
+  private final Cache<String, Entry> cache;
+  private final AtomicLong writes = new AtomicLong();
+  private final Map<String, Long> generations = new ConcurrentHashMap<>();
+  private final Registry registry;
+  private final Id requestsId;
+
+  @Autowired
+  KubernetesClusterViewCache(
+      KubernetesConfigurationProperties kubernetesConfigurationProperties,
+      @Value("${caching.write-enabled:true}")
+          boolean cachingWriteEnabled,
+      Registry registry) {
+    this(kubernetesConfigurationProperties.getClusterViewCache(), cachingWriteEnabled, registry);
+  }
+
+  KubernetesClusterViewCache(
+      KubernetesConfigurationProperties.ClusterViewCache properties, Registry registry) {
+    this(properties, true, registry);
+  }
+
+  KubernetesClusterViewCache(
+      KubernetesConfigurationProperties.ClusterViewCache properties,
+      boolean cachingWriteEnabled,
+      Registry registry) {
+    this.enabled = properties.isEnabled() && cachingWriteEnabled;
+    long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfter(
+                // refreshing the clusters of some accounts does not extend the life of the others
+                new Expiry<String, Entry>() {
+                  @Override
+                  public long expireAfterCreate(String application, Entry entry, long currentTime) {
+                    return ttlNanos;
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      String application, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      String application, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .maximumSize(properties.getMaxApplications())
+            .build();
+    this.registry = registry;
+    this.requestsId = registry.createId("kubernetes.clusterViewCache.requests");
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the clusters of the application, loading them if they are not cached. The loader is
+   * given the account whose clusters to read, or {@link #ALL_ACCOUNTS}.
+   */
+  Set<KubernetesCluster> get(String application, Function<String, Set<KubernetesCluster>> loader) {
+    if (!enabled) {
+      return loader.apply(ALL_ACCOUNTS);
+    }
+
+    AtomicBoolean loaded = new AtomicBoolean(false);
+    Entry entry =
+        cache.get(
+            application,
+            k -> {
+              loaded.set(true);
+              Map<String, Long> observed = ImmutableMap.copyOf(generations);
+              return new Entry(observed, loader.apply(ALL_ACCOUNTS));
+            });
+    if (!loaded.get()) {
+      Map<String, Long> observed = ImmutableMap.copyOf(generations);
+      Set<String> written = entry.writtenSince(observed);
+      if (!written.isEmpty()) {
+        Entry refreshed = entry.refresh(written, observed, loader);
+        cache.asMap().replace(application, entry, refreshed);
+        entry = refreshed;
+        loaded.set(true);
+      }
+    }
+    registry.counter(requestsId.withTag("hit", !loaded.get())).increment();
+    return entry.getClusters();
+  }
+
+  /** Marks the cached clusters of the account as out of date. */
+  void invalidateAccount(String account) {
+    generations.merge(account, writes.incrementAndGet(), Math::max);
+  }
+
+  @Override
+  public void executionStarted(Agent agent) {
+    // do nothing
+  }
+
+  @Override
+  public void executionCompleted(Agent agent, long elapsedMs) {
+    if (enabled
+        && KubernetesCloudProvider.ID.equals(agent.getProviderName())
+        && agent instanceof AccountAware) {
+      invalidateAccount(((AccountAware) agent).getAccountName());
+    }
+  }
+
+  @Override
+  public void executionFailed(Agent agent, Throwable cause, long elapsedMs) {
+    // a failed agent may still have written part of its results
+    executionCompleted(agent, elapsedMs);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class Entry {
+    /** The generation of each account when the clusters were read. */
+    private final Map<String, Long> generations;
+
+    private final Set<KubernetesCluster> clusters;
+
+    /** Returns the accounts that were written since the clusters were read. */
+    Set<String> writtenSince(Map<String, Long> observed) {
+      return observed.entrySet().stream()
+          .filter(e -> !e.getValue().equals(generations.getOrDefault(e.getKey(), 0L)))
+          .map(Map.Entry::getKey)
+          .collect(toImmutableSet());
+    }
+
+    /** Reads the clusters of the accounts again, keeping those of the other accounts. */
+    Entry refresh(
+        Set<String> accounts,
+        Map<String, Long> observed,
+        Function<String, Set<KubernetesCluster>> loader) {
+      Map<String, Long> refreshedGenerations = new HashMap<>(generations);
+      accounts.forEach(account -> refreshedGenerations.put(account, observed.get(account)));
+      ImmutableSet<KubernetesCluster> refreshedClusters =
+          Stream.concat(
+                  clusters.stream().filter(c -> !accounts.contains(c.getAccountName())),
+                  accounts.stream().flatMap(account -> loader.apply(account).stream()))
+              .collect(toImmutableSet());
+      return new Entry(ImmutableMap.copyOf(refreshedGenerations), refreshedClusters);
+    }
+  }
+}
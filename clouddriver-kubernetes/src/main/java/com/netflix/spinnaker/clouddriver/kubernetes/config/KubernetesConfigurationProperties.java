@@ -35,6 +35,12 @@ public class KubernetesConfigurationProperties {
 
   private Cache cache = new Cache();
 
+  private ReadCache readCache = new ReadCache();
+
+  private ClusterViewCache clusterViewCache = new ClusterViewCache();
+
+  private CredentialsInitialization credentialsInitialization = new CredentialsInitialization();
+
   private KubectlProperties kubectl = new KubectlProperties();
   private OAuthProperties oAuth = new OAuthProperties();
 
@@ -130,6 +136,76 @@ public class KubernetesConfigurationProperties {
      * enabled.
      */
     boolean checkApplicationInFront50 = false;
+
+    private ParallelNamespaces parallelNamespaces = new ParallelNamespaces();
+
+    /**
+     * Controls fanning out the per-namespace list calls of the caching agents onto a bounded pool
+     * that is shared by all accounts. When disabled, each agent lists its namespaces one after the
+     * other on its own thread.
+     */
+    @Data
+    public static class ParallelNamespaces {
+      private boolean enabled = false;
+
+      /** Number of threads in the pool, shared by all kubernetes accounts. */
+      private int threads = 16;
+
+      /**
+       * Maximum number of namespaces of a single account that may be listed at once, so that one
+       * account with many namespaces cannot starve the others.
+       */
+      private int maxConcurrencyPerAccount = 4;
+    }
+  }
+
+  /**
+   * Short-lived cache of idempotent kubectl reads (get, events, top and single-kind list) that are
+   * issued repeatedly by the manifest UI and stage polling. Entries are invalidated by any write
+   * to the same kind and namespace through the same account.
+   */
+  @Data
+  public static class ReadCache {
+    private boolean enabled = false;
+
+    /** How long a read result may be served from the cache. */
+    private long ttlSeconds = 5;
+
+    /** Maximum number of cached results per account. */
+    private long maxEntries = 1000;
+  }
+
+  /**
+   * Memoises the clusters of each application assembled by the cluster provider. The clusters of an
+   * account are read again once a kubernetes caching agent of that account has run on this node.
+   * Nodes that do not run caching agents never use the cache, and on a clustered deployment the
+   * clusters of accounts cached on other nodes may be up to ttlSeconds old.
+   */
+  @Data
+  public static class ClusterViewCache {
+    private boolean enabled = false;
+
+    /** How long the clusters of an application may be served from the cache. */
+    private long ttlSeconds = 60;
+
+    /** Maximum number of applications whose clusters are cached. */
+    private long maxApplications = 500;
+  }
+
+  /**
+   * Controls initializing new and modified accounts on a bounded pool, rather than one after the
+   * other. An account that is not initialized within the timeout, for instance because its cluster
+   * is unreachable, finishes initializing in the background so that it does not hold up the others.
+   */
+  @Data
+  public static class CredentialsInitialization {
+    private boolean parallel = false;
+
+    /** Number of accounts that may be initialized at once. */
+    private int threads = 8;
+
+    /** How long to wait for an account to be initialized before deferring it. */
+    private long timeoutSeconds = 30;
   }
 
   /** kubectl configuration properties */
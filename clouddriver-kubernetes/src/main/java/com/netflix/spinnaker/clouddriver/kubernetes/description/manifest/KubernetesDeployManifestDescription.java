@@ -52,6 +52,14 @@ public class KubernetesDeployManifestDescription extends KubernetesAtomicOperati
    */
   private boolean allowNothingSelected = false;
 
+  /**
+   * If true, deploy the manifests in tiers (namespaces and resource definitions, then
+   * configuration, then workloads) instead of one at a time. The manifests of a tier that are
+   * applied are sent in a single kubectl invocation, concurrently with the other manifests of the
+   * tier, and a tier is only deployed once the previous tier has been.
+   */
+  private boolean batchDeploy = false;
+
   public boolean isBlueGreen() {
     return Strategy.RED_BLACK.equals(this.strategy) || Strategy.BLUE_GREEN.equals(this.strategy);
   }
@@ -26,7 +26,7 @@ public class KubernetesSourceCapacity {
       KubernetesManifest manifest, KubernetesCredentials credentials, OptionalInt currentVersion) {
     String name = currentManifestName(manifest, currentVersion);
     KubernetesManifest currentManifest =
-        credentials.get(
+        credentials.getUncached(
             KubernetesCoordinates.builder()
                 .kind(manifest.getKind())
                 .namespace(manifest.getNamespace())
@@ -68,19 +68,13 @@ public interface CanDeploy {
         deployedManifest = credentials.createOrReplace(manifest, task, opName);
         break;
       case SERVER_SIDE_APPLY:
-        List<String> cmdArgs = new ArrayList<>();
-        cmdArgs.add("--server-side=true");
-        if (serverSideApplyStrategy.equals(
-            KubernetesManifestStrategy.ServerSideApplyStrategy.FORCE_CONFLICTS)) {
-          cmdArgs.add("--force-conflicts=true");
-        }
         deployedManifest =
             credentials.deploy(
                 manifest,
                 task,
                 opName,
                 labelSelectors,
-                cmdArgs.toArray(new String[cmdArgs.size()]));
+                applyArgs(deployStrategy, serverSideApplyStrategy));
         break;
       case APPLY:
         deployedManifest = credentials.deploy(manifest, task, opName, labelSelectors);
@@ -94,4 +88,30 @@ public interface CanDeploy {
     }
     return operationResult;
   }
+
+  /**
+   * Returns whether a manifest deployed with the strategy can be applied together with other
+   * manifests in a single kubectl apply invocation.
+   */
+  static boolean canApplyInBatch(
+      KubernetesManifest manifest, KubernetesManifestStrategy.DeployStrategy deployStrategy) {
+    return !manifest.hasGenerateName()
+        && (deployStrategy == KubernetesManifestStrategy.DeployStrategy.APPLY
+            || deployStrategy == KubernetesManifestStrategy.DeployStrategy.SERVER_SIDE_APPLY);
+  }
+
+  /** The kubectl apply arguments for the strategies. */
+  static String[] applyArgs(
+      KubernetesManifestStrategy.DeployStrategy deployStrategy,
+      KubernetesManifestStrategy.ServerSideApplyStrategy serverSideApplyStrategy) {
+    List<String> cmdArgs = new ArrayList<>();
+    if (deployStrategy == KubernetesManifestStrategy.DeployStrategy.SERVER_SIDE_APPLY) {
+      cmdArgs.add("--server-side=true");
+      if (serverSideApplyStrategy.equals(
+          KubernetesManifestStrategy.ServerSideApplyStrategy.FORCE_CONFLICTS)) {
+        cmdArgs.add("--force-conflicts=true");
+      }
+    }
+    return cmdArgs.toArray(new String[0]);
+  }
 }
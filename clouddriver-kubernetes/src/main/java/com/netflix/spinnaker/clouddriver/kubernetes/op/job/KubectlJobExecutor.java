@@ -21,6 +21,8 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
@@ -581,6 +583,64 @@ public class KubectlJobExecutor {
     return getKubernetesManifestFromJobResult(status, manifest);
   }
 
+  /**
+   * Invoke kubectl apply once with all the given manifests, wrapped in a v1 List, and (if present)
+   * label selectors.
+   *
+   * @param credentials k8s account credentials
+   * @param manifests the manifests to apply
+   * @param task the task performing this kubectl invocation
+   * @param opName the name of the operation performing this kubectl invocation
+   * @param labelSelectors label selectors
+   * @return the manifests parsed from stdout of the kubectl invocation, which only include the
+   *     manifests satisfying the label selectors if any are present
+   */
+  public ImmutableList<KubernetesManifest> deployAll(
+      KubernetesCredentials credentials,
+      List<KubernetesManifest> manifests,
+      Task task,
+      String opName,
+      KubernetesSelectorList labelSelectors,
+      String... cmdArgs) {
+    String resources =
+        manifests.stream()
+            .map(KubernetesManifest::getFullResourceName)
+            .collect(Collectors.joining(", "));
+    log.info("Deploying manifests {}", resources);
+    List<String> command = kubectlAuthPrefix(credentials);
+
+    // Read from stdin
+    command.add("apply");
+    command.addAll(List.of(cmdArgs));
+    command.add("-o");
+    command.add("json");
+    command.add("-f");
+    command.add("-");
+    addLabelSelectors(command, labelSelectors);
+
+    KubernetesManifest list = new KubernetesManifest();
+    list.put("apiVersion", "v1");
+    list.put("kind", "List");
+    list.put("metadata", new HashMap<String, Object>());
+    list.put("items", manifests);
+
+    JobResult<String> status = executeKubectlCommand(credentials, command, Optional.of(list));
+
+    persistKubectlJobOutput(credentials, status, resources, task, opName);
+
+    if (status.getResult() != JobResult.Result.SUCCESS) {
+      if (labelSelectors.isNotEmpty()
+          && status.getError().contains(NO_OBJECTS_PASSED_TO_APPLY_STRING)) {
+        return ImmutableList.of();
+      }
+
+      throw new KubectlException(
+          "Deploy failed for manifests: " + resources + ". Error: " + status.getError());
+    }
+
+    return getKubernetesManifestsFromJobResult(status, resources);
+  }
+
   /**
    * Invoke kubectl replace with the given manifest. Note that kubectl replace doesn't support label
    * selectors.
@@ -691,6 +751,39 @@ public class KubectlJobExecutor {
     }
   }
 
+  /**
+   * kubectl apply -o json prints a v1 List when given more than one object, and the object itself
+   * otherwise.
+   */
+  private ImmutableList<KubernetesManifest> getKubernetesManifestsFromJobResult(
+      JobResult<String> status, String resources) {
+    if (StringUtils.isBlank(status.getOutput())) {
+      return ImmutableList.of();
+    }
+    try {
+      JsonObject output = gson.fromJson(status.getOutput(), JsonObject.class);
+      JsonElement kind = output.get("kind");
+      if (kind == null || !kind.isJsonPrimitive() || !kind.getAsString().equals("List")) {
+        return ImmutableList.of(gson.fromJson(output, KubernetesManifest.class));
+      }
+      ImmutableList.Builder<KubernetesManifest> manifests = ImmutableList.builder();
+      JsonElement items = output.get("items");
+      if (items != null && items.isJsonArray()) {
+        items
+            .getAsJsonArray()
+            .forEach(item -> manifests.add(gson.fromJson(item, KubernetesManifest.class)));
+      }
+      return manifests.build();
+    } catch (JsonSyntaxException | IllegalStateException e) {
+      throw new KubectlException(
+          "Failed to parse kubectl output for manifests: "
+              + resources
+              + ". Error: "
+              + e.getMessage(),
+          e);
+    }
+  }
+
   private List<String> kubectlAuthPrefix(KubernetesCredentials credentials) {
     List<String> command = new ArrayList<>();
     if (!Strings.isNullOrEmpty(credentials.getKubectlExecutable())) {
@@ -96,7 +96,7 @@ public abstract class AbstractKubernetesEnableDisableManifestOperation
     CanLoadBalance loadBalancerHandler =
         CanLoadBalance.lookupProperties(credentials.getResourcePropertyRegistry(), coords);
     KubernetesManifest loadBalancer =
-        Optional.ofNullable(credentials.get(coords))
+        Optional.ofNullable(credentials.getUncached(coords))
             .orElseThrow(
                 () ->
                     new IllegalStateException(
@@ -152,7 +152,7 @@ public abstract class AbstractKubernetesEnableDisableManifestOperation
                 + "...");
     KubernetesCoordinates coordinates = description.getPointCoordinates();
     KubernetesManifest target =
-        Optional.ofNullable(credentials.get(coordinates))
+        Optional.ofNullable(credentials.getUncached(coordinates))
             .orElseThrow(
                 () ->
                     new IllegalStateException(
@@ -18,8 +18,10 @@
 package com.netflix.spinnaker.clouddriver.kubernetes.op.manifest;
 
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
 import com.netflix.spinnaker.clouddriver.kubernetes.artifact.ArtifactConverter;
@@ -31,15 +33,24 @@ import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.*;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestStrategy.Versioned;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.OperationResult;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.*;
+import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.KubernetesHandler.DeployPriority;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesSelectorList;
 import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperation;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.moniker.Moniker;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.Data;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -54,6 +65,23 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
   @Nonnull private final String accountName;
   private static final String OP_NAME = "DEPLOY_KUBERNETES_MANIFEST";
 
+  /**
+   * Runs the concurrent deploys of all batch deploy operations. Threads are only kept while they
+   * are in use, and once all of them are busy a deploy runs on the thread of its operation instead.
+   */
+  private static final ExecutorService DEPLOY_EXECUTOR =
+      new ThreadPoolExecutor(
+          0,
+          16,
+          60,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          new ThreadFactoryBuilder()
+              .setNameFormat(KubernetesDeployManifestOperation.class.getSimpleName() + "-%d")
+              .setDaemon(true)
+              .build(),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+
   public KubernetesDeployManifestOperation(
       KubernetesDeployManifestDescription description, ResourceVersioner resourceVersioner) {
     this.description = description;
@@ -159,36 +187,27 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
           "label selectors not supported with replace strategy, not deploying");
     }
 
-    toDeploy.forEach(
-        holder -> {
-          KubernetesResourceProperties properties = findResourceProperties(holder.manifest);
-          KubernetesManifestStrategy strategy = holder.strategy;
-          KubernetesHandler deployer = properties.getHandler();
-          getTask()
-              .updateStatus(
-                  OP_NAME,
-                  "Submitting manifest "
-                      + holder.manifest.getFullResourceName()
-                      + " to kubernetes master...");
-          result.merge(
-              deployer.deploy(
-                  credentials,
-                  holder.manifest,
-                  strategy.getDeployStrategy(),
-                  strategy.getServerSideApplyStrategy(),
-                  getTask(),
-                  OP_NAME,
-                  labelSelectors));
-
-          result.getCreatedArtifacts().add(holder.artifact);
-          getTask()
-              .updateStatus(
-                  OP_NAME,
-                  "Deploy manifest task completed successfully for manifest "
-                      + holder.manifest.getFullResourceName()
-                      + " in account "
-                      + accountName);
-        });
+    if (description.isBatchDeploy()) {
+      deployInTiers(toDeploy, labelSelectors, result);
+    } else {
+      toDeploy.forEach(
+          holder -> {
+            KubernetesResourceProperties properties = findResourceProperties(holder.manifest);
+            KubernetesManifestStrategy strategy = holder.strategy;
+            KubernetesHandler deployer = properties.getHandler();
+            reportSubmitting(holder);
+            result.merge(
+                deployer.deploy(
+                    credentials,
+                    holder.manifest,
+                    strategy.getDeployStrategy(),
+                    strategy.getServerSideApplyStrategy(),
+                    getTask(),
+                    OP_NAME,
+                    labelSelectors));
+            reportDeployed(holder, result);
+          });
+    }
 
     // If a label selector was specified and nothing has been deployed, throw an
     // exception to fail the task if configured to do so.
@@ -211,6 +230,181 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
     return result;
   }
 
+  private void reportSubmitting(ManifestArtifactHolder holder) {
+    getTask()
+        .updateStatus(
+            OP_NAME,
+            "Submitting manifest "
+                + holder.manifest.getFullResourceName()
+                + " to kubernetes master...");
+  }
+
+  private void reportDeployed(ManifestArtifactHolder holder, OperationResult result) {
+    result.getCreatedArtifacts().add(holder.artifact);
+    getTask()
+        .updateStatus(
+            OP_NAME,
+            "Deploy manifest task completed successfully for manifest "
+                + holder.manifest.getFullResourceName()
+                + " in account "
+                + accountName);
+  }
+
+  /**
+   * Deploys the manifests one tier at a time. Within a tier, the manifests that are applied with
+   * the same arguments are sent in a single kubectl invocation, in deploy priority order, and the
+   * other manifests are deployed one at a time, see {@link #deploySteps}.
+   */
+  private void deployInTiers(
+      List<ManifestArtifactHolder> toDeploy,
+      KubernetesSelectorList labelSelectors,
+      OperationResult result) {
+    Map<DeployTier, List<ManifestArtifactHolder>> tiers = new EnumMap<>(DeployTier.class);
+    for (ManifestArtifactHolder holder : toDeploy) {
+      tiers
+          .computeIfAbsent(DeployTier.of(deployPriority(holder)), t -> new ArrayList<>())
+          .add(holder);
+    }
+
+    Task task = getTask();
+    for (Map.Entry<DeployTier, List<ManifestArtifactHolder>> tier : tiers.entrySet()) {
+      task.updateStatus(
+          OP_NAME,
+          "Deploying "
+              + tier.getValue().size()
+              + " "
+              + tier.getKey().getDescription()
+              + " manifest(s)...");
+      tier.getValue().forEach(this::reportSubmitting);
+
+      for (List<ManifestArtifactHolder> step : deploySteps(tier.getValue())) {
+        for (OperationResult deployed : invokeAll(deploys(step, task, labelSelectors))) {
+          result.merge(deployed);
+        }
+      }
+      tier.getValue().forEach(holder -> reportDeployed(holder, result));
+    }
+  }
+
+  /**
+   * Splits the manifests of a tier into steps that are deployed one after the other, so that the
+   * manifests that cannot be applied in a batch are never deployed concurrently with manifests of
+   * a different deploy priority.
+   *
+   * <p>Each deploy priority with such manifests is a step of its own. Consecutive priorities
+   * without them are a single step, where each batch keeps the priority order of its manifests.
+   */
+  private List<List<ManifestArtifactHolder>> deploySteps(List<ManifestArtifactHolder> tier) {
+    Map<Integer, List<ManifestArtifactHolder>> byPriority = new TreeMap<>();
+    for (ManifestArtifactHolder holder : tier) {
+      byPriority.computeIfAbsent(deployPriority(holder), p -> new ArrayList<>()).add(holder);
+    }
+
+    List<List<ManifestArtifactHolder>> steps = new ArrayList<>();
+    List<ManifestArtifactHolder> batchOnly = new ArrayList<>();
+    for (List<ManifestArtifactHolder> holders : byPriority.values()) {
+      if (holders.stream().allMatch(this::canApplyInBatch)) {
+        batchOnly.addAll(holders);
+        continue;
+      }
+      if (!batchOnly.isEmpty()) {
+        steps.add(batchOnly);
+        batchOnly = new ArrayList<>();
+      }
+      steps.add(holders);
+    }
+    if (!batchOnly.isEmpty()) {
+      steps.add(batchOnly);
+    }
+    return steps;
+  }
+
+  private int deployPriority(ManifestArtifactHolder holder) {
+    return credentials
+        .getResourcePropertyRegistry()
+        .get(holder.manifest.getKind())
+        .getHandler()
+        .deployPriority();
+  }
+
+  private boolean canApplyInBatch(ManifestArtifactHolder holder) {
+    return CanDeploy.canApplyInBatch(holder.manifest, holder.strategy.getDeployStrategy());
+  }
+
+  /**
+   * Returns the deploys of a step: one kubectl apply per distinct set of apply arguments, and one
+   * deploy through its handler for each of the other manifests.
+   */
+  private List<Callable<OperationResult>> deploys(
+      List<ManifestArtifactHolder> step, Task task, KubernetesSelectorList labelSelectors) {
+    List<Callable<OperationResult>> deploys = new ArrayList<>();
+    Map<List<String>, List<ManifestArtifactHolder>> batches = new LinkedHashMap<>();
+    for (ManifestArtifactHolder holder : step) {
+      KubernetesManifestStrategy strategy = holder.strategy;
+      if (canApplyInBatch(holder)) {
+        String[] applyArgs =
+            CanDeploy.applyArgs(
+                strategy.getDeployStrategy(), strategy.getServerSideApplyStrategy());
+        batches.computeIfAbsent(List.of(applyArgs), a -> new ArrayList<>()).add(holder);
+      } else {
+        KubernetesHandler deployer = findResourceProperties(holder.manifest).getHandler();
+        deploys.add(
+            () ->
+                deployer.deploy(
+                    credentials,
+                    holder.manifest,
+                    strategy.getDeployStrategy(),
+                    strategy.getServerSideApplyStrategy(),
+                    task,
+                    OP_NAME,
+                    labelSelectors));
+      }
+    }
+    batches.forEach(
+        (applyArgs, holders) ->
+            deploys.add(() -> applyBatch(holders, applyArgs, task, labelSelectors)));
+    return deploys;
+  }
+
+  private OperationResult applyBatch(
+      List<ManifestArtifactHolder> holders,
+      List<String> applyArgs,
+      Task task,
+      KubernetesSelectorList labelSelectors) {
+    List<KubernetesManifest> manifests =
+        holders.stream().map(ManifestArtifactHolder::getManifest).collect(Collectors.toList());
+    OperationResult operationResult = new OperationResult();
+    credentials
+        .deployAll(manifests, task, OP_NAME, labelSelectors, applyArgs.toArray(new String[0]))
+        .forEach(operationResult::addManifest);
+    return operationResult;
+  }
+
+  /** Runs the deploys concurrently, failing with the first failure once they have all finished. */
+  private static List<OperationResult> invokeAll(List<Callable<OperationResult>> deploys) {
+    List<Future<OperationResult>> futures;
+    try {
+      futures = DEPLOY_EXECUTOR.invokeAll(deploys);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while deploying manifests", e);
+    }
+
+    List<OperationResult> results = new ArrayList<>();
+    for (Future<OperationResult> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while deploying manifests", e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return results;
+  }
+
   @NotNull
   private OptionalInt latestVersion(KubernetesManifest manifest, OptionalInt version) {
     if (version.isEmpty()) {
@@ -383,7 +577,7 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
 
     return loadBalancer.orElseGet(
         () ->
-            Optional.ofNullable(credentials.get(coords))
+            Optional.ofNullable(credentials.getUncached(coords))
                 .orElseThrow(
                     () ->
                         new IllegalArgumentException(
@@ -425,6 +619,29 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
     return credentials.getResourcePropertyRegistry().get(kind);
   }
 
+  /** The tiers of manifests deployed together, in deploy order. */
+  private enum DeployTier {
+    CLUSTER("namespace, role and resource definition"),
+    CONFIGURATION("configuration"),
+    WORKLOAD("workload");
+
+    @Getter private final String description;
+
+    DeployTier(String description) {
+      this.description = description;
+    }
+
+    static DeployTier of(int deployPriority) {
+      if (deployPriority <= DeployPriority.RESOURCE_DEFINITION_PRIORITY.getValue()) {
+        return CLUSTER;
+      }
+      if (deployPriority < DeployPriority.WORKLOAD_MODIFIER_PRIORITY.getValue()) {
+        return CONFIGURATION;
+      }
+      return WORKLOAD;
+    }
+  }
+
   @Data
   @RequiredArgsConstructor
   private static class ManifestArtifactHolder {
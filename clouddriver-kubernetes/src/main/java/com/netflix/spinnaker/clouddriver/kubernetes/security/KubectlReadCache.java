@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Strings;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Caches the results of idempotent kubectl reads for a single account for a short time.
+ *
+ * <p>Concurrent reads of the same key share a single kubectl invocation. Any write through the
+ * account invalidates all cached reads for the written kind and namespace, so callers observe their
+ * own writes immediately; the TTL only bounds staleness with respect to changes made outside of
+ * this clouddriver instance. Each kind and namespace has a generation that invalidation advances,
+ * and a read that started before an invalidation is returned to its caller but not cached.
+ *
+ * <p>Cached values are never handed out directly: callers receive a copy, so that they may modify
+ * what they read.
+ */
+class KubectlReadCache {
+  private final boolean enabled;
+  private final Cache<Key, Optional<Object>> cache;
+  private final Registry registry;
+  private final Id requestsId;
+  private final Map<Scope, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  KubectlReadCache(
+      String accountName,
+      KubernetesConfigurationProperties.ReadCache properties,
+      Registry registry) {
+    this.enabled = properties.isEnabled();
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+            .maximumSize(properties.getMaxEntries())
+            .build();
+    this.registry = registry;
+    this.requestsId =
+        registry.createId("kubernetes.api.readCache.requests").withTag("account", accountName);
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T get(
+      String action,
+      KubernetesKind kind,
+      @Nullable String namespace,
+      @Nullable String name,
+      @Nullable String selectors,
+      Supplier<T> loader,
+      UnaryOperator<T> copy) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    Key key = new Key(action, kind, Strings.nullToEmpty(namespace), name, selectors);
+    AtomicLong generation = generation(key.getKind(), key.getNamespace());
+    AtomicBoolean loaded = new AtomicBoolean(false);
+    AtomicReference<Optional<Object>> stale = new AtomicReference<>();
+    Optional<Object> result =
+        cache.get(
+            key,
+            k -> {
+              loaded.set(true);
+              long started = generation.get();
+              Optional<Object> value = Optional.ofNullable(loader.get());
+              if (generation.get() != started) {
+                // invalidated while loading: the value may predate the write, so don't cache it
+                stale.set(value);
+                return null;
+              }
+              return value;
+            });
+    if (result == null) {
+      result = stale.get();
+    }
+    registry
+        .counter(requestsId.withTag("action", action).withTag("hit", !loaded.get()))
+        .increment();
+    return result.map(value -> copy.apply((T) value)).orElse(null);
+  }
+
+  void invalidate(KubernetesKind kind, @Nullable String namespace) {
+    if (!enabled) {
+      return;
+    }
+
+    String ns = Strings.nullToEmpty(namespace);
+    generation(kind, ns).incrementAndGet();
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.getKind().equals(kind) && key.getNamespace().equals(ns));
+  }
+
+  private AtomicLong generation(KubernetesKind kind, String namespace) {
+    return generations.computeIfAbsent(new Scope(kind, namespace), s -> new AtomicLong());
+  }
+
+  /** Copies a manifest and every map and list nested in it. */
+  static KubernetesManifest copy(@Nullable KubernetesManifest manifest) {
+    if (manifest == null) {
+      return null;
+    }
+    KubernetesManifest copy = new KubernetesManifest();
+    manifest.forEach((key, value) -> copy.put(key, copyValue(value)));
+    return copy;
+  }
+
+  private static Object copyValue(Object value) {
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      ((Map<?, ?>) value).forEach((k, v) -> copy.put(k, copyValue(v)));
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>(((List<?>) value).size());
+      ((List<?>) value).forEach(v -> copy.add(copyValue(v)));
+      return copy;
+    }
+    return value;
+  }
+
+  @Value
+  private static class Scope {
+    KubernetesKind kind;
+    String namespace;
+  }
+
+  @Value
+  private static class Key {
+    String action;
+    KubernetesKind kind;
+    String namespace;
+    @Nullable String name;
+    @Nullable String selectors;
+  }
+}
@@ -38,6 +38,7 @@ import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesCach
 import com.netflix.spinnaker.clouddriver.kubernetes.config.CustomKubernetesResource;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProperties.ManagedAccount;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesCachingPolicy;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.LinkedDockerRegistryConfiguration;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.RawResourcesEndpointConfig;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.AccountResourcePropertyRegistry;
@@ -135,6 +136,7 @@ public class KubernetesCredentials {
   private final KubernetesKindRegistry kindRegistry;
   @Getter private final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
   private final PermissionValidator permissionValidator;
+  private final KubectlReadCache readCache;
   private final Supplier<ImmutableMap<KubernetesKind, KubernetesKindProperties>> crdSupplier =
       Suppliers.memoizeWithExpiration(this::crdSupplier, CRD_EXPIRY_SECONDS, TimeUnit.SECONDS);
   private final Memoizer<ImmutableList<String>> liveNamespaceSupplier =
@@ -151,7 +153,8 @@ public class KubernetesCredentials {
       KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap,
       String kubeconfigFile,
       Namer<KubernetesManifest> manifestNamer,
-      GlobalResourcePropertyRegistry globalResourcePropertyRegistry) {
+      GlobalResourcePropertyRegistry globalResourcePropertyRegistry,
+      KubernetesConfigurationProperties.ReadCache readCacheProperties) {
     this.registry = registry;
     this.clock = registry.clock();
     this.jobExecutor = jobExecutor;
@@ -207,6 +210,7 @@ public class KubernetesCredentials {
     this.cacheAllApplicationRelationships = managedAccount.isCacheAllApplicationRelationships();
     this.rawResourcesEndpointConfig = managedAccount.getRawResourcesEndpointConfig();
     this.globalResourcePropertyRegistry = globalResourcePropertyRegistry;
+    this.readCache = new KubectlReadCache(accountName, readCacheProperties, registry);
   }
 
   /**
@@ -437,8 +441,26 @@ public class KubernetesCredentials {
     return get(KubernetesCoordinates.builder().kind(kind).namespace(namespace).name(name).build());
   }
 
+  /**
+   * Reads a resource, possibly from the read cache. Reads whose result feeds a write, such as those
+   * of operations, resource versioning and on-demand cache refreshes, should use {@link
+   * #getUncached(KubernetesCoordinates)} instead.
+   */
   @Nullable
   public KubernetesManifest get(KubernetesCoordinates coords) {
+    return readCache.get(
+        "get",
+        coords.getKind(),
+        coords.getNamespace(),
+        coords.getName(),
+        null,
+        () -> getUncached(coords),
+        KubectlReadCache::copy);
+  }
+
+  /** Reads a resource from the cluster, bypassing the read cache. */
+  @Nullable
+  public KubernetesManifest getUncached(KubernetesCoordinates coords) {
     return runAndRecordMetrics(
         "get",
         coords.getKind(),
@@ -446,19 +468,36 @@ public class KubernetesCredentials {
         () -> jobExecutor.get(this, coords.getKind(), coords.getNamespace(), coords.getName()));
   }
 
+  /**
+   * Lists resources, possibly from the read cache. Lists whose result feeds a write should use
+   * {@link #listUncached(KubernetesKind, String)} instead.
+   */
   @Nonnull
   public ImmutableList<KubernetesManifest> list(KubernetesKind kind, String namespace) {
-    return runAndRecordMetrics(
+    return list(kind, namespace, new KubernetesSelectorList());
+  }
+
+  @Nonnull
+  public ImmutableList<KubernetesManifest> list(
+      KubernetesKind kind, String namespace, KubernetesSelectorList selectors) {
+    return readCache.get(
         "list",
         kind,
         namespace,
-        () ->
-            jobExecutor.list(
-                this, ImmutableList.of(kind), namespace, new KubernetesSelectorList()));
+        null,
+        selectors.toString(),
+        () -> listUncached(kind, namespace, selectors),
+        KubernetesCredentials::copyAll);
   }
 
+  /** Lists resources from the cluster, bypassing the read cache. */
   @Nonnull
-  public ImmutableList<KubernetesManifest> list(
+  public ImmutableList<KubernetesManifest> listUncached(KubernetesKind kind, String namespace) {
+    return listUncached(kind, namespace, new KubernetesSelectorList());
+  }
+
+  @Nonnull
+  public ImmutableList<KubernetesManifest> listUncached(
       KubernetesKind kind, String namespace, KubernetesSelectorList selectors) {
     return runAndRecordMetrics(
         "list",
@@ -467,6 +506,11 @@ public class KubernetesCredentials {
         () -> jobExecutor.list(this, ImmutableList.of(kind), namespace, selectors));
   }
 
+  private static ImmutableList<KubernetesManifest> copyAll(
+      ImmutableList<KubernetesManifest> manifests) {
+    return manifests.stream().map(KubectlReadCache::copy).collect(toImmutableList());
+  }
+
   @Nonnull
   public ImmutableList<KubernetesManifest> list(List<KubernetesKind> kinds, String namespace) {
     if (kinds.isEmpty()) {
@@ -491,12 +535,21 @@ public class KubernetesCredentials {
 
   @Nonnull
   public ImmutableList<KubernetesManifest> eventsFor(KubernetesCoordinates coords) {
-    return runAndRecordMetrics(
-        "list",
-        KubernetesKind.EVENT,
+    return readCache.get(
+        "events",
+        coords.getKind(),
         coords.getNamespace(),
+        coords.getName(),
+        null,
         () ->
-            jobExecutor.eventsFor(this, coords.getKind(), coords.getNamespace(), coords.getName()));
+            runAndRecordMetrics(
+                "list",
+                KubernetesKind.EVENT,
+                coords.getNamespace(),
+                () ->
+                    jobExecutor.eventsFor(
+                        this, coords.getKind(), coords.getNamespace(), coords.getName())),
+        KubernetesCredentials::copyAll);
   }
 
   public String logs(String namespace, String podName, String containerName) {
@@ -517,7 +570,7 @@ public class KubernetesCredentials {
 
   public void scale(
       KubernetesKind kind, String namespace, String name, int replicas, Task task, String opName) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "scale",
         kind,
         namespace,
@@ -532,7 +585,7 @@ public class KubernetesCredentials {
       V1DeleteOptions options,
       Task task,
       String opName) {
-    return runAndRecordMetrics(
+    return runWriteAndRecordMetrics(
         "delete",
         kind,
         namespace,
@@ -554,11 +607,20 @@ public class KubernetesCredentials {
   public Collection<KubernetesPodMetric> topPod(KubernetesCoordinates coords) {
     Preconditions.checkState(
         coords.getKind().equals(KubernetesKind.POD), "Metrics are only available for pods.");
-    return runAndRecordMetrics(
+    return readCache.get(
         "top",
         KubernetesKind.POD,
         coords.getNamespace(),
-        () -> jobExecutor.topPod(this, coords.getNamespace(), coords.getName()));
+        coords.getName(),
+        null,
+        () ->
+            runAndRecordMetrics(
+                "top",
+                KubernetesKind.POD,
+                coords.getNamespace(),
+                () -> jobExecutor.topPod(this, coords.getNamespace(), coords.getName())),
+        // pod metrics are immutable
+        metrics -> metrics);
   }
 
   public KubernetesManifest deploy(
@@ -567,15 +629,38 @@ public class KubernetesCredentials {
       String opName,
       KubernetesSelectorList selectorList,
       String... cmdArgs) {
-    return runAndRecordMetrics(
+    return runWriteAndRecordMetrics(
         "deploy",
         manifest.getKind(),
         manifest.getNamespace(),
         () -> jobExecutor.deploy(this, manifest, task, opName, selectorList, cmdArgs));
   }
 
+  /** Applies all the manifests with a single kubectl invocation. */
+  public List<KubernetesManifest> deployAll(
+      List<KubernetesManifest> manifests,
+      Task task,
+      String opName,
+      KubernetesSelectorList selectorList,
+      String... cmdArgs) {
+    ImmutableList<KubernetesKind> kinds =
+        manifests.stream().map(KubernetesManifest::getKind).distinct().collect(toImmutableList());
+    ImmutableSet<String> namespaces =
+        manifests.stream().map(KubernetesManifest::getNamespace).collect(toImmutableSet());
+    manifests.forEach(m -> readCache.invalidate(m.getKind(), m.getNamespace()));
+    try {
+      return runAndRecordMetrics(
+          "deploy",
+          kinds,
+          namespaces.size() == 1 ? namespaces.iterator().next() : null,
+          () -> jobExecutor.deployAll(this, manifests, task, opName, selectorList, cmdArgs));
+    } finally {
+      manifests.forEach(m -> readCache.invalidate(m.getKind(), m.getNamespace()));
+    }
+  }
+
   private KubernetesManifest replace(KubernetesManifest manifest, Task task, String opName) {
-    return runAndRecordMetrics(
+    return runWriteAndRecordMetrics(
         "replace",
         manifest.getKind(),
         manifest.getNamespace(),
@@ -595,7 +680,7 @@ public class KubernetesCredentials {
 
   public KubernetesManifest create(
       KubernetesManifest manifest, Task task, String opName, KubernetesSelectorList selectorList) {
-    return runAndRecordMetrics(
+    return runWriteAndRecordMetrics(
         "create",
         manifest.getKind(),
         manifest.getNamespace(),
@@ -611,7 +696,7 @@ public class KubernetesCredentials {
   }
 
   public void undoRollout(KubernetesKind kind, String namespace, String name, int revision) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "undoRollout",
         kind,
         namespace,
@@ -619,7 +704,7 @@ public class KubernetesCredentials {
   }
 
   public void pauseRollout(KubernetesKind kind, String namespace, String name) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "pauseRollout",
         kind,
         namespace,
@@ -628,7 +713,7 @@ public class KubernetesCredentials {
 
   public void resumeRollout(
       KubernetesKind kind, String namespace, String name, Task task, String opName) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "resumeRollout",
         kind,
         namespace,
@@ -637,7 +722,7 @@ public class KubernetesCredentials {
 
   public void rollingRestart(
       KubernetesKind kind, String namespace, String name, Task task, String opName) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "rollingRestart",
         kind,
         namespace,
@@ -652,7 +737,7 @@ public class KubernetesCredentials {
       KubernetesManifest manifest,
       Task task,
       String opName) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "patch",
         kind,
         namespace,
@@ -667,13 +752,28 @@ public class KubernetesCredentials {
       List<JsonPatch> patches,
       Task task,
       String opName) {
-    runAndRecordMetrics(
+    runWriteAndRecordMetrics(
         "patch",
         kind,
         namespace,
         () -> jobExecutor.patch(this, kind, namespace, name, options, patches, task, opName));
   }
 
+  /**
+   * Runs a write operation, invalidating any cached reads of the written kind and namespace. Reads
+   * are invalidated both before and after the write so that a read racing with the write cannot
+   * leave a pre-write result in the cache.
+   */
+  private <T> T runWriteAndRecordMetrics(
+      String action, KubernetesKind kind, String namespace, Supplier<T> op) {
+    readCache.invalidate(kind, namespace);
+    try {
+      return runAndRecordMetrics(action, kind, namespace, op);
+    } finally {
+      readCache.invalidate(kind, namespace);
+    }
+  }
+
   private <T> T runAndRecordMetrics(
       String action, KubernetesKind kind, String namespace, Supplier<T> op) {
     return runAndRecordMetrics(action, ImmutableList.of(kind), namespace, op);
@@ -816,6 +916,7 @@ public class KubernetesCredentials {
     private final KubernetesKindRegistry.Factory kindRegistryFactory;
     private final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
     private final GlobalResourcePropertyRegistry globalResourcePropertyRegistry;
+    private final KubernetesConfigurationProperties kubernetesConfigurationProperties;
 
     public KubernetesCredentials build(ManagedAccount managedAccount) {
       Namer<KubernetesManifest> manifestNamer =
@@ -829,7 +930,8 @@ public class KubernetesCredentials {
           kubernetesSpinnakerKindMap,
           getKubeconfigFile(configFileService, managedAccount),
           manifestNamer,
-          globalResourcePropertyRegistry);
+          globalResourcePropertyRegistry,
+          kubernetesConfigurationProperties.getReadCache());
     }
 
     private String getKubeconfigFile(
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.security;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.KubernetesProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProperties.ManagedAccount;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties.CredentialsInitialization;
+import com.netflix.spinnaker.credentials.Credentials;
+import com.netflix.spinnaker.credentials.CredentialsRepository;
+import com.netflix.spinnaker.credentials.definition.BasicCredentialsLoader;
+import com.netflix.spinnaker.credentials.definition.CredentialsDefinitionSource;
+import com.netflix.spinnaker.credentials.definition.CredentialsParser;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads kubernetes accounts, optionally initializing new, modified and removed accounts a bounded
+ * number at a time rather than one after the other.
+ *
+ * <p>Saving an account to the repository initializes it through {@link
+ * KubernetesCredentialsLifecycleHandler}, which may list the namespaces of its cluster before
+ * scheduling its caching agents. When initialization is parallel, an account that is not
+ * initialized within the configured timeout of starting is left to complete in the background and
+ * gives up its slot, so an unreachable cluster holds up neither startup nor the accounts queued
+ * behind it; its agents are scheduled once it completes. Later changes to the same account are
+ * applied after it.
+ *
+ * <p>The time taken to initialize each account, and all the accounts of a load, is recorded.
+ */
+public class KubernetesCredentialsLoader
+    extends BasicCredentialsLoader<ManagedAccount, KubernetesNamedAccountCredentials> {
+  private static final Logger log = LoggerFactory.getLogger(KubernetesCredentialsLoader.class);
+
+  private final CredentialsInitialization properties;
+  private final Registry registry;
+  @Nullable private final ExecutorService executor;
+  @Nullable private final ScheduledExecutorService timeouts;
+  private final Map<String, Initialization> initializing = new ConcurrentHashMap<>();
+
+  /** Initializations waiting for one of the {@link CredentialsInitialization#getThreads()} slots. */
+  private final Deque<Runnable> queued = new ArrayDeque<>();
+
+  private int running = 0;
+
+  public KubernetesCredentialsLoader(
+      CredentialsDefinitionSource<ManagedAccount> definitionSource,
+      CredentialsParser<ManagedAccount, KubernetesNamedAccountCredentials> parser,
+      CredentialsRepository<KubernetesNamedAccountCredentials> credentialsRepository,
+      CredentialsInitialization properties,
+      Registry registry) {
+    super(definitionSource, parser, credentialsRepository);
+    this.properties = properties;
+    this.registry = registry;
+    if (properties.isParallel()) {
+      // the number of initializations in progress is bounded by the slots rather than the pool, so
+      // that an initialization that outlives its timeout can keep its thread after giving up its
+      // slot
+      this.executor =
+          Executors.newCachedThreadPool(
+              new ThreadFactoryBuilder()
+                  .setNameFormat(getClass().getSimpleName() + "-%d")
+                  .setDaemon(true)
+                  .build());
+      this.timeouts =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setNameFormat(getClass().getSimpleName() + "-timeouts")
+                  .setDaemon(true)
+                  .build());
+    } else {
+      this.executor = null;
+      this.timeouts = null;
+    }
+  }
+
+  @Override
+  protected void parse(Collection<ManagedAccount> definitions) {
+    long startTime = registry.clock().monotonicTime();
+
+    Set<String> definitionNames =
+        definitions.stream().map(ManagedAccount::getName).collect(Collectors.toSet());
+    // accounts that are still waiting to be initialized are not in the repository yet
+    Set<String> removed = new LinkedHashSet<>(loadedDefinitions.keySet());
+    credentialsRepository.getAll().stream().map(Credentials::getName).forEach(removed::add);
+    removed.removeAll(definitionNames);
+    removed.forEach(loadedDefinitions::remove);
+
+    List<KubernetesNamedAccountCredentials> toApply = new ArrayList<>();
+    for (ManagedAccount definition : definitions) {
+      if (!definition.equals(loadedDefinitions.get(definition.getName()))) {
+        KubernetesNamedAccountCredentials credentials = parser.parse(definition);
+        if (credentials != null) {
+          toApply.add(credentials);
+          // Add to loaded definitions now in case we trigger another parse before this one
+          // finishes
+          loadedDefinitions.put(definition.getName(), definition);
+        }
+      }
+    }
+
+    if (executor == null) {
+      removed.forEach(credentialsRepository::delete);
+      toApply.forEach(this::save);
+    } else {
+      Map<String, Initialization> submitted = new LinkedHashMap<>();
+      removed.forEach(
+          name -> submitted.put(name, submit(name, () -> credentialsRepository.delete(name))));
+      toApply.forEach(
+          credentials -> {
+            String name = credentials.getName();
+            submitted.put(name, submit(name, () -> save(credentials)));
+          });
+      submitted.forEach(this::await);
+    }
+
+    long elapsed = registry.clock().monotonicTime() - startTime;
+    registry
+        .timer(
+            registry
+                .createId("credentials.initialization")
+                .withTag("provider", KubernetesProvider.PROVIDER_NAME))
+        .record(elapsed, TimeUnit.NANOSECONDS);
+    log.info(
+        "Initialized {} and removed {} kubernetes accounts in {}ms",
+        toApply.size(),
+        removed.size(),
+        TimeUnit.NANOSECONDS.toMillis(elapsed));
+  }
+
+  /** Starts the action once any earlier change to the same account has completed. */
+  private Initialization submit(String name, Runnable action) {
+    Initialization initialization =
+        initializing.compute(
+            name,
+            (n, previous) -> {
+              Initialization next = new Initialization();
+              if (previous == null) {
+                start(next, action);
+              } else {
+                previous.done.handle((r, e) -> null).thenRun(() -> start(next, action));
+                // a change queued behind an initialization that was deferred is deferred with it
+                previous.settled.thenAccept(
+                    completed -> {
+                      if (!completed) {
+                        next.settled.complete(false);
+                      }
+                    });
+              }
+              return next;
+            });
+    initialization.done.whenComplete((r, e) -> initializing.remove(name, initialization));
+    return initialization;
+  }
+
+  /** Runs the initialization now if a slot is free, otherwise once one is given up. */
+  private void start(Initialization initialization, Runnable action) {
+    synchronized (queued) {
+      if (running >= properties.getThreads()) {
+        queued.add(() -> run(initialization, action));
+        return;
+      }
+      running++;
+    }
+    run(initialization, action);
+  }
+
+  /**
+   * Runs the initialization in a slot, which is given up when it completes or when it has run for
+   * the configured timeout, whichever comes first.
+   */
+  private void run(Initialization initialization, Runnable action) {
+    AtomicBoolean holdingSlot = new AtomicBoolean(true);
+    ScheduledFuture<?> timeout =
+        timeouts.schedule(
+            () -> {
+              initialization.settled.complete(false);
+              releaseSlot(holdingSlot);
+            },
+            properties.getTimeoutSeconds(),
+            TimeUnit.SECONDS);
+    CompletableFuture.runAsync(action, executor)
+        .whenComplete(
+            (r, e) -> {
+              timeout.cancel(false);
+              if (e == null) {
+                initialization.done.complete(null);
+              } else {
+                initialization.done.completeExceptionally(
+                    e instanceof CompletionException ? e.getCause() : e);
+              }
+              initialization.settled.complete(true);
+              releaseSlot(holdingSlot);
+            });
+  }
+
+  /** Hands the slot to the next queued initialization, if any. */
+  private void releaseSlot(AtomicBoolean holdingSlot) {
+    if (!holdingSlot.compareAndSet(true, false)) {
+      return;
+    }
+    Runnable next;
+    synchronized (queued) {
+      next = queued.poll();
+      if (next == null) {
+        running--;
+        return;
+      }
+    }
+    next.run();
+  }
+
+  private void await(String name, Initialization initialization) {
+    boolean completed;
+    try {
+      completed = initialization.settled.get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while initializing kubernetes accounts", e);
+    }
+
+    if (!completed) {
+      log.warn(
+          "Kubernetes account {} was not initialized within {}s, it will continue to be initialized in the background",
+          name,
+          properties.getTimeoutSeconds());
+      initialization.done.whenComplete(
+          (r, error) -> {
+            if (error == null) {
+              log.info("Deferred initialization of kubernetes account {} completed", name);
+            } else {
+              log.error("Deferred initialization of kubernetes account {} failed", name, error);
+            }
+          });
+    } else if (initialization.done.isCompletedExceptionally()) {
+      // failure to initialize an account should not prevent the others from being initialized
+      initialization.done.whenComplete(
+          (r, error) -> log.error("Failed to initialize kubernetes account {}", name, error));
+    }
+  }
+
+  /**
+   * A change to an account. It is settled once it has completed, or once it has been deferred
+   * because it, or an earlier change to the same account, did not complete within the timeout.
+   */
+  private static final class Initialization {
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private final CompletableFuture<Boolean> settled = new CompletableFuture<>();
+  }
+
+  private void save(KubernetesNamedAccountCredentials credentials) {
+    long startTime = registry.clock().monotonicTime();
+    boolean success = false;
+    try {
+      credentialsRepository.save(credentials);
+      success = true;
+    } finally {
+      registry
+          .timer(
+              registry
+                  .createId("credentials.initialization.account")
+                  .withTag("provider", KubernetesProvider.PROVIDER_NAME)
+                  .withTag("account", credentials.getName())
+                  .withTag("success", success))
+          .record(registry.clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -104,4 +104,10 @@ public class KubernetesNamedAccountCredentials
   public List<LinkedDockerRegistryConfiguration> getDockerRegistries() {
     return credentials.getDockerRegistries();
   }
+
+  /** The namespaces and kind map are rendered with the account and change while it is loaded. */
+  @Override
+  public Object detailsVersion() {
+    return List.of(getNamespaces(), getSpinnakerKindMap());
+  }
 }
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProp
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.health.KubernetesHealthIndicator;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
+import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentialsLoader;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentialsParser;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials;
 import com.netflix.spinnaker.clouddriver.security.CredentialsInitializerSynchronizable;
@@ -29,7 +30,6 @@ import com.netflix.spinnaker.credentials.CredentialsLifecycleHandler;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import com.netflix.spinnaker.credentials.MapBackedCredentialsRepository;
 import com.netflix.spinnaker.credentials.definition.AbstractCredentialsLoader;
-import com.netflix.spinnaker.credentials.definition.BasicCredentialsLoader;
 import com.netflix.spinnaker.credentials.definition.CredentialsDefinitionSource;
 import com.netflix.spinnaker.credentials.definition.CredentialsParser;
 import com.netflix.spinnaker.credentials.poller.Poller;
@@ -92,13 +92,19 @@ public class KubernetesConfiguration {
       @Nullable CredentialsDefinitionSource<ManagedAccount> kubernetesCredentialSource,
       KubernetesAccountProperties accountProperties,
       CredentialsParser<ManagedAccount, KubernetesNamedAccountCredentials> credentialsParser,
-      CredentialsRepository<KubernetesNamedAccountCredentials> kubernetesCredentialsRepository) {
+      CredentialsRepository<KubernetesNamedAccountCredentials> kubernetesCredentialsRepository,
+      KubernetesConfigurationProperties kubernetesConfigurationProperties,
+      Registry registry) {
 
     if (kubernetesCredentialSource == null) {
       kubernetesCredentialSource = accountProperties::getAccounts;
     }
-    return new BasicCredentialsLoader<>(
-        kubernetesCredentialSource, credentialsParser, kubernetesCredentialsRepository);
+    return new KubernetesCredentialsLoader(
+        kubernetesCredentialSource,
+        credentialsParser,
+        kubernetesCredentialsRepository,
+        kubernetesConfigurationProperties.getCredentialsInitialization(),
+        registry);
   }
 
   @Bean
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.artifact.ArtifactReplacer.ReplaceResult;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that {@link ArtifactReplacementEngine} replaces artifacts exactly like evaluating a
+ * JsonPath per artifact does, on a large manifest, in a single walk of the manifest.
+ */
+final class ArtifactReplacementEngineTest {
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final Configuration configuration =
+      Configuration.builder()
+          .jsonProvider(new JacksonJsonNodeJsonProvider())
+          .mappingProvider(new JacksonMappingProvider())
+          .build();
+
+  private static final ImmutableList<Replacer> REPLACERS =
+      ImmutableList.of(
+          Replacer.dockerImage(),
+          Replacer.podDockerImage(),
+          Replacer.configMapVolume(),
+          Replacer.secretVolume(),
+          Replacer.configMapProjectedVolume(),
+          Replacer.secretProjectedVolume(),
+          Replacer.configMapKeyValue(),
+          Replacer.secretKeyValue(),
+          Replacer.configMapEnv(),
+          Replacer.secretEnv(),
+          Replacer.hpaDeployment(),
+          Replacer.hpaReplicaSet());
+
+  private static final int CONTAINERS = 40;
+  private static final String NAMESPACE = "ns";
+  private static final String ACCOUNT = "my-account";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"match-name-and-tag", "match-name-only"})
+  void replacesLikeOneArtifactAtATime(String dockerImageBinding) throws Exception {
+    ArtifactReplacer artifactReplacer = new ArtifactReplacer(REPLACERS);
+    List<Artifact> artifacts = artifacts();
+
+    for (KubernetesManifest manifest :
+        ImmutableList.of(deployment(), cronJob(), pod(), autoscaler("Deployment"))) {
+      ReplaceResult expected = replaceOneArtifactAtATime(dockerImageBinding, manifest, artifacts);
+      ReplaceResult actual =
+          artifactReplacer.replaceAll(dockerImageBinding, manifest, artifacts, NAMESPACE, ACCOUNT);
+
+      assertThat(expected.getBoundArtifacts()).isNotEmpty();
+      assertThat(actual.getManifest()).isEqualTo(expected.getManifest());
+      assertThat(actual.getBoundArtifacts())
+          .containsExactlyElementsOf(expected.getBoundArtifacts());
+    }
+  }
+
+  @Test
+  void appliesLaterArtifactsToReplacedValues() {
+    ArtifactReplacer artifactReplacer = new ArtifactReplacer(REPLACERS);
+    Artifact first = dockerImage("gcr.io/image-0", "gcr.io/renamed:v1");
+    Artifact second = dockerImage("gcr.io/renamed", "gcr.io/renamed:v2");
+    Artifact unrelated = dockerImage("gcr.io/image-0", "gcr.io/image-0:v3");
+
+    ReplaceResult result =
+        artifactReplacer.replaceAll(
+            "match-name-and-tag",
+            deployment(),
+            ImmutableList.of(unrelated, first, second),
+            NAMESPACE,
+            ACCOUNT);
+
+    assertThat(result.getBoundArtifacts()).containsExactly(unrelated, first, second);
+    assertThat(containerImage(result.getManifest())).isEqualTo("gcr.io/renamed:v2");
+  }
+
+  @Test
+  void readsEachObjectOfTheManifestOnce() {
+    Map<JsonNode, Integer> reads = new IdentityHashMap<>();
+    JsonNodeFactory countingNodeFactory =
+        new JsonNodeFactory() {
+          @Override
+          public ObjectNode objectNode() {
+            return new ObjectNode(this) {
+              @Override
+              public Iterator<Map.Entry<String, JsonNode>> fields() {
+                reads.merge(this, 1, Integer::sum);
+                return super.fields();
+              }
+            };
+          }
+        };
+    JsonNode manifest = mapper.copy().setNodeFactory(countingNodeFactory).valueToTree(deployment());
+
+    ImmutableSet<Artifact> boundArtifacts =
+        new ArtifactReplacementEngine(REPLACERS)
+            .replaceAll("match-name-and-tag", manifest, artifacts());
+
+    assertThat(boundArtifacts).isNotEmpty();
+    assertThat(reads).isNotEmpty();
+    assertThat(reads.values()).allMatch(count -> count == 1);
+  }
+
+  private static ReplaceResult replaceOneArtifactAtATime(
+      String dockerImageBinding, KubernetesManifest manifest, List<Artifact> artifacts)
+      throws Exception {
+    DocumentContext document =
+        JsonPath.using(configuration).parse(mapper.writeValueAsString(manifest));
+    ImmutableSet.Builder<Artifact> replaced = ImmutableSet.builder();
+    for (Replacer replacer : REPLACERS) {
+      replaced.addAll(replacer.replaceArtifacts(dockerImageBinding, document, artifacts));
+    }
+    return new ReplaceResult(
+        mapper.readValue(document.jsonString(), KubernetesManifest.class), replaced.build());
+  }
+
+  /**
+   * 200 artifacts: new tags for half of the images, references renaming some images that later
+   * artifacts match again, config maps and secrets, and artifacts that match nothing.
+   */
+  private static List<Artifact> artifacts() {
+    List<Artifact> artifacts = new ArrayList<>();
+    for (int i = 0; i < CONTAINERS; i++) {
+      if (i % 2 == 0) {
+        artifacts.add(dockerImage("gcr.io/image-" + i, "gcr.io/image-" + i + ":new"));
+      } else if (i % 4 == 1) {
+        artifacts.add(dockerImage("gcr.io/image-" + i + ":old", "gcr.io/renamed-" + i + ":v1"));
+        artifacts.add(dockerImage("gcr.io/renamed-" + i, "gcr.io/renamed-" + i + ":v2"));
+      }
+      artifacts.add(artifact("kubernetes/configMap", "config-" + i, "config-" + i + "-v001"));
+      artifacts.add(artifact("kubernetes/secret", "secret-" + i, "secret-" + i + "-v001"));
+    }
+    artifacts.add(artifact("kubernetes/deployment", "my-deployment", "my-deployment"));
+    while (artifacts.size() < 200) {
+      artifacts.add(dockerImage("gcr.io/unused-" + artifacts.size(), "gcr.io/unused:latest"));
+    }
+    return artifacts;
+  }
+
+  private static Artifact dockerImage(String name, String reference) {
+    return artifact("docker/image", name, reference);
+  }
+
+  private static Artifact artifact(String type, String name, String reference) {
+    return Artifact.builder()
+        .type(type)
+        .name(name)
+        .reference(reference)
+        .location(type.startsWith("kubernetes/") ? NAMESPACE : null)
+        .build();
+  }
+
+  private static Map<String, Object> podSpec() {
+    List<Object> containers = new ArrayList<>();
+    List<Object> initContainers = new ArrayList<>();
+    List<Object> volumes = new ArrayList<>();
+    for (int i = 0; i < CONTAINERS; i++) {
+      Map<String, Object> container =
+          ImmutableMap.of(
+              "name",
+              "container-" + i,
+              "image",
+              "gcr.io/image-" + i + ":old",
+              "env",
+              ImmutableList.of(
+                  ImmutableMap.of(
+                      "name",
+                      "A",
+                      "valueFrom",
+                      ImmutableMap.of("configMapKeyRef", ImmutableMap.of("name", "config-" + i))),
+                  ImmutableMap.of(
+                      "name",
+                      "B",
+                      "valueFrom",
+                      ImmutableMap.of("secretKeyRef", ImmutableMap.of("name", "secret-" + i)))),
+              "envFrom",
+              ImmutableList.of(
+                  ImmutableMap.of("configMapRef", ImmutableMap.of("name", "config-" + i)),
+                  ImmutableMap.of("secretRef", ImmutableMap.of("name", "secret-" + i))));
+      (i % 4 == 3 ? initContainers : containers).add(container);
+      volumes.add(
+          ImmutableMap.of(
+              "name", "config-" + i, "configMap", ImmutableMap.of("name", "config-" + i)));
+      volumes.add(
+          ImmutableMap.of(
+              "name", "secret-" + i, "secret", ImmutableMap.of("secretName", "secret-" + i)));
+    }
+    volumes.add(
+        ImmutableMap.of(
+            "name",
+            "projected",
+            "projected",
+            ImmutableMap.of(
+                "sources",
+                ImmutableList.of(
+                    ImmutableMap.of("configMap", ImmutableMap.of("name", "config-1")),
+                    ImmutableMap.of("secret", ImmutableMap.of("name", "secret-2"))))));
+    return ImmutableMap.of(
+        "containers", containers, "initContainers", initContainers, "volumes", volumes);
+  }
+
+  private static KubernetesManifest deployment() {
+    return manifest(
+        ImmutableMap.of(
+            "apiVersion",
+            "apps/v1",
+            "kind",
+            "Deployment",
+            "metadata",
+            ImmutableMap.of("name", "my-deployment", "namespace", NAMESPACE),
+            "spec",
+            ImmutableMap.of("replicas", 3, "template", ImmutableMap.of("spec", podSpec()))));
+  }
+
+  private static KubernetesManifest cronJob() {
+    return manifest(
+        ImmutableMap.of(
+            "apiVersion",
+            "batch/v1",
+            "kind",
+            "CronJob",
+            "metadata",
+            ImmutableMap.of("name", "my-cron-job", "namespace", NAMESPACE),
+            "spec",
+            ImmutableMap.of(
+                "jobTemplate",
+                ImmutableMap.of(
+                    "spec", ImmutableMap.of("template", ImmutableMap.of("spec", podSpec()))))));
+  }
+
+  private static KubernetesManifest pod() {
+    return manifest(
+        ImmutableMap.of(
+            "apiVersion",
+            "v1",
+            "kind",
+            "Pod",
+            "metadata",
+            ImmutableMap.of("name", "my-pod", "namespace", NAMESPACE),
+            "spec",
+            podSpec()));
+  }
+
+  private static KubernetesManifest autoscaler(String kind) {
+    return manifest(
+        ImmutableMap.of(
+            "apiVersion",
+            "autoscaling/v2",
+            "kind",
+            "HorizontalPodAutoscaler",
+            "metadata",
+            ImmutableMap.of("name", "my-autoscaler", "namespace", NAMESPACE),
+            "spec",
+            ImmutableMap.of(
+                "scaleTargetRef", ImmutableMap.of("kind", kind, "name", "my-deployment"))));
+  }
+
+  private static KubernetesManifest manifest(Map<String, Object> manifest) {
+    return mapper.convertValue(manifest, KubernetesManifest.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String containerImage(KubernetesManifest manifest) {
+    Map<String, Object> spec = (Map<String, Object>) manifest.get("spec");
+    Map<String, Object> template = (Map<String, Object>) spec.get("template");
+    Map<String, Object> podSpec = (Map<String, Object>) template.get("spec");
+    List<Map<String, Object>> containers = (List<Map<String, Object>>) podSpec.get("containers");
+    return (String) containers.get(0).get("image");
+  }
+}
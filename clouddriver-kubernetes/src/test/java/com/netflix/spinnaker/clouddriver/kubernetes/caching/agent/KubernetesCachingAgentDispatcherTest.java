@@ -44,7 +44,8 @@ public class KubernetesCachingAgentDispatcherTest {
             null,
             new KubernetesConfigurationProperties(),
             new KubernetesSpinnakerKindMap(new ArrayList<>()),
-            null);
+            null,
+            KubernetesNamespaceLoader.SEQUENTIAL);
     KubernetesNamedAccountCredentials creds = mockCredentials(1);
     Collection<KubernetesCachingAgent> agents = dispatcher.buildAllCachingAgents(creds);
 
@@ -60,7 +61,8 @@ public class KubernetesCachingAgentDispatcherTest {
             null,
             new KubernetesConfigurationProperties(),
             new KubernetesSpinnakerKindMap(new ArrayList<>()),
-            null);
+            null,
+            KubernetesNamespaceLoader.SEQUENTIAL);
     KubernetesNamedAccountCredentials creds = mockCredentials(2);
     Collection<KubernetesCachingAgent> agents = dispatcher.buildAllCachingAgents(creds);
 
@@ -78,7 +80,8 @@ public class KubernetesCachingAgentDispatcherTest {
             null,
             configProperties,
             new KubernetesSpinnakerKindMap(new ArrayList<>()),
-            null);
+            null,
+            KubernetesNamespaceLoader.SEQUENTIAL);
     KubernetesNamedAccountCredentials creds = mockCredentials(2);
     Collection<KubernetesCachingAgent> agents = dispatcher.buildAllCachingAgents(creds);
 
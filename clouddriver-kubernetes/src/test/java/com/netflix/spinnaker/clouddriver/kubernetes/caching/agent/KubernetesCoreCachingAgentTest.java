@@ -139,14 +139,14 @@ final class KubernetesCoreCachingAgentTest {
         .thenAnswer(invocation -> kindProperties.get(invocation.getArgument(0)));
     when(credentials.getDeclaredNamespaces()).thenReturn(ImmutableList.of(NAMESPACE1, NAMESPACE2));
     when(credentials.getResourcePropertyRegistry()).thenReturn(resourcePropertyRegistry);
-    when(credentials.get(
+    when(credentials.getUncached(
             KubernetesCoordinates.builder()
                 .kind(KubernetesKind.DEPLOYMENT)
                 .namespace(NAMESPACE1)
                 .name(deploymentName)
                 .build()))
         .thenReturn(deploymentManifest(deploymentName));
-    when(credentials.get(
+    when(credentials.getUncached(
             KubernetesCoordinates.builder()
                 .kind(KubernetesKind.STORAGE_CLASS)
                 .name(STORAGE_CLASS_NAME)
@@ -398,6 +398,62 @@ final class KubernetesCoreCachingAgentTest {
     assertThat(deployments).isNullOrEmpty();
   }
 
+  /**
+   * Many manifests are checked against many applications known to front50, half of which match
+   * (ignoring case). The applications are fetched from front50 once, when the loader is refreshed,
+   * and not again while the manifests are filtered.
+   */
+  @Test
+  public void filtersManyManifestsAgainstApplicationsInFront50() {
+    // setup:
+    int applicationCount = 600;
+    int deploymentCount = 2000;
+
+    Set<Front50Application> applications = new HashSet<>();
+    for (int i = 0; i < applicationCount; i++) {
+      Front50Application application = new Front50Application();
+      application.setName("APP" + i);
+      applications.add(application);
+    }
+    // every other deployment belongs to an application that front50 does not know about
+    ImmutableList<KubernetesManifest> deployments =
+        IntStream.range(0, deploymentCount)
+            .mapToObj(i -> deploymentManifest("app" + (i % (2 * applicationCount)) + "-d" + i))
+            .collect(toImmutableList());
+    long expectedDeploymentCount =
+        IntStream.range(0, deploymentCount)
+            .filter(i -> i % (2 * applicationCount) < applicationCount)
+            .count();
+
+    Front50Service front50Service = mock(Front50Service.class);
+    when(front50Service.getAllApplicationsUnrestricted()).thenReturn(Calls.response(applications));
+    Front50ApplicationLoader front50ApplicationLoader =
+        new Front50ApplicationLoader(front50Service);
+    front50ApplicationLoader.refreshCache();
+
+    KubernetesNamedAccountCredentials namedAccountCredentials = getNamedAccountCredentials();
+    when(namedAccountCredentials.getCredentials().list(any(List.class), any()))
+        .thenAnswer(
+            invocation ->
+                NAMESPACE1.equals(invocation.getArgument(1))
+                        && ((List<KubernetesKind>) invocation.getArgument(0))
+                            .contains(KubernetesKind.DEPLOYMENT)
+                    ? deployments
+                    : ImmutableList.of());
+
+    ImmutableCollection<KubernetesCoreCachingAgent> cachingAgents =
+        createCachingAgents(namedAccountCredentials, 1, front50ApplicationLoader, true);
+
+    // when:
+    LoadDataResult loadDataResult = processLoadData(cachingAgents, ImmutableMap.of());
+
+    // then:
+    verify(front50Service).getAllApplicationsUnrestricted();
+    verifyNoMoreInteractions(front50Service);
+    assertThat(loadDataResult.getResults().get(DEPLOYMENT_KIND))
+        .hasSize((int) expectedDeploymentCount);
+  }
+
   /**
    * Given an on-demand cache request, constructs a set of caching agents and sends the on-demand
    * request to those agents, returning a collection of all non-null results of handing those
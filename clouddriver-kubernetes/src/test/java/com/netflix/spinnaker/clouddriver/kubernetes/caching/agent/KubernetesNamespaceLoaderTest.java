@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Tag;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties.Cache.ParallelNamespaces;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class KubernetesNamespaceLoaderTest {
+  private static final String ACCOUNT = "my-account";
+  private static final List<String> NAMESPACES =
+      IntStream.range(0, 20).mapToObj(i -> "namespace-" + i).collect(Collectors.toList());
+
+  private final List<KubernetesNamespaceLoader> loaders = new ArrayList<>();
+
+  private KubernetesNamespaceLoader loader(boolean enabled, int maxConcurrencyPerAccount) {
+    ParallelNamespaces properties = new ParallelNamespaces();
+    properties.setEnabled(enabled);
+    properties.setThreads(8);
+    properties.setMaxConcurrencyPerAccount(maxConcurrencyPerAccount);
+    KubernetesNamespaceLoader loader = new KubernetesNamespaceLoader(properties);
+    loaders.add(loader);
+    return loader;
+  }
+
+  @AfterEach
+  void shutDownLoaders() {
+    loaders.forEach(KubernetesNamespaceLoader::destroy);
+  }
+
+  private static ImmutableList<KubernetesManifest> manifestsIn(String namespace) {
+    KubernetesManifest manifest = new KubernetesManifest();
+    manifest.put("metadata", new HashMap<>());
+    manifest.setNamespace(namespace);
+    return ImmutableList.of(manifest);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void returnsResultsInNamespaceOrder(boolean enabled) {
+    ImmutableList<KubernetesManifest> result =
+        loader(enabled, 4)
+            .load(
+                ACCOUNT,
+                NAMESPACES,
+                KubernetesNamespaceLoaderTest::manifestsIn,
+                new DefaultRegistry());
+
+    assertThat(result).extracting(KubernetesManifest::getNamespace).isEqualTo(NAMESPACES);
+  }
+
+  @Test
+  void limitsConcurrentNamespacesPerAccount() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+
+    loader(true, 3)
+        .load(
+            ACCOUNT,
+            NAMESPACES,
+            namespace -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              try {
+                Thread.sleep(20);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              inFlight.decrementAndGet();
+              return manifestsIn(namespace);
+            },
+            new DefaultRegistry());
+
+    assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void recordsLatencyAndRethrowsFailures() {
+    Registry registry = new DefaultRegistry();
+    AtomicInteger loaded = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                loader(true, 4)
+                    .load(
+                        ACCOUNT,
+                        NAMESPACES,
+                        namespace -> {
+                          loaded.incrementAndGet();
+                          if (namespace.equals("namespace-3")) {
+                            throw new IllegalStateException("failed to list namespace-3");
+                          }
+                          return manifestsIn(namespace);
+                        },
+                        registry))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("failed to list namespace-3");
+
+    // a failing namespace does not prevent the others from being loaded
+    assertThat(loaded.get()).isEqualTo(NAMESPACES.size());
+    assertThat(
+            registry
+                .timers()
+                .filter(t -> t.id().name().equals("kubernetes.cache.namespace.load"))
+                .filter(t -> Iterables.contains(t.id().tags(), Tag.of("success", "false")))
+                .map(t -> t.id().tags())
+                .collect(Collectors.toList()))
+        .hasSize(1)
+        .allMatch(tags -> Iterables.contains(tags, Tag.of("namespace", "namespace-3")));
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spinnaker.cats.agent.AccountAware;
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.Keys;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.model.KubernetesCluster;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+final class KubernetesClusterViewCacheTest {
+  private final List<String> loads = new ArrayList<>();
+
+  private Set<KubernetesCluster> load(String account) {
+    loads.add(account);
+    if (account.equals(KubernetesClusterViewCache.ALL_ACCOUNTS)) {
+      return Set.of(cluster("prod", "frontend"), cluster("test", "frontend"));
+    }
+    return Set.of(cluster(account, "frontend"), cluster(account, "backend"));
+  }
+
+  private static KubernetesCluster cluster(String account, String name) {
+    return new KubernetesCluster(Keys.ClusterCacheKey.createKey(account, "app", name));
+  }
+
+  private static Agent agent(String providerName, String accountName) {
+    Agent agent = mock(Agent.class, withSettings().extraInterfaces(AccountAware.class));
+    when(agent.getProviderName()).thenReturn(providerName);
+    when(((AccountAware) agent).getAccountName()).thenReturn(accountName);
+    return agent;
+  }
+
+  private static KubernetesClusterViewCache cache(boolean enabled, boolean cachingWriteEnabled) {
+    return new KubernetesClusterViewCache(
+        new KubernetesConfigurationProperties.ClusterViewCache().setEnabled(enabled),
+        cachingWriteEnabled,
+        new NoopRegistry());
+  }
+
+  private static Set<String> names(Set<KubernetesCluster> clusters) {
+    return clusters.stream()
+        .map(cluster -> cluster.getAccountName() + "/" + cluster.getName())
+        .collect(Collectors.toSet());
+  }
+
+  @Test
+  void loadsEveryTimeWhenDisabled() {
+    KubernetesClusterViewCache cache = cache(false, true);
+    cache.get("app", this::load);
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*", "*");
+  }
+
+  @Test
+  void loadsEveryTimeOnNodesThatDoNotWriteToTheCache() {
+    KubernetesClusterViewCache cache = cache(true, false);
+    cache.get("app", this::load);
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*", "*");
+  }
+
+  @Test
+  void onlyTheAccountOfACompletedKubernetesAgentIsReadAgain() {
+    KubernetesClusterViewCache cache = cache(true, true);
+    cache.get("app", this::load);
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*");
+
+    cache.executionCompleted(agent("aws", "prod"), 0);
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*");
+
+    cache.executionCompleted(agent(KubernetesCloudProvider.ID, "prod"), 0);
+    Set<KubernetesCluster> clusters = cache.get("app", this::load);
+    assertThat(loads).containsExactly("*", "prod");
+    assertThat(names(clusters))
+        .containsExactlyInAnyOrder("prod/frontend", "prod/backend", "test/frontend");
+
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*", "prod");
+  }
+
+  @Test
+  void clustersLoadedDuringWriteAreNotServedAfterIt() {
+    KubernetesClusterViewCache cache = cache(true, true);
+    cache.get(
+        "app",
+        account -> {
+          // the agent finishes writing while the clusters are being read
+          cache.executionCompleted(agent(KubernetesCloudProvider.ID, "test"), 0);
+          return load(account);
+        });
+    cache.get("app", this::load);
+    assertThat(loads).containsExactly("*", "test");
+  }
+}
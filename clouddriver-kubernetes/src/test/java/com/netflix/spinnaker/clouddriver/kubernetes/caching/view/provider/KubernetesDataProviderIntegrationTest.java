@@ -38,6 +38,7 @@ import com.netflix.spinnaker.cats.provider.DefaultProviderRegistry;
 import com.netflix.spinnaker.cats.provider.ProviderRegistry;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.KubernetesProvider;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesCachingAgentDispatcher;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesNamespaceLoader;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.model.KubernetesApplication;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.model.KubernetesCluster;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.model.KubernetesInstance;
@@ -107,7 +108,12 @@ final class KubernetesDataProviderIntegrationTest {
       new KubernetesSpinnakerKindMap(handlers);
   private static final KubernetesCachingAgentDispatcher dispatcher =
       new KubernetesCachingAgentDispatcher(
-          objectMapper, registry, new KubernetesConfigurationProperties(), kindMap, null);
+          objectMapper,
+          registry,
+          new KubernetesConfigurationProperties(),
+          kindMap,
+          null,
+          new KubernetesNamespaceLoader(new KubernetesConfigurationProperties()));
   private static final GlobalResourcePropertyRegistry resourcePropertyRegistry =
       new GlobalResourcePropertyRegistry(
           handlers, new KubernetesUnregisteredCustomResourceHandler());
@@ -149,7 +155,15 @@ final class KubernetesDataProviderIntegrationTest {
   private static KubernetesApplicationProvider applicationProvider =
       new KubernetesApplicationProvider(cacheUtils);
   private static KubernetesClusterProvider clusterProvider =
-      new KubernetesClusterProvider(cacheUtils);
+      new KubernetesClusterProvider(
+          cacheUtils,
+          new KubernetesClusterViewCache(
+              new KubernetesConfigurationProperties.ClusterViewCache(), registry));
+  private static KubernetesClusterProvider memoizingClusterProvider =
+      new KubernetesClusterProvider(
+          cacheUtils,
+          new KubernetesClusterViewCache(
+              new KubernetesConfigurationProperties.ClusterViewCache().setEnabled(true), registry));
   private static KubernetesInstanceProvider instanceProvider =
       new KubernetesInstanceProvider(cacheUtils, accountResolver);
   private static KubernetesLoadBalancerProvider loadBalancerProvider =
@@ -226,6 +240,23 @@ final class KubernetesDataProviderIntegrationTest {
     assertBackendCluster(softly, clusterLookup.get("replicaSet backend"), true);
   }
 
+  @Test
+  void getClustersForApplicationMemoized(SoftAssertions softly) {
+    Map<String, Set<KubernetesCluster>> results =
+        memoizingClusterProvider.getClusterDetails("backendapp");
+    assertThat(results).containsOnlyKeys(ACCOUNT_NAME);
+    assertThat(memoizingClusterProvider.getClusterDetails("backendapp").get(ACCOUNT_NAME))
+        .isEqualTo(results.get(ACCOUNT_NAME));
+
+    Set<KubernetesCluster> clusters =
+        memoizingClusterProvider.getClusters("backendapp", ACCOUNT_NAME);
+    assertThat(clusters)
+        .extracting(KubernetesCluster::getName)
+        .containsExactlyInAnyOrder("replicaSet backend");
+    assertBackendCluster(softly, clusters.iterator().next(), true);
+    assertThat(memoizingClusterProvider.getClusters("backendapp", "non-existent")).isEmpty();
+  }
+
   @Test
   void getClustersForApplicationAndWrongAccount(SoftAssertions softly) {
     Set<KubernetesCluster> clusters = clusterProvider.getClusters("backendapp", "non-existent");
@@ -264,6 +295,23 @@ final class KubernetesDataProviderIntegrationTest {
     assertThat(cluster).isNull();
   }
 
+  @Test
+  void getClustersByName(SoftAssertions softly) {
+    Map<String, Set<KubernetesCluster>> results =
+        clusterProvider.getClusters(
+            ImmutableMap.of(
+                "frontendapp",
+                ImmutableMap.of(ACCOUNT_NAME, ImmutableSet.of("deployment frontend")),
+                "backendapp",
+                ImmutableMap.of(
+                    ACCOUNT_NAME, ImmutableSet.of("deployment frontend", "replicaSet backend"))));
+    assertThat(results).containsOnlyKeys("frontendapp", "backendapp");
+    assertThat(results.get("frontendapp")).hasSize(1);
+    assertFrontendCluster(softly, results.get("frontendapp").iterator().next(), true);
+    assertThat(results.get("backendapp")).hasSize(1);
+    assertBackendCluster(softly, results.get("backendapp").iterator().next(), true);
+  }
+
   @Test
   void getClusterSummaries(SoftAssertions softly) {
     Map<String, Set<KubernetesCluster>> results = clusterProvider.getClusterSummaries("backendapp");
@@ -283,6 +331,30 @@ final class KubernetesDataProviderIntegrationTest {
     assertBackendCluster(softly, clusterLookup.get("replicaSet backend"), false);
   }
 
+  @Test
+  void getClusterSummariesForApplications(SoftAssertions softly) {
+    Map<String, Map<String, Set<KubernetesCluster>>> results =
+        clusterProvider.getClusterSummaries(
+            ImmutableList.of("backendapp", "frontendapp", "non-existent"));
+    assertThat(results).containsOnlyKeys("backendapp", "frontendapp", "non-existent");
+    assertThat(results.get("non-existent")).isEmpty();
+
+    for (String application : ImmutableList.of("backendapp", "frontendapp")) {
+      Map<String, Set<KubernetesCluster>> expected =
+          clusterProvider.getClusterSummaries(application);
+      softly.assertThat(results.get(application)).containsOnlyKeys(expected.keySet());
+      expected.forEach(
+          (account, clusters) ->
+              softly
+                  .assertThat(results.get(application).get(account))
+                  .extracting(KubernetesCluster::getName)
+                  .containsExactlyInAnyOrderElementsOf(
+                      clusters.stream()
+                          .map(KubernetesCluster::getName)
+                          .collect(toImmutableList())));
+    }
+  }
+
   @Test
   void getServerGroup(SoftAssertions softly) {
     KubernetesServerGroup serverGroup =
@@ -611,7 +683,8 @@ final class KubernetesDataProviderIntegrationTest {
             new KubernetesKindRegistry.Factory(new GlobalKubernetesKindRegistry()),
             kindMap,
             new GlobalResourcePropertyRegistry(
-                ImmutableList.of(), new KubernetesUnregisteredCustomResourceHandler()));
+                ImmutableList.of(), new KubernetesUnregisteredCustomResourceHandler()),
+            new KubernetesConfigurationProperties());
     return new KubernetesNamedAccountCredentials(managedAccount, credentialFactory);
   }
 
@@ -40,7 +40,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(null)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, MANIFEST_NAME));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, MANIFEST_NAME));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -48,7 +48,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isNull();
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, MANIFEST_NAME));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, MANIFEST_NAME));
   }
 
   @Test
@@ -62,7 +62,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(null)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, manifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, manifestName));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -70,7 +70,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isNull();
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, manifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, manifestName));
   }
 
   @Test
@@ -87,7 +87,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(previousManifest)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -95,7 +95,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isEqualTo(previousCapacity);
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
   }
 
   @Test
@@ -113,7 +113,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(previousManifest)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -121,7 +121,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isEqualTo(previousCapacity);
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
   }
 
   @Test
@@ -136,7 +136,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(null)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -144,7 +144,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isNull();
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
   }
 
   @Test
@@ -158,7 +158,7 @@ public class KubernetesSourceCapacityTest {
     KubernetesCredentials credentials = Mockito.mock(KubernetesCredentials.class);
     Mockito.doReturn(null)
         .when(credentials)
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
 
     // when:
     Integer ret = KubernetesSourceCapacity.getSourceCapacity(manifest, credentials, currentVersion);
@@ -166,7 +166,7 @@ public class KubernetesSourceCapacityTest {
     // then:
     Assertions.assertThat(ret).isNull();
     Mockito.verify(credentials, Mockito.only())
-        .get(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
+        .getUncached(matchCoords(KubernetesKind.REPLICA_SET, previousManifestName));
   }
 
   @NotNull
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -61,8 +62,11 @@ import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.moniker.Moniker;
 import com.netflix.spinnaker.moniker.Namer;
 import io.kubernetes.client.openapi.models.V1DeleteOptions;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -510,6 +514,59 @@ final class KubernetesDeployManifestOperationTest {
     deploy(deployManifestDescription);
   }
 
+  @Test
+  void batchDeployKeepsPriorityOrderWithinATier() {
+    KubernetesDeployManifestDescription description =
+        baseDeployDescription("deploy/batch.yml").setBatchDeploy(true);
+    KubernetesCredentials credentials = description.getCredentials().getCredentials();
+    List<List<String>> deploys = Collections.synchronizedList(new ArrayList<>());
+    when(credentials.createOrReplace(any(KubernetesManifest.class), any(Task.class), anyString()))
+        .thenAnswer(
+            invocation -> {
+              KubernetesManifest manifest = invocation.getArgument(0, KubernetesManifest.class);
+              deploys.add(List.of(manifest.getFullResourceName()));
+              return manifest.clone();
+            });
+    when(credentials.deployAll(
+            anyList(), any(Task.class), anyString(), any(KubernetesSelectorList.class)))
+        .thenAnswer(
+            invocation -> {
+              List<KubernetesManifest> manifests = invocation.getArgument(0);
+              deploys.add(
+                  manifests.stream()
+                      .map(KubernetesManifest::getFullResourceName)
+                      .collect(Collectors.toList()));
+              return manifests.stream()
+                  .map(KubernetesManifest::clone)
+                  .collect(Collectors.toList());
+            });
+
+    OperationResult result = deploy(description);
+
+    assertThat(result.getManifestNamesByNamespace().get("my-namespace"))
+        .containsExactlyInAnyOrder(
+            "replicaSet my-name-v000",
+            "service my-other-service",
+            "configMap myconfig-v000",
+            "configMap config-map-replace-strategy-v000");
+    assertThat(result.getCreatedArtifacts()).hasSize(4);
+
+    // the config maps share a priority, so they are deployed concurrently, and the service only
+    // once the replaced config map has been deployed
+    assertThat(deploys.subList(0, 2))
+        .containsExactlyInAnyOrder(
+            List.of("configMap myconfig-v000"),
+            List.of("configMap config-map-replace-strategy-v000"));
+    assertThat(deploys.subList(2, deploys.size()))
+        .containsExactly(List.of("service my-other-service"), List.of("replicaSet my-name-v000"));
+    verify(credentials, never())
+        .deploy(
+            any(KubernetesManifest.class),
+            any(Task.class),
+            anyString(),
+            any(KubernetesSelectorList.class));
+  }
+
   private static KubernetesDeployManifestDescription baseDeployDescription(String manifest) {
     return baseDeployDescription(manifest, false);
   }
@@ -551,7 +608,7 @@ final class KubernetesDeployManifestOperationTest {
                 KubernetesKindProperties.withDefaultProperties(
                     invocation.getArgument(0, KubernetesKind.class)));
     when(credentialsMock.getResourcePropertyRegistry()).thenReturn(resourcePropertyRegistry);
-    when(credentialsMock.get(
+    when(credentialsMock.getUncached(
             KubernetesCoordinates.builder()
                 .kind(KubernetesKind.SERVICE)
                 .namespace("my-namespace")
@@ -561,7 +618,7 @@ final class KubernetesDeployManifestOperationTest {
             ManifestFetcher.getManifest(
                     KubernetesDeployManifestOperationTest.class, "deploy/service.yml")
                 .get(0));
-    when(credentialsMock.get(
+    when(credentialsMock.getUncached(
             KubernetesCoordinates.builder()
                 .kind(KubernetesKind.SERVICE)
                 .namespace("my-namespace")
@@ -589,6 +646,15 @@ final class KubernetesDeployManifestOperationTest {
                 return result;
               });
     }
+    when(credentialsMock.deployAll(
+            anyList(), any(Task.class), anyString(), any(KubernetesSelectorList.class)))
+        .thenAnswer(
+            invocation -> {
+              List<KubernetesManifest> manifests = invocation.getArgument(0);
+              return manifests.stream()
+                  .map(KubernetesManifest::clone)
+                  .collect(Collectors.toList());
+            });
     when(credentialsMock.getNamer()).thenReturn(NAMER);
     return credentialsMock;
   }
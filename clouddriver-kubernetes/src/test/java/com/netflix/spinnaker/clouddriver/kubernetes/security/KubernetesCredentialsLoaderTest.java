@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.KubernetesProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProperties.ManagedAccount;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties.CredentialsInitialization;
+import com.netflix.spinnaker.credentials.CredentialsLifecycleHandler;
+import com.netflix.spinnaker.credentials.CredentialsRepository;
+import com.netflix.spinnaker.credentials.MapBackedCredentialsRepository;
+import com.netflix.spinnaker.credentials.definition.CredentialsParser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class KubernetesCredentialsLoaderTest {
+  private final List<ManagedAccount> definitions = new ArrayList<>();
+  private CredentialsLifecycleHandler<KubernetesNamedAccountCredentials> handler;
+  private CredentialsRepository<KubernetesNamedAccountCredentials> repository;
+  private CredentialsParser<ManagedAccount, KubernetesNamedAccountCredentials> parser;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    handler = mock(CredentialsLifecycleHandler.class);
+    repository = new MapBackedCredentialsRepository<>(KubernetesProvider.PROVIDER_NAME, handler);
+    parser = mock(CredentialsParser.class);
+    when(parser.parse(any()))
+        .thenAnswer(
+            invocation -> {
+              KubernetesNamedAccountCredentials credentials =
+                  mock(KubernetesNamedAccountCredentials.class);
+              when(credentials.getName())
+                  .thenReturn(invocation.<ManagedAccount>getArgument(0).getName());
+              return credentials;
+            });
+  }
+
+  private KubernetesCredentialsLoader loader(CredentialsInitialization properties) {
+    return new KubernetesCredentialsLoader(
+        () -> definitions, parser, repository, properties, new NoopRegistry());
+  }
+
+  private void define(String... names) {
+    definitions.clear();
+    for (String name : names) {
+      ManagedAccount account = new ManagedAccount();
+      account.setName(name);
+      definitions.add(account);
+    }
+  }
+
+  private List<String> accountNames() {
+    return repository.getAll().stream()
+        .map(KubernetesNamedAccountCredentials::getName)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void removesAccountsThatAreNoLongerDefined() {
+    KubernetesCredentialsLoader loader = loader(new CredentialsInitialization());
+    define("account1", "account2");
+    loader.load();
+    assertThat(accountNames()).containsExactly("account1", "account2");
+
+    define("account2");
+    loader.load();
+    assertThat(accountNames()).containsExactly("account2");
+  }
+
+  @Test
+  void unreachableAccountIsInitializedInTheBackground() {
+    CountDownLatch reachable = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              KubernetesNamedAccountCredentials credentials = invocation.getArgument(0);
+              if (credentials.getName().equals("slow")) {
+                reachable.await();
+              }
+              return null;
+            })
+        .when(handler)
+        .credentialsAdded(any());
+
+    KubernetesCredentialsLoader loader =
+        loader(new CredentialsInitialization().setParallel(true).setTimeoutSeconds(1));
+    define("slow", "fast1", "fast2");
+    loader.load();
+
+    // the other accounts were initialized without waiting for the slow one
+    verify(handler, times(3)).credentialsAdded(any());
+    assertThat(reachable.getCount()).isEqualTo(1);
+
+    // removing the slow account is deferred until it has been initialized
+    define("fast1", "fast2");
+    loader.load();
+    verify(handler, never()).credentialsDeleted(any());
+
+    reachable.countDown();
+    verify(handler, timeout(5000)).credentialsDeleted(any());
+    assertThat(accountNames()).containsExactly("fast1", "fast2");
+  }
+
+  @Test
+  void hungAccountsGiveUpTheirThreadsToQueuedAccounts() {
+    CountDownLatch reachable = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              KubernetesNamedAccountCredentials credentials = invocation.getArgument(0);
+              if (credentials.getName().startsWith("hung")) {
+                reachable.await();
+              }
+              return null;
+            })
+        .when(handler)
+        .credentialsAdded(any());
+
+    KubernetesCredentialsLoader loader =
+        loader(
+            new CredentialsInitialization().setParallel(true).setThreads(2).setTimeoutSeconds(1));
+    define("hung1", "hung2", "hung3", "fast1", "fast2");
+    long startTime = System.nanoTime();
+    loader.load();
+    long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime);
+
+    // every account was started, and each timeout counted from when its account started rather
+    // than from when load got round to waiting for it
+    verify(handler, times(5)).credentialsAdded(any());
+    assertThat(elapsed).isLessThan(4);
+
+    assertThat(accountNames()).contains("fast1", "fast2");
+    reachable.countDown();
+  }
+}
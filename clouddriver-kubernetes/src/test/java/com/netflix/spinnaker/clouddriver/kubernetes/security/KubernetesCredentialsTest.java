@@ -23,10 +23,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.gson.JsonSyntaxException;
+import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.spectator.api.ManualClock;
 import com.netflix.spectator.api.NoopRegistry;
@@ -36,8 +40,10 @@ import com.netflix.spectator.api.Timer;
 import com.netflix.spinnaker.clouddriver.data.task.DefaultTask;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProperties.ManagedAccount;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.AccountResourcePropertyRegistry;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.GlobalResourcePropertyRegistry;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesCoordinates;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesSpinnakerKindMap;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
@@ -60,6 +66,13 @@ final class KubernetesCredentialsTest {
   private final Task task = new DefaultTask("task-id");
 
   private KubernetesCredentials getCredentials(Registry registry, KubectlJobExecutor jobExecutor) {
+    return getCredentials(registry, jobExecutor, new KubernetesConfigurationProperties());
+  }
+
+  private KubernetesCredentials getCredentials(
+      Registry registry,
+      KubectlJobExecutor jobExecutor,
+      KubernetesConfigurationProperties configurationProperties) {
     KubernetesCredentials.Factory factory =
         new KubernetesCredentials.Factory(
             registry,
@@ -73,7 +86,8 @@ final class KubernetesCredentialsTest {
                 new GlobalKubernetesKindRegistry(ImmutableList.of())),
             new KubernetesSpinnakerKindMap(ImmutableList.of()),
             new GlobalResourcePropertyRegistry(
-                ImmutableList.of(), new KubernetesUnregisteredCustomResourceHandler()));
+                ImmutableList.of(), new KubernetesUnregisteredCustomResourceHandler()),
+            configurationProperties);
     ManagedAccount managedAccount = new ManagedAccount();
     managedAccount.setName("my-account");
     return factory.build(managedAccount);
@@ -395,6 +409,158 @@ final class KubernetesCredentialsTest {
     assertThat(result).isEqualTo(manifest);
   }
 
+  private KubernetesCredentials getCredentialsWithReadCache(
+      Registry registry, KubectlJobExecutor jobExecutor) {
+    KubernetesConfigurationProperties configurationProperties =
+        new KubernetesConfigurationProperties();
+    configurationProperties.getReadCache().setEnabled(true);
+    configurationProperties.getReadCache().setTtlSeconds(60);
+    return getCredentials(registry, jobExecutor, configurationProperties);
+  }
+
+  private KubernetesCoordinates getCoordinates() {
+    return KubernetesCoordinates.builder()
+        .kind(KubernetesKind.DEPLOYMENT)
+        .namespace(NAMESPACE)
+        .name(DEPLOYMENT_NAME)
+        .build();
+  }
+
+  @Test
+  void readsAreNotCachedByDefault() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials = getCredentials(new NoopRegistry(), jobExecutor);
+
+    credentials.get(getCoordinates());
+    credentials.get(getCoordinates());
+
+    verify(jobExecutor, times(2))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+  }
+
+  @Test
+  void repeatedReadsAreServedFromReadCache() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    Registry registry = new DefaultRegistry();
+    KubernetesCredentials credentials = getCredentialsWithReadCache(registry, jobExecutor);
+    KubernetesManifest manifest = getManifest();
+    when(jobExecutor.get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME))
+        .thenReturn(manifest);
+
+    assertThat(credentials.get(getCoordinates())).isEqualTo(manifest);
+    assertThat(credentials.get(getCoordinates())).isEqualTo(manifest);
+    credentials.eventsFor(getCoordinates());
+    credentials.eventsFor(getCoordinates());
+
+    verify(jobExecutor, times(1))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+    verify(jobExecutor, times(1))
+        .eventsFor(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+
+    // Only the kubectl invocations are timed, while every read is counted as a hit or a miss
+    assertThat(registry.timers().count()).isEqualTo(2);
+    assertThat(
+            registry
+                .counters()
+                .filter(c -> c.id().name().equals("kubernetes.api.readCache.requests"))
+                .filter(c -> Iterables.contains(c.id().tags(), Tag.of("hit", "true")))
+                .mapToLong(Counter::count)
+                .sum())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void writesInvalidateReadCache() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials =
+        getCredentialsWithReadCache(new NoopRegistry(), jobExecutor);
+
+    credentials.get(getCoordinates());
+    credentials.deploy(getManifest(), task, OP_NAME, new KubernetesSelectorList());
+    credentials.get(getCoordinates());
+    credentials.scale(KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME, 2, task, OP_NAME);
+    credentials.get(getCoordinates());
+
+    verify(jobExecutor, times(3))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+  }
+
+  @Test
+  void writesToOtherCoordinatesDoNotInvalidateReadCache() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials =
+        getCredentialsWithReadCache(new NoopRegistry(), jobExecutor);
+
+    credentials.get(getCoordinates());
+    credentials.scale(KubernetesKind.DEPLOYMENT, "other-namespace", "other", 2, task, OP_NAME);
+    credentials.get(getCoordinates());
+
+    verify(jobExecutor, times(1))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+  }
+
+  @Test
+  void uncachedReadsBypassReadCache() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials =
+        getCredentialsWithReadCache(new NoopRegistry(), jobExecutor);
+
+    credentials.get(getCoordinates());
+    credentials.getUncached(getCoordinates());
+    credentials.list(KubernetesKind.DEPLOYMENT, NAMESPACE);
+    credentials.listUncached(KubernetesKind.DEPLOYMENT, NAMESPACE);
+
+    verify(jobExecutor, times(2))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+    verify(jobExecutor, times(2))
+        .list(
+            eq(credentials),
+            eq(ImmutableList.of(KubernetesKind.DEPLOYMENT)),
+            eq(NAMESPACE),
+            any(KubernetesSelectorList.class));
+  }
+
+  @Test
+  void cachedReadsReturnCopies() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials =
+        getCredentialsWithReadCache(new NoopRegistry(), jobExecutor);
+    when(jobExecutor.get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME))
+        .thenReturn(getManifest());
+
+    KubernetesManifest first = credentials.get(getCoordinates());
+    // the name is nested in the metadata of the manifest
+    first.setName("changed");
+
+    assertThat(credentials.get(getCoordinates())).isEqualTo(getManifest());
+    verify(jobExecutor, times(1))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+  }
+
+  @Test
+  void readsRacingWithWritesAreNotCached() {
+    KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class);
+    KubernetesCredentials credentials =
+        getCredentialsWithReadCache(new NoopRegistry(), jobExecutor);
+    KubernetesManifest manifest = getManifest();
+    when(jobExecutor.get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME))
+        .thenAnswer(
+            invocation -> {
+              // the deployment is scaled while kubectl get is running
+              credentials.scale(
+                  KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME, 2, task, OP_NAME);
+              return manifest;
+            })
+        .thenReturn(manifest);
+
+    assertThat(credentials.get(getCoordinates())).isEqualTo(manifest);
+    assertThat(credentials.get(getCoordinates())).isEqualTo(manifest);
+    assertThat(credentials.get(getCoordinates())).isEqualTo(manifest);
+
+    verify(jobExecutor, times(2))
+        .get(credentials, KubernetesKind.DEPLOYMENT, NAMESPACE, DEPLOYMENT_NAME);
+  }
+
   // This is an error type that will only ever be thrown by stubs in this test; that way we can
   // assert that it is thrown and be sure that we aren't accidentally passing due to an unrelated
   // exception.
@@ -25,12 +25,15 @@ import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonCredentials;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration;
+import com.netflix.spinnaker.config.LambdaConfiguration;
 import com.netflix.spinnaker.config.LambdaServiceConfig;
 import com.netflix.spinnaker.credentials.Credentials;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -39,16 +42,19 @@ public class LambdaAgentProvider implements AgentProvider {
   private final AmazonClientProvider amazonClientProvider;
   private final LambdaServiceConfig lambdaServiceConfig;
   private final ServiceLimitConfiguration serviceLimitConfiguration;
+  private final ExecutorService hydrationExecutor;
 
   @Autowired
   public LambdaAgentProvider(
       AmazonClientProvider amazonClientProvider,
       LambdaServiceConfig lambdaServiceConfig,
-      ServiceLimitConfiguration serviceLimitConfiguration) {
+      ServiceLimitConfiguration serviceLimitConfiguration,
+      @Qualifier(LambdaConfiguration.HYDRATION_EXECUTOR) ExecutorService hydrationExecutor) {
     this.objectMapper = AmazonObjectMapperConfigurer.createConfigured();
     this.amazonClientProvider = amazonClientProvider;
     this.lambdaServiceConfig = lambdaServiceConfig;
     this.serviceLimitConfiguration = serviceLimitConfiguration;
+    this.hydrationExecutor = hydrationExecutor;
   }
 
   @Override
@@ -72,7 +78,8 @@ public class LambdaAgentProvider implements AgentProvider {
                 netflixAmazonCredentials,
                 region.getName(),
                 lambdaServiceConfig,
-                serviceLimitConfiguration));
+                serviceLimitConfiguration,
+                hydrationExecutor));
       }
     }
     return agents;
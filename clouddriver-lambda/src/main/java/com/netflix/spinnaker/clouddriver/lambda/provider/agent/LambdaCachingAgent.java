@@ -26,6 +26,7 @@ import static java.util.stream.Collectors.toSet;
 import com.amazonaws.services.lambda.model.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.CaseFormat;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.netflix.frigga.Names;
 import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.spectator.api.Registry;
@@ -55,6 +56,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
@@ -82,6 +84,24 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
       String region,
       LambdaServiceConfig lambdaServiceConfig,
       ServiceLimitConfiguration serviceLimitConfiguration) {
+    this(
+        objectMapper,
+        amazonClientProvider,
+        account,
+        region,
+        lambdaServiceConfig,
+        serviceLimitConfiguration,
+        MoreExecutors.newDirectExecutorService());
+  }
+
+  LambdaCachingAgent(
+      ObjectMapper objectMapper,
+      AmazonClientProvider amazonClientProvider,
+      NetflixAmazonCredentials account,
+      String region,
+      LambdaServiceConfig lambdaServiceConfig,
+      ServiceLimitConfiguration serviceLimitConfiguration,
+      ExecutorService hydrationExecutor) {
     this.account = account;
     this.region = region;
     this.registry = new DefaultRegistry();
@@ -91,7 +111,13 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
             this,
             AmazonCloudProvider.ID + ":" + AmazonCloudProvider.ID + ":" + OnDemandType.Function);
     this.lambdaService =
-        new LambdaService(amazonClientProvider, account, region, objectMapper, lambdaServiceConfig);
+        new LambdaService(
+            amazonClientProvider,
+            account,
+            region,
+            objectMapper,
+            lambdaServiceConfig,
+            hydrationExecutor);
   }
 
   @Override
@@ -129,7 +155,7 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
     // Get All Lambda's
     List<Map<String, Object>> allLambdas;
     try {
-      allLambdas = lambdaService.getAllFunctions();
+      allLambdas = lambdaService.getAllFunctions(getCachedFunctions(providerCache));
     } catch (Exception e) {
       throw new SpinnakerException(
           "Failed to populate the lambda cache for account '"
@@ -220,6 +246,24 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
     return new DefaultCacheResult(cacheResults, evictions);
   }
 
+  /** Returns the functions cached by the previous run of this agent, keyed by function name. */
+  private Map<String, Map<String, Object>> getCachedFunctions(ProviderCache providerCache) {
+    Map<String, Map<String, Object>> cachedFunctions = new HashMap<>();
+    providerCache
+        .getAll(
+            LAMBDA_FUNCTIONS.ns,
+            providerCache.filterIdentifiers(
+                LAMBDA_FUNCTIONS.ns, Keys.getLambdaFunctionKey(getAccountName(), getRegion(), "*")))
+        .forEach(
+            cacheData -> {
+              Object functionName = cacheData.getAttributes().get("functionName");
+              if (functionName != null) {
+                cachedFunctions.put(functionName.toString(), cacheData.getAttributes());
+              }
+            });
+    return cachedFunctions;
+  }
+
   void buildCacheData(
       Map<String, CacheData> lambdaCacheData,
       Map<String, Collection<String>> appLambdaRelationships,
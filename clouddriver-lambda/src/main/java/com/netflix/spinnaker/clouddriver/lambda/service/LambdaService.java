@@ -21,14 +21,23 @@ import com.amazonaws.auth.policy.Statement;
 import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.model.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.netflix.spinnaker.clouddriver.aws.data.ArnUtils;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
+import com.netflix.spinnaker.clouddriver.core.limits.RequestPriority;
 import com.netflix.spinnaker.clouddriver.lambda.deploy.ops.LambdaClientProvider;
 import com.netflix.spinnaker.config.LambdaServiceConfig;
+import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
@@ -36,35 +45,114 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class LambdaService extends LambdaClientProvider {
 
+  /** When the attributes of a function were described, in epoch milliseconds. */
+  static final String HYDRATED_AT = "hydratedAt";
+
   private final ObjectMapper mapper;
+  private final LambdaServiceConfig.Caching cachingConfig;
+  private final ExecutorService hydrationExecutor;
+  private final Clock clock;
 
+  /** Describes functions on the calling thread, one at a time. */
   public LambdaService(
       AmazonClientProvider amazonClientProvider,
       NetflixAmazonCredentials account,
       String region,
       ObjectMapper mapper,
       LambdaServiceConfig lambdaServiceConfig) {
+    this(
+        amazonClientProvider,
+        account,
+        region,
+        mapper,
+        lambdaServiceConfig,
+        MoreExecutors.newDirectExecutorService());
+  }
+
+  /**
+   * @param hydrationExecutor describes the functions concurrently, see {@link
+   *     com.netflix.spinnaker.config.LambdaConfiguration#lambdaHydrationExecutor}
+   */
+  public LambdaService(
+      AmazonClientProvider amazonClientProvider,
+      NetflixAmazonCredentials account,
+      String region,
+      ObjectMapper mapper,
+      LambdaServiceConfig lambdaServiceConfig,
+      ExecutorService hydrationExecutor) {
+    this(
+        amazonClientProvider,
+        account,
+        region,
+        mapper,
+        lambdaServiceConfig,
+        hydrationExecutor,
+        Clock.systemUTC());
+  }
+
+  LambdaService(
+      AmazonClientProvider amazonClientProvider,
+      NetflixAmazonCredentials account,
+      String region,
+      ObjectMapper mapper,
+      LambdaServiceConfig lambdaServiceConfig,
+      ExecutorService hydrationExecutor,
+      Clock clock) {
     super(region, account);
     super.operationsConfig = lambdaServiceConfig;
     super.amazonClientProvider = amazonClientProvider;
     this.mapper = mapper;
+    this.cachingConfig =
+        Optional.ofNullable(lambdaServiceConfig.getCaching())
+            .orElseGet(LambdaServiceConfig.Caching::new);
+    this.hydrationExecutor = hydrationExecutor;
+    this.clock = clock;
   }
 
   public List<Map<String, Object>> getAllFunctions() {
+    return getAllFunctions(Collections.emptyMap());
+  }
+
+  /**
+   * Describes all the functions of the account and region, concurrently and with the priority of
+   * the calling thread.
+   *
+   * <p>If {@link LambdaServiceConfig.Caching#isReuseUnchangedFunctions()} is set, functions whose
+   * revision id and last modified time match the ones in {@code previousFunctions} (keyed by
+   * function name) are not described again, and their previous attributes are returned as they
+   * are, until {@link LambdaServiceConfig.Caching#getRevalidationIntervalSeconds()} have passed
+   * since they were last described.
+   */
+  public List<Map<String, Object>> getAllFunctions(
+      Map<String, Map<String, Object>> previousFunctions) {
     List<FunctionConfiguration> functions = listAllFunctionConfigurations();
+
+    Map<String, Map<String, Object>> unchangedFunctions = new HashMap<>();
+    if (cachingConfig.isReuseUnchangedFunctions()) {
+      long revalidateBefore =
+          clock.millis()
+              - TimeUnit.SECONDS.toMillis(cachingConfig.getRevalidationIntervalSeconds());
+      for (FunctionConfiguration f : functions) {
+        Map<String, Object> previous = previousFunctions.get(f.getFunctionName());
+        if (previous != null
+            && isUnchanged(f, previous)
+            && isHydratedAfter(previous, revalidateBefore)) {
+          unchangedFunctions.put(f.getFunctionName(), previous);
+        }
+      }
+    }
+    log.debug(
+        "Describing {} of {} functions in {}/{}",
+        functions.size() - unchangedFunctions.size(),
+        functions.size(),
+        getCredentials().getName(),
+        getRegion());
     List<Map<String, Object>> hydratedFunctionList =
-        Collections.synchronizedList(new ArrayList<>());
-    functions.stream()
-        .forEach(
-            f -> {
-              Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
-              addBaseAttributes(functionAttributes, f.getFunctionName());
-              addRevisionsAttributes(functionAttributes, f.getFunctionName());
-              addAliasAndEventSourceMappingConfigurationAttributes(
-                  functionAttributes, f.getFunctionName());
-              addTargetGroupAttributes(functionAttributes, f.getFunctionName());
-              hydratedFunctionList.add(functionAttributes);
-            });
+        hydrateFunctions(
+            functions.stream()
+                .map(FunctionConfiguration::getFunctionName)
+                .collect(Collectors.toList()),
+            unchangedFunctions);
 
     // if addBaseAttributes returned null, the name won't be included. There is a chance other
     // resources still have
@@ -74,8 +162,69 @@ public class LambdaService extends LambdaClientProvider {
         .collect(Collectors.toList());
   }
 
+  private static boolean isUnchanged(FunctionConfiguration f, Map<String, Object> previous) {
+    return f.getRevisionId() != null
+        && f.getRevisionId().equals(previous.get("revisionId"))
+        && Objects.equals(f.getLastModified(), previous.get("lastModified"));
+  }
+
+  private static boolean isHydratedAfter(Map<String, Object> previous, long epochMillis) {
+    Object hydratedAt = previous.get(HYDRATED_AT);
+    return hydratedAt instanceof Number && ((Number) hydratedAt).longValue() > epochMillis;
+  }
+
+  private List<Map<String, Object>> hydrateFunctions(
+      List<String> functionNames, Map<String, Map<String, Object>> unchangedFunctions) {
+    List<Future<Map<String, Object>>> futures = new ArrayList<>();
+    try {
+      for (String functionName : functionNames) {
+        Map<String, Object> unchanged = unchangedFunctions.get(functionName);
+        if (unchanged != null) {
+          futures.add(CompletableFuture.completedFuture(new HashMap<>(unchanged)));
+        } else {
+          // the calls are still made on behalf of the caller, e.g. a caching agent
+          futures.add(
+              hydrationExecutor.submit(
+                  RequestPriority.propagate(() -> hydrateFunction(functionName))));
+        }
+      }
+      List<Map<String, Object>> hydratedFunctions = new ArrayList<>();
+      for (Future<Map<String, Object>> future : futures) {
+        hydratedFunctions.add(getHydratedFunction(future));
+      }
+      return hydratedFunctions;
+    } finally {
+      // the executor is shared, so do not leave work behind if one of the functions failed
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private static Map<String, Object> getHydratedFunction(Future<Map<String, Object>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while describing functions", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private Map<String, Object> hydrateFunction(String functionName) {
+    long hydratedAt = clock.millis();
+    Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
+    addBaseAttributes(functionAttributes, functionName);
+    addRevisionsAttributes(functionAttributes, functionName);
+    addAliasAndEventSourceMappingConfigurationAttributes(functionAttributes, functionName);
+    addTargetGroupAttributes(functionAttributes, functionName);
+    functionAttributes.put(HYDRATED_AT, hydratedAt);
+    return functionAttributes;
+  }
+
   public Map<String, Object> getFunctionByName(String functionName) throws InterruptedException {
     List<Callable<Void>> functionTasks = Collections.synchronizedList(new ArrayList<>());
+    long hydratedAt = clock.millis();
     Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
     addBaseAttributes(functionAttributes, functionName);
     if (functionAttributes.isEmpty()) {
@@ -85,6 +234,7 @@ public class LambdaService extends LambdaClientProvider {
     addRevisionsAttributes(functionAttributes, functionName);
     addAliasAndEventSourceMappingConfigurationAttributes(functionAttributes, functionName);
     addTargetGroupAttributes(functionAttributes, functionName);
+    functionAttributes.put(HYDRATED_AT, hydratedAt);
     return functionAttributes;
   }
 
@@ -16,7 +16,12 @@
 
 package com.netflix.spinnaker.config;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,4 +29,19 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan("com.netflix.spinnaker.clouddriver.lambda")
 @ConditionalOnExpression(
     "${aws.enabled:false} and (${aws.lambda.enabled:false} or ${aws.features.lambda.enabled:false})")
-public class LambdaConfiguration {}
+public class LambdaConfiguration {
+
+  public static final String HYDRATION_EXECUTOR = "lambdaHydrationExecutor";
+
+  /** Describes the functions of all the Lambda caching agents of this instance. */
+  @Bean(destroyMethod = "shutdownNow")
+  @Qualifier(HYDRATION_EXECUTOR)
+  public ExecutorService lambdaHydrationExecutor(LambdaServiceConfig lambdaServiceConfig) {
+    return Executors.newFixedThreadPool(
+        Math.max(1, lambdaServiceConfig.getCaching().getHydrationThreads()),
+        new ThreadFactoryBuilder()
+            .setNameFormat(LambdaConfiguration.class.getSimpleName() + "-%d")
+            .setDaemon(true)
+            .build());
+  }
+}
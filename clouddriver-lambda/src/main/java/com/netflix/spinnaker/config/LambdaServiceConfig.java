@@ -53,6 +53,8 @@ public class LambdaServiceConfig {
 
   private Retry retry = new Retry();
 
+  private Caching caching = new Caching();
+
   /**
    * Duplicated by the {@link
    * com.netflix.spinnaker.clouddriver.aws.AwsConfigurationProperties.ClientConfig} class and the
@@ -66,4 +68,30 @@ public class LambdaServiceConfig {
     @Value("#{'${aws.lambda.retries:${aws.client.maxErrorRetry}}'}")
     private int retries = 3;
   }
+
+  /** Controls how the caching agents describe the functions of an account and region. */
+  @Data
+  public static class Caching {
+    /**
+     * How many functions are described concurrently, across all the accounts and regions. Every
+     * function takes several API calls, all of which still go through the rate limiter of the
+     * account.
+     */
+    private int hydrationThreads = 8;
+
+    /**
+     * Whether functions whose revision id and last modified time are unchanged since the previous
+     * caching cycle keep their previously cached attributes instead of being described again.
+     * Changes made through Spinnaker are cached on demand regardless.
+     */
+    private boolean reuseUnchangedFunctions = true;
+
+    /**
+     * With {@link #reuseUnchangedFunctions}, how long the attributes of an unchanged function are
+     * reused before it is described again. Aliases, event source mappings and policies changed
+     * outside of Spinnaker, none of which update the function revision, are picked up within this
+     * interval, and the presigned code location, which is valid for ten minutes, is renewed.
+     */
+    private long revalidationIntervalSeconds = 600;
+  }
 }
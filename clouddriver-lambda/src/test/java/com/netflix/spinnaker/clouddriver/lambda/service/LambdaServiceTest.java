@@ -3,18 +3,28 @@ package com.netflix.spinnaker.clouddriver.lambda.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.model.FunctionConfiguration;
+import com.amazonaws.services.lambda.model.GetFunctionRequest;
 import com.amazonaws.services.lambda.model.GetFunctionResult;
 import com.amazonaws.services.lambda.model.GetPolicyResult;
 import com.amazonaws.services.lambda.model.ListFunctionsResult;
+import com.amazonaws.services.lambda.model.ListVersionsByFunctionRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration;
 import com.netflix.spinnaker.config.LambdaServiceConfig;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -155,4 +165,178 @@ class LambdaServiceTest {
     Map<String, Object> function = allFunctions.get(0);
     assertEquals("testFunction", function.get("functionName"));
   }
+
+  @Test
+  void getAllFunctionsReusesUnchangedFunctionsByDefaultAndDescribesChangedOnes() {
+    when(lambdaServiceConfig.getRetry()).thenReturn(new LambdaServiceConfig.Retry());
+
+    FunctionConfiguration unchanged =
+        new FunctionConfiguration()
+            .withFunctionName("unchanged")
+            .withRevisionId("rev-1")
+            .withLastModified("2026-01-01T00:00:00.000+0000");
+    FunctionConfiguration changed =
+        new FunctionConfiguration()
+            .withFunctionName("changed")
+            .withRevisionId("rev-3")
+            .withLastModified("2026-02-01T00:00:00.000+0000");
+
+    AWSLambda lambda = mock(AWSLambda.class);
+    when(lambda.listFunctions(any()))
+        .thenReturn(new ListFunctionsResult().withFunctions(unchanged, changed));
+    when(lambda.getFunction(new GetFunctionRequest().withFunctionName("changed")))
+        .thenReturn(new GetFunctionResult().withConfiguration(changed));
+    when(clientProvider.getAmazonLambda(any(), any(), any())).thenReturn(lambda);
+
+    MutableClock clock = new MutableClock();
+    LambdaService lambdaService = lambdaService(clock);
+
+    Map<String, Object> previousUnchanged =
+        Map.of(
+            "functionName", "unchanged",
+            "revisionId", "rev-1",
+            "lastModified", "2026-01-01T00:00:00.000+0000",
+            "revisions", Map.of("rev-1", "1"),
+            LambdaService.HYDRATED_AT, clock.millis() - 1000);
+    Map<String, Map<String, Object>> previousFunctions =
+        Map.of(
+            "unchanged",
+            previousUnchanged,
+            "changed",
+            Map.of(
+                "functionName", "changed",
+                "revisionId", "rev-2",
+                "lastModified", "2026-01-01T00:00:00.000+0000",
+                "revisions", Map.of("rev-2", "2"),
+                LambdaService.HYDRATED_AT, clock.millis() - 1000));
+
+    List<Map<String, Object>> allFunctions = lambdaService.getAllFunctions(previousFunctions);
+
+    assertEquals(2, allFunctions.size());
+    assertEquals(previousUnchanged, allFunctions.get(0));
+    assertEquals("rev-3", allFunctions.get(1).get("revisionId"));
+    assertEquals(clock.millis(), allFunctions.get(1).get(LambdaService.HYDRATED_AT));
+    verify(lambda).getFunction(new GetFunctionRequest().withFunctionName("changed"));
+    verify(lambda)
+        .listVersionsByFunction(new ListVersionsByFunctionRequest().withFunctionName("changed"));
+    verify(lambda, times(1)).getFunction(any());
+    verify(lambda, times(1)).listVersionsByFunction(any());
+    verify(lambda, times(1)).listAliases(any());
+    verify(lambda, times(1)).getPolicy(any());
+  }
+
+  @Test
+  void getAllFunctionsDescribesEveryFunctionWhenReuseIsDisabled() {
+    when(lambdaServiceConfig.getRetry()).thenReturn(new LambdaServiceConfig.Retry());
+    LambdaServiceConfig.Caching caching = new LambdaServiceConfig.Caching();
+    caching.setReuseUnchangedFunctions(false);
+    when(lambdaServiceConfig.getCaching()).thenReturn(caching);
+
+    FunctionConfiguration function =
+        new FunctionConfiguration()
+            .withFunctionName("function")
+            .withRevisionId("rev-1")
+            .withLastModified("2026-01-01T00:00:00.000+0000");
+
+    AWSLambda lambda = mock(AWSLambda.class);
+    when(lambda.listFunctions(any()))
+        .thenReturn(new ListFunctionsResult().withFunctions(function));
+    when(lambda.getFunction(any()))
+        .thenReturn(new GetFunctionResult().withConfiguration(function));
+    when(clientProvider.getAmazonLambda(any(), any(), any())).thenReturn(lambda);
+
+    MutableClock clock = new MutableClock();
+    LambdaService lambdaService = lambdaService(clock);
+
+    lambdaService.getAllFunctions(
+        Map.of(
+            "function",
+            Map.of(
+                "functionName", "function",
+                "revisionId", "rev-1",
+                "lastModified", "2026-01-01T00:00:00.000+0000",
+                "revisions", Map.of("rev-1", "1"),
+                LambdaService.HYDRATED_AT, clock.millis())));
+
+    verify(lambda, times(1)).getFunction(any());
+    verify(lambda, times(1)).listVersionsByFunction(any());
+  }
+
+  @Test
+  void getAllFunctionsDescribesUnchangedFunctionsAgainOnceTheRevalidationIntervalElapsed() {
+    when(lambdaServiceConfig.getRetry()).thenReturn(new LambdaServiceConfig.Retry());
+    LambdaServiceConfig.Caching caching = new LambdaServiceConfig.Caching();
+    caching.setRevalidationIntervalSeconds(60);
+    when(lambdaServiceConfig.getCaching()).thenReturn(caching);
+
+    FunctionConfiguration function =
+        new FunctionConfiguration()
+            .withFunctionName("function")
+            .withRevisionId("rev-1")
+            .withLastModified("2026-01-01T00:00:00.000+0000");
+
+    AWSLambda lambda = mock(AWSLambda.class);
+    when(lambda.listFunctions(any()))
+        .thenReturn(new ListFunctionsResult().withFunctions(function));
+    when(lambda.getFunction(any()))
+        .thenReturn(new GetFunctionResult().withConfiguration(function));
+    when(clientProvider.getAmazonLambda(any(), any(), any())).thenReturn(lambda);
+
+    MutableClock clock = new MutableClock();
+    LambdaService lambdaService = lambdaService(clock);
+
+    Map<String, Map<String, Object>> previousFunctions =
+        Map.of(
+            "function",
+            Map.of(
+                "functionName", "function",
+                "revisionId", "rev-1",
+                "lastModified", "2026-01-01T00:00:00.000+0000",
+                "revisions", Map.of("rev-1", "1"),
+                LambdaService.HYDRATED_AT, clock.millis()));
+
+    lambdaService.getAllFunctions(previousFunctions);
+    verify(lambda, never()).getFunction(any());
+
+    clock.instant = clock.instant.plusSeconds(60);
+    List<Map<String, Object>> revalidated = lambdaService.getAllFunctions(previousFunctions);
+    verify(lambda, times(1)).getFunction(any());
+    verify(lambda, times(1)).listVersionsByFunction(any());
+    verify(lambda, times(1)).listAliases(any());
+    verify(lambda, times(1)).getPolicy(any());
+
+    clock.instant = clock.instant.plusSeconds(1);
+    lambdaService.getAllFunctions(Map.of("function", revalidated.get(0)));
+    verify(lambda, times(1)).getFunction(any());
+  }
+
+  private LambdaService lambdaService(Clock clock) {
+    return new LambdaService(
+        clientProvider,
+        netflixAmazonCredentials,
+        REGION,
+        objectMapper,
+        lambdaServiceConfig,
+        MoreExecutors.newDirectExecutorService(),
+        clock);
+  }
+
+  private static class MutableClock extends Clock {
+    private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
 }
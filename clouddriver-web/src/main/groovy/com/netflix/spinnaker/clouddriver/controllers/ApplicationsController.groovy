@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.controllers
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.clouddriver.model.Application
 import com.netflix.spinnaker.clouddriver.model.ApplicationProvider
 import com.netflix.spinnaker.clouddriver.model.Cluster
@@ -29,10 +30,11 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.MessageSource
 import org.springframework.context.i18n.LocaleContextHolder
 import org.springframework.http.HttpStatus
-import org.springframework.security.access.prepost.PostFilter
 import org.springframework.security.access.prepost.PreAuthorize
 import org.springframework.web.bind.annotation.*
 
+import javax.servlet.http.HttpServletResponse
+
 @Slf4j
 @RestController
 @RequestMapping("/applications")
@@ -50,16 +52,39 @@ class ApplicationsController {
   @Autowired
   RequestQueue requestQueue
 
+  @Autowired
+  AuthorizationSupport authorizationSupport
+
+  @Autowired
+  ObjectMapper objectMapper
+
+  /**
+   * When restricted, applications the user cannot read are filtered out before they are sorted,
+   * paged and rendered.
+   *
+   * When a limit is given, applications are returned a page at a time, ordered by name. When
+   * fields are given, only those fields of each application are rendered.
+   */
   @PreAuthorize("#restricted ? @fiatPermissionEvaluator.storeWholePermission() : true")
-  @PostFilter("#restricted ? hasPermission(filterObject.name, 'APPLICATION', 'READ') : true")
   @RequestMapping(method = RequestMethod.GET)
-  List<Application> list(@RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand,
-                         @RequestParam(required = false, value = 'restricted', defaultValue = 'true') boolean restricted) {
-    def results = requestQueue.execute("applications", {
+  List<Object> list(@RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand,
+                    @RequestParam(required = false, value = 'restricted', defaultValue = 'true') boolean restricted,
+                    @RequestParam(required = false, value = 'fields') List<String> fields,
+                    @RequestParam(required = false, value = 'limit') Integer limit,
+                    @RequestParam(required = false, value = 'cursor') String cursor,
+                    HttpServletResponse response) {
+    List<String> after = Paging.decodeCursor(cursor, 1)
+    List<Application> results = requestQueue.execute("applications", {
       applicationProviders.collectMany { it.getApplications(expand) ?: [] }
     })
     results.removeAll([null])
+    if (restricted) {
+      results.retainAll { authorizationSupport.hasReadPermission(it.name, 'APPLICATION') }
+    }
     results.sort { a, b -> a?.name?.toLowerCase() <=> b?.name?.toLowerCase() }
+
+    def page = Paging.page(results.stream(), { Application it -> [it.name?.toLowerCase()] }, after, limit, response)
+    return Paging.project(objectMapper, page, fields)
   }
 
   @PreAuthorize("hasPermission(#name, 'APPLICATION', 'READ')")
@@ -75,36 +100,36 @@ class ApplicationsController {
     return transform(apps)
   }
 
+  /**
+   * Every application provider's view of the application has the same name, so the clusters of the
+   * application are looked up once per cluster provider rather than once per view and provider.
+   */
   private ApplicationViewModel transform(List<Application> apps) {
     def attributes = [:]
-    ApplicationViewModel result = null
-    for (Application app in apps) {
-      if (!result) {
-        result = new ApplicationViewModel(name: app.name, clusters: [:])
+    ApplicationViewModel result = new ApplicationViewModel(name: apps[0].name, clusters: [:])
+    apps.each { attributes << it.attributes }
+
+    String name = result.name
+    clusterProviders.collectMany { provider ->
+      requestQueue.execute(name, {
+        provider.getClusterSummaries(name)?.values()?.flatten() as Set ?: []
+      })
+    }.each { Cluster cluster ->
+      def account = cluster.accountName
+      if (!result.clusters.containsKey(account)) {
+        result.clusters[account] = []
       }
-      attributes << app.attributes
-
-      clusterProviders.collectMany { provider ->
-        requestQueue.execute(app.name, {
-          provider.getClusterSummaries(app.name)?.values()?.flatten() as Set ?: []
-        })
-      }.each { Cluster cluster ->
-        def account = cluster.accountName
-        if (!result.clusters.containsKey(account)) {
-          result.clusters[account] = []
-        }
-        if (!result.clusters[account].find { it.name == cluster.name }) {
-          result.clusters[account] << new ApplicationClusterViewModel(name: cluster.name, loadBalancers: cluster.loadBalancers.name as TreeSet, serverGroups: cluster.serverGroups*.name as TreeSet, provider: cluster.type)
-        } else {
-          result.clusters[account].loadBalancers.addAll(cluster.loadBalancers*.name)
-          result.clusters[account].serverGroups.addAll(cluster.serverGroups*.name)
-        }
-        if (!attributes.cloudProviders) {
-          attributes.cloudProviders = cluster.type
-        } else {
-          if (!attributes.cloudProviders.split(',').contains(cluster.type)) {
-            attributes.cloudProviders += ",${cluster.type}"
-          }
+      if (!result.clusters[account].find { it.name == cluster.name }) {
+        result.clusters[account] << new ApplicationClusterViewModel(name: cluster.name, loadBalancers: cluster.loadBalancers.name as TreeSet, serverGroups: cluster.serverGroups*.name as TreeSet, provider: cluster.type)
+      } else {
+        result.clusters[account].loadBalancers.addAll(cluster.loadBalancers*.name)
+        result.clusters[account].serverGroups.addAll(cluster.serverGroups*.name)
+      }
+      if (!attributes.cloudProviders) {
+        attributes.cloudProviders = cluster.type
+      } else {
+        if (!attributes.cloudProviders.split(',').contains(cluster.type)) {
+          attributes.cloudProviders += ",${cluster.type}"
         }
       }
     }
@@ -39,6 +39,15 @@ class AuthorizationSupport {
   @Autowired
   AccountCredentialsProvider accountCredentialsProvider
 
+  /**
+   * Performs a READ authorization check on a single application or account, for controllers that
+   * filter what they load rather than what they return.
+   */
+  boolean hasReadPermission(String resourceName, String resourceType) {
+    Authentication auth = SecurityContextHolder.context.authentication
+    return permissionEvaluator.hasPermission(auth, resourceName, resourceType, 'READ')
+  }
+
   /**
    * Performs READ authorization checks on returned Maps that are keyed by account name.
    * @param map Objected returned by a controller that has account names as the key
@@ -18,8 +18,11 @@ package com.netflix.spinnaker.clouddriver.controllers
 
 import com.netflix.spinnaker.cats.cache.AgentIntrospection
 import com.netflix.spinnaker.cats.cache.CacheIntrospectionStore
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheResult
 import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheStatus
 import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCoalescingProperties
+import com.netflix.spinnaker.clouddriver.cache.OnDemandRequestCoalescer
 import com.netflix.spinnaker.clouddriver.cache.OnDemandType
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import org.springframework.beans.factory.annotation.Autowired
@@ -27,6 +30,8 @@ import org.springframework.http.HttpStatus
 import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.*
 
+import java.util.concurrent.CompletionException
+
 @RestController
 @RequestMapping("/cache")
 class CacheController {
@@ -34,16 +39,50 @@ class CacheController {
   @Autowired
   List<OnDemandCacheUpdater> onDemandCacheUpdaters
 
+  @Autowired
+  OnDemandRequestCoalescer onDemandRequestCoalescer
+
+  @Autowired
+  OnDemandCoalescingProperties onDemandCoalescingProperties
+
+  /**
+   * Handles an on-demand cache update. With {@code async}, the update is queued and a handle to
+   * poll its status with is returned right away.
+   */
   @RequestMapping(method = RequestMethod.POST, value = "/{cloudProvider}/{type}")
   ResponseEntity handleOnDemand(@PathVariable String cloudProvider,
                                 @PathVariable String type,
+                                @RequestParam(value = "async", defaultValue = "false") boolean async,
                                 @RequestBody Map<String, ? extends Object> data) {
     OnDemandType onDemandType = getOnDemandType(type);
 
-    def onDemandCacheResult = onDemandCacheUpdaters.find {
+    def onDemandCacheUpdater = onDemandCacheUpdaters.find {
       it.handles(onDemandType, cloudProvider)
-    }?.handle(onDemandType, cloudProvider, data)
+    }
 
+    if (onDemandCacheUpdater && (async || onDemandCoalescingProperties.enabled)) {
+      def request = onDemandRequestCoalescer.submit(onDemandCacheUpdater, onDemandType, cloudProvider, data)
+      if (async) {
+        return ResponseEntity.accepted()
+          .header("Location", "/cache/requests/${request.id}".toString())
+          .body(describe(request))
+      }
+      return toResponse(await(request))
+    }
+
+    return toResponse(onDemandCacheUpdater?.handle(onDemandType, cloudProvider, data))
+  }
+
+  @RequestMapping(method = RequestMethod.GET, value = "/requests/{id}")
+  Map getOnDemandRequest(@PathVariable String id) {
+    def request = onDemandRequestCoalescer.getRequest(id)
+    if (!request) {
+      throw new NotFoundException("On-demand request not found (id: ${id})")
+    }
+    describe(request)
+  }
+
+  private static ResponseEntity toResponse(OnDemandCacheResult onDemandCacheResult) {
     def cacheStatus = onDemandCacheResult?.status
     def httpStatus = (cacheStatus == OnDemandCacheStatus.PENDING) ? HttpStatus.ACCEPTED : HttpStatus.OK
 
@@ -55,6 +94,25 @@ class CacheController {
     )
   }
 
+  private static OnDemandCacheResult await(OnDemandRequestCoalescer.Request request) {
+    try {
+      return request.result.join()
+    } catch (CompletionException e) {
+      throw e.cause ?: e
+    }
+  }
+
+  private static Map describe(OnDemandRequestCoalescer.Request request) {
+    def result = request.status == OnDemandRequestCoalescer.Status.COMPLETED ? request.result.join() : null
+    return [
+      id                     : request.id,
+      cloudProvider          : request.cloudProvider,
+      type                   : request.type.toString(),
+      status                 : request.status.name(),
+      cacheStatus            : result?.status?.name(),
+      cachedIdentifiersByType: result?.cachedIdentifiersByType ?: [:]
+    ]
+  }
 
   @RequestMapping(method = RequestMethod.GET, value = "/introspection")
   Collection <AgentIntrospection> getAgentIntrospections() {
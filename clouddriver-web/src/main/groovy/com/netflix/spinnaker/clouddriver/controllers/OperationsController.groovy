@@ -18,8 +18,10 @@ package com.netflix.spinnaker.clouddriver.controllers
 
 import com.fasterxml.jackson.annotation.JsonProperty
 import com.google.common.collect.ImmutableList
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.TaskSnapshot
 import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperation
 import com.netflix.spinnaker.clouddriver.orchestration.OperationsService
 import com.netflix.spinnaker.clouddriver.orchestration.OrchestrationProcessor
@@ -27,18 +29,25 @@ import com.netflix.spinnaker.kork.exceptions.ConstraintViolationException
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import groovy.util.logging.Slf4j
 import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.GetMapping
 import org.springframework.web.bind.annotation.PatchMapping
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.PostMapping
 import org.springframework.web.bind.annotation.RequestBody
+import org.springframework.web.bind.annotation.RequestHeader
 import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
+import org.springframework.web.context.request.async.DeferredResult
 
 import javax.annotation.Nonnull
 import javax.annotation.Nullable
 import javax.annotation.PreDestroy
 import javax.naming.OperationNotSupportedException
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
 import java.util.concurrent.TimeUnit
 
 import static java.lang.String.format
@@ -51,16 +60,28 @@ class OperationsController {
   private final OrchestrationProcessor orchestrationProcessor
   private final TaskRepository taskRepository
   private final long shutdownWaitSeconds
+  private final long maxPollWaitSeconds
+  private final long pollIntervalMs
+  private final ScheduledExecutorService pollScheduler
 
   OperationsController(
     OperationsService operationsService,
     OrchestrationProcessor orchestrationProcessor,
     TaskRepository taskRepository,
-    @Value('${admin.tasks.shutdown-wait-seconds:600}') long shutdownWaitSeconds) {
+    @Value('${admin.tasks.shutdown-wait-seconds:600}') long shutdownWaitSeconds,
+    @Value('${tasks.poll.max-wait-seconds:30}') long maxPollWaitSeconds,
+    @Value('${tasks.poll.interval-ms:500}') long pollIntervalMs,
+    @Value('${tasks.poll.threads:4}') int pollThreads) {
     this.operationsService = operationsService
     this.orchestrationProcessor = orchestrationProcessor
     this.taskRepository = taskRepository
     this.shutdownWaitSeconds = shutdownWaitSeconds
+    this.maxPollWaitSeconds = maxPollWaitSeconds
+    this.pollIntervalMs = pollIntervalMs
+    // several threads, so that a slow read of one task does not hold up the other polls
+    this.pollScheduler = Executors.newScheduledThreadPool(
+      Math.max(1, pollThreads),
+      new ThreadFactoryBuilder().setNameFormat("${OperationsController.simpleName}-poll-%d").setDaemon(true).build())
   }
 /**
  * @deprecated Use /{cloudProvider}/ops instead
@@ -167,13 +188,48 @@ class OperationsController {
     return start(atomicOperations, t.requestId)
   }
 
+  /**
+   * Returns the task, tagged with an ETag derived from its write version.
+   *
+   * When the If-None-Match header matches the current version, a 304 is returned without
+   * hydrating the task. If waitSeconds is also provided, the request is held open (without
+   * occupying a servlet thread) until the version advances or the wait elapses, whichever is first.
+   * The versions of held requests are checked by a pool of tasks.poll.threads threads.
+   */
   @GetMapping("/task/{id}")
-  Task get(@PathVariable("id") String id) {
-    Task t = taskRepository.get(id)
-    if (!t) {
-      throw new NotFoundException("Task not found (id: ${id})")
+  DeferredResult<ResponseEntity<Task>> get(
+    @PathVariable("id") String id,
+    @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+    @RequestParam(value = "waitSeconds", required = false, defaultValue = "0") long waitSeconds) {
+    TaskSnapshot snapshot = getSnapshot(id)
+    if (waitSeconds <= 0 || snapshot.getETag() != ifNoneMatch) {
+      DeferredResult<ResponseEntity<Task>> result = new DeferredResult<>()
+      result.setResult(respond(id, snapshot, ifNoneMatch))
+      return result
     }
-    return t
+
+    long waitMs = TimeUnit.SECONDS.toMillis(Math.min(waitSeconds, maxPollWaitSeconds))
+    long deadline = System.currentTimeMillis() + waitMs
+    DeferredResult<ResponseEntity<Task>> result = new DeferredResult<>(
+      waitMs + pollIntervalMs * 2,
+      ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getETag()).build()
+    )
+    ScheduledFuture<?> poll = pollScheduler.scheduleWithFixedDelay({
+      if (result.isSetOrExpired()) {
+        return
+      }
+      try {
+        TaskSnapshot current = getSnapshot(id)
+        if (current.getETag() != ifNoneMatch || System.currentTimeMillis() >= deadline) {
+          result.setResult(respond(id, current, ifNoneMatch))
+        }
+      } catch (Exception e) {
+        result.setErrorResult(e)
+      }
+    }, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS)
+    result.onCompletion({ poll.cancel(false) })
+
+    return result
   }
 
   @GetMapping("/task")
@@ -213,6 +269,8 @@ class OperationsController {
    */
   @PreDestroy
   void destroy() {
+    pollScheduler.shutdownNow()
+
     log.info("Destroy has been triggered. Initiating graceful shutdown of tasks.")
     long start = System.currentTimeMillis()
     def tasks = taskRepository.listByThisInstance()
@@ -230,6 +288,28 @@ class OperationsController {
     log.info("Destruction procedure completed.")
   }
 
+  private TaskSnapshot getSnapshot(String id) {
+    TaskSnapshot snapshot = taskRepository.getSnapshot(id)
+    if (snapshot == null) {
+      throw new NotFoundException("Task not found (id: ${id})")
+    }
+    return snapshot
+  }
+
+  private ResponseEntity<Task> respond(String id, TaskSnapshot snapshot, @Nullable String ifNoneMatch) {
+    if (snapshot.getETag() == ifNoneMatch) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getETag()).build()
+    }
+
+    // The snapshot is read before the task, so the body may be newer than the tag but never older;
+    // a client polling with this tag will at worst fetch the same body once more.
+    Task t = taskRepository.get(id)
+    if (!t) {
+      throw new NotFoundException("Task not found (id: ${id})")
+    }
+    return ResponseEntity.ok().eTag(snapshot.getETag()).body(t)
+  }
+
   private StartOperationResult start(@Nullable String cloudProvider,
                                      @Nonnull List<AtomicOperation> atomicOperations,
                                      @Nullable String id) {
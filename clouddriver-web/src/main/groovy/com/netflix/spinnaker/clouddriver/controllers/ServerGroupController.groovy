@@ -29,11 +29,13 @@ import com.netflix.spinnaker.moniker.Moniker
 import groovy.transform.Canonical
 import groovy.util.logging.Slf4j
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.ResponseEntity
 import org.springframework.security.access.prepost.PostAuthorize
-import org.springframework.security.access.prepost.PostFilter
 import org.springframework.security.access.prepost.PreAuthorize
 import org.springframework.web.bind.annotation.*
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
 
+import javax.servlet.http.HttpServletResponse
 import java.util.stream.Collectors
 import java.util.stream.Stream
 
@@ -56,6 +58,9 @@ class ServerGroupController {
   @Autowired
   RequestQueue requestQueue
 
+  @Autowired
+  AuthorizationSupport authorizationSupport
+
   @Autowired
   Optional<List<ClusterViewModelPostProcessor>> clusterViewModelPostProcessors = Optional.empty()
 
@@ -105,7 +110,7 @@ class ServerGroupController {
     return applyExtensionsToObject(serverGroupViewModelPostProcessors, serverGroup)
   }
 
-  private List<Map<String, Object>> expandedList(String application, String cloudProvider) {
+  private List<Cluster> loadClusters(String application, String cloudProvider) {
     return clusterProviders.stream()
       .filter({
         cloudProvider != null
@@ -113,7 +118,7 @@ class ServerGroupController {
           : true
       })
       .flatMap({ ClusterProvider cp ->
-        def details = requestQueue.execute(application, { cp.getClusterDetails(application) })
+        Map<String, Set<Cluster>> details = requestQueue.execute(application, { cp.getClusterDetails(application) })
 
         Optional.ofNullable(details)
           .map({
@@ -121,12 +126,17 @@ class ServerGroupController {
               .filter({ Objects.nonNull(it) })
               .flatMap({ it.stream() })
               .filter({ Objects.nonNull(it) })
-              .map( { cluster ->
-                applyExtensionsToObject(clusterViewModelPostProcessors, cluster)
-              })
           })
           .orElse(Stream.empty())
       })
+      .collect(Collectors.toList())
+  }
+
+  private Stream<Map<String, Object>> expandedServerGroups(List<Cluster> clusters) {
+    return clusters.stream()
+      .map({ cluster ->
+        applyExtensionsToObject(clusterViewModelPostProcessors, cluster)
+      })
       .flatMap({ Cluster c ->
         Optional.ofNullable(c.getServerGroups())
           .map({ groups ->
@@ -140,6 +150,10 @@ class ServerGroupController {
           })
           .orElse(Stream.empty())
       })
+  }
+
+  private List<Map<String, Object>> expandedList(String application, String cloudProvider) {
+    return expandedServerGroups(loadClusters(application, cloudProvider))
       .collect(Collectors.toList())
   }
 
@@ -155,34 +169,19 @@ class ServerGroupController {
     return sg
   }
 
-  private List<ServerGroupViewModel> summaryList(String application, String cloudProvider) {
-
-    List<ServerGroupViewModel> serverGroupViews = clusterProviders.stream()
-      .filter({
-        cloudProvider != null
-          ? cloudProvider.equalsIgnoreCase(it.getCloudProviderId())
-          : true
-      })
-      .flatMap({ provider ->
-        Map<String, Set<Cluster>> clusterMap = requestQueue.execute(application, {
-          provider.getClusterDetails(application)
-        })
-
-        return Optional.ofNullable(clusterMap)
-          .map({ it.values() })
-          .map({ it.stream().flatMap({ it.stream() }) })
-          .orElse(Stream.empty())
-      })
+  private Stream<ServerGroupViewModel> summaryServerGroups(List<Cluster> clusters) {
+    return clusters.stream()
       .flatMap({ Cluster cluster ->
         cluster.getServerGroups().stream()
           .map({ serverGroup ->
             new ServerGroupViewModel(applyExtensionsToObject(serverGroupViewModelPostProcessors, serverGroup), cluster.name, cluster.accountName)
           })
-
       })
-      .collect(Collectors.toList())
+  }
 
-    return serverGroupViews
+  private List<ServerGroupViewModel> summaryList(String application, String cloudProvider) {
+    return summaryServerGroups(loadClusters(application, cloudProvider))
+      .collect(Collectors.toList())
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
@@ -207,13 +206,51 @@ class ServerGroupController {
     return summaryList(application, cloudProvider)
   }
 
-  @PostFilter("hasPermission(filterObject?.application, 'APPLICATION', 'READ')")
-  @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
+  /**
+   * Streams the server groups listed by {@link #list}, rendering and writing them one at a time
+   * rather than once all of them are in memory. The clusters are loaded, and filtered by account,
+   * before the response is committed, so failures to load them are reported as usual.
+   */
+  @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
+  @RequestMapping(value = "/applications/{application}/serverGroups", method = RequestMethod.GET, params = "stream=true")
+  ResponseEntity<StreamingResponseBody> streamList(@PathVariable String application,
+                                                   @RequestParam(required = false, value = "expand", defaultValue = "false") String expand,
+                                                   @RequestParam(required = false, value = "cloudProvider") String cloudProvider,
+                                                   @RequestParam(required = false, value = "clusters") List<String> clusters) {
+    if (clusters != null) {
+      // a subset of clusters is rendered up front, as it would be without streaming
+      List<Object> subset = list(application, expand, cloudProvider, clusters)
+      authorizationSupport.filterForAccounts(subset)
+      return JsonStreaming.array(objectMapper, subset.stream())
+    }
+
+    List<Cluster> loaded = loadClusters(application, cloudProvider).findAll {
+      authorizationSupport.hasReadPermission(it.accountName, 'ACCOUNT')
+    }
+    Stream<Object> serverGroups = Boolean.valueOf(expand)
+      ? expandedServerGroups(loaded)
+      : summaryServerGroups(loaded)
+    return JsonStreaming.array(objectMapper, serverGroups)
+  }
+
+  /**
+   * Application permissions are checked before server groups are loaded: the clusters of an
+   * application the user cannot read are never loaded. The server groups of a readable application
+   * are loaded in all its accounts, and those in an account the user cannot read are filtered out.
+   *
+   * When a limit is given, server groups of applications are returned a page at a time, ordered
+   * by application, account, region and name, and only the applications of the page are loaded.
+   * When fields are given, only those fields of each server group are rendered.
+   */
   @RequestMapping(value = "/serverGroups", method = RequestMethod.GET)
-  List<ServerGroupViewModel> getServerGroups(
+  List<Object> getServerGroups(
     @RequestParam(required = false, value = "applications") List<String> applications,
     @RequestParam(required = false, value = "ids") List<String> ids,
-    @RequestParam(required = false, value = "cloudProvider") String cloudProvider) {
+    @RequestParam(required = false, value = "cloudProvider") String cloudProvider,
+    @RequestParam(required = false, value = "fields") List<String> fields,
+    @RequestParam(required = false, value = "limit") Integer limit,
+    @RequestParam(required = false, value = "cursor") String cursor,
+    HttpServletResponse response) {
 
     boolean hasApplications = applications != null && !applications.isEmpty()
     boolean hasIds = ids != null && !ids.isEmpty()
@@ -221,17 +258,71 @@ class ServerGroupController {
       throw new IllegalArgumentException("Provide either 'applications' or 'ids' parameter (but not both)")
     }
 
+    List<ServerGroupViewModel> serverGroups
     if (hasApplications) {
-      return getServerGroupsForApplications(applications, cloudProvider)
+      serverGroups = getServerGroupsForApplications(applications, cloudProvider, limit, cursor, response)
     } else {
-      return getServerGroupsForIds(ids)
+      if (limit != null || cursor != null) {
+        throw new IllegalArgumentException("Paging is only supported with the 'applications' parameter")
+      }
+      serverGroups = getServerGroupsForIds(ids)
     }
+    return Paging.project(objectMapper, serverGroups, fields)
+  }
+
+  private List<ServerGroupViewModel> getServerGroupsForApplications(List<String> applications,
+                                                                    String cloudProvider,
+                                                                    Integer limit,
+                                                                    String cursor,
+                                                                    HttpServletResponse response) {
+    List<String> after = Paging.decodeCursor(cursor, 4)
+    return Paging.page(readableServerGroups(applications, cloudProvider, after), { PagedServerGroup it -> it.key }, after, limit, response)
+      .collect({ it.serverGroup })
   }
 
-  private List<ServerGroupViewModel> getServerGroupsForApplications(List<String> applications, String cloudProvider) {
+  /**
+   * Lazily loads the server groups of each application in turn, in the order they are paged.
+   * Applications before the one the cursor is in have already been returned, and are not loaded.
+   */
+  private Stream<PagedServerGroup> readableServerGroups(List<String> applications,
+                                                        String cloudProvider,
+                                                        List<String> after) {
     return applications.stream()
-      .flatMap({ it -> summaryList(it, cloudProvider).stream() })
-      .collect(Collectors.toList())
+      .distinct()
+      .sorted()
+      .filter({ after == null || it >= after[0] })
+      .filter({ authorizationSupport.hasReadPermission(it, 'APPLICATION') })
+      .flatMap({ application ->
+        summaryList(application, cloudProvider).stream()
+          .filter({ isReadable(it) })
+          .map({ new PagedServerGroup(application, it) })
+          .sorted(Comparator.comparing({ PagedServerGroup it -> it.key }, Paging.&compare))
+      })
+  }
+
+  /**
+   * Streams the server groups returned by {@link #getServerGroups} for applications, loading,
+   * rendering and writing those of one application at a time. As the response is committed once
+   * the first application has been written, a failure to load a later one truncates it.
+   */
+  @RequestMapping(value = "/serverGroups", method = RequestMethod.GET, params = "stream=true")
+  ResponseEntity<StreamingResponseBody> streamServerGroups(
+    @RequestParam(required = false, value = "applications") List<String> applications,
+    @RequestParam(required = false, value = "cloudProvider") String cloudProvider,
+    @RequestParam(required = false, value = "fields") List<String> fields) {
+
+    if (applications == null || applications.isEmpty()) {
+      throw new IllegalArgumentException("Streaming is only supported with the 'applications' parameter")
+    }
+
+    Stream<Object> serverGroups = readableServerGroups(applications, cloudProvider, null)
+      .map({ Paging.projectItem(objectMapper, it.serverGroup, fields) })
+    return JsonStreaming.array(objectMapper, serverGroups)
+  }
+
+  private boolean isReadable(ServerGroupViewModel serverGroup) {
+    return authorizationSupport.hasReadPermission(serverGroup.application, 'APPLICATION') &&
+      authorizationSupport.hasReadPermission(serverGroup.account, 'ACCOUNT')
   }
 
   private List<ServerGroupViewModel> getServerGroupsForIds(List<String> serverGroupIds) {
@@ -250,6 +341,7 @@ class ServerGroupController {
     }
 
     allIdTokens.stream()
+      .filter({ authorizationSupport.hasReadPermission(it[0], 'ACCOUNT') })
       .map({ idTokens ->
         String account = idTokens[0]
         String region = idTokens[1]
@@ -262,7 +354,7 @@ class ServerGroupController {
           return null
         }
       })
-      .filter({ Objects.nonNull(it) })
+      .filter({ Objects.nonNull(it) && authorizationSupport.hasReadPermission(it.application, 'APPLICATION') })
       .collect(Collectors.toList())
   }
 
@@ -301,6 +393,16 @@ class ServerGroupController {
       .collect(Collectors.toList())
   }
 
+  @Canonical
+  private static class PagedServerGroup {
+    String application
+    ServerGroupViewModel serverGroup
+
+    List<String> getKey() {
+      return [application, serverGroup.account, serverGroup.region, serverGroup.name]
+    }
+  }
+
   static class ServerGroupViewModel {
     String name
     String account
@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.clouddriver.configuration.CredentialsConfiguration;
@@ -28,12 +29,22 @@ import com.netflix.spinnaker.kork.annotations.Beta;
 import com.netflix.spinnaker.kork.exceptions.ConfigurationException;
 import com.netflix.spinnaker.kork.web.exceptions.InvalidRequestException;
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -43,14 +54,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 @RestController
 @RequestMapping("/credentials")
 public class CredentialsController {
+  private static final Comparator<Map<String, Object>> BY_NAME =
+      Comparator.comparing(
+          account -> (String) account.get("name"),
+          Comparator.nullsFirst(Comparator.naturalOrder()));
+
   private final AccountDefinitionService accountDefinitionService;
   private final CredentialsConfiguration credentialsConfiguration;
   private final ObjectMapper objectMapper;
   private final AccountCredentialsProvider accountCredentialsProvider;
+  private volatile CredentialsSnapshot snapshot;
 
   public CredentialsController(
       Optional<AccountDefinitionService> service,
@@ -63,13 +81,48 @@ public class CredentialsController {
     this.accountCredentialsProvider = accountCredentialsProvider;
   }
 
+  /**
+   * Lists all the accounts. Both views are served from a snapshot that is rebuilt when the set of
+   * accounts, or the configuration used to render them, has changed. Each account of the expanded
+   * view is rendered again only when its {@link AccountCredentials#detailsVersion()} changes, such
+   * as when the namespaces of a kubernetes account are refreshed.
+   *
+   * <p>Each view carries an ETag computed when it is rendered, so a request with a matching {@code
+   * If-None-Match} header is answered with 304 and the view is not serialized or hashed again.
+   */
   @GetMapping
-  public List<Map<String, Object>> listAccountCredentials(@RequestParam Optional<Boolean> expand) {
-    boolean shouldExpand = expand.orElse(false);
-    return accountCredentialsProvider.getAll().stream()
-        .map(accountCredentials -> renderAccountCredentials(accountCredentials, shouldExpand))
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+  public ResponseEntity<List<Map<String, Object>>> listAccountCredentials(
+      @RequestParam Optional<Boolean> expand, HttpServletRequest request) {
+    CredentialsSnapshot current = getSnapshot(accountCredentialsProvider.getAll());
+    RenderedView view = expand.orElse(false) ? current.expanded() : current.unexpanded;
+    ShallowEtagHeaderFilter.disableContentCaching(request);
+    return ResponseEntity.ok().eTag(view.eTag).body(view.accounts);
+  }
+
+  private CredentialsSnapshot getSnapshot(Set<? extends AccountCredentials> accounts) {
+    CredentialsSnapshot current = snapshot;
+    if (current != null && current.isCurrent(accounts, credentialsConfiguration)) {
+      return current;
+    }
+
+    // concurrent requests may both rebuild the snapshot, which is harmless
+    current = new CredentialsSnapshot(accounts, credentialsConfiguration);
+    snapshot = current;
+    return current;
+  }
+
+  private RenderedView render(Collection<Map<String, Object>> rendered) {
+    List<Map<String, Object>> accounts =
+        rendered.stream()
+            .sorted(BY_NAME)
+            .collect(Collectors.toUnmodifiableList());
+    try {
+      return new RenderedView(
+          accounts,
+          "\"0" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(accounts)) + "\"");
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to render the accounts", e);
+    }
   }
 
   @GetMapping("/{accountName}")
@@ -174,4 +227,96 @@ public class CredentialsController {
           "Cannot use AccountDefinitionService endpoints without enabling AccountDefinitionService bean");
     }
   }
+
+  /**
+   * The rendered views of the accounts. Accounts are replaced rather than modified when their
+   * definition changes, so the snapshot is current for as long as the same account objects are
+   * returned by the provider. The unexpanded view is rendered with the snapshot, while the
+   * expanded view is rendered on first use and kept up to date with the details of each account.
+   */
+  private class CredentialsSnapshot {
+    private final Set<AccountCredentials<?>> accounts =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<String> challengeDestructiveActionsEnvironments;
+    private final List<String> primaryAccountTypes;
+    private final RenderedView unexpanded;
+
+    /** The expanded rendering of each account, and the details version it was rendered at. */
+    private final Map<AccountCredentials<?>, RenderedAccount> expandedAccounts =
+        new IdentityHashMap<>();
+
+    @Nullable private RenderedView expanded;
+
+    CredentialsSnapshot(
+        Set<? extends AccountCredentials> accounts, CredentialsConfiguration configuration) {
+      accounts.forEach(this.accounts::add);
+      this.challengeDestructiveActionsEnvironments =
+          new ArrayList<>(configuration.getChallengeDestructiveActionsEnvironments());
+      this.primaryAccountTypes = new ArrayList<>(configuration.getPrimaryAccountTypes());
+      this.unexpanded =
+          render(
+              this.accounts.stream()
+                  .map(account -> renderAccountCredentials(account, false))
+                  .filter(Objects::nonNull)
+                  .map(Collections::unmodifiableMap)
+                  .collect(Collectors.toList()));
+    }
+
+    boolean isCurrent(
+        Set<? extends AccountCredentials> accounts, CredentialsConfiguration configuration) {
+      return accounts.size() == this.accounts.size()
+          && this.accounts.containsAll(accounts)
+          && challengeDestructiveActionsEnvironments.equals(
+              configuration.getChallengeDestructiveActionsEnvironments())
+          && primaryAccountTypes.equals(configuration.getPrimaryAccountTypes());
+    }
+
+    /** Renders again the accounts whose details have changed since the view was last returned. */
+    synchronized RenderedView expanded() {
+      boolean changed = expanded == null;
+      for (AccountCredentials<?> account : accounts) {
+        // read the version before rendering, so that a change made while rendering is picked up
+        // by the next request
+        Object version = account.detailsVersion();
+        RenderedAccount rendered = expandedAccounts.get(account);
+        if (rendered == null || !Objects.equals(rendered.version, version)) {
+          Map<String, Object> details = renderAccountCredentials(account, true);
+          expandedAccounts.put(
+              account,
+              new RenderedAccount(
+                  version, details == null ? null : Collections.unmodifiableMap(details)));
+          changed = true;
+        }
+      }
+      if (changed) {
+        expanded =
+            render(
+                expandedAccounts.values().stream()
+                    .map(rendered -> rendered.details)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+      }
+      return expanded;
+    }
+  }
+
+  private static class RenderedAccount {
+    @Nullable private final Object version;
+    @Nullable private final Map<String, Object> details;
+
+    RenderedAccount(@Nullable Object version, @Nullable Map<String, Object> details) {
+      this.version = version;
+      this.details = details;
+    }
+  }
+
+  private static class RenderedView {
+    private final List<Map<String, Object>> accounts;
+    private final String eTag;
+
+    RenderedView(List<Map<String, Object>> accounts, String eTag) {
+      this.accounts = accounts;
+      this.eTag = eTag;
+    }
+  }
 }
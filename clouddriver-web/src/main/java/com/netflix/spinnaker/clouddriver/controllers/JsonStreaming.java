@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes JSON arrays to the response as their elements are produced, rather than once all of them
+ * are in memory.
+ *
+ * <p>Elements are rendered one at a time as the stream is consumed, and serialised through a
+ * {@link JsonGenerator} that buffers a few kilobytes at most before writing to the response. The
+ * output is flushed every {@value #FLUSH_INTERVAL} elements, so clients receive the start of a
+ * large response while the rest is still being rendered.
+ *
+ * <p>The response is committed with the first bytes written, after which an error can no longer be
+ * reported with a status code: work that is likely to fail, such as loading from the cache, should
+ * be done before the stream is returned where possible.
+ */
+public final class JsonStreaming {
+  static final int FLUSH_INTERVAL = 100;
+
+  private JsonStreaming() {}
+
+  public static ResponseEntity<StreamingResponseBody> array(
+      ObjectMapper objectMapper, Stream<?> elements) {
+    StreamingResponseBody body =
+        outputStream -> {
+          try (Stream<?> remaining = elements;
+              JsonGenerator generator =
+                  objectMapper
+                      .getFactory()
+                      .createGenerator(outputStream)
+                      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            int written = 0;
+            Iterator<?> iterator = remaining.iterator();
+            while (iterator.hasNext()) {
+              generator.writeObject(iterator.next());
+              if (++written % FLUSH_INTERVAL == 0) {
+                generator.flush();
+              }
+            }
+            generator.writeEndArray();
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.kork.web.exceptions.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Cursor-based paging and field projection for read endpoints whose results grow with the size of
+ * the fleet.
+ *
+ * <p>Results are ordered by a key made of a few of their properties, and the cursor of a page is
+ * the opaque encoding of the key of its last item: the next page starts after it, whatever was
+ * added or removed in between. The cursor is returned in the {@value #NEXT_CURSOR_HEADER} response
+ * header, so the body of a paged response has the same shape as an unpaged one. No cursor is
+ * returned with the last page.
+ */
+public final class Paging {
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final String SEPARATOR = "\n";
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+  private Paging() {}
+
+  /**
+   * Decodes the key a page should start after.
+   *
+   * @return null when there is no cursor, i.e. the first page is requested
+   * @throws InvalidRequestException if the cursor was not issued for a key of this size
+   */
+  @Nullable
+  public static List<String> decodeCursor(@Nullable String cursor, int keySize) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+    List<String> key;
+    try {
+      key =
+          Arrays.asList(
+              new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                  .split(SEPARATOR, -1));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+    if (key.size() != keySize) {
+      throw new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+    return key;
+  }
+
+  static String encodeCursor(List<String> key) {
+    String joined =
+        key.stream().map(it -> Objects.toString(it, "")).collect(Collectors.joining(SEPARATOR));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Orders keys component by component, a missing component sorting first. */
+  public static int compare(List<String> a, List<String> b) {
+    for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+      int result = Objects.toString(a.get(i), "").compareTo(Objects.toString(b.get(i), ""));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(a.size(), b.size());
+  }
+
+  /**
+   * Returns the items of {@code sorted}, which must be ordered by {@code key}, that follow the
+   * cursor, up to {@code limit} of them. Items sharing the key of the last item of a page are
+   * included in it, so that none are skipped by the next page.
+   *
+   * <p>The stream is consumed lazily, so items past the page are neither filtered nor loaded, and
+   * the cursor of the next page is set on the response if there are any.
+   *
+   * @param limit the maximum number of items to return, or null to return all of them
+   */
+  public static <T> List<T> page(
+      Stream<T> sorted,
+      Function<T, List<String>> key,
+      @Nullable List<String> after,
+      @Nullable Integer limit,
+      HttpServletResponse response) {
+    Stream<T> remaining =
+        after == null ? sorted : sorted.filter(it -> compare(key.apply(it), after) > 0);
+    if (limit == null) {
+      return remaining.collect(Collectors.toList());
+    }
+    if (limit < 1) {
+      throw new InvalidRequestException("Expected a limit of at least 1 but got " + limit);
+    }
+
+    List<T> page = new ArrayList<>();
+    List<String> lastKey = null;
+    Iterator<T> iterator = remaining.iterator();
+    while (iterator.hasNext()) {
+      T item = iterator.next();
+      List<String> itemKey = key.apply(item);
+      if (page.size() >= limit && compare(itemKey, lastKey) != 0) {
+        response.setHeader(NEXT_CURSOR_HEADER, encodeCursor(lastKey));
+        break;
+      }
+      page.add(item);
+      lastKey = itemKey;
+    }
+    return page;
+  }
+
+  /**
+   * Renders each item as a map of the requested top-level fields only, or returns the items as
+   * they are if no fields are requested.
+   */
+  public static List<Object> project(
+      ObjectMapper objectMapper, List<?> items, @Nullable Collection<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return new ArrayList<>(items);
+    }
+    return items.stream()
+        .map(item -> projectItem(objectMapper, item, fields))
+        .collect(Collectors.toList());
+  }
+
+  /** Renders the item as a map of the requested top-level fields only, if any are requested. */
+  public static Object projectItem(
+      ObjectMapper objectMapper, Object item, @Nullable Collection<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return item;
+    }
+    Map<String, Object> rendered = objectMapper.convertValue(item, MAP_TYPE);
+    rendered.keySet().retainAll(fields);
+    return rendered;
+  }
+}
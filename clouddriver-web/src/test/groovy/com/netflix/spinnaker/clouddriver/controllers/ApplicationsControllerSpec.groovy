@@ -19,6 +19,7 @@ package com.netflix.spinnaker.clouddriver.controllers
 import com.netflix.spinnaker.clouddriver.model.*
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import org.springframework.mock.web.MockHttpServletResponse
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -39,13 +40,41 @@ class ApplicationsControllerSpec extends Specification {
     applicationsController.applicationProviders = [appProvider1, appProvider2]
 
     when:
-    applicationsController.list(false /*expand*/, true /*restricted*/)
+    applicationsController.list(false /*expand*/, true /*restricted*/, null, null, null, new MockHttpServletResponse())
 
     then:
     1 * appProvider1.getApplications(false)
     1 * appProvider2.getApplications(false)
   }
 
+  def "filter applications before paging them by name"() {
+    setup:
+    def appProvider = Mock(ApplicationProvider)
+    def authorizationSupport = Mock(AuthorizationSupport)
+    applicationsController.applicationProviders = [appProvider]
+    applicationsController.authorizationSupport = authorizationSupport
+    def apps = ["d", "B", "secret", "a", "c"].collect { name -> [getName: { name }] as Application }
+    appProvider.getApplications(false) >> apps
+    authorizationSupport.hasReadPermission(_, 'APPLICATION') >> { args -> args[0] != "secret" }
+
+    when:
+    def response = new MockHttpServletResponse()
+    def firstPage = applicationsController.list(false, true, null, 3, null, response)
+    def cursor = response.getHeader(Paging.NEXT_CURSOR_HEADER)
+
+    then:
+    firstPage*.name == ["a", "B", "c"]
+    cursor != null
+
+    when:
+    response = new MockHttpServletResponse()
+    def lastPage = applicationsController.list(false, true, null, 3, cursor, response)
+
+    then:
+    lastPage*.name == ["d"]
+    response.getHeader(Paging.NEXT_CURSOR_HEADER) == null
+  }
+
   def "merge clusterNames and attributes when multiple apps are found"() {
     setup:
     def appProvider1 = Mock(ApplicationProvider)
@@ -70,7 +99,7 @@ class ApplicationsControllerSpec extends Specification {
     def result = applicationsController.get("foo")
 
     then:
-    2 * cluProvider1.getClusterSummaries("foo") >> [test: cluster]
+    1 * cluProvider1.getClusterSummaries("foo") >> [test: cluster]
     1 * appProvider1.getApplication("foo") >> app1
     1 * appProvider2.getApplication("foo") >> app2
     result.name == "foo"
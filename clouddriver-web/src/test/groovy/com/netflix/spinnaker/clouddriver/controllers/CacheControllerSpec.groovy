@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheResult
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheStatus
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater
+import com.netflix.spinnaker.clouddriver.cache.OnDemandCoalescingProperties
+import com.netflix.spinnaker.clouddriver.cache.OnDemandRequestCoalescer
+import com.netflix.spinnaker.clouddriver.cache.OnDemandType
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import groovy.json.JsonSlurper
+import org.springframework.http.MediaType
+import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.TimeUnit
+
+class CacheControllerSpec extends Specification {
+
+  def onDemandCacheUpdater = Mock(OnDemandCacheUpdater)
+  def properties = new OnDemandCoalescingProperties(debounceMillis: 0)
+  def coalescer = new OnDemandRequestCoalescer(properties, new NoopRegistry())
+
+  @Subject
+  def controller = new CacheController(
+    onDemandCacheUpdaters: [onDemandCacheUpdater],
+    onDemandRequestCoalescer: coalescer,
+    onDemandCoalescingProperties: properties
+  )
+
+  MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build()
+
+  def cleanup() {
+    coalescer.shutdown()
+  }
+
+  void "asynchronous on-demand requests are accepted and their status can be looked up"() {
+    given:
+    onDemandCacheUpdater.handles(OnDemandType.ServerGroup, "aws") >> true
+    onDemandCacheUpdater.handle(OnDemandType.ServerGroup, "aws", [serverGroupName: "app-v001"]) >>
+      new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL, [serverGroups: ["aws:serverGroups:app-v001"]])
+
+    when:
+    def accepted = mvc.perform(
+      MockMvcRequestBuilders.post("/cache/aws/ServerGroup")
+        .param("async", "true")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content('{"serverGroupName": "app-v001"}')
+    ).andReturn()
+    def handle = new JsonSlurper().parseText(accepted.response.contentAsString) as Map
+
+    then:
+    accepted.response.status == 202
+    accepted.response.getHeader("Location") == "/cache/requests/${handle.id}".toString()
+    handle.cloudProvider == "aws"
+    handle.type == "ServerGroup"
+
+    when:
+    coalescer.getRequest(handle.id as String).result.get(5, TimeUnit.SECONDS)
+    def status = mvc.perform(MockMvcRequestBuilders.get("/cache/requests/${handle.id}")).andReturn()
+
+    then:
+    status.response.status == 200
+    new JsonSlurper().parseText(status.response.contentAsString) == [
+      id                     : handle.id,
+      cloudProvider          : "aws",
+      type                   : "ServerGroup",
+      status                 : "COMPLETED",
+      cacheStatus            : "SUCCESSFUL",
+      cachedIdentifiersByType: [serverGroups: ["aws:serverGroups:app-v001"]]
+    ]
+  }
+
+  void "looking up an unknown on-demand request is not found"() {
+    when:
+    controller.getOnDemandRequest("unknown")
+
+    then:
+    thrown(NotFoundException)
+  }
+}
@@ -27,6 +27,7 @@ import com.netflix.spinnaker.clouddriver.security.DefaultAccountCredentialsProvi
 import com.netflix.spinnaker.clouddriver.security.MapBackedAccountCredentialsRepository
 import groovy.json.JsonSlurper
 import org.springframework.http.MediaType
+import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.test.web.servlet.MockMvc
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
 import org.springframework.test.web.servlet.setup.MockMvcBuilders
@@ -58,6 +59,76 @@ class CredentialsControllerSpec extends Specification {
     parsedResponse == [[name: "test", environment: "env", accountType: "acctType", cloudProvider: "testProvider", type: "testProvider", requiredGroupMembership: ["test"], permissions: [READ:["test"], WRITE:["test"]], challengeDestructiveActions: false, primaryAccount: false]]
   }
 
+  void "credentials listings are reused until the accounts change"() {
+    setup:
+
+    def objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+    def credsRepo = new MapBackedAccountCredentialsRepository()
+    def credsProvider = new DefaultAccountCredentialsProvider(credsRepo)
+    def test = new TestNamedAccountCredentials()
+    credsRepo.save("test", test)
+    def controller = new CredentialsController(Optional.empty(), new CredentialsConfiguration(), objectMapper, credsProvider)
+
+    when:
+    def first = controller.listAccountCredentials(Optional.empty(), new MockHttpServletRequest())
+    def firstExpanded = controller.listAccountCredentials(Optional.of(true), new MockHttpServletRequest())
+
+    then:
+    controller.listAccountCredentials(Optional.empty(), new MockHttpServletRequest()).body.is(first.body)
+    controller.listAccountCredentials(Optional.of(true), new MockHttpServletRequest()).body.is(firstExpanded.body)
+    first.headers.getETag() != firstExpanded.headers.getETag()
+
+    when:
+    test.revision = 2
+    def refreshed = controller.listAccountCredentials(Optional.of(true), new MockHttpServletRequest())
+
+    then:
+    !refreshed.body.is(firstExpanded.body)
+    controller.listAccountCredentials(Optional.empty(), new MockHttpServletRequest()).body.is(first.body)
+
+    when:
+    credsRepo.save("other", new TestNamedAccountCredentials(name: "other"))
+    def changed = controller.listAccountCredentials(Optional.empty(), new MockHttpServletRequest())
+    def changedExpanded = controller.listAccountCredentials(Optional.of(true), new MockHttpServletRequest())
+
+    then:
+    !changed.body.is(first.body)
+    changed.body*.name == ["other", "test"]
+    changedExpanded.body*.name == ["other", "test"]
+    changed.headers.getETag() != first.headers.getETag()
+  }
+
+  void "credentials listings are not modified while the ETag matches"() {
+    setup:
+
+    def objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+    def credsRepo = new MapBackedAccountCredentialsRepository()
+    def credsProvider = new DefaultAccountCredentialsProvider(credsRepo)
+    credsRepo.save("test", new TestNamedAccountCredentials())
+    def mvc = MockMvcBuilders.standaloneSetup(new CredentialsController(Optional.empty(), new CredentialsConfiguration(), objectMapper, credsProvider)).build()
+
+    when:
+    def first = mvc.perform(MockMvcRequestBuilders.get("/credentials").param("expand", expand)).andReturn()
+    def eTag = first.response.getHeader("ETag")
+    def second = mvc.perform(MockMvcRequestBuilders.get("/credentials").param("expand", expand).header("If-None-Match", eTag)).andReturn()
+
+    then:
+    first.response.status == 200
+    eTag != null
+    second.response.status == 304
+
+    when:
+    credsRepo.save("other", new TestNamedAccountCredentials(name: "other"))
+    def changed = mvc.perform(MockMvcRequestBuilders.get("/credentials").param("expand", expand).header("If-None-Match", eTag)).andReturn()
+
+    then:
+    changed.response.status == 200
+    changed.response.getHeader("ETag") != eTag
+
+    where:
+    expand << ["false", "true"]
+  }
+
   /**
    * Test to verify the use of the mandatory type (path) parameter,
    * without passing the optional limit (query) parameter
@@ -172,6 +243,12 @@ class CredentialsControllerSpec extends Specification {
     String name = "test"
     String environment = "env"
     String accountType = "acctType"
+    private Object revision = 1
+
+    @Override
+    Object detailsVersion() {
+      revision
+    }
 
     @Override
     Map getCredentials() {
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.data.task.DefaultTaskStatus
+import com.netflix.spinnaker.clouddriver.data.task.Task
+import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.TaskSnapshot
+import com.netflix.spinnaker.clouddriver.data.task.TaskState
+import com.netflix.spinnaker.clouddriver.orchestration.OperationsService
+import com.netflix.spinnaker.clouddriver.orchestration.OrchestrationProcessor
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.web.context.request.async.DeferredResult
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
+
+class OperationsControllerSpec extends Specification {
+
+  TaskRepository taskRepository = Mock(TaskRepository)
+  Task task = Mock(Task)
+
+  @Subject
+  OperationsController controller = new OperationsController(
+    Mock(OperationsService), Mock(OrchestrationProcessor), taskRepository, 0, 5, 10, 2)
+
+  def cleanup() {
+    controller.destroy()
+  }
+
+  void "returns the task with an ETag of its version"() {
+    when:
+    ResponseEntity<Task> response = controller.get("1", null, 0).result as ResponseEntity<Task>
+
+    then:
+    1 * taskRepository.getSnapshot("1") >> snapshot(3)
+    1 * taskRepository.get("1") >> task
+    response.statusCode == HttpStatus.OK
+    response.headers.getETag() == '"3"'
+    response.body.is(task)
+  }
+
+  void "returns not modified without reading the task when the version matches"() {
+    when:
+    ResponseEntity<Task> response = controller.get("1", '"3"', 0).result as ResponseEntity<Task>
+
+    then:
+    1 * taskRepository.getSnapshot("1") >> snapshot(3)
+    0 * taskRepository.get(_)
+    response.statusCode == HttpStatus.NOT_MODIFIED
+    response.headers.getETag() == '"3"'
+  }
+
+  void "holds the request until the version advances when waitSeconds is given"() {
+    given:
+    taskRepository.getSnapshot("1") >>> [snapshot(3), snapshot(3), snapshot(4)]
+    taskRepository.get("1") >> task
+
+    when:
+    DeferredResult<ResponseEntity<Task>> result = controller.get("1", '"3"', 5)
+
+    then:
+    new PollingConditions(timeout: 5).eventually {
+      assert result.hasResult()
+    }
+    with(result.result as ResponseEntity<Task>) {
+      statusCode == HttpStatus.OK
+      headers.getETag() == '"4"'
+      body.is(task)
+    }
+  }
+
+  void "returns not modified once waitSeconds elapse without a change"() {
+    given:
+    taskRepository.getSnapshot("1") >> snapshot(3)
+
+    when:
+    DeferredResult<ResponseEntity<Task>> result = controller.get("1", '"3"', 1)
+
+    then:
+    new PollingConditions(timeout: 5).eventually {
+      assert result.hasResult()
+    }
+    (result.result as ResponseEntity<Task>).statusCode == HttpStatus.NOT_MODIFIED
+  }
+
+  private static TaskSnapshot snapshot(long version) {
+    return new TaskSnapshot("1", version, DefaultTaskStatus.create("ORCHESTRATION", "running", TaskState.STARTED))
+  }
+}
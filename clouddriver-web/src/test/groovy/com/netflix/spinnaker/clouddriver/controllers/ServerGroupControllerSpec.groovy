@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Armory, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.clouddriver.model.Cluster
+import com.netflix.spinnaker.clouddriver.model.ClusterProvider
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+
+class ServerGroupControllerSpec extends Specification {
+
+  ClusterProvider clusterProvider = Mock(ClusterProvider)
+  AuthorizationSupport authorizationSupport = Mock(AuthorizationSupport)
+
+  ServerGroupController serverGroupController = new ServerGroupController(
+    clusterProviders: [clusterProvider],
+    objectMapper: new ObjectMapper(),
+    requestQueue: RequestQueue.noop(),
+    authorizationSupport: authorizationSupport
+  )
+
+  def setup() {
+    authorizationSupport.hasReadPermission(_, 'APPLICATION') >> { args -> args[0] != "secret" }
+    authorizationSupport.hasReadPermission(_, 'ACCOUNT') >> { args -> args[0] != "restricted" }
+  }
+
+  def "pages the server groups of readable applications without loading the others"() {
+    when:
+    def response = new MockHttpServletResponse()
+    def firstPage = serverGroupController.getServerGroups(
+      ["foo", "secret", "bar"], null, null, ["name", "account"], 2, null, response)
+    def cursor = response.getHeader(Paging.NEXT_CURSOR_HEADER)
+
+    then:
+    1 * clusterProvider.getClusterDetails("bar") >> clusters("bar-v001", "bar-v000")
+    1 * clusterProvider.getClusterDetails("foo") >> clusters("foo-v000")
+    0 * clusterProvider.getClusterDetails("secret")
+    firstPage == [[name: "bar-v000", account: "test"], [name: "bar-v001", account: "test"]]
+    cursor != null
+
+    when:
+    response = new MockHttpServletResponse()
+    def lastPage = serverGroupController.getServerGroups(
+      ["foo", "secret", "bar"], null, null, ["name"], 2, cursor, response)
+
+    then:
+    0 * clusterProvider.getClusterDetails("bar")
+    1 * clusterProvider.getClusterDetails("foo") >> clusters("foo-v000")
+    lastPage == [[name: "foo-v000"]]
+    response.getHeader(Paging.NEXT_CURSOR_HEADER) == null
+  }
+
+  def "does not load server groups by id from unreadable accounts"() {
+    when:
+    def result = serverGroupController.getServerGroups(
+      null, ["restricted:us-east-1:foo-v000"], null, null, null, null, new MockHttpServletResponse())
+
+    then:
+    0 * clusterProvider.getServerGroup(*_)
+    result.isEmpty()
+  }
+
+  def "streams the same server groups as it lists"() {
+    given:
+    clusterProvider.getClusterDetails("foo") >> clusters("foo-v001", "foo-v000")
+    def objectMapper = new ObjectMapper()
+
+    when:
+    def listed = serverGroupController.list("foo", "false", null, null)
+    def streamed = new ByteArrayOutputStream()
+    serverGroupController.streamList("foo", "false", null, null).body.writeTo(streamed)
+
+    then:
+    listed.size() == 2
+    objectMapper.readValue(streamed.toByteArray(), List) == objectMapper.convertValue(listed, List)
+  }
+
+  def "streams the server groups of readable applications in readable accounts as they are written"() {
+    given:
+    def objectMapper = new ObjectMapper()
+
+    when:
+    def body = serverGroupController.streamServerGroups(["foo", "secret", "bar"], null, ["name", "account"]).body
+
+    then:
+    0 * clusterProvider.getClusterDetails(_)
+
+    when:
+    def streamed = new ByteArrayOutputStream()
+    body.writeTo(streamed)
+
+    then:
+    1 * clusterProvider.getClusterDetails("bar") >> clusters("bar-v000")
+    1 * clusterProvider.getClusterDetails("foo") >>
+      clusters("foo-v000") + clustersIn("restricted", "foo-v001")
+    0 * clusterProvider.getClusterDetails("secret")
+    objectMapper.readValue(streamed.toByteArray(), List) == [
+      [name: "bar-v000", account: "test"],
+      [name: "foo-v000", account: "test"]
+    ]
+  }
+
+  private Map<String, Set<Cluster>> clusters(String... serverGroupNames) {
+    return clustersIn("test", serverGroupNames)
+  }
+
+  private Map<String, Set<Cluster>> clustersIn(String account, String... serverGroupNames) {
+    def serverGroups = serverGroupNames.collect { name ->
+      Mock(ServerGroup) {
+        getName() >> name
+        getRegion() >> "us-east-1"
+      }
+    } as Set
+    def cluster = Mock(Cluster) {
+      getName() >> "cluster"
+      getAccountName() >> account
+      getServerGroups() >> serverGroups
+    }
+    return [(account): [cluster] as Set]
+  }
+}